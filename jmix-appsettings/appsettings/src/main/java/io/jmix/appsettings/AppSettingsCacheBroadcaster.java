@@ -0,0 +1,41 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.appsettings;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations of cached application settings to all application instances.
+ * <p>
+ * The default implementation notifies only listeners of the current instance. Define a bean implementing this
+ * interface to propagate invalidations over a cluster, for example through a message broker topic.
+ */
+public interface AppSettingsCacheBroadcaster {
+
+    /**
+     * Notifies listeners of all application instances, including the current one, that cached settings
+     * of the given entity must be discarded.
+     *
+     * @param entityName name of the settings entity
+     */
+    void broadcastInvalidation(String entityName);
+
+    /**
+     * Registers a listener receiving names of settings entities invalidated on any application instance.
+     */
+    void addInvalidationListener(Consumer<String> listener);
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.appsettings;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "jmix.appsettings")
+public class AppSettingsProperties {
+
+    /**
+     * Whether {@link AppSettings#load(Class)} returns settings from the in-memory cache instead of loading them
+     * from the database on each call.
+     */
+    boolean cacheEnabled;
+
+    /**
+     * Maximum time cached settings are used before they are loaded again. Bounds staleness of settings changed on
+     * another application instance if no {@link AppSettingsCacheBroadcaster} delivering invalidations between
+     * instances is defined. If zero, cached settings do not expire.
+     */
+    Duration cacheTimeToLive;
+
+    public AppSettingsProperties(
+            @DefaultValue("true") boolean cacheEnabled,
+            @DefaultValue("5m") Duration cacheTimeToLive) {
+        this.cacheEnabled = cacheEnabled;
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
+    /**
+     * @see #cacheEnabled
+     */
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * @see #cacheTimeToLive
+     */
+    public Duration getCacheTimeToLive() {
+        return cacheTimeToLive;
+    }
+}
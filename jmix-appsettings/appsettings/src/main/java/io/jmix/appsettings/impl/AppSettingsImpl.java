@@ -1,19 +1,42 @@
 package io.jmix.appsettings.impl;
 
 import io.jmix.appsettings.AppSettings;
+import io.jmix.appsettings.AppSettingsCacheBroadcaster;
+import io.jmix.appsettings.AppSettingsProperties;
 import io.jmix.appsettings.AppSettingsTools;
 import io.jmix.appsettings.entity.AppSettingsEntity;
+import io.jmix.core.Entity;
+import io.jmix.core.EntitySystemStateSupport;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
 import io.jmix.core.UnconstrainedDataManager;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.core.metamodel.datatype.DatatypeRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps settings loaded with defaults applied in a cache which is invalidated when settings are saved
+ * by {@link #save(AppSettingsEntity)} or changed through the data layer, on all application instances that
+ * receive invalidations from {@link AppSettingsCacheBroadcaster}. Cached instances are never returned to callers:
+ * each {@link #load(Class)} returns a copy.
+ * <p>
+ * Settings are loaded with the access constraints of the current user, so the cache keeps a separate instance
+ * for each authenticated user.
+ */
 @Component("appset_AppSettings")
 public class AppSettingsImpl implements AppSettings {
 
@@ -28,10 +51,89 @@ public class AppSettingsImpl implements AppSettings {
     @Autowired
     protected AppSettingsTools appSettingsTools;
 
+    @Autowired
+    protected Metadata metadata;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected EntitySystemStateSupport entitySystemStateSupport;
+
+    @Autowired
+    protected AppSettingsProperties properties;
+
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
+    @Autowired(required = false)
+    protected AppSettingsCacheBroadcaster cacheBroadcaster;
+
+    // entity name -> user name -> settings
+    protected final Map<String, Map<String, CachedSettings>> cache = new ConcurrentHashMap<>();
+
+    // incremented on each invalidation, so that settings loaded before it are not put into the cache after it
+    protected final AtomicLong invalidationCounter = new AtomicLong();
+
+    @PostConstruct
+    protected void init() {
+        if (cacheBroadcaster == null) {
+            cacheBroadcaster = new LocalAppSettingsCacheBroadcaster();
+        }
+        cacheBroadcaster.addInvalidationListener(this::evict);
+    }
+
     @Override
+    @SuppressWarnings("unchecked")
     public <T extends AppSettingsEntity> T load(Class<T> clazz) {
         log.debug("load application settings entity by class [{}]", clazz);
 
+        if (!properties.isCacheEnabled()) {
+            return loadWithDefaults(clazz);
+        }
+
+        String entityName = metadata.getClass(clazz).getName();
+        String userKey = getCacheUserKey();
+        Map<String, CachedSettings> entityCache = cache.computeIfAbsent(entityName, name -> new ConcurrentHashMap<>());
+        CachedSettings cached = entityCache.get(userKey);
+        if (cached == null || cached.isExpired()) {
+            long counter = invalidationCounter.get();
+            T settingsEntity = loadWithDefaults(clazz);
+            if (!canCache()) {
+                return settingsEntity;
+            }
+
+            cached = new CachedSettings(settingsEntity, properties.getCacheTimeToLive().toMillis());
+            entityCache.put(userKey, cached);
+            if (invalidationCounter.get() != counter) {
+                entityCache.remove(userKey, cached);
+            }
+        }
+        return copy((T) cached.settingsEntity);
+    }
+
+    /**
+     * Discards cached settings of the given entity on all application instances.
+     */
+    public void invalidate(Class<? extends AppSettingsEntity> clazz) {
+        cacheBroadcaster.broadcastInvalidation(metadata.getClass(clazz).getName());
+    }
+
+    @TransactionalEventListener
+    protected void onEntityChanged(EntityChangedEvent<?> event) {
+        Class<?> entityClass = event.getEntityId().getEntityClass();
+        if (AppSettingsEntity.class.isAssignableFrom(entityClass)) {
+            invalidate(entityClass.asSubclass(AppSettingsEntity.class));
+        }
+    }
+
+    protected void evict(String entityName) {
+        log.debug("evict cached application settings [{}]", entityName);
+        invalidationCounter.incrementAndGet();
+        cache.remove(entityName);
+    }
+
+    protected <T extends AppSettingsEntity> T loadWithDefaults(Class<T> clazz) {
         T settingsEntity = getAppSettingsEntity(clazz);
 
         setDefaultValuesForMissingProperties(settingsEntity, getPropertyNames(clazz));
@@ -39,6 +141,28 @@ public class AppSettingsImpl implements AppSettings {
         return settingsEntity;
     }
 
+    /**
+     * @return key of the cached settings loaded with the access constraints of the current user
+     */
+    protected String getCacheUserKey() {
+        return currentAuthentication.isSet() ? currentAuthentication.getAuthentication().getName() : "";
+    }
+
+    /**
+     * Settings loaded in a read-write transaction may contain changes which are not committed yet, so they are
+     * not cached.
+     */
+    protected boolean canCache() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    protected <T extends AppSettingsEntity> T copy(T settingsEntity) {
+        T copy = metadataTools.copy(settingsEntity);
+        entitySystemStateSupport.copySystemState((Entity) settingsEntity, (Entity) copy);
+        return copy;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T extends AppSettingsEntity> void save(T settingsEntityToSave) {
@@ -50,6 +174,8 @@ public class AppSettingsImpl implements AppSettings {
         updatePropertyValues(settingsEntityToSave, settingsEntity, getPropertyNames(clazz));
 
         saveAppSettingsEntity(settingsEntity);
+
+        invalidate(clazz);
     }
 
     protected <T extends AppSettingsEntity> T getAppSettingsEntity(Class<T> clazz) {
@@ -101,4 +227,18 @@ public class AppSettingsImpl implements AppSettings {
         }
     }
 
+    protected static class CachedSettings {
+
+        protected final AppSettingsEntity settingsEntity;
+        protected final long expirationTime;
+
+        protected CachedSettings(AppSettingsEntity settingsEntity, long timeToLiveMillis) {
+            this.settingsEntity = settingsEntity;
+            this.expirationTime = timeToLiveMillis > 0 ? System.currentTimeMillis() + timeToLiveMillis : Long.MAX_VALUE;
+        }
+
+        protected boolean isExpired() {
+            return System.currentTimeMillis() >= expirationTime;
+        }
+    }
 }
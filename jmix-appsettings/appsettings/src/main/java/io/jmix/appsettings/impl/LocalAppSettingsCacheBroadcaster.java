@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.appsettings.impl;
+
+import io.jmix.appsettings.AppSettingsCacheBroadcaster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link AppSettingsCacheBroadcaster} used if no other implementation is defined. Delivers invalidations
+ * to listeners of the current application instance only.
+ */
+public class LocalAppSettingsCacheBroadcaster implements AppSettingsCacheBroadcaster {
+
+    protected final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void broadcastInvalidation(String entityName) {
+        for (Consumer<String> listener : listeners) {
+            listener.accept(entityName);
+        }
+    }
+
+    @Override
+    public void addInvalidationListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
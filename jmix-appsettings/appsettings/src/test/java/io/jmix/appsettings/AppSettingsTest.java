@@ -90,4 +90,20 @@ class AppSettingsTest {
         Assertions.assertEquals("access granted", loadedTestAppSettingsEntity.getTestStringValue());
     }
 
+    @Test
+    void testCachedAppSettingsAreCopiedAndInvalidatedOnChange() {
+        //ensure changes of loaded instance do not affect cached settings
+        TestAppSettingsEntity testAppSettingsEntity = appSettings.load(TestAppSettingsEntity.class);
+        String loadedValue = testAppSettingsEntity.getTestStringValue();
+        testAppSettingsEntity.setTestStringValue("changedInMemory");
+        Assertions.assertEquals(loadedValue, appSettings.load(TestAppSettingsEntity.class).getTestStringValue());
+
+        //ensure settings changed through the data layer are loaded again
+        TestAppSettingsEntity storedEntity = dataManager.load(TestAppSettingsEntity.class)
+                .id(1)
+                .optional().orElse(metadata.create(TestAppSettingsEntity.class, 1));
+        storedEntity.setTestStringValue("changedInDataStore");
+        dataManager.save(storedEntity);
+        Assertions.assertEquals("changedInDataStore", appSettings.load(TestAppSettingsEntity.class).getTestStringValue());
+    }
 }
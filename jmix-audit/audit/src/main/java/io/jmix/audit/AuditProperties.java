@@ -18,20 +18,52 @@ package io.jmix.audit;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
 
 @ConfigurationProperties("jmix.audit")
 public class AuditProperties {
 
+    /**
+     * Number of rows inserted by a single JDBC batch by the asynchronous writer if
+     * {@link #entityLogInsertBatchSize} is not set.
+     */
+    public static final int DEFAULT_INSERT_BATCH_SIZE = 100;
+
     boolean enabled;
     //ToDo: make system user name globally configurable?
     String systemUsername;
 
+    /**
+     * Maximum number of entity log items inserted by a single JDBC batch. If 0 (default), entity log items are
+     * persisted one by one through the EntityManager. Rows recovered or written by the asynchronous writer are
+     * always inserted with JDBC batches, of {@link #DEFAULT_INSERT_BATCH_SIZE} rows if the property is not set.
+     */
+    int entityLogInsertBatchSize;
+
+    /**
+     * Asynchronous entity log writing configuration.
+     */
+    EntityLogAsync entityLogAsync;
+
+    /**
+     * Storage format of entity log changes.
+     */
+    EntityLogChanges entityLogChanges;
+
     public AuditProperties(
             @DefaultValue("true") boolean enabled,
-            @DefaultValue("system") String systemUsername
+            @DefaultValue("system") String systemUsername,
+            @DefaultValue("0") int entityLogInsertBatchSize,
+            @DefaultValue EntityLogAsync entityLogAsync,
+            @DefaultValue EntityLogChanges entityLogChanges
     ) {
         this.enabled = enabled;
         this.systemUsername = systemUsername;
+        this.entityLogInsertBatchSize = entityLogInsertBatchSize;
+        this.entityLogAsync = entityLogAsync;
+        this.entityLogChanges = entityLogChanges;
     }
 
     public boolean isEnabled() {
@@ -41,4 +73,187 @@ public class AuditProperties {
     public String getSystemUsername() {
         return systemUsername;
     }
+
+    /**
+     * @see #entityLogInsertBatchSize
+     */
+    public int getEntityLogInsertBatchSize() {
+        return entityLogInsertBatchSize;
+    }
+
+    /**
+     * @see #entityLogAsync
+     */
+    public EntityLogAsync getEntityLogAsync() {
+        return entityLogAsync;
+    }
+
+    /**
+     * @see #entityLogChanges
+     */
+    public EntityLogChanges getEntityLogChanges() {
+        return entityLogChanges;
+    }
+
+    public static class EntityLogAsync {
+
+        /**
+         * Whether entity log items are written by a background thread after the audited transaction is committed,
+         * instead of being inserted in the audited transaction.
+         */
+        boolean enabled;
+
+        /**
+         * Maximum time an item waits in the buffer before the writer inserts the collected items.
+         */
+        Duration flushInterval;
+
+        /**
+         * Maximum number of items inserted by the writer in one transaction.
+         */
+        int batchSize;
+
+        /**
+         * Maximum number of items waiting in the buffer.
+         */
+        int bufferCapacity;
+
+        /**
+         * How long a committing thread waits for free space in the full buffer. If the buffer is still full after
+         * that, the thread inserts its items itself.
+         */
+        Duration backpressureTimeout;
+
+        /**
+         * Number of attempts to insert a batch of items. If the batch still cannot be inserted, the writer inserts
+         * it in parts and moves the items which cannot be inserted alone to a dead-letter file in the write-ahead
+         * log directory.
+         */
+        int maxWriteAttempts;
+
+        /**
+         * Directory of the write-ahead log keeping buffered items until they are inserted. Items found in the
+         * directory on startup are inserted by the writer. If not set, {@code audit/entity-log-wal} in the
+         * application work directory is used.
+         */
+        String walDir;
+
+        public EntityLogAsync(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("1s") Duration flushInterval,
+                @DefaultValue("500") int batchSize,
+                @DefaultValue("10000") int bufferCapacity,
+                @DefaultValue("5s") Duration backpressureTimeout,
+                @DefaultValue("3") int maxWriteAttempts,
+                @Nullable String walDir
+        ) {
+            this.enabled = enabled;
+            this.flushInterval = flushInterval;
+            this.batchSize = batchSize;
+            this.bufferCapacity = bufferCapacity;
+            this.backpressureTimeout = backpressureTimeout;
+            this.maxWriteAttempts = maxWriteAttempts;
+            this.walDir = walDir;
+        }
+
+        /**
+         * @see #enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @see #flushInterval
+         */
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        /**
+         * @see #batchSize
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        /**
+         * @see #bufferCapacity
+         */
+        public int getBufferCapacity() {
+            return bufferCapacity;
+        }
+
+        /**
+         * @see #backpressureTimeout
+         */
+        public Duration getBackpressureTimeout() {
+            return backpressureTimeout;
+        }
+
+        /**
+         * @see #maxWriteAttempts
+         */
+        public int getMaxWriteAttempts() {
+            return maxWriteAttempts;
+        }
+
+        /**
+         * @see #walDir
+         */
+        @Nullable
+        public String getWalDir() {
+            return walDir;
+        }
+    }
+
+    public static class EntityLogChanges {
+
+        /**
+         * Whether changes of new entity log items are stored in the compact binary format instead of the legacy
+         * text format. Items stored in both formats can be read regardless of this setting.
+         */
+        boolean compact;
+
+        /**
+         * Minimal size in bytes of compact changes which are compressed. If negative, changes are not compressed.
+         */
+        int compressionThreshold;
+
+        /**
+         * Number of entity log items converted by the migration to the compact format in one transaction.
+         */
+        int migrationBatchSize;
+
+        public EntityLogChanges(
+                @DefaultValue("false") boolean compact,
+                @DefaultValue("256") int compressionThreshold,
+                @DefaultValue("500") int migrationBatchSize
+        ) {
+            this.compact = compact;
+            this.compressionThreshold = compressionThreshold;
+            this.migrationBatchSize = migrationBatchSize;
+        }
+
+        /**
+         * @see #compact
+         */
+        public boolean isCompact() {
+            return compact;
+        }
+
+        /**
+         * @see #compressionThreshold
+         */
+        public int getCompressionThreshold() {
+            return compressionThreshold;
+        }
+
+        /**
+         * @see #migrationBatchSize
+         */
+        public int getMigrationBatchSize() {
+            return migrationBatchSize;
+        }
+    }
 }
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit.impl;
+
+import io.jmix.audit.AuditProperties;
+import io.jmix.core.annotation.Internal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * INTERNAL.
+ * Writes entity log rows of committed transactions in a background thread.
+ * <p>
+ * Submitted rows are appended to the {@link EntityLogWriteAheadLog} and put into a bounded buffer. The writer thread
+ * drains the buffer in batches of up to {@link AuditProperties.EntityLogAsync#getBatchSize()} rows, waiting at most
+ * {@link AuditProperties.EntityLogAsync#getFlushInterval()} for a batch to fill up. Rows are acknowledged in the
+ * write-ahead log after they are inserted, so rows left in the log by a crash are inserted on the next start.
+ * <p>
+ * A batch which fails {@link AuditProperties.EntityLogAsync#getMaxWriteAttempts()} times is inserted in halves, down to
+ * single rows. Rows which cannot be inserted alone are moved to a dead-letter file of the write-ahead log, so that they
+ * don't block the following rows.
+ * <p>
+ * If the buffer stays full for {@link AuditProperties.EntityLogAsync#getBackpressureTimeout()}, the submitting thread
+ * inserts the rows itself, which slows down audited transactions to the speed of the database. Submitting threads
+ * also insert the rows themselves if the write-ahead log directory cannot be read on start, so that segments left
+ * by the previous run are not overwritten.
+ */
+@Internal
+public class AsyncEntityLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncEntityLogWriter.class);
+
+    public static final String METRIC_PREFIX = "jmix.audit.entityLog.async";
+
+    /**
+     * Destination of the rows, usually a JDBC batch insert in a new transaction.
+     */
+    @FunctionalInterface
+    public interface RowSink {
+
+        /**
+         * @param rows      rows to insert
+         * @param recovered whether the rows are read from the write-ahead log and could be inserted already
+         */
+        void write(List<Object[]> rows, boolean recovered);
+    }
+
+    protected final AuditProperties.EntityLogAsync properties;
+    protected final EntityLogWriteAheadLog wal;
+    protected final RowSink sink;
+    protected final BlockingQueue<BufferedRow> buffer;
+
+    protected final Counter writtenCounter;
+    protected final Counter directlyWrittenCounter;
+    protected final Counter deadLetterCounter;
+    protected final Timer batchTimer;
+
+    protected volatile boolean running;
+    protected volatile boolean walRecovered;
+    protected Thread thread;
+    protected List<Object[]> recoveredRows = Collections.emptyList();
+
+    public AsyncEntityLogWriter(AuditProperties.EntityLogAsync properties, Path walDir, RowSink sink,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.wal = new EntityLogWriteAheadLog(walDir);
+        this.sink = sink;
+        this.buffer = new LinkedBlockingQueue<>(properties.getBufferCapacity());
+
+        Gauge.builder(METRIC_PREFIX + ".buffered", buffer, Collection::size)
+                .description("Number of entity log items waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".lag", this, AsyncEntityLogWriter::getLagSeconds)
+                .description("Time the oldest buffered entity log item has been waiting to be written")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder(METRIC_PREFIX + ".written")
+                .description("Number of entity log items written by the background writer")
+                .register(meterRegistry);
+        directlyWrittenCounter = Counter.builder(METRIC_PREFIX + ".backpressure")
+                .description("Number of entity log items written by committing threads because the buffer was full")
+                .register(meterRegistry);
+        deadLetterCounter = Counter.builder(METRIC_PREFIX + ".deadLetter")
+                .description("Number of entity log items moved to dead-letter files because they could not be written")
+                .register(meterRegistry);
+        batchTimer = Timer.builder(METRIC_PREFIX + ".batch")
+                .description("Time of writing a batch of entity log items")
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        try {
+            recoveredRows = wal.recover();
+            walRecovered = true;
+        } catch (IOException e) {
+            log.error("Unable to read entity log write-ahead log, entity log items will be written directly", e);
+        }
+
+        running = true;
+        thread = new Thread(this::run, "audit-entity-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the writer thread after it writes the buffered rows. Rows which could not be written stay in the
+     * write-ahead log.
+     */
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(properties.getFlushInterval().toMillis() * 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            wal.close();
+        } catch (IOException e) {
+            log.warn("Unable to close entity log write-ahead log", e);
+        }
+    }
+
+    /**
+     * Passes rows of a committed transaction to the writer.
+     */
+    public void submit(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        if (!walRecovered) {
+            writeDirectly(rows);
+            return;
+        }
+
+        long segment;
+        try {
+            segment = wal.append(rows);
+        } catch (IOException e) {
+            log.error("Unable to append {} entity log items to write-ahead log, writing them directly", rows.size(), e);
+            writeDirectly(rows);
+            return;
+        }
+
+        long timestamp = System.nanoTime();
+        long timeoutNanos = properties.getBackpressureTimeout().toNanos();
+        for (int i = 0; i < rows.size(); i++) {
+            boolean buffered;
+            try {
+                buffered = running && buffer.offer(new BufferedRow(rows.get(i), segment, timestamp),
+                        Math.max(timeoutNanos - (System.nanoTime() - timestamp), 0), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                buffered = false;
+            }
+            if (!buffered) {
+                List<Object[]> rest = rows.subList(i, rows.size());
+                sink.write(rest, false);
+                wal.acknowledge(segment, rest.size());
+                directlyWrittenCounter.increment(rest.size());
+                return;
+            }
+        }
+    }
+
+    protected void writeDirectly(List<Object[]> rows) {
+        sink.write(rows, false);
+        directlyWrittenCounter.increment(rows.size());
+    }
+
+    /**
+     * @return number of rows waiting in the buffer
+     */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    /**
+     * @return time in seconds the oldest buffered row has been waiting
+     */
+    public double getLagSeconds() {
+        BufferedRow oldest = buffer.peek();
+        return oldest != null ? (System.nanoTime() - oldest.timestamp) / 1e9 : 0;
+    }
+
+    protected void run() {
+        recover();
+
+        List<BufferedRow> batch = new ArrayList<>(properties.getBatchSize());
+        int attempts = 0;
+        while (running || !buffer.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    collectBatch(batch);
+                }
+                if (!batch.isEmpty()) {
+                    if (attempts < properties.getMaxWriteAttempts()) {
+                        writeBatch(batch);
+                    } else {
+                        writeBatchInParts(batch);
+                    }
+                    batch.clear();
+                    attempts = 0;
+                }
+            } catch (InterruptedException e) {
+                // stopping, the loop writes the rows left in the buffer
+            } catch (RuntimeException e) {
+                attempts++;
+                log.error("Unable to write {} entity log items (attempt {} of {}), retrying in {}", batch.size(),
+                        attempts, properties.getMaxWriteAttempts(), properties.getFlushInterval(), e);
+                if (!running) {
+                    return;
+                }
+                pause();
+            }
+        }
+    }
+
+    protected void collectBatch(List<BufferedRow> batch) throws InterruptedException {
+        int batchSize = properties.getBatchSize();
+        long intervalNanos = properties.getFlushInterval().toNanos();
+
+        BufferedRow first = buffer.poll(intervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + intervalNanos;
+        while (batch.size() < batchSize) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            BufferedRow next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    protected void writeBatch(List<BufferedRow> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        Map<Long, Integer> segmentCounts = new HashMap<>();
+        for (BufferedRow bufferedRow : batch) {
+            rows.add(bufferedRow.row);
+            segmentCounts.merge(bufferedRow.segment, 1, Integer::sum);
+        }
+
+        batchTimer.record(() -> sink.write(rows, false));
+
+        segmentCounts.forEach(wal::acknowledge);
+        writtenCounter.increment(rows.size());
+    }
+
+    /**
+     * Writes the batch with {@link #writeInParts(List, boolean, Set)}. Rows which are neither written nor moved to
+     * a dead-letter file are not acknowledged, so they stay in the write-ahead log and are written on the next start.
+     */
+    protected void writeBatchInParts(List<BufferedRow> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (BufferedRow bufferedRow : batch) {
+            rows.add(bufferedRow.row);
+        }
+        Set<Object[]> failedRows = Collections.newSetFromMap(new IdentityHashMap<>());
+        boolean deadLettered = true;
+        try {
+            writeInParts(rows, false, failedRows);
+        } catch (IOException e) {
+            log.error("Unable to move {} entity log items to dead-letter file, they will be written on the next start",
+                    failedRows.size(), e);
+            deadLettered = false;
+        }
+
+        Map<Long, Integer> segmentCounts = new HashMap<>();
+        for (BufferedRow bufferedRow : batch) {
+            if (deadLettered || !failedRows.contains(bufferedRow.row)) {
+                segmentCounts.merge(bufferedRow.segment, 1, Integer::sum);
+            }
+        }
+        segmentCounts.forEach(wal::acknowledge);
+    }
+
+    /**
+     * Writes the rows in halves, down to single rows, and moves the rows which cannot be written alone to
+     * a dead-letter file.
+     *
+     * @param failedRows receives the rows which are not written
+     * @throws IOException if the dead-letter file cannot be written
+     */
+    protected void writeInParts(List<Object[]> rows, boolean recovered, Set<Object[]> failedRows) throws IOException {
+        bisect(rows, recovered, failedRows);
+        writtenCounter.increment(rows.size() - failedRows.size());
+        if (!failedRows.isEmpty()) {
+            Path file = wal.deadLetter(new ArrayList<>(failedRows));
+            log.error("{} entity log items cannot be written and are moved to {}", failedRows.size(), file);
+            deadLetterCounter.increment(failedRows.size());
+        }
+    }
+
+    protected void bisect(List<Object[]> rows, boolean recovered, Set<Object[]> failedRows) {
+        int middle = rows.size() / 2;
+        for (List<Object[]> part : List.of(rows.subList(0, middle), rows.subList(middle, rows.size()))) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            try {
+                sink.write(part, recovered);
+            } catch (RuntimeException e) {
+                if (part.size() > 1) {
+                    bisect(part, recovered, failedRows);
+                } else {
+                    log.warn("Unable to write entity log item", e);
+                    failedRows.add(part.get(0));
+                }
+            }
+        }
+    }
+
+    protected void recover() {
+        List<Object[]> rows = recoveredRows;
+        if (!rows.isEmpty()) {
+            log.info("Writing {} entity log items recovered from write-ahead log", rows.size());
+        }
+        int writtenRows = 0;
+        int attempts = 0;
+        while (running) {
+            try {
+                while (writtenRows < rows.size()) {
+                    List<Object[]> batch = rows.subList(writtenRows,
+                            Math.min(writtenRows + properties.getBatchSize(), rows.size()));
+                    if (attempts < properties.getMaxWriteAttempts()) {
+                        sink.write(batch, true);
+                        writtenCounter.increment(batch.size());
+                    } else {
+                        writeInParts(batch, true, Collections.newSetFromMap(new IdentityHashMap<>()));
+                    }
+                    writtenRows += batch.size();
+                    attempts = 0;
+                }
+                wal.deleteRecovered();
+                recoveredRows = Collections.emptyList();
+                return;
+            } catch (IOException | RuntimeException e) {
+                attempts++;
+                log.error("Unable to write entity log items recovered from write-ahead log (attempt {} of {}), retrying in {}",
+                        attempts, properties.getMaxWriteAttempts(), properties.getFlushInterval(), e);
+                pause();
+            }
+        }
+    }
+
+    protected void pause() {
+        try {
+            Thread.sleep(properties.getFlushInterval().toMillis());
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    protected static class BufferedRow {
+
+        protected final Object[] row;
+        protected final long segment;
+        protected final long timestamp;
+
+        protected BufferedRow(Object[] row, long segment, long timestamp) {
+            this.row = row;
+            this.segment = segment;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.audit.impl;
+
+import com.google.common.base.Strings;
+import io.jmix.audit.entity.EntityLogAttr;
+import io.jmix.core.annotation.Internal;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static io.jmix.audit.entity.EntityLogAttr.*;
+
+/**
+ * INTERNAL.
+ * Converts entity log attributes to and from the {@code CHANGES} column of {@code AUDIT_ENTITY_LOG}.
+ * <p>
+ * Two formats are supported:
+ * <ul>
+ *     <li>legacy - text of {@link Properties} where each attribute is stored as a set of keys made of the attribute
+ *     name and {@link EntityLogAttr} suffixes;</li>
+ *     <li>compact - {@link #COMPACT_PREFIX} followed by Base64 encoded binary record: a version byte, a flags byte
+ *     and a payload which is deflated if it is longer than the compression threshold. The payload contains
+ *     a dictionary of distinct strings, where UUIDs take 16 bytes, and, for each attribute, dictionary indexes of its
+ *     name and values.
+ *     The prefix starts a comment line in the legacy format, so old readers see compact records as empty.</li>
+ * </ul>
+ * {@link #decode(String)} accepts both formats, so tables containing records of both formats can be read.
+ */
+@Internal
+public final class EntityLogChangesCodec {
+
+    public static final String COMPACT_PREFIX = "!c:";
+
+    public static final int VERSION = 1;
+
+    private static final int FLAG_DEFLATED = 1;
+
+    private static final int UUID_HEADER = 1;
+
+    // bits of the attribute mask, in the order of optional values in a record
+    private static final int HAS_VALUE_ID = 1;
+    private static final int HAS_OLD_VALUE = 1 << 1;
+    private static final int HAS_OLD_VALUE_ID = 1 << 2;
+    private static final int HAS_MESSAGES_PACK = 1 << 3;
+
+    private static final String[] SKIP_NAMES = new String[]{VALUE_ID_SUFFIX, MP_SUFFIX, OLD_VALUE_SUFFIX,
+            OLD_VALUE_ID_SUFFIX};
+
+    private EntityLogChangesCodec() {
+    }
+
+    /**
+     * @return true if the changes are stored in the compact format
+     */
+    public static boolean isCompact(@Nullable String changes) {
+        return changes != null && changes.startsWith(COMPACT_PREFIX);
+    }
+
+    /**
+     * Encodes attributes in the compact format.
+     *
+     * @param attributes           attributes to encode
+     * @param compressionThreshold minimal payload size in bytes to compress, compression is disabled if negative
+     */
+    public static String encode(Collection<EntityLogAttr> attributes, int compressionThreshold) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        ByteArrayOutputStream records = new ByteArrayOutputStream(attributes.size() * 8);
+        for (EntityLogAttr attr : attributes) {
+            String[] values = new String[]{attr.getValueId(), attr.getOldValue(), attr.getOldValueId(),
+                    attr.getMessagesPack()};
+            int mask = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    mask |= 1 << i;
+                }
+            }
+            records.write(mask);
+            writeVarInt(records, index(dictionary, attr.getName()));
+            writeVarInt(records, index(dictionary, Strings.nullToEmpty(attr.getValue())));
+            for (String value : values) {
+                if (value != null) {
+                    writeVarInt(records, index(dictionary, value));
+                }
+            }
+        }
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(64 + records.size() + dictionary.size() * 16);
+        writeVarInt(payload, dictionary.size());
+        for (String value : dictionary.keySet()) {
+            writeString(payload, value);
+        }
+        writeVarInt(payload, attributes.size());
+        payload.writeBytes(records.toByteArray());
+
+        byte[] bytes = payload.toByteArray();
+        int flags = 0;
+        if (compressionThreshold >= 0 && bytes.length >= compressionThreshold) {
+            byte[] deflated = deflate(bytes);
+            if (deflated.length < bytes.length) {
+                bytes = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+
+        byte[] record = new byte[bytes.length + 2];
+        record[0] = VERSION;
+        record[1] = (byte) flags;
+        System.arraycopy(bytes, 0, record, 2, bytes.length);
+        return COMPACT_PREFIX + Base64.getEncoder().encodeToString(record);
+    }
+
+    /**
+     * Decodes attributes stored in the compact or legacy format. Returned attributes have only the name, values
+     * and messages pack set.
+     */
+    public static List<EntityLogAttr> decode(@Nullable String changes) {
+        if (changes == null || changes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return isCompact(changes) ? decodeCompact(changes) : decodeLegacy(changes);
+        } catch (IOException | DataFormatException e) {
+            throw new IllegalArgumentException("Unable to decode entity log changes", e);
+        }
+    }
+
+    /**
+     * Converts changes stored in the legacy format to the compact format.
+     *
+     * @return compact changes or the passed string if it is already in the compact format
+     */
+    public static String toCompact(String changes, int compressionThreshold) {
+        if (isCompact(changes)) {
+            return changes;
+        }
+        return encode(decode(changes), compressionThreshold);
+    }
+
+    private static List<EntityLogAttr> decodeLegacy(String changes) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(changes));
+
+        List<EntityLogAttr> attributes = new ArrayList<>();
+        Enumeration<?> names = properties.propertyNames();
+        while (names.hasMoreElements()) {
+            String name = (String) names.nextElement();
+            if (StringUtils.endsWithAny(name, SKIP_NAMES))
+                continue;
+
+            EntityLogAttr attr = new EntityLogAttr();
+            attr.setName(name);
+            attr.setValue(properties.getProperty(name));
+            attr.setValueId(properties.getProperty(name + VALUE_ID_SUFFIX));
+            attr.setOldValue(properties.getProperty(name + OLD_VALUE_SUFFIX));
+            attr.setOldValueId(properties.getProperty(name + OLD_VALUE_ID_SUFFIX));
+            attr.setMessagesPack(properties.getProperty(name + MP_SUFFIX));
+            attributes.add(attr);
+        }
+        return attributes;
+    }
+
+    private static List<EntityLogAttr> decodeCompact(String changes) throws IOException, DataFormatException {
+        byte[] record = Base64.getDecoder().decode(changes.substring(COMPACT_PREFIX.length()));
+        if (record.length < 2) {
+            throw new IOException("Truncated compact entity log changes");
+        }
+        if (record[0] != VERSION) {
+            throw new IOException("Unsupported version of entity log changes format: " + record[0]);
+        }
+        byte[] payload = (record[1] & FLAG_DEFLATED) != 0 ?
+                inflate(record, 2) :
+                Arrays.copyOfRange(record, 2, record.length);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String[] dictionary = new String[readVarInt(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(in);
+        }
+
+        int count = readVarInt(in);
+        List<EntityLogAttr> attributes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int mask = in.readUnsignedByte();
+            EntityLogAttr attr = new EntityLogAttr();
+            attr.setName(dictionary[readVarInt(in)]);
+            attr.setValue(dictionary[readVarInt(in)]);
+            if ((mask & HAS_VALUE_ID) != 0) {
+                attr.setValueId(dictionary[readVarInt(in)]);
+            }
+            if ((mask & HAS_OLD_VALUE) != 0) {
+                attr.setOldValue(dictionary[readVarInt(in)]);
+            }
+            if ((mask & HAS_OLD_VALUE_ID) != 0) {
+                attr.setOldValueId(dictionary[readVarInt(in)]);
+            }
+            if ((mask & HAS_MESSAGES_PACK) != 0) {
+                attr.setMessagesPack(dictionary[readVarInt(in)]);
+            }
+            attributes.add(attr);
+        }
+        return attributes;
+    }
+
+    private static int index(Map<String, Integer> dictionary, String value) {
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            index = dictionary.size();
+            dictionary.put(value, index);
+        }
+        return index;
+    }
+
+    /**
+     * Writes a dictionary entry. The header is the UTF-8 length shifted left by one bit, or {@link #UUID_HEADER}
+     * followed by 16 bytes for strings which are UUIDs in canonical form, as ids of referenced entities are.
+     */
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        UUID uuid = value.length() == 36 ? parseUuid(value) : null;
+        if (uuid != null) {
+            writeVarInt(out, UUID_HEADER);
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            buffer.putLong(uuid.getMostSignificantBits());
+            buffer.putLong(uuid.getLeastSignificantBits());
+            out.writeBytes(buffer.array());
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length << 1);
+            out.writeBytes(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int header = readVarInt(in);
+        if (header == UUID_HEADER) {
+            return new UUID(in.readLong(), in.readLong()).toString();
+        }
+        byte[] bytes = new byte[header >>> 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    private static UUID parseUuid(String value) {
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated deflated entity log changes");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
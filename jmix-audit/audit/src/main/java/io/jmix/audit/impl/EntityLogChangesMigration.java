@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.audit.impl;
+
+import io.jmix.audit.AuditProperties;
+import io.jmix.core.Stores;
+import io.jmix.core.annotation.Internal;
+import io.jmix.data.StoreAwareLocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * INTERNAL.
+ * Converts changes of existing entity log items from the legacy text format to the compact format
+ * (see {@link EntityLogChangesCodec}).
+ * <p>
+ * Items are read in the order of their ids, {@link AuditProperties.EntityLogChanges#getMigrationBatchSize()} items
+ * per transaction. The last processed id is kept between batches, so the migration does not hold long transactions
+ * and can be interrupted and started again. Items which are already in the compact format are skipped.
+ */
+@Internal
+@Component("audit_EntityLogChangesMigration")
+public class EntityLogChangesMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityLogChangesMigration.class);
+
+    protected static final String UPDATE_SQL = "update AUDIT_ENTITY_LOG set CHANGES = ? where ID = ?";
+
+    @Autowired
+    protected AuditProperties properties;
+    @Autowired
+    protected StoreAwareLocator storeAwareLocator;
+
+    protected final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Converts all entity log items stored in the legacy format.
+     *
+     * @return number of converted items
+     * @throws IllegalStateException if the migration is already running
+     */
+    public long migrate() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Entity log changes migration is already running");
+        }
+        try {
+            TransactionTemplate transaction = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+            BatchResult result = new BatchResult(null, 0, 0);
+            long read = 0;
+            long converted = 0;
+            do {
+                Object lastId = result.lastId;
+                result = transaction.execute(status -> migrateBatch(lastId));
+                read += result.read;
+                converted += result.converted;
+                log.debug("Entity log changes migration: {} items read, {} converted", read, converted);
+            } while (result.lastId != null);
+
+            log.info("Entity log changes migration finished: {} items read, {} converted", read, converted);
+            return converted;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return true if the migration is in progress
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Converts a batch of items following the given id.
+     *
+     * @param lastId id of the last item of the previous batch or null to start from the beginning
+     */
+    protected BatchResult migrateBatch(@Nullable Object lastId) {
+        JdbcTemplate jdbcTemplate = storeAwareLocator.getJdbcTemplate(Stores.MAIN);
+        AuditProperties.EntityLogChanges changesProperties = properties.getEntityLogChanges();
+        int batchSize = Math.max(changesProperties.getMigrationBatchSize(), 1);
+
+        String sql = "select ID, CHANGES from AUDIT_ENTITY_LOG" +
+                (lastId != null ? " where ID > ?" : "") +
+                " order by ID";
+
+        List<Object> ids = new ArrayList<>(batchSize);
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql);
+                    statement.setMaxRows(batchSize);
+                    statement.setFetchSize(batchSize);
+                    if (lastId != null) {
+                        statement.setObject(1, lastId);
+                    }
+                    return statement;
+                },
+                resultSet -> {
+                    // ids are passed back to the driver as they are returned by it
+                    Object id = resultSet.getObject(1);
+                    String changes = resultSet.getString(2);
+                    ids.add(id);
+                    if (changes != null && !EntityLogChangesCodec.isCompact(changes)) {
+                        String compact = EntityLogChangesCodec.toCompact(changes,
+                                changesProperties.getCompressionThreshold());
+                        updates.add(new Object[]{compact, id});
+                    }
+                });
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+
+        Object nextId = ids.size() < batchSize ? null : ids.get(ids.size() - 1);
+        return new BatchResult(nextId, ids.size(), updates.size());
+    }
+
+    protected static class BatchResult {
+        protected final Object lastId;
+        protected final int read;
+        protected final int converted;
+
+        protected BatchResult(@Nullable Object lastId, int read, int converted) {
+            this.lastId = lastId;
+            this.read = read;
+            this.converted = converted;
+        }
+    }
+}
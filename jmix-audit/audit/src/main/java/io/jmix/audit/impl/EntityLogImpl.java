@@ -37,12 +37,21 @@ import io.jmix.core.metamodel.model.Range;
 import io.jmix.core.security.EntityOp;
 import io.jmix.data.AttributeChangesProvider;
 import io.jmix.data.AuditInfoProvider;
+import io.jmix.data.StoreAwareLocator;
+import io.jmix.data.entity.ReferenceToEntity;
+import io.jmix.data.impl.EntityAuditValues;
 import io.jmix.data.impl.EntityEventManager;
 import io.jmix.data.impl.JpaLifecycleListener;
+import io.jmix.data.persistence.DbTypeConverter;
+import io.jmix.data.persistence.DbmsSpecifics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.lang3.BooleanUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -55,6 +64,8 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.file.Path;
+import java.sql.Types;
 import java.util.*;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -67,6 +78,10 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
 
     public static final String RESOURCE_HOLDER_KEY = EntityLogResourceHolder.class.getName();
 
+    protected static final String INSERT_ITEM_SQL = "insert into AUDIT_ENTITY_LOG (ID, CREATE_TS, CREATED_BY, " +
+            "EVENT_TS, USERNAME, CHANGE_TYPE, ENTITY, ENTITY_INSTANCE_NAME, ENTITY_ID, STRING_ENTITY_ID, " +
+            "INT_ENTITY_ID, LONG_ENTITY_ID, CHANGES, SYS_TENANT_ID) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @Autowired
     protected TimeSource timeSource;
     @Autowired
@@ -89,6 +104,16 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     protected AttributeChangesProvider attributeChangesProvider;
     @Autowired
     protected EntityEventManager entityEventManager;
+    @Autowired
+    protected EntityAuditValues entityAuditValues;
+    @Autowired
+    protected StoreAwareLocator storeAwareLocator;
+    @Autowired
+    protected DbmsSpecifics dbmsSpecifics;
+    @Autowired
+    protected CoreProperties coreProperties;
+    @Autowired
+    protected MeterRegistry meterRegistry;
 
     @PersistenceContext
     protected EntityManager entityManager;
@@ -113,12 +138,33 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     protected ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     protected ThreadLocal<Boolean> entityLogSwitchedOn = new ThreadLocal<>();
 
+    protected AsyncEntityLogWriter asyncWriter;
+
     @Autowired
     public void setProperties(AuditProperties properties) {
         this.properties = properties;
         this.enabled = properties.isEnabled();
     }
 
+    @PostConstruct
+    protected void startAsyncWriter() {
+        AuditProperties.EntityLogAsync asyncProperties = properties.getEntityLogAsync();
+        if (asyncProperties.isEnabled()) {
+            Path walDir = asyncProperties.getWalDir() != null ?
+                    Path.of(asyncProperties.getWalDir()) :
+                    Path.of(coreProperties.getWorkDir(), "audit", "entity-log-wal");
+            asyncWriter = new AsyncEntityLogWriter(asyncProperties, walDir, this::writeRows, meterRegistry);
+            asyncWriter.start();
+        }
+    }
+
+    @PreDestroy
+    protected void stopAsyncWriter() {
+        if (asyncWriter != null) {
+            asyncWriter.stop();
+        }
+    }
+
     @Override
     public void processLoggingForCurrentThread(boolean enabled) {
         entityLogSwitchedOn.set(enabled);
@@ -161,20 +207,30 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
         if (items == null || items.isEmpty())
             return;
 
-        Set<EntityLogItem> saved = new LinkedHashSet<>();
-        for (EntityLogItem item : items) {
-            List<EntityLogItem> sameEntityList = items.stream()
-                    .filter(entityLogItem -> entityLogItem.getDbGeneratedIdEntity() != null ?
-                            entityLogItem.getDbGeneratedIdEntity().equals(item.getDbGeneratedIdEntity()) :
-                            entityLogItem.getEntityRef().getObjectEntityId().equals(item.getEntityRef().getObjectEntityId()))
-                    .collect(Collectors.toList());
+        Map<Object, List<EntityLogItem>> itemsByEntity = groupByEntity(items);
+
+        List<EntityLogItem> itemsToSave = new ArrayList<>(itemsByEntity.size());
+        for (List<EntityLogItem> sameEntityList : itemsByEntity.values()) {
             EntityLogItem itemToSave = sameEntityList.get(0);
-            if (!saved.contains(itemToSave)) {
-                computeChanges(itemToSave, sameEntityList);
-                saved.add(itemToSave);
-                saveItem(itemToSave);
-            }
+            computeChanges(itemToSave, sameEntityList);
+            itemsToSave.add(itemToSave);
+        }
+        saveItems(itemsToSave);
+    }
+
+    /**
+     * Groups the items registered in the transaction by the changed entity instance, keeping the order in which
+     * the instances were changed first.
+     */
+    protected Map<Object, List<EntityLogItem>> groupByEntity(List<EntityLogItem> items) {
+        Map<Object, List<EntityLogItem>> itemsByEntity = new LinkedHashMap<>();
+        for (EntityLogItem item : items) {
+            Object key = item.getDbGeneratedIdEntity() != null ?
+                    item.getDbGeneratedIdEntity() :
+                    Arrays.asList(item.getEntity(), item.getEntityRef().getObjectEntityId());
+            itemsByEntity.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
         }
+        return itemsByEntity;
     }
 
     protected void computeChanges(EntityLogItem itemToSave, List<EntityLogItem> sameEntityList) {
@@ -184,9 +240,28 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
 
         processAttributes(itemToSave, sameEntityList, attributes);
 
+        if (itemToSave.getType() == EntityLogItem.Type.MODIFY) {
+            sameEntityList.stream()
+                    .filter(entityLogItem -> entityLogItem.getType() == EntityLogItem.Type.CREATE)
+                    .findFirst()
+                    .ifPresent(entityLogItem -> itemToSave.setType(EntityLogItem.Type.CREATE));
+        }
+        itemToSave.setChanges(encodeChanges(itemToSave.getAttributes()));
+    }
+
+    /**
+     * Encodes attributes into the value of {@link EntityLogItem#getChanges()} in the format configured by
+     * {@link AuditProperties#getEntityLogChanges()}.
+     */
+    protected String encodeChanges(Collection<EntityLogAttr> attributes) {
+        AuditProperties.EntityLogChanges changesProperties = properties.getEntityLogChanges();
+        if (changesProperties.isCompact()) {
+            return EntityLogChangesCodec.encode(attributes, changesProperties.getCompressionThreshold());
+        }
+
         Properties properties = new Properties();
 
-        for (EntityLogAttr attr : itemToSave.getAttributes()) {
+        for (EntityLogAttr attr : attributes) {
             properties.setProperty(attr.getName(), Strings.nullToEmpty(attr.getValue()));
             if (attr.getValueId() != null) {
                 properties.setProperty(attr.getName() + EntityLogAttr.VALUE_ID_SUFFIX, attr.getValueId());
@@ -202,13 +277,7 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
             }
         }
 
-        if (itemToSave.getType() == EntityLogItem.Type.MODIFY) {
-            sameEntityList.stream()
-                    .filter(entityLogItem -> entityLogItem.getType() == EntityLogItem.Type.CREATE)
-                    .findFirst()
-                    .ifPresent(entityLogItem -> itemToSave.setType(EntityLogItem.Type.CREATE));
-        }
-        itemToSave.setChanges(getChanges(properties));
+        return getChanges(properties);
     }
 
     protected void processAttributes(EntityLogItem itemToSave, List<EntityLogItem> sameEntityList, Set<String> attributes) {
@@ -251,6 +320,202 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
         return attr;
     }
 
+    protected void saveItems(List<EntityLogItem> items) {
+        if (asyncWriter != null) {
+            saveItemsAsync(items);
+            return;
+        }
+        if (properties.getEntityLogInsertBatchSize() <= 0) {
+            for (EntityLogItem item : items) {
+                saveItem(item);
+            }
+            return;
+        }
+
+        List<EntityLogItem> mainStoreItems = new ArrayList<>();
+        List<EntityLogItem> additionalStoreItems = new ArrayList<>();
+        List<EntityLogItem> dbGeneratedIdItems = new ArrayList<>();
+        for (EntityLogItem item : items) {
+            if (item.getDbGeneratedIdEntity() != null) {
+                dbGeneratedIdItems.add(item);
+            } else if (Stores.isMain(metadata.getClass(item.getEntity()).getStore().getName())) {
+                mainStoreItems.add(item);
+            } else {
+                additionalStoreItems.add(item);
+            }
+        }
+
+        if (!mainStoreItems.isEmpty()) {
+            insertItems(mainStoreItems);
+        }
+        if (!additionalStoreItems.isEmpty()) {
+            // Create a new transaction in main DB if we are saving an entity from additional data store
+            transaction.executeWithoutResult(transactionStatus -> insertItems(additionalStoreItems));
+        }
+        if (!dbGeneratedIdItems.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    setDbGeneratedIds(dbGeneratedIdItems);
+                    transaction.executeWithoutResult(status -> insertItems(dbGeneratedIdItems));
+                }
+            });
+        }
+    }
+
+    /**
+     * Passes the items to the asynchronous writer when the current transaction is committed. Items of rolled back
+     * transactions are discarded.
+     */
+    protected void saveItemsAsync(List<EntityLogItem> items) {
+        Date currentDate = timeSource.currentTimestamp();
+        UserDetails currentUser = auditInfoProvider.getCurrentUser();
+        for (EntityLogItem item : items) {
+            prepareItem(item, currentDate, currentUser);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                setDbGeneratedIds(items);
+                List<Object[]> rows = new ArrayList<>(items.size());
+                for (EntityLogItem item : items) {
+                    rows.add(toRow(item));
+                }
+                asyncWriter.submit(rows);
+            }
+        });
+    }
+
+    protected void setDbGeneratedIds(List<EntityLogItem> items) {
+        for (EntityLogItem item : items) {
+            if (item.getDbGeneratedIdEntity() != null) {
+                Object id = EntityValues.getId(item.getDbGeneratedIdEntity());
+                item.getEntityRef().setObjectEntityId(id);
+            }
+        }
+    }
+
+    /**
+     * Inserts the items into the main data store with JDBC batches, using the connection of the current transaction.
+     */
+    protected void insertItems(List<EntityLogItem> items) {
+        Date currentDate = timeSource.currentTimestamp();
+        UserDetails currentUser = auditInfoProvider.getCurrentUser();
+
+        List<Object[]> rows = new ArrayList<>(items.size());
+        for (EntityLogItem item : items) {
+            prepareItem(item, currentDate, currentUser);
+            rows.add(toRow(item));
+        }
+        insertRows(rows, false);
+    }
+
+    /**
+     * Fills the attributes which are set by the persistence layer when an item is persisted by the EntityManager.
+     * Must be called in the thread of the audited transaction.
+     */
+    protected void prepareItem(EntityLogItem item, Date currentDate, @Nullable UserDetails currentUser) {
+        entityEventManager.publishEntitySavingEvent(item, true);//workaround for jmix-framework/jmix#1069
+        if (EntityValues.isAuditSupported(item)) {
+            entityAuditValues.setCreateInfo(item, currentDate, currentUser);
+        }
+    }
+
+    /**
+     * @return values of the {@link #INSERT_ITEM_SQL} parameters
+     */
+    protected Object[] toRow(EntityLogItem item) {
+        ReferenceToEntity entityRef = item.getEntityRef();
+        return new Object[]{
+                item.getId(),
+                item.getCreateTs(),
+                item.getCreatedBy(),
+                item.getEventTs(),
+                item.getUsername(),
+                item.getType() != null ? item.getType().getId() : null,
+                item.getEntity(),
+                item.getEntityInstanceName(),
+                entityRef.getEntityId(),
+                entityRef.getStringEntityId(),
+                entityRef.getIntEntityId(),
+                entityRef.getLongEntityId(),
+                item.getChanges(),
+                item.getSysTenantId()
+        };
+    }
+
+    /**
+     * Inserts rows created by {@link #toRow(EntityLogItem)} into the main data store with JDBC batches.
+     *
+     * @param rows         rows to insert
+     * @param skipExisting whether to skip rows which are already stored, used when rows are recovered after failure
+     */
+    protected void insertRows(List<Object[]> rows, boolean skipExisting) {
+        DbTypeConverter converter = dbmsSpecifics.getDbTypeConverter();
+        int uuidType = converter.getSqlType(UUID.class);
+        int[] paramTypes = new int[]{
+                uuidType, Types.TIMESTAMP, Types.VARCHAR, Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR,
+                Types.VARCHAR, Types.VARCHAR, uuidType, Types.VARCHAR, Types.INTEGER, Types.BIGINT,
+                // CHANGES is bound as a string: binding as CLOB goes through setClob(int, Reader, long) for long
+                // values, which is not supported by all drivers, and a null CLOB is typed as OID on PostgreSQL
+                Types.VARCHAR, Types.VARCHAR
+        };
+
+        JdbcTemplate jdbcTemplate = storeAwareLocator.getJdbcTemplate(Stores.MAIN);
+        int batchSize = properties.getEntityLogInsertBatchSize() > 0
+                ? properties.getEntityLogInsertBatchSize()
+                : AuditProperties.DEFAULT_INSERT_BATCH_SIZE;
+        for (int i = 0; i < rows.size(); i += batchSize) {
+            List<Object[]> batch = rows.subList(i, Math.min(i + batchSize, rows.size()));
+            if (skipExisting) {
+                batch = excludeExistingRows(jdbcTemplate, batch, converter);
+            }
+            List<Object[]> params = new ArrayList<>(batch.size());
+            for (Object[] row : batch) {
+                Object[] rowParams = row.clone();
+                rowParams[0] = converter.getSqlObject(row[0]);
+                rowParams[8] = row[8] != null ? converter.getSqlObject(row[8]) : null;
+                params.add(rowParams);
+            }
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, params, paramTypes);
+        }
+    }
+
+    /**
+     * Inserts rows passed by the asynchronous writer in a new transaction.
+     */
+    protected void writeRows(List<Object[]> rows, boolean recovered) {
+        transaction.executeWithoutResult(status -> insertRows(rows, recovered));
+    }
+
+    /**
+     * Removes rows which are already stored. Identifiers are compared as {@link UUID}s, because depending on
+     * the database the ID column is returned as a UUID or as a string in a database-specific format.
+     */
+    protected List<Object[]> excludeExistingRows(JdbcTemplate jdbcTemplate, List<Object[]> rows,
+                                                 DbTypeConverter converter) {
+        String placeholders = String.join(", ", Collections.nCopies(rows.size(), "?"));
+        Object[] ids = rows.stream().map(row -> converter.getSqlObject(row[0])).toArray();
+        Set<UUID> existingIds = new HashSet<>(jdbcTemplate.query(
+                "select ID from AUDIT_ENTITY_LOG where ID in (" + placeholders + ")",
+                (resultSet, rowNum) -> toUuid(converter.getJavaObject(resultSet, 1)), ids));
+        if (existingIds.isEmpty()) {
+            return rows;
+        }
+        return rows.stream()
+                .filter(row -> !existingIds.contains(toUuid(row[0])))
+                .collect(Collectors.toList());
+    }
+
+    @Nullable
+    protected UUID toUuid(@Nullable Object value) {
+        if (value == null || value instanceof UUID) {
+            return (UUID) value;
+        }
+        return UuidProvider.fromString(value.toString());
+    }
+
     protected void saveItem(EntityLogItem item) {
         String storeName = metadata.getClass(item.getEntity()).getStore().getName();
 
@@ -277,12 +542,12 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     }
 
     @Override
-    public synchronized boolean isEnabled() {
+    public boolean isEnabled() {
         return enabled && isLoggingForCurrentThread();
     }
 
     @Override
-    public synchronized void setEnabled(boolean enabled) {
+    public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
 
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.audit.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+@ManagedResource(description = "Manages entity log", objectName = "jmix.audit:type=EntityLog")
+@Component("audit_EntityLogManagementFacade")
+public class EntityLogManagementFacade {
+
+    @Autowired
+    protected EntityLogChangesMigration changesMigration;
+
+    @ManagedAttribute(description = "Whether conversion of entity log changes to the compact format is running")
+    public boolean isChangesMigrationRunning() {
+        return changesMigration.isRunning();
+    }
+
+    @ManagedOperation(description = "Convert changes of all entity log items stored in the legacy text format " +
+            "to the compact format")
+    public String migrateChangesToCompactFormat() {
+        if (changesMigration.isRunning()) {
+            return "Migration is already running";
+        }
+        long converted = changesMigration.migrate();
+        return "Converted " + converted + " items";
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit.impl;
+
+import io.jmix.core.annotation.Internal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * INTERNAL.
+ * Append-only log of entity log rows buffered by {@link AsyncEntityLogWriter}. Rows are written to numbered segment
+ * files, a segment is deleted when all its rows are acknowledged as inserted into the database and a newer segment
+ * is started.
+ * <p>
+ * Each row is stored as a record: payload length, payload and CRC32 checksum of the payload. An incomplete record
+ * at the end of the last segment is left by a crash during writing and is skipped. A segment containing a damaged record
+ * is renamed with the {@value #CORRUPT_SUFFIX} suffix and kept for investigation. Rows which cannot be inserted are
+ * moved to dead-letter files with the {@value #DEAD_LETTER_SUFFIX} suffix.
+ */
+@Internal
+public class EntityLogWriteAheadLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityLogWriteAheadLog.class);
+
+    protected static final String SEGMENT_PREFIX = "entity-log-";
+    protected static final String SEGMENT_SUFFIX = ".wal";
+    protected static final String CORRUPT_SUFFIX = ".corrupt";
+    protected static final String DEAD_LETTER_SUFFIX = ".dead";
+    protected static final long MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    protected static final byte NULL = 0;
+    protected static final byte STRING = 1;
+    protected static final byte UUID_VALUE = 2;
+    protected static final byte DATE = 3;
+    protected static final byte INTEGER = 4;
+    protected static final byte LONG = 5;
+
+    protected final Path dir;
+    protected final Map<Long, Integer> pendingCounts = new HashMap<>();
+    protected final List<Path> recoveredSegments = new ArrayList<>();
+
+    protected long currentSegment;
+    protected FileChannel channel;
+
+    public EntityLogWriteAheadLog(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Reads the rows of segments left by the previous run. Segments which are read completely are kept until
+     * {@link #deleteRecovered()}. Rows preceding a damaged record are returned and the segment is quarantined.
+     */
+    public synchronized List<Object[]> recover() throws IOException {
+        Files.createDirectories(dir);
+
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(dir)) {
+            segments = files.filter(file -> parseSegmentNumber(file) >= 0)
+                    .sorted(Comparator.comparingLong(this::parseSegmentNumber))
+                    .collect(Collectors.toList());
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            currentSegment = Math.max(currentSegment, parseSegmentNumber(segment));
+            int readRows = rows.size();
+            try {
+                readSegment(segment, rows, i == segments.size() - 1);
+                recoveredSegments.add(segment);
+            } catch (IOException e) {
+                log.error("Entity log write-ahead segment {} is corrupted, {} rows preceding the damaged record are recovered",
+                        segment, rows.size() - readRows, e);
+                quarantineSegment(segment);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Deletes segments read by {@link #recover()} after their rows are inserted.
+     */
+    public synchronized void deleteRecovered() throws IOException {
+        for (Path segment : recoveredSegments) {
+            Files.deleteIfExists(segment);
+        }
+        recoveredSegments.clear();
+    }
+
+    /**
+     * Appends the rows and forces them to the storage device.
+     *
+     * @return number of the segment the rows are written to, to be passed to {@link #acknowledge(long, int)}
+     */
+    public synchronized long append(List<Object[]> rows) throws IOException {
+        if (channel == null || channel.size() >= MAX_SEGMENT_SIZE) {
+            startSegment();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(encodeRecords(rows));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+
+        pendingCounts.merge(currentSegment, rows.size(), Integer::sum);
+        return currentSegment;
+    }
+
+    /**
+     * Writes rows which cannot be inserted into the database to a new dead-letter file. The file has the format
+     * of a segment, so its rows are inserted on the next start if the file is renamed to a segment name.
+     *
+     * @return the dead-letter file
+     */
+    public synchronized Path deadLetter(List<Object[]> rows) throws IOException {
+        Files.createDirectories(dir);
+        Path file = Files.createTempFile(dir, SEGMENT_PREFIX, DEAD_LETTER_SUFFIX);
+        try (FileChannel deadLetterChannel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(encodeRecords(rows));
+            while (buffer.hasRemaining()) {
+                deadLetterChannel.write(buffer);
+            }
+            deadLetterChannel.force(false);
+        }
+        return file;
+    }
+
+    /**
+     * Marks rows of the segment as inserted into the database.
+     */
+    public synchronized void acknowledge(long segment, int count) {
+        int pending = pendingCounts.merge(segment, -count, Integer::sum);
+        if (pending <= 0 && segment != currentSegment) {
+            pendingCounts.remove(segment);
+            deleteSegment(segment);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            Integer pending = pendingCounts.get(currentSegment);
+            if (pending == null || pending <= 0) {
+                deleteSegment(currentSegment);
+            }
+        }
+    }
+
+    protected byte[] encodeRecords(List<Object[]> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        CRC32 crc = new CRC32();
+        for (Object[] row : rows) {
+            payload.reset();
+            writeRow(new DataOutputStream(payload), row);
+            crc.reset();
+            crc.update(payload.toByteArray());
+
+            out.writeInt(payload.size());
+            payload.writeTo(out);
+            out.writeLong(crc.getValue());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    protected void startSegment() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            Integer pending = pendingCounts.get(currentSegment);
+            if (pending == null || pending <= 0) {
+                pendingCounts.remove(currentSegment);
+                deleteSegment(currentSegment);
+            }
+        }
+        currentSegment++;
+        Files.createDirectories(dir);
+        // never append to a segment which has not been recovered
+        channel = FileChannel.open(getSegmentPath(currentSegment),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    protected void deleteSegment(long segment) {
+        try {
+            Files.deleteIfExists(getSegmentPath(segment));
+        } catch (IOException e) {
+            log.warn("Unable to delete entity log write-ahead segment {}", segment, e);
+        }
+    }
+
+    protected void quarantineSegment(Path segment) {
+        Path target = segment.resolveSibling(segment.getFileName() + "." + System.currentTimeMillis() + CORRUPT_SUFFIX);
+        try {
+            Files.move(segment, target);
+        } catch (IOException e) {
+            log.error("Unable to move corrupted entity log write-ahead segment {} to {}", segment, target, e);
+        }
+    }
+
+    protected Path getSegmentPath(long segment) {
+        return dir.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    protected long parseSegmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Adds rows of the segment to the list.
+     *
+     * @param lastSegment whether the segment was written last, so it can end with a record interrupted by a crash
+     * @throws IOException if the segment cannot be read or contains a damaged record
+     */
+    protected void readSegment(Path segment, List<Object[]> rows, boolean lastSegment) throws IOException {
+        long remaining = Files.size(segment);
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (remaining > 0) {
+                if (remaining < Integer.BYTES) {
+                    skipIncompleteRecord(segment, lastSegment);
+                    return;
+                }
+                int length = in.readInt();
+                remaining -= Integer.BYTES;
+                if (length <= 0) {
+                    throw new IOException("Invalid entity log record length: " + length);
+                }
+                if (remaining < (long) length + Long.BYTES) {
+                    skipIncompleteRecord(segment, lastSegment);
+                    return;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                long checksum = in.readLong();
+                remaining -= length + Long.BYTES;
+
+                crc.reset();
+                crc.update(payload);
+                if (crc.getValue() != checksum) {
+                    throw new IOException("Entity log record checksum mismatch");
+                }
+                rows.add(readRow(new DataInputStream(new ByteArrayInputStream(payload))));
+            }
+        }
+    }
+
+    protected void skipIncompleteRecord(Path segment, boolean lastSegment) throws IOException {
+        if (!lastSegment) {
+            throw new IOException("Incomplete entity log record at the end of write-ahead segment");
+        }
+        log.warn("Incomplete entity log record at the end of write-ahead segment {} is skipped", segment);
+    }
+
+    protected Object[] readRow(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid entity log row length: " + length);
+        }
+        Object[] row = new Object[length];
+        for (int i = 0; i < length; i++) {
+            row[i] = readValue(in);
+        }
+        return row;
+    }
+
+    protected void writeRow(DataOutputStream out, Object[] row) throws IOException {
+        out.writeInt(row.length);
+        for (Object value : row) {
+            writeValue(out, value);
+        }
+    }
+
+    protected void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof UUID) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(((UUID) value).getMostSignificantBits());
+            out.writeLong(((UUID) value).getLeastSignificantBits());
+        } else if (value instanceof Date) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else {
+            throw new IllegalArgumentException("Unsupported entity log value type: " + value.getClass());
+        }
+    }
+
+    protected Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            case UUID_VALUE:
+                return new UUID(in.readLong(), in.readLong());
+            case DATE:
+                return new Date(in.readLong());
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            default:
+                throw new IOException("Unknown entity log value type: " + type);
+        }
+    }
+}
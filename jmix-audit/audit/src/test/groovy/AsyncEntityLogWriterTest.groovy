@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import io.jmix.audit.AuditProperties
+import io.jmix.audit.impl.AsyncEntityLogWriter
+import io.jmix.audit.impl.EntityLogWriteAheadLog
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+
+class AsyncEntityLogWriterTest extends Specification {
+
+    Path dir
+    List<Object[]> written = new CopyOnWriteArrayList<>()
+    List<Boolean> recoveredFlags = new CopyOnWriteArrayList<>()
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void setup() {
+        dir = Files.createTempDirectory('entity-log-wal')
+    }
+
+    void cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def "rows which were not written before stop are written after restart"() {
+        def failing = createWriter(dir, Integer.MAX_VALUE) { rows, recovered ->
+            throw new RuntimeException('Database is not available')
+        }
+        failing.start()
+        failing.submit([['first'] as Object[], ['second'] as Object[]])
+        failing.stop()
+
+        when:
+        def writer = createWriter(this.&record)
+        writer.start()
+
+        then:
+        conditions.eventually {
+            assert written*.getAt(0) == ['first', 'second']
+        }
+        recoveredFlags.every()
+
+        when:
+        writer.submit([['third'] as Object[]])
+
+        then:
+        conditions.eventually {
+            assert written*.getAt(0) == ['first', 'second', 'third']
+        }
+
+        when:
+        writer.stop()
+
+        then:
+        Files.list(dir).count() == 0
+    }
+
+    def "rows preceding an incomplete record are written after restart"() {
+        def wal = new EntityLogWriteAheadLog(dir)
+        wal.recover()
+        wal.append([['first'] as Object[], ['second'] as Object[]])
+        wal.close()
+        FileChannel.open(dir.resolve('entity-log-1.wal'), StandardOpenOption.WRITE).withCloseable {
+            it.truncate(it.size() - 3)
+        }
+
+        when:
+        def writer = createWriter(this.&record)
+        writer.start()
+
+        then:
+        conditions.eventually {
+            assert written*.getAt(0) == ['first']
+        }
+        recoveredFlags == [true]
+
+        cleanup:
+        writer.stop()
+    }
+
+    def "rows are written directly if write-ahead log cannot be read"() {
+        def walDir = dir.resolve('file')
+        Files.createFile(walDir)
+        def writer = createWriter(walDir, this.&record)
+
+        when:
+        writer.start()
+        writer.submit([['first'] as Object[]])
+
+        then:
+        written*.getAt(0) == ['first']
+        recoveredFlags == [false]
+
+        cleanup:
+        writer.stop()
+    }
+
+    def "rows which cannot be written alone are moved to dead-letter file"() {
+        def writer = createWriter(dir, 2) { rows, recovered ->
+            if (rows.any { it[0] == 'poison' }) {
+                throw new RuntimeException('Value too long')
+            }
+            record(rows, recovered)
+        }
+
+        when:
+        writer.start()
+        writer.submit([['first'] as Object[], ['poison'] as Object[], ['second'] as Object[]])
+
+        then:
+        conditions.eventually {
+            assert written*.getAt(0) as Set == ['first', 'second'] as Set
+        }
+
+        when:
+        writer.stop()
+        def deadLetterFiles = Files.list(dir).withCloseable { it.toList() }
+
+        then:
+        deadLetterFiles.size() == 1
+        deadLetterFiles[0].fileName.toString().endsWith('.dead')
+
+        when: "dead-letter file is renamed to a segment"
+        Files.move(deadLetterFiles[0], dir.resolve('entity-log-1.wal'))
+
+        then:
+        new EntityLogWriteAheadLog(dir).recover()*.getAt(0) == ['poison']
+    }
+
+    protected void record(List<Object[]> rows, boolean recovered) {
+        written.addAll(rows)
+        recoveredFlags.add(recovered)
+    }
+
+    protected AsyncEntityLogWriter createWriter(AsyncEntityLogWriter.RowSink sink) {
+        createWriter(dir, sink)
+    }
+
+    protected AsyncEntityLogWriter createWriter(Path walDir, AsyncEntityLogWriter.RowSink sink) {
+        createWriter(walDir, 3, sink)
+    }
+
+    protected AsyncEntityLogWriter createWriter(Path walDir, int maxWriteAttempts, AsyncEntityLogWriter.RowSink sink) {
+        def properties = new AuditProperties.EntityLogAsync(true, Duration.ofMillis(50), 10, 100,
+                Duration.ofSeconds(1), maxWriteAttempts, walDir.toString())
+        new AsyncEntityLogWriter(properties, walDir, sink, new SimpleMeterRegistry())
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import io.jmix.audit.entity.EntityLogAttr
+import io.jmix.audit.impl.EntityLogChangesCodec
+import spock.lang.Specification
+
+class EntityLogChangesCodecTest extends Specification {
+
+    static final String LEGACY = '''\
+name=Bob
+name-oldVl=Alice
+customer=Acme
+customer-id=7b4e0a4c-3b2d-4b1e-9a55-3c8f7e0b1a11
+customer-oldVlId=2f1b9c3e-6d4a-4c7b-8e2f-1a0b9c8d7e6f
+status=
+status-mp=com.company.entity
+'''
+
+    def "legacy changes are decoded"() {
+        when:
+
+        def attributes = EntityLogChangesCodec.decode(LEGACY).collectEntries { [it.name, it] }
+
+        then:
+
+        attributes.keySet() == ['name', 'customer', 'status'] as Set
+        attributes.name.value == 'Bob'
+        attributes.name.oldValue == 'Alice'
+        attributes.customer.valueId == '7b4e0a4c-3b2d-4b1e-9a55-3c8f7e0b1a11'
+        attributes.customer.oldValueId == '2f1b9c3e-6d4a-4c7b-8e2f-1a0b9c8d7e6f'
+        attributes.status.value == ''
+        attributes.status.messagesPack == 'com.company.entity'
+    }
+
+    def "compact changes are decoded to the same attributes as legacy changes"() {
+        def legacy = EntityLogChangesCodec.decode(LEGACY)
+
+        when:
+
+        def compact = EntityLogChangesCodec.encode(legacy, threshold)
+
+        then:
+
+        EntityLogChangesCodec.isCompact(compact)
+        compact.length() < LEGACY.length()
+        toMaps(EntityLogChangesCodec.decode(compact)) == toMaps(legacy)
+        EntityLogChangesCodec.toCompact(compact, threshold) == compact
+
+        where:
+
+        threshold << [-1, 0]
+    }
+
+    def "repeated values are stored once and large changes are compressed"() {
+        def attributes = (1..50).collect {
+            createAttr("attr$it", 'same value', 'same old value', 'com.company.entity')
+        }
+
+        when:
+
+        def uncompressed = EntityLogChangesCodec.encode(attributes, -1)
+        def compressed = EntityLogChangesCodec.encode(attributes, 0)
+
+        then:
+
+        compressed.length() < uncompressed.length()
+        toMaps(EntityLogChangesCodec.decode(uncompressed)) == toMaps(attributes)
+        toMaps(EntityLogChangesCodec.decode(compressed)) == toMaps(attributes)
+    }
+
+    def "unsupported version is rejected"() {
+        when:
+
+        EntityLogChangesCodec.decode(EntityLogChangesCodec.COMPACT_PREFIX + Base64.encoder.encodeToString([99, 0] as byte[]))
+
+        then:
+
+        thrown(IllegalArgumentException)
+    }
+
+    private static EntityLogAttr createAttr(String name, String value, String oldValue, String messagesPack) {
+        def attr = new EntityLogAttr()
+        attr.name = name
+        attr.value = value
+        attr.oldValue = oldValue
+        attr.messagesPack = messagesPack
+        return attr
+    }
+
+    private static List<Map> toMaps(List<EntityLogAttr> attributes) {
+        return attributes.collect {
+            [name: it.name, value: it.value, valueId: it.valueId, oldValue: it.oldValue,
+             oldValueId: it.oldValueId, messagesPack: it.messagesPack]
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import io.jmix.audit.entity.EntityLogItem
+import io.jmix.audit.impl.EntityLogImpl
+
+class EntityLogRecoveredRowsTest extends AbstractEntityLogTest {
+
+    void setup() {
+        clearTable("AUDIT_ENTITY_LOG")
+    }
+
+    def "recovered rows which are already stored are not inserted again"() {
+        def stored = createRow()
+        def notStored = createRow()
+        def entityLogImpl = entityLog as EntityLogImpl
+
+        when:
+        entityLogImpl.writeRows([stored], false)
+        entityLogImpl.writeRows([stored, notStored], true)
+
+        then:
+        countRows(stored[0] as UUID) == 1
+        countRows(notStored[0] as UUID) == 1
+    }
+
+    def "rows with long and empty changes are inserted"() {
+        def longChanges = createRow()
+        longChanges[12] = 'name=' + 'x' * 10000
+        def noChanges = createRow()
+        noChanges[12] = null
+        def entityLogImpl = entityLog as EntityLogImpl
+
+        when:
+        entityLogImpl.writeRows([longChanges, noChanges], false)
+
+        then:
+        jdbc.queryForObject("select CHANGES from AUDIT_ENTITY_LOG where ID = ?", String,
+                longChanges[0].toString()) == longChanges[12]
+        countRows(noChanges[0] as UUID) == 1
+    }
+
+    protected Object[] createRow() {
+        def date = new Date()
+        [UUID.randomUUID(), date, 'admin', date, 'admin', EntityLogItem.Type.CREATE.id, 'test$IdentityEntity',
+         'instance', UUID.randomUUID(), null, null, null, 'name=value', null] as Object[]
+    }
+
+    protected int countRows(UUID id) {
+        jdbc.queryForObject("select count(*) from AUDIT_ENTITY_LOG where ID = ?", Integer, id.toString())
+    }
+}
@@ -284,6 +284,28 @@ class EntityLogTest extends AbstractEntityLogTest {
         runSqlUpdate("delete from CASCOP_ORDER")
     }
 
+    def "Log items of entities saved in one transaction are inserted with audit info"() {
+        when:
+        List<CascOrderReview> reviews = (1..3).collect { i ->
+            CascOrderReview review = metadata.create(CascOrderReview)
+            review.text = "Review$i"
+            review
+        }
+        dataManager.save(reviews as Object[])
+
+        then:
+        reviews.every { review ->
+            def entityLogItems = getEntityLogItems('cascop_OrderReview', review.id)
+            entityLogItems.size() == 1
+                    && entityLogItems[0].type == EntityLogItem.Type.CREATE
+                    && entityLogItems[0].createTs != null
+                    && entityLogItems[0].changes.contains("text=${review.text}")
+        }
+
+        cleanup:
+        runSqlUpdate("delete from CASCOP_ORDER_REVIEW")
+    }
+
     protected saveEntity(Entity entity) {
         withTransaction {
             em.persist(entity)
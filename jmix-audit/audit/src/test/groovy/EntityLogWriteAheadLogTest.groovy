@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import io.jmix.audit.impl.EntityLogWriteAheadLog
+import spock.lang.Specification
+
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+class EntityLogWriteAheadLogTest extends Specification {
+
+    Path dir
+
+    void setup() {
+        dir = Files.createTempDirectory('entity-log-wal')
+    }
+
+    void cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def "unacknowledged rows are recovered after restart"() {
+        def date = new Date()
+        def id = UUID.randomUUID()
+
+        when:
+        def wal = new EntityLogWriteAheadLog(dir)
+        wal.recover()
+        def segment = wal.append([[id, date, 'admin', null, 1, 2L, 'changes'] as Object[]])
+        wal.append([[UUID.randomUUID(), 'second'] as Object[]])
+        wal.acknowledge(segment, 1)
+        wal.close()
+
+        def recovered = new EntityLogWriteAheadLog(dir).recover()
+
+        then:
+        recovered.size() == 2
+        recovered[0] as List == [id, date, 'admin', null, 1, 2L, 'changes']
+        recovered[1][1] == 'second'
+    }
+
+    def "acknowledged rows are not recovered"() {
+        when:
+        def wal = new EntityLogWriteAheadLog(dir)
+        wal.recover()
+        def segment = wal.append([['first'] as Object[], ['second'] as Object[]])
+        wal.acknowledge(segment, 2)
+        wal.close()
+
+        def recovered = new EntityLogWriteAheadLog(dir)
+
+        then:
+        recovered.recover().isEmpty()
+        Files.list(dir).count() == 0
+    }
+
+    def "recovered segments are deleted after their rows are written"() {
+        def wal = new EntityLogWriteAheadLog(dir)
+        wal.recover()
+        wal.append([['first'] as Object[]])
+        wal.close()
+
+        when:
+        def restarted = new EntityLogWriteAheadLog(dir)
+        def rows = restarted.recover()
+        def segment = restarted.append([['second'] as Object[]])
+        restarted.deleteRecovered()
+        restarted.acknowledge(segment, 1)
+        restarted.close()
+
+        then:
+        rows.size() == 1
+        Files.list(dir).count() == 0
+    }
+
+    def "incomplete record at the end of the last segment is skipped"() {
+        def wal = new EntityLogWriteAheadLog(dir)
+        wal.recover()
+        wal.append([['first'] as Object[], ['second'] as Object[]])
+        wal.close()
+        truncate(dir.resolve('entity-log-1.wal'), 3)
+
+        when:
+        def restarted = new EntityLogWriteAheadLog(dir)
+        def rows = restarted.recover()
+        restarted.deleteRecovered()
+
+        then:
+        rows*.getAt(0) == ['first']
+        Files.list(dir).count() == 0
+    }
+
+    def "segment with damaged record is quarantined"() {
+        def wal = new EntityLogWriteAheadLog(dir)
+        wal.recover()
+        wal.append([['first'] as Object[], ['second'] as Object[]])
+        wal.close()
+        def segmentFile = dir.resolve('entity-log-1.wal')
+        byte[] bytes = Files.readAllBytes(segmentFile)
+        bytes[bytes.length - 10] = (byte) (bytes[bytes.length - 10] ^ 0xFF)
+        Files.write(segmentFile, bytes)
+
+        when:
+        def restarted = new EntityLogWriteAheadLog(dir)
+        def rows = restarted.recover()
+        restarted.deleteRecovered()
+        def segment = restarted.append([['third'] as Object[]])
+
+        then:
+        rows*.getAt(0) == ['first']
+        segment == 2
+        Files.list(dir).filter { it.fileName.toString().endsWith('.corrupt') }.count() == 1
+    }
+
+    def "incomplete record in an earlier segment quarantines the segment"() {
+        def wal = new EntityLogWriteAheadLog(dir)
+        wal.recover()
+        wal.append([['first'] as Object[]])
+        wal.close()
+        truncate(dir.resolve('entity-log-1.wal'), 3)
+
+        wal = new EntityLogWriteAheadLog(dir)
+        wal.recover()
+        wal.append([['second'] as Object[]])
+        wal.close()
+
+        when:
+        def restarted = new EntityLogWriteAheadLog(dir)
+        def rows = restarted.recover()
+        restarted.deleteRecovered()
+
+        then:
+        rows*.getAt(0) == ['second']
+        Files.list(dir).count() == 1
+        Files.list(dir).allMatch { it.fileName.toString().startsWith('entity-log-1.wal.') }
+    }
+
+    private static void truncate(Path file, int bytes) {
+        FileChannel.open(file, StandardOpenOption.WRITE).withCloseable {
+            it.truncate(it.size() - bytes)
+        }
+    }
+}
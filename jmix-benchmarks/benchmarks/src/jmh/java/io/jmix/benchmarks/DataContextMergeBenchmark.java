@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.benchmarks;
+
+import io.jmix.benchmarks.entity.BenchOrder;
+import io.jmix.core.EntitySet;
+import io.jmix.flowui.model.impl.DataContextImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging the loaded order graph into a new {@link DataContextImpl}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DataContextMergeBenchmark {
+
+    private AutowireCapableBeanFactory beanFactory;
+    private List<BenchOrder> orders;
+
+    @Setup
+    public void setup() {
+        beanFactory = BenchmarkContext.get().getAutowireCapableBeanFactory();
+        orders = BenchmarkContext.loadOrders();
+    }
+
+    @Benchmark
+    public EntitySet merge() {
+        DataContextImpl dataContext = new DataContextImpl();
+        beanFactory.autowireBean(dataContext);
+        return dataContext.merge(orders);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.benchmarks;
+
+import io.jmix.benchmarks.entity.BenchOrder;
+import io.jmix.benchmarks.entity.BenchOrderLine;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.UnconstrainedDataManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Loading through {@code UnconstrainedDataManagerImpl} and {@code AbstractDataStore.loadList()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DataManagerBenchmark {
+
+    private UnconstrainedDataManager dataManager;
+    private FetchPlan orderFetchPlan;
+    private List<Object> orderIds;
+
+    @Setup
+    public void setup() {
+        dataManager = BenchmarkContext.getBean(UnconstrainedDataManager.class);
+        orderFetchPlan = BenchmarkContext.getOrderFetchPlan();
+        orderIds = BenchmarkContext.loadOrders().stream()
+                .map(BenchOrder::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BenchOrder> loadOrdersWithDeepFetchPlan() {
+        return dataManager.load(BenchOrder.class)
+                .all()
+                .fetchPlan(orderFetchPlan)
+                .list();
+    }
+
+    @Benchmark
+    public List<BenchOrder> loadOrdersByIds() {
+        return dataManager.load(BenchOrder.class)
+                .ids(orderIds)
+                .fetchPlan(orderFetchPlan)
+                .list();
+    }
+
+    @Benchmark
+    public List<BenchOrderLine> loadOrderLinesByQuery() {
+        return dataManager.load(BenchOrderLine.class)
+                .query("select e from bench_OrderLine e where e.quantity > :quantity")
+                .parameter("quantity", 2)
+                .fetchPlan(FetchPlan.BASE)
+                .list();
+    }
+}
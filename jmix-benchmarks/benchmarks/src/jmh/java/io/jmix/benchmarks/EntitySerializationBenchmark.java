@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.benchmarks;
+
+import io.jmix.benchmarks.entity.BenchOrder;
+import io.jmix.core.EntitySerialization;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.Metadata;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the loaded order graph by {@code EntitySerializationImpl}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class EntitySerializationBenchmark {
+
+    private EntitySerialization entitySerialization;
+    private MetaClass orderMetaClass;
+    private FetchPlan orderFetchPlan;
+    private List<BenchOrder> orders;
+    private String json;
+
+    @Setup
+    public void setup() {
+        entitySerialization = BenchmarkContext.getBean(EntitySerialization.class);
+        orderMetaClass = BenchmarkContext.getBean(Metadata.class).getClass(BenchOrder.class);
+        orderFetchPlan = BenchmarkContext.getOrderFetchPlan();
+        orders = BenchmarkContext.loadOrders();
+        json = entitySerialization.toJson(orders, orderFetchPlan);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return entitySerialization.toJson(orders, orderFetchPlan);
+    }
+
+    @Benchmark
+    public Collection<BenchOrder> fromJson() {
+        return entitySerialization.entitiesCollectionFromJson(json, orderMetaClass);
+    }
+}
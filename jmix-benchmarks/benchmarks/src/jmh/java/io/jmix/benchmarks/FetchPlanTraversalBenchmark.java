@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.benchmarks;
+
+import io.jmix.benchmarks.entity.BenchOrder;
+import io.jmix.core.EntityAttributeVisitor;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.metamodel.model.MetaProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traversal of the loaded order graph by {@code MetadataTools.traverseAttributesByFetchPlan()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FetchPlanTraversalBenchmark {
+
+    private MetadataTools metadataTools;
+    private FetchPlan orderFetchPlan;
+    private List<BenchOrder> orders;
+
+    @Setup
+    public void setup() {
+        metadataTools = BenchmarkContext.getBean(MetadataTools.class);
+        orderFetchPlan = BenchmarkContext.getOrderFetchPlan();
+        orders = BenchmarkContext.loadOrders();
+    }
+
+    @Benchmark
+    public void traverseAttributes(Blackhole blackhole) {
+        EntityAttributeVisitor visitor = new EntityAttributeVisitor() {
+            @Override
+            public void visit(Object entity, MetaProperty property) {
+                blackhole.consume(property);
+            }
+
+            @Override
+            public boolean skip(MetaProperty property) {
+                return !property.getRange().isClass();
+            }
+        };
+        for (BenchOrder order : orders) {
+            metadataTools.traverseAttributesByFetchPlan(orderFetchPlan, order, visitor);
+        }
+    }
+}
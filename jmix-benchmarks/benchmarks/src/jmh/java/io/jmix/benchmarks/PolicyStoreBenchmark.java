@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.benchmarks;
+
+import io.jmix.benchmarks.entity.BenchOrder;
+import io.jmix.core.Metadata;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.core.security.SecurityContextHelper;
+import io.jmix.security.constraint.SecureOperations;
+import io.jmix.security.impl.constraint.AuthenticationPolicyStore;
+import io.jmix.security.model.ResourcePolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Permission checks of a user with {@link BenchmarkContext#USER_ROLES_COUNT} roles by {@link AuthenticationPolicyStore}.
+ * The state is per thread because the authentication is bound to the benchmark thread.
+ * {@link #permissionMatrixRebuild()} measures the checks right after the compiled permissions are invalidated, so
+ * it includes compiling permissions of the entity from the policies of all roles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class PolicyStoreBenchmark {
+
+    private AuthenticationPolicyStore policyStore;
+    private SecureOperations secureOperations;
+    private MetaClass orderMetaClass;
+    private MetaPropertyPath customerPropertyPath;
+
+    @Setup
+    public void setup() {
+        policyStore = BenchmarkContext.getBean(AuthenticationPolicyStore.class);
+        secureOperations = BenchmarkContext.getBean(SecureOperations.class);
+        orderMetaClass = BenchmarkContext.getBean(Metadata.class).getClass(BenchOrder.class);
+        customerPropertyPath = orderMetaClass.getPropertyPath("customer");
+        BenchmarkContext.authenticate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHelper.setAuthentication(null);
+    }
+
+    @Benchmark
+    public List<ResourcePolicy> entityPolicies() {
+        return policyStore.getEntityResourcePolicies(orderMetaClass).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ResourcePolicy> entityAttributePolicies() {
+        return policyStore.getEntityAttributesResourcePolicies(orderMetaClass, "customer").collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public boolean permissionMatrixRebuild() {
+        policyStore.invalidatePermissionMatrices();
+        return secureOperations.isEntityReadPermitted(orderMetaClass, policyStore)
+                && secureOperations.isEntityAttrReadPermitted(customerPropertyPath, policyStore);
+    }
+}
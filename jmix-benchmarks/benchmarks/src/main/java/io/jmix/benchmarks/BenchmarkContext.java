@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.benchmarks;
+
+import io.jmix.benchmarks.entity.*;
+import io.jmix.core.*;
+import io.jmix.core.security.SecurityContextHelper;
+import io.jmix.data.DataConfiguration;
+import io.jmix.eclipselink.EclipselinkConfiguration;
+import io.jmix.security.SecurityConfiguration;
+import io.jmix.security.role.RoleGrantedAuthorityUtils;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application context shared by the benchmarks of one JMH fork. The context is started and populated with
+ * the benchmark data on the first access.
+ */
+public final class BenchmarkContext {
+
+    public static final int CUSTOMERS_COUNT = 50;
+    public static final int CATEGORIES_COUNT = 30;
+    public static final int PRODUCTS_COUNT = 100;
+    public static final int ORDERS_COUNT = 200;
+    public static final int LINES_PER_ORDER = 5;
+
+    /**
+     * Number of roles granted to the benchmark user.
+     */
+    public static final int USER_ROLES_COUNT = 100;
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkContext() {
+    }
+
+    public static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext();
+            ((DefaultListableBeanFactory) applicationContext.getBeanFactory()).setAllowBeanDefinitionOverriding(false);
+            applicationContext.register(CoreConfiguration.class, DataConfiguration.class,
+                    EclipselinkConfiguration.class, SecurityConfiguration.class, BenchmarkConfiguration.class);
+            applicationContext.refresh();
+            applicationContext.registerShutdownHook();
+
+            populate(applicationContext.getBean(UnconstrainedDataManager.class));
+            context = applicationContext;
+        }
+        return context;
+    }
+
+    public static <T> T getBean(Class<T> beanType) {
+        return get().getBean(beanType);
+    }
+
+    /**
+     * Returns the fetch plan of orders with customers and lines, and the products of lines with three levels
+     * of categories.
+     */
+    public static FetchPlan getOrderFetchPlan() {
+        return getBean(FetchPlans.class).builder(BenchOrder.class)
+                .addFetchPlan(FetchPlan.BASE)
+                .add("customer", FetchPlan.BASE)
+                .add("lines", linesBuilder -> linesBuilder
+                        .addFetchPlan(FetchPlan.BASE)
+                        .add("product", productBuilder -> productBuilder
+                                .addFetchPlan(FetchPlan.BASE)
+                                .add("category", categoryBuilder -> categoryBuilder
+                                        .addFetchPlan(FetchPlan.BASE)
+                                        .add("parent", parentBuilder -> parentBuilder
+                                                .addFetchPlan(FetchPlan.BASE)
+                                                .add("parent", FetchPlan.BASE)))))
+                .build();
+    }
+
+    public static List<BenchOrder> loadOrders() {
+        return getBean(UnconstrainedDataManager.class).load(BenchOrder.class)
+                .all()
+                .fetchPlan(getOrderFetchPlan())
+                .list();
+    }
+
+    /**
+     * Sets the authentication of a user having {@link #USER_ROLES_COUNT} roles generated by
+     * {@link BenchmarkRoleProvider} to the current thread.
+     */
+    public static void authenticate() {
+        RoleGrantedAuthorityUtils authorityUtils = getBean(RoleGrantedAuthorityUtils.class);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (int i = 0; i < USER_ROLES_COUNT; i++) {
+            authorities.add(authorityUtils.createResourceRoleGrantedAuthority(BenchmarkRoleProvider.ROLE_CODE_PREFIX + i));
+        }
+        User user = new User("benchmark", "", authorities);
+        SecurityContextHelper.setAuthentication(new UsernamePasswordAuthenticationToken(user, null, authorities));
+    }
+
+    private static void populate(UnconstrainedDataManager dataManager) {
+        SaveContext saveContext = new SaveContext();
+
+        List<BenchCategory> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES_COUNT; i++) {
+            BenchCategory category = dataManager.create(BenchCategory.class);
+            category.setName("Category " + i);
+            // three levels of categories
+            if (i >= 10) {
+                category.setParent(categories.get(i - 10));
+            }
+            categories.add(category);
+            saveContext.saving(category);
+        }
+
+        List<BenchProduct> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS_COUNT; i++) {
+            BenchProduct product = dataManager.create(BenchProduct.class);
+            product.setName("Product " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            product.setCategory(categories.get(i % CATEGORIES_COUNT));
+            products.add(product);
+            saveContext.saving(product);
+        }
+
+        List<BenchCustomer> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS_COUNT; i++) {
+            BenchCustomer customer = dataManager.create(BenchCustomer.class);
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@example.com");
+            customers.add(customer);
+            saveContext.saving(customer);
+        }
+
+        for (int i = 0; i < ORDERS_COUNT; i++) {
+            BenchOrder order = dataManager.create(BenchOrder.class);
+            order.setNumber("ORD-" + i);
+            order.setDate(LocalDate.of(2024, 1, 1).plusDays(i));
+            order.setCustomer(customers.get(i % CUSTOMERS_COUNT));
+            saveContext.saving(order);
+
+            BigDecimal amount = BigDecimal.ZERO;
+            for (int j = 0; j < LINES_PER_ORDER; j++) {
+                BenchOrderLine line = dataManager.create(BenchOrderLine.class);
+                line.setOrder(order);
+                line.setProduct(products.get((i * LINES_PER_ORDER + j) % PRODUCTS_COUNT));
+                line.setQuantity(j + 1);
+                amount = amount.add(line.getProduct().getPrice().multiply(BigDecimal.valueOf(j + 1)));
+                saveContext.saving(line);
+            }
+            order.setAmount(amount);
+        }
+
+        dataManager.save(saveContext);
+    }
+}
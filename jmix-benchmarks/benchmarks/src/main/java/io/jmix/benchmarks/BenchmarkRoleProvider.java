@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.benchmarks;
+
+import io.jmix.core.Metadata;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.security.model.*;
+import io.jmix.security.role.ResourceRoleProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Generates {@link #ROLES_COUNT} resource roles with entity and entity attribute policies for the benchmark
+ * entities, so that permission checks work with a realistic number of roles and policies.
+ */
+@Component("bench_BenchmarkRoleProvider")
+public class BenchmarkRoleProvider implements ResourceRoleProvider {
+
+    public static final int ROLES_COUNT = 200;
+
+    public static final String ROLE_CODE_PREFIX = "bench-role-";
+
+    private static final String SOURCE = "benchmark";
+
+    @Autowired
+    private Metadata metadata;
+
+    private Map<String, ResourceRole> roles;
+
+    @Override
+    public Collection<ResourceRole> getAllRoles() {
+        return getRoles().values();
+    }
+
+    @Nullable
+    @Override
+    public ResourceRole findRoleByCode(String code) {
+        return getRoles().get(code);
+    }
+
+    @Override
+    public boolean deleteRole(ResourceRole role) {
+        throw new UnsupportedOperationException("Benchmark roles cannot be deleted");
+    }
+
+    private synchronized Map<String, ResourceRole> getRoles() {
+        if (roles == null) {
+            Map<String, ResourceRole> map = new LinkedHashMap<>();
+            for (int i = 0; i < ROLES_COUNT; i++) {
+                ResourceRole role = createRole(i);
+                map.put(role.getCode(), role);
+            }
+            roles = map;
+        }
+        return roles;
+    }
+
+    private ResourceRole createRole(int index) {
+        List<ResourcePolicy> policies = new ArrayList<>();
+        EntityPolicyAction[] entityActions = EntityPolicyAction.values();
+        EntityAttributePolicyAction[] attributeActions = EntityAttributePolicyAction.values();
+
+        int i = index;
+        for (MetaClass metaClass : metadata.getClasses()) {
+            if (!metaClass.getName().startsWith("bench_")) {
+                continue;
+            }
+            policies.add(ResourcePolicy.builder(ResourcePolicyType.ENTITY, metaClass.getName())
+                    .withAction(entityActions[i++ % entityActions.length].getId())
+                    .build());
+            for (MetaProperty property : metaClass.getProperties()) {
+                policies.add(ResourcePolicy.builder(ResourcePolicyType.ENTITY_ATTRIBUTE,
+                                metaClass.getName() + "." + property.getName())
+                        .withAction(attributeActions[i++ % attributeActions.length].getId())
+                        .build());
+            }
+        }
+
+        ResourceRole role = new ResourceRole();
+        role.setCode(ROLE_CODE_PREFIX + index);
+        role.setName("Benchmark role " + index);
+        role.setSource(SOURCE);
+        role.setScopes(Set.of(SecurityScope.UI, SecurityScope.API));
+        role.setResourcePolicies(policies);
+        return role;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.benchmarks.entity;
+
+import io.jmix.core.metamodel.annotation.JmixEntity;
+import jakarta.persistence.*;
+
+@JmixEntity
+@Entity(name = "bench_OrderLine")
+@Table(name = "BENCH_ORDER_LINE")
+public class BenchOrderLine extends BenchmarkEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ORDER_ID")
+    private BenchOrder order;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "PRODUCT_ID")
+    private BenchProduct product;
+
+    @Column(name = "QUANTITY")
+    private Integer quantity;
+
+    public BenchOrder getOrder() {
+        return order;
+    }
+
+    public void setOrder(BenchOrder order) {
+        this.order = order;
+    }
+
+    public BenchProduct getProduct() {
+        return product;
+    }
+
+    public void setProduct(BenchProduct product) {
+        this.product = product;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -82,7 +82,7 @@ class JmixBuildPlugin implements Plugin<Project> {
     }
 
     private void setupPublishing(Project project) {
-        if (!project.name.startsWith('sample')) {
+        if (!project.name.startsWith('sample') && project.name != 'benchmarks') {
             project.with {
                 apply plugin: 'maven-publish'
 
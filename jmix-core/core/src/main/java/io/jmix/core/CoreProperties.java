@@ -57,6 +57,30 @@ public class CoreProperties {
     List<Locale> availableLocales;
     int crossDataStoreReferenceLoadingBatchSize;
 
+    /**
+     * Whether references to entities from other data stores are loaded once per referenced entity for the graph
+     * loaded from a data store, and batches of identifiers are loaded concurrently. References of the referenced
+     * entities are loaded by their own data stores and are deduplicated within those loads only. Batches are loaded
+     * in the calling thread if the loading joins the current transaction.
+     */
+    boolean crossDataStoreReferenceParallelLoadingEnabled;
+
+    /**
+     * Maximum number of threads loading batches of references to entities from other data stores concurrently.
+     */
+    int crossDataStoreReferenceLoadingThreads;
+
+    /**
+     * Whether to record timers and counters of data store operations to the {@code MeterRegistry}.
+     */
+    boolean dataStoreMetricsEnabled;
+
+    /**
+     * Whether data store metrics publish percentile histogram buckets. Each bucket is a separate time series,
+     * so it is turned off by default.
+     */
+    boolean dataStoreMetricsPercentileHistogramEnabled;
+
     /**
      * Whether to generate identifiers for entities located in additional data stores.
      */
@@ -113,6 +137,10 @@ public class CoreProperties {
             String dbDir,
             List<String> availableLocales,
             @DefaultValue("50") int crossDataStoreReferenceLoadingBatchSize,
+            @DefaultValue("false") boolean crossDataStoreReferenceParallelLoadingEnabled,
+            @DefaultValue("4") int crossDataStoreReferenceLoadingThreads,
+            @DefaultValue("false") boolean dataStoreMetricsEnabled,
+            @DefaultValue("false") boolean dataStoreMetricsPercentileHistogramEnabled,
             @DefaultValue("true") boolean idGenerationForEntitiesInAdditionalDataStoresEnabled,
             @DefaultValue("100") int dom4jMaxPoolSize,
             @DefaultValue("1000") int dom4jMaxBorrowWaitMillis,
@@ -143,6 +171,10 @@ public class CoreProperties {
         }
 
         this.crossDataStoreReferenceLoadingBatchSize = crossDataStoreReferenceLoadingBatchSize;
+        this.crossDataStoreReferenceParallelLoadingEnabled = crossDataStoreReferenceParallelLoadingEnabled;
+        this.crossDataStoreReferenceLoadingThreads = crossDataStoreReferenceLoadingThreads;
+        this.dataStoreMetricsEnabled = dataStoreMetricsEnabled;
+        this.dataStoreMetricsPercentileHistogramEnabled = dataStoreMetricsPercentileHistogramEnabled;
         this.idGenerationForEntitiesInAdditionalDataStoresEnabled = idGenerationForEntitiesInAdditionalDataStoresEnabled;
         this.dom4jMaxPoolSize = dom4jMaxPoolSize;
         this.dom4jMaxBorrowWaitMillis = dom4jMaxBorrowWaitMillis;
@@ -193,6 +225,34 @@ public class CoreProperties {
         return crossDataStoreReferenceLoadingBatchSize;
     }
 
+    /**
+     * @see #crossDataStoreReferenceParallelLoadingEnabled
+     */
+    public boolean isCrossDataStoreReferenceParallelLoadingEnabled() {
+        return crossDataStoreReferenceParallelLoadingEnabled;
+    }
+
+    /**
+     * @see #crossDataStoreReferenceLoadingThreads
+     */
+    public int getCrossDataStoreReferenceLoadingThreads() {
+        return crossDataStoreReferenceLoadingThreads;
+    }
+
+    /**
+     * @see #dataStoreMetricsEnabled
+     */
+    public boolean isDataStoreMetricsEnabled() {
+        return dataStoreMetricsEnabled;
+    }
+
+    /**
+     * @see #dataStoreMetricsPercentileHistogramEnabled
+     */
+    public boolean isDataStoreMetricsPercentileHistogramEnabled() {
+        return dataStoreMetricsPercentileHistogramEnabled;
+    }
+
     /**
      * @see #idGenerationForEntitiesInAdditionalDataStoresEnabled
      */
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Part of a file to be sent in response to an HTTP request according to its {@code Range} header.
+ * <p>
+ * Only a single byte range is served. Requests with several ranges and conditional {@code If-Range} requests are
+ * served with the whole file, as file responses have no validators which the condition could be checked against.
+ *
+ * @see FileStorage#transferTo
+ */
+public class FileByteRange {
+
+    public static final String ACCEPT_RANGES_VALUE = "bytes";
+
+    protected final HttpStatus status;
+    protected final long fileSize;
+    protected final long start;
+    protected final long length;
+
+    protected FileByteRange(HttpStatus status, long fileSize, long start, long length) {
+        this.status = status;
+        this.fileSize = fileSize;
+        this.start = start;
+        this.length = length;
+    }
+
+    /**
+     * Resolves the part of a file requested by the headers of a request.
+     *
+     * @param rangeHeader   value of the {@code Range} header
+     * @param ifRangeHeader value of the {@code If-Range} header
+     * @param fileSize      size of the file in bytes
+     * @return range to send
+     */
+    public static FileByteRange resolve(@Nullable String rangeHeader, @Nullable String ifRangeHeader, long fileSize) {
+        if (rangeHeader == null || ifRangeHeader != null) {
+            return wholeFile(fileSize);
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // a syntactically invalid header is ignored according to RFC 9110
+            return wholeFile(fileSize);
+        }
+        if (ranges.size() != 1) {
+            return wholeFile(fileSize);
+        }
+        HttpRange range = ranges.get(0);
+        try {
+            long start = range.getRangeStart(fileSize);
+            long end = range.getRangeEnd(fileSize);
+            return new FileByteRange(HttpStatus.PARTIAL_CONTENT, fileSize, start, end - start + 1);
+        } catch (IllegalArgumentException e) {
+            return new FileByteRange(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, fileSize, 0, 0);
+        }
+    }
+
+    public static FileByteRange wholeFile(long fileSize) {
+        return new FileByteRange(HttpStatus.OK, fileSize, 0, fileSize);
+    }
+
+    /**
+     * @return {@code 200} for the whole file, {@code 206} for a part of it or {@code 416} if the range can't be
+     * satisfied
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return false if the response must contain no content
+     */
+    public boolean isSatisfiable() {
+        return status != HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
+    }
+
+    /**
+     * @return position of the first byte to send
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return amount of bytes to send
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return value of the {@code Content-Range} header or null if the whole file is sent
+     */
+    @Nullable
+    public String getContentRange() {
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            return "bytes " + start + "-" + (start + length - 1) + "/" + fileSize;
+        } else if (status == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE) {
+            return "bytes */" + fileSize;
+        }
+        return null;
+    }
+}
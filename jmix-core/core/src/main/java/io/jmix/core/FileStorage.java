@@ -16,7 +16,12 @@
 
 package io.jmix.core;
 
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collections;
 import java.util.Map;
 
@@ -68,6 +73,43 @@ public interface FileStorage {
      */
     InputStream openStream(FileRef reference);
 
+    /**
+     * Returns the size of a file in bytes.
+     * <p>
+     * The default implementation returns -1 which means that the storage cannot determine the size without
+     * reading the whole file. Byte ranges of such files cannot be requested by clients.
+     *
+     * @param reference file reference
+     * @return size of the file or -1 if it is unknown
+     * @throws IllegalArgumentException if arguments are incorrect
+     * @throws FileStorageException     if something goes wrong
+     */
+    default long getFileSize(FileRef reference) {
+        return -1;
+    }
+
+    /**
+     * Writes a part of a file contents to the given channel.
+     * <p>
+     * The default implementation reads the file from {@link #openStream(FileRef)} skipping the first
+     * {@code position} bytes. Storages having random access to files should override it to read only the
+     * requested part.
+     *
+     * @param reference file reference
+     * @param position  position in the file to start from
+     * @param count     maximum number of bytes to write
+     * @param target    channel to write to, is not closed by this method
+     * @throws IllegalArgumentException if arguments are incorrect
+     * @throws FileStorageException     if something goes wrong
+     */
+    default void transferTo(FileRef reference, long position, long count, WritableByteChannel target) {
+        try (InputStream inputStream = openStream(reference)) {
+            IOUtils.copyLarge(inputStream, Channels.newOutputStream(target), position, count);
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.toString(), e);
+        }
+    }
+
     /**
      * Removes a file from the file storage.
      *
@@ -18,23 +18,40 @@ package io.jmix.core.datastore;
 
 import com.google.common.base.Preconditions;
 import io.jmix.core.*;
+import io.jmix.core.constraint.InMemoryConstraint;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.entity.KeyValueEntity;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.security.SecurityContextHelper;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 
 import org.springframework.lang.Nullable;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public abstract class AbstractDataStore implements DataStore {
     protected final List<DataStoreEventListener> listeners = new ArrayList<>();
 
+    /**
+     * Share of loaded entities that passed in-memory filtering, by entity name and authorities of the user.
+     * Used to choose the size of batches in {@link #loadListByBatches(LoadContext, EventSharedState)}.
+     */
+    protected final Map<SelectivityKey, Double> selectivityByEntity = new ConcurrentHashMap<>();
+
+    protected static final double DEFAULT_SELECTIVITY = 0.5;
+    protected static final double MIN_SELECTIVITY = 0.01;
+    protected static final double FILTERED_SELECTIVITY_THRESHOLD = 0.95;
+    protected static final int MAX_BATCH_SIZE = 10000;
+
     protected Metadata metadata;
     protected MetadataTools metadataTools;
     protected EntityStates entityStates;
@@ -74,7 +91,7 @@ public abstract class AbstractDataStore implements DataStore {
 
         DataStoreBeforeEntityLoadEvent beforeLoadEvent = new DataStoreBeforeEntityLoadEvent(context, loadState);
 
-        fireEvent(beforeLoadEvent);
+        fireBeforeEvent(beforeLoadEvent, context, false, loadState);
 
         if (beforeLoadEvent.loadPrevented()) {
             return null;
@@ -93,6 +110,9 @@ public abstract class AbstractDataStore implements DataStore {
             beforeLoadTransactionCommit(context,
                     entity == null ? Collections.emptyList() : Collections.singletonList(entity));
             commitTransaction(transaction);
+        } catch (RuntimeException e) {
+            fireEvent(new DataStoreOperationFailedEvent(context, e, false, loadState));
+            throw e;
         } finally {
             rollbackTransaction(transaction);
         }
@@ -114,7 +134,7 @@ public abstract class AbstractDataStore implements DataStore {
         EventSharedState loadState = new EventSharedState();
 
         DataStoreBeforeEntityLoadEvent beforeLoadEvent = new DataStoreBeforeEntityLoadEvent(context, loadState);
-        fireEvent(beforeLoadEvent);
+        fireBeforeEvent(beforeLoadEvent, context, false, loadState);
 
         if (beforeLoadEvent.loadPrevented()) {
             return Collections.emptyList();
@@ -123,7 +143,10 @@ public abstract class AbstractDataStore implements DataStore {
         List<Object> resultList;
         Object transaction = beginLoadTransaction(context.isJoinTransaction());
         try {
-            if (context.getIds().isEmpty()) {
+            if (context.getIds().isEmpty() && isFilteredInMemory(context)) {
+                // entities were filtered before, so load by batches at once instead of probing the requested page
+                resultList = loadListByBatches(context, loadState);
+            } else if (context.getIds().isEmpty()) {
                 List<Object> entities = loadAll(context);
 
                 DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(context, entities, loadState);
@@ -131,10 +154,14 @@ public abstract class AbstractDataStore implements DataStore {
 
                 resultList = loadEvent.getResultEntities();
 
+                if (context.getQuery() != null && context.getQuery().getMaxResults() != 0) {
+                    updateSelectivity(context, entities.size(), resultList.size());
+                }
+
                 if (entities.size() != resultList.size()) {
                     Preconditions.checkNotNull(context.getQuery());
                     if (context.getQuery().getMaxResults() != 0) {
-                        resultList = loadListByBatches(context, resultList.size(), loadState);
+                        resultList = loadListByBatches(context, loadState);
                     }
                 }
             } else {
@@ -148,6 +175,9 @@ public abstract class AbstractDataStore implements DataStore {
 
             beforeLoadTransactionCommit(context, resultList);
             commitTransaction(transaction);
+        } catch (RuntimeException e) {
+            fireEvent(new DataStoreOperationFailedEvent(context, e, false, loadState));
+            throw e;
         } finally {
             rollbackTransaction(transaction);
         }
@@ -169,7 +199,7 @@ public abstract class AbstractDataStore implements DataStore {
         EventSharedState eventState = new EventSharedState();
 
         DataStoreBeforeEntityCountEvent beforeCountEvent = new DataStoreBeforeEntityCountEvent(context, eventState);
-        fireEvent(beforeCountEvent);
+        fireBeforeEvent(beforeCountEvent, context, true, eventState);
 
         if (beforeCountEvent.countPrevented()) {
             return 0;
@@ -198,9 +228,15 @@ public abstract class AbstractDataStore implements DataStore {
 
             beforeLoadTransactionCommit(context, Collections.emptyList());
             commitTransaction(transaction);
+        } catch (RuntimeException e) {
+            fireEvent(new DataStoreOperationFailedEvent(context, e, true, eventState));
+            throw e;
         } finally {
             rollbackTransaction(transaction);
         }
+
+        fireEvent(new DataStoreAfterEntityCountEvent(context, count, eventState));
+
         return count;
     }
 
@@ -212,7 +248,7 @@ public abstract class AbstractDataStore implements DataStore {
         EventSharedState saveState = new EventSharedState();
 
         DataStoreBeforeEntitySaveEvent beforeSaveEvent = new DataStoreBeforeEntitySaveEvent(context, saveState);
-        fireEvent(beforeSaveEvent);
+        fireBeforeEvent(beforeSaveEvent, context, false, saveState);
 
         Set<Object> savedEntities;
         Set<Object> deletedEntities;
@@ -228,12 +264,25 @@ public abstract class AbstractDataStore implements DataStore {
 
             beforeSaveTransactionCommit(context, savedEntities, deletedEntities);
             commitTransaction(transaction);
+        } catch (RuntimeException e) {
+            fireEvent(new DataStoreOperationFailedEvent(context, e, false, saveState));
+            throw e;
         } finally {
             beforeSaveTransactionRollback(context);
             rollbackTransaction(transaction);
         }
 
-        return context.isDiscardSaved() ? Collections.emptySet() : loadAllAfterSave(context, savedEntities);
+        Set<?> result;
+        try {
+            result = context.isDiscardSaved() ? Collections.emptySet() : loadAllAfterSave(context, savedEntities);
+        } catch (RuntimeException e) {
+            fireEvent(new DataStoreOperationFailedEvent(context, e, false, saveState));
+            throw e;
+        }
+
+        fireEvent(new DataStoreAfterEntitySaveEvent(context, savedEntities, deletedEntities, saveState));
+
+        return result;
     }
 
     @Override
@@ -248,7 +297,7 @@ public abstract class AbstractDataStore implements DataStore {
         EventSharedState eventState = new EventSharedState();
 
         DataStoreBeforeValueLoadEvent beforeLoadEvent = new DataStoreBeforeValueLoadEvent(context, eventState);
-        fireEvent(beforeLoadEvent);
+        fireBeforeEvent(beforeLoadEvent, context, false, eventState);
 
         if (beforeLoadEvent.loadPrevented()) {
             return Collections.emptyList();
@@ -263,10 +312,15 @@ public abstract class AbstractDataStore implements DataStore {
                     context.getProperties(), beforeLoadEvent.deniedProperties());
 
             commitTransaction(transaction);
+        } catch (RuntimeException e) {
+            fireEvent(new DataStoreOperationFailedEvent(context, e, false, eventState));
+            throw e;
         } finally {
             rollbackTransaction(transaction);
         }
 
+        fireEvent(new DataStoreAfterValueLoadEvent(context, keyValueEntities, eventState));
+
         return keyValueEntities;
     }
 
@@ -282,7 +336,7 @@ public abstract class AbstractDataStore implements DataStore {
         EventSharedState eventState = new EventSharedState();
 
         DataStoreBeforeValueLoadEvent beforeLoadEvent = new DataStoreBeforeValueLoadEvent(context, eventState);
-        fireEvent(beforeLoadEvent);
+        fireBeforeEvent(beforeLoadEvent, context, true, eventState);
 
         if (beforeLoadEvent.loadPrevented()) {
             return 0;
@@ -293,10 +347,15 @@ public abstract class AbstractDataStore implements DataStore {
         try {
             count = countAllValues(context);
             commitTransaction(transaction);
+        } catch (RuntimeException e) {
+            fireEvent(new DataStoreOperationFailedEvent(context, e, true, eventState));
+            throw e;
         } finally {
             rollbackTransaction(transaction);
         }
 
+        fireEvent(new DataStoreAfterValueLoadEvent(context, count, eventState));
+
         return count;
     }
 
@@ -344,7 +403,21 @@ public abstract class AbstractDataStore implements DataStore {
         }
     }
 
-    protected List<Object> loadListByBatches(LoadContext<?> context, int actualSize, EventSharedState eventState) {
+    /**
+     * Fires the event starting an operation and sends {@link DataStoreOperationFailedEvent} if a listener throws
+     * an exception, so that listeners which started to track the operation can complete it.
+     */
+    protected void fireBeforeEvent(BaseDataStoreEvent event, Object context, boolean countQuery,
+                                   EventSharedState eventState) {
+        try {
+            fireEvent(event);
+        } catch (RuntimeException e) {
+            fireEvent(new DataStoreOperationFailedEvent(context, e, countQuery, eventState));
+            throw e;
+        }
+    }
+
+    protected List<Object> loadListByBatches(LoadContext<?> context, EventSharedState eventState) {
         assert context.getQuery() != null;
 
         List<Object> entities = new ArrayList<>();
@@ -353,38 +426,49 @@ public abstract class AbstractDataStore implements DataStore {
         int requestedMax = context.getQuery().getMaxResults();
 
         int expectedSize = requestedMax + requestedFirst;
-        int factor = actualSize == 0 ? 2 : requestedMax / actualSize * 2;
-
-        int firstResult = 0;
-        int maxResults = (requestedFirst + requestedMax) * factor;
-        int i = 0;
-        while (entities.size() < expectedSize) {
-            if (i++ > 100000) {
-                log.warn("Loading by batches. Endless loop detected for {}", context);
-                break;
-            }
-
-            LoadContext<?> batchContext = context.copy();
-
-            assert batchContext.getQuery() != null;
-            batchContext.getQuery().setFirstResult(firstResult);
-            batchContext.getQuery().setMaxResults(maxResults);
-
-            List<Object> list = loadAll(batchContext);
-            if (list.size() == 0) {
-                break;
-            }
 
+        Predicate<List<Object>> batchConsumer = list -> {
             DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(context, list, eventState);
             fireEvent(loadEvent);
 
             entities.addAll(loadEvent.getResultEntities());
-            firstResult = firstResult + maxResults;
+            updateSelectivity(context, list.size(), loadEvent.getResultEntities().size());
+            return entities.size() < expectedSize;
+        };
+
+        if (!loadAllIncrementally(context, getBatchSize(context, expectedSize), batchConsumer)) {
+            int firstResult = 0;
+            int i = 0;
+            while (entities.size() < expectedSize) {
+                if (i++ > 100000) {
+                    log.warn("Loading by batches. Endless loop detected for {}", context);
+                    break;
+                }
+
+                int maxResults = getBatchSize(context, expectedSize - entities.size());
+
+                LoadContext<?> batchContext = context.copy();
+
+                assert batchContext.getQuery() != null;
+                batchContext.getQuery().setFirstResult(firstResult);
+                batchContext.getQuery().setMaxResults(maxResults);
+
+                List<Object> list = loadAll(batchContext);
+                if (list.size() == 0) {
+                    break;
+                }
+
+                batchConsumer.test(list);
+                if (list.size() < maxResults) {
+                    break;
+                }
+                firstResult = firstResult + maxResults;
+            }
         }
 
         // Copy by iteration because subList() returns non-serializable class
         int max = Math.min(requestedFirst + requestedMax, entities.size());
-        List<Object> resultList = new ArrayList<>(max - requestedFirst);
+        List<Object> resultList = new ArrayList<>(Math.max(max - requestedFirst, 0));
         int j = 0;
         for (Object item : entities) {
             if (j >= max)
@@ -397,6 +481,88 @@ public abstract class AbstractDataStore implements DataStore {
         return resultList;
     }
 
+    /**
+     * Loads entities by the context query starting from the first row and passes them to the consumer in batches
+     * of the given size, until the consumer returns {@code false} or there are no more rows. First and max results
+     * of the context query are ignored.
+     * <p>
+     * Stores that can read query results incrementally (e.g. with a database cursor) override this method to load
+     * in-memory filtered lists in one query. The default implementation returns {@code false}, in which case
+     * the list is loaded by pages.
+     *
+     * @param context   loading context
+     * @param batchSize suggested number of entities in a batch
+     * @param consumer  receives loaded batches and returns {@code true} to continue loading
+     * @return true if the entities have been loaded, false if incremental loading is not supported
+     */
+    protected boolean loadAllIncrementally(LoadContext<?> context, int batchSize, Predicate<List<Object>> consumer) {
+        return false;
+    }
+
+    /**
+     * Returns true if the entities of the context were filtered in memory by previous loads, so the requested page
+     * cannot be loaded directly. Only the first page is considered, for other pages the requested rows are loaded
+     * first, because they can be not filtered for the current user.
+     */
+    protected boolean isFilteredInMemory(LoadContext<?> context) {
+        LoadContext.Query query = context.getQuery();
+        if (query == null || query.getMaxResults() == 0 || query.getFirstResult() != 0) {
+            return false;
+        }
+        SelectivityKey key = getSelectivityKey(context);
+        if (key == null) {
+            return false;
+        }
+        Double selectivity = selectivityByEntity.get(key);
+        return selectivity != null && selectivity < FILTERED_SELECTIVITY_THRESHOLD;
+    }
+
+    /**
+     * Returns number of rows to load in order to get the given number of entities after in-memory filtering.
+     */
+    protected int getBatchSize(LoadContext<?> context, int requiredCount) {
+        SelectivityKey key = getSelectivityKey(context);
+        double selectivity = key == null ? DEFAULT_SELECTIVITY : selectivityByEntity.getOrDefault(key, DEFAULT_SELECTIVITY);
+        // load a bit more than estimated to avoid an extra batch because of fluctuations
+        double size = Math.ceil(requiredCount * 1.2 / Math.max(selectivity, MIN_SELECTIVITY));
+        return (int) Math.max(Math.min(size, MAX_BATCH_SIZE), Math.max(requiredCount, 1));
+    }
+
+    protected void updateSelectivity(LoadContext<?> context, int loadedCount, int passedCount) {
+        if (loadedCount == 0) {
+            return;
+        }
+        SelectivityKey key = getSelectivityKey(context);
+        if (key == null) {
+            return;
+        }
+        double observed = (double) passedCount / loadedCount;
+        selectivityByEntity.merge(key, observed, (previous, current) -> (previous + current) / 2);
+    }
+
+    /**
+     * Returns the key of in-memory filtering selectivity for the context. Users with different authorities can have
+     * different in-memory constraints, so selectivity is tracked separately for each set of authorities.
+     *
+     * @return key or null if the context has no in-memory constraints
+     */
+    @Nullable
+    protected SelectivityKey getSelectivityKey(LoadContext<?> context) {
+        boolean hasInMemoryConstraints = context.getAccessConstraints().stream()
+                .anyMatch(constraint -> constraint instanceof InMemoryConstraint);
+        if (!hasInMemoryConstraints) {
+            return null;
+        }
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+        Set<String> authorities = authentication == null
+                ? Collections.emptySet()
+                : authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return new SelectivityKey(context.getEntityMetaClass().getName(), authorities);
+    }
+
     protected List<Object> checkAndReorderLoadedEntities(LoadContext<?> context, List<Object> entities) {
         List<Object> result = new ArrayList<>(context.getIds().size());
         Map<Object, Object> idToEntityMap = entities.stream().collect(Collectors.toMap(EntityValues::getId, Function.identity()));
@@ -505,4 +671,28 @@ public abstract class AbstractDataStore implements DataStore {
             this.eventState = eventState;
         }
     }
+
+    protected static class SelectivityKey {
+
+        protected final String entityName;
+        protected final Set<String> authorities;
+
+        public SelectivityKey(String entityName, Set<String> authorities) {
+            this.entityName = entityName;
+            this.authorities = authorities;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SelectivityKey that = (SelectivityKey) o;
+            return entityName.equals(that.entityName) && authorities.equals(that.authorities);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityName, authorities);
+        }
+    }
 }
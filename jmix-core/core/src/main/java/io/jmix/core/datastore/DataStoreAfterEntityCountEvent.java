@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.datastore;
+
+import io.jmix.core.LoadContext;
+
+public class DataStoreAfterEntityCountEvent extends BaseDataStoreEvent {
+    private static final long serialVersionUID = 4920846134470186183L;
+
+    protected final long count;
+    protected final EventSharedState eventState;
+
+    public DataStoreAfterEntityCountEvent(LoadContext<?> loadContext, long count, EventSharedState eventState) {
+        super(loadContext);
+        this.count = count;
+        this.eventState = eventState;
+    }
+
+    public LoadContext<?> getLoadContext() {
+        return (LoadContext<?>) getSource();
+    }
+
+    public EventSharedState getEventState() {
+        return eventState;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void sendTo(DataStoreEventListener listener) {
+        listener.afterEntityCount(this);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.datastore;
+
+import io.jmix.core.SaveContext;
+
+import java.util.Collection;
+
+public class DataStoreAfterEntitySaveEvent extends BaseDataStoreEvent {
+    private static final long serialVersionUID = -2816311958235624706L;
+
+    protected final Collection<Object> savedEntities;
+    protected final Collection<Object> deletedEntities;
+    protected final EventSharedState eventState;
+
+    public DataStoreAfterEntitySaveEvent(SaveContext saveContext, Collection<Object> savedEntities,
+                                         Collection<Object> deletedEntities, EventSharedState eventState) {
+        super(saveContext);
+        this.savedEntities = savedEntities;
+        this.deletedEntities = deletedEntities;
+        this.eventState = eventState;
+    }
+
+    public SaveContext getSaveContext() {
+        return (SaveContext) getSource();
+    }
+
+    public EventSharedState getEventState() {
+        return eventState;
+    }
+
+    public Collection<Object> getSavedEntities() {
+        return savedEntities;
+    }
+
+    public Collection<Object> getDeletedEntities() {
+        return deletedEntities;
+    }
+
+    @Override
+    public void sendTo(DataStoreEventListener listener) {
+        listener.afterEntitySave(this);
+    }
+}
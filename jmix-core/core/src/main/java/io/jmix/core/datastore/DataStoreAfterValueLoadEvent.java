@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.datastore;
+
+import io.jmix.core.ValueLoadContext;
+import io.jmix.core.entity.KeyValueEntity;
+
+import java.util.Collections;
+import java.util.List;
+
+public class DataStoreAfterValueLoadEvent extends BaseDataStoreEvent {
+    private static final long serialVersionUID = 7361254012846371093L;
+
+    protected final List<KeyValueEntity> values;
+    protected final long count;
+    protected final boolean countQuery;
+    protected final EventSharedState eventState;
+
+    public DataStoreAfterValueLoadEvent(ValueLoadContext loadContext, List<KeyValueEntity> values,
+                                        EventSharedState eventState) {
+        super(loadContext);
+        this.values = values;
+        this.count = values.size();
+        this.countQuery = false;
+        this.eventState = eventState;
+    }
+
+    public DataStoreAfterValueLoadEvent(ValueLoadContext loadContext, long count, EventSharedState eventState) {
+        super(loadContext);
+        this.values = Collections.emptyList();
+        this.count = count;
+        this.countQuery = true;
+        this.eventState = eventState;
+    }
+
+    public ValueLoadContext getLoadContext() {
+        return (ValueLoadContext) getSource();
+    }
+
+    public EventSharedState getEventState() {
+        return eventState;
+    }
+
+    /**
+     * @return loaded values, empty for a count query
+     */
+    public List<KeyValueEntity> getValues() {
+        return values;
+    }
+
+    /**
+     * @return number of loaded values, or the result of a count query
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isCountQuery() {
+        return countQuery;
+    }
+
+    @Override
+    public void sendTo(DataStoreEventListener listener) {
+        listener.afterValueLoad(this);
+    }
+}
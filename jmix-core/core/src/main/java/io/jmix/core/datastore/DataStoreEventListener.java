@@ -32,6 +32,9 @@ public interface DataStoreEventListener extends Ordered {
     default void beforeEntityCount(DataStoreBeforeEntityCountEvent event) {
     }
 
+    default void afterEntityCount(DataStoreAfterEntityCountEvent event) {
+    }
+
     default void beforeEntitySave(DataStoreBeforeEntitySaveEvent event) {
     }
 
@@ -44,9 +47,18 @@ public interface DataStoreEventListener extends Ordered {
     default void entityReload(DataStoreEntityReloadEvent event) {
     }
 
+    default void afterEntitySave(DataStoreAfterEntitySaveEvent event) {
+    }
+
     default void beforeValueLoad(DataStoreBeforeValueLoadEvent event) {
     }
 
+    default void afterValueLoad(DataStoreAfterValueLoadEvent event) {
+    }
+
+    default void operationFailed(DataStoreOperationFailedEvent event) {
+    }
+
     @Override
     default int getOrder() {
         return JmixOrder.LOWEST_PRECEDENCE;
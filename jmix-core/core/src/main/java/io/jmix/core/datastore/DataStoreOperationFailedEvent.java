@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.datastore;
+
+/**
+ * Fired by {@link AbstractDataStore} when a load, count, save or value load operation throws an exception, including
+ * exceptions thrown by listeners of the before-event of the operation. The exception is rethrown after the event.
+ */
+public class DataStoreOperationFailedEvent extends BaseDataStoreEvent {
+    private static final long serialVersionUID = -2637485029165310844L;
+
+    protected final RuntimeException exception;
+    protected final boolean countQuery;
+    protected final EventSharedState eventState;
+
+    /**
+     * @param context    {@code LoadContext}, {@code SaveContext} or {@code ValueLoadContext} of the operation
+     * @param exception  exception thrown by the operation
+     * @param countQuery whether the operation is a count query
+     * @param eventState state shared by the events of the operation
+     */
+    public DataStoreOperationFailedEvent(Object context, RuntimeException exception, boolean countQuery,
+                                         EventSharedState eventState) {
+        super(context);
+        this.exception = exception;
+        this.countQuery = countQuery;
+        this.eventState = eventState;
+    }
+
+    /**
+     * @return {@code LoadContext}, {@code SaveContext} or {@code ValueLoadContext} of the failed operation
+     */
+    public Object getContext() {
+        return getSource();
+    }
+
+    public RuntimeException getException() {
+        return exception;
+    }
+
+    public boolean isCountQuery() {
+        return countQuery;
+    }
+
+    public EventSharedState getEventState() {
+        return eventState;
+    }
+
+    @Override
+    public void sendTo(DataStoreEventListener listener) {
+        listener.operationFailed(this);
+    }
+}
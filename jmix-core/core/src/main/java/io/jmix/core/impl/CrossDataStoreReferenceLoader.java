@@ -16,6 +16,7 @@
 
 package io.jmix.core.impl;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
@@ -29,6 +30,7 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +55,9 @@ public class CrossDataStoreReferenceLoader {
     @Autowired
     private CoreProperties properties;
 
+    @Autowired
+    private CrossDataStoreReferenceLoadingExecutor executor;
+
     private MetaClass metaClass;
 
     private FetchPlan fetchPlan;
@@ -122,6 +127,8 @@ public class CrossDataStoreReferenceLoader {
         }
         if (entityCrossDataStorePropertyList.size() == 1) {
             loadOne(entityCrossDataStorePropertyList.get(0));
+        } else if (properties.isCrossDataStoreReferenceParallelLoadingEnabled()) {
+            loadAll(entityCrossDataStorePropertyList);
         } else {
             entityCrossDataStorePropertyList.stream()
                     .collect(Collectors.groupingBy(EntityCrossDataStoreProperty::getCrossProp))
@@ -186,6 +193,69 @@ public class CrossDataStoreReferenceLoader {
         }
     }
 
+    /**
+     * Loads references of all affected entities of the graph. Identifiers of the same referenced entity class and
+     * fetch plan are collected from all cross-datastore properties, so each referenced entity is loaded once and
+     * the same instance is set to all entities referencing it. Cross-datastore references of the loaded entities
+     * are populated by nested loads of their data stores, which deduplicate identifiers on their own and don't
+     * share loaded instances with this loader. Batches of identifiers are loaded concurrently unless the loading
+     * joins the current transaction.
+     */
+    private void loadAll(List<EntityCrossDataStoreProperty> entityCrossDataStorePropertyList) {
+        Map<LoadTarget, Set<Object>> idsByTarget = new LinkedHashMap<>();
+        for (EntityCrossDataStoreProperty eap : entityCrossDataStorePropertyList) {
+            Object id = EntityValues.getValue(eap.entity, eap.crossProp.relatedPropertyName);
+            if (id != null) {
+                idsByTarget.computeIfAbsent(new LoadTarget(eap.crossProp), k -> new LinkedHashSet<>()).add(id);
+            }
+        }
+
+        int batchSize = properties.getCrossDataStoreReferenceLoadingBatchSize();
+        List<LoadTarget> batchTargets = new ArrayList<>();
+        List<List<Object>> batchIds = new ArrayList<>();
+        for (Map.Entry<LoadTarget, Set<Object>> entry : idsByTarget.entrySet()) {
+            for (List<Object> idList : Lists.partition(new ArrayList<>(entry.getValue()), batchSize)) {
+                batchTargets.add(entry.getKey());
+                batchIds.add(idList);
+            }
+        }
+
+        List<List<?>> results;
+        if (joinTransaction) {
+            // the transaction is bound to the calling thread
+            results = new ArrayList<>(batchTargets.size());
+            for (int i = 0; i < batchTargets.size(); i++) {
+                results.add(loadByIds(batchTargets.get(i).crossProp, batchIds.get(i)));
+            }
+        } else {
+            List<Callable<List<?>>> tasks = new ArrayList<>(batchTargets.size());
+            for (int i = 0; i < batchTargets.size(); i++) {
+                CrossDataStoreProperty crossProp = batchTargets.get(i).crossProp;
+                List<Object> idList = batchIds.get(i);
+                tasks.add(() -> loadByIds(crossProp, idList));
+            }
+            results = executor.invokeAll(tasks);
+        }
+
+        // identity map of the loaded references for this request
+        Map<LoadTarget, Map<Object, Object>> loadedByTarget = new HashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            Map<Object, Object> loaded = loadedByTarget.computeIfAbsent(batchTargets.get(i), k -> new HashMap<>());
+            for (Object entity : results.get(i)) {
+                loaded.put(EntityValues.getId(entity), entity);
+            }
+        }
+
+        for (EntityCrossDataStoreProperty eap : entityCrossDataStorePropertyList) {
+            Object id = EntityValues.getValue(eap.entity, eap.crossProp.relatedPropertyName);
+            Map<Object, Object> loaded = loadedByTarget.get(new LoadTarget(eap.crossProp));
+            Object relatedEntity = id != null && loaded != null ? loaded.get(id) : null;
+            if (relatedEntity != null) {
+                EntityValues.setValue(eap.entity, eap.crossProp.property.getName(), relatedEntity);
+            }
+        }
+    }
+
     private void loadBatch(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
         List<Object> idList = entities.stream()
                 .map(e -> EntityValues.getValue(e, crossDataStoreProperty.relatedPropertyName))
@@ -196,6 +266,23 @@ public class CrossDataStoreReferenceLoader {
         if (idList.isEmpty())
             return;
 
+        List<?> loadedEntities = loadByIds(crossDataStoreProperty, idList);
+
+        for (Object entity : entities) {
+            Object relatedPropertyValue = EntityValues.getValue(entity, crossDataStoreProperty.relatedPropertyName);
+            loadedEntities.stream()
+                    .filter(e -> {
+                        Object id = EntityValues.getId(e);
+                        assert id != null;
+                        return id.equals(relatedPropertyValue);
+                    })
+                    .findAny()
+                    .ifPresent(e -> EntityValues.setValue(entity, crossDataStoreProperty.property.getName(), e)
+                    );
+        }
+    }
+
+    private List<?> loadByIds(CrossDataStoreProperty crossDataStoreProperty, List<Object> idList) {
         MetaClass cdsrMetaClass = crossDataStoreProperty.property.getRange().asClass();
         LoadContext<?> loadContext = new LoadContext<>(cdsrMetaClass);
 
@@ -237,20 +324,7 @@ public class CrossDataStoreReferenceLoader {
         loadContext.setFetchPlan(crossDataStoreProperty.fetchPlanProperty.getFetchPlan());
         loadContext.setJoinTransaction(joinTransaction);
 
-        List<?> loadedEntities = dataManager.loadList(loadContext);
-
-        for (Object entity : entities) {
-            Object relatedPropertyValue = EntityValues.getValue(entity, crossDataStoreProperty.relatedPropertyName);
-            loadedEntities.stream()
-                    .filter(e -> {
-                        Object id = EntityValues.getId(e);
-                        assert id != null;
-                        return id.equals(relatedPropertyValue);
-                    })
-                    .findAny()
-                    .ifPresent(e -> EntityValues.setValue(entity, crossDataStoreProperty.property.getName(), e)
-                    );
-        }
+        return dataManager.loadList(loadContext);
     }
 
     private static class EntityCrossDataStoreProperty {
@@ -273,6 +347,36 @@ public class CrossDataStoreReferenceLoader {
         }
     }
 
+    /**
+     * Referenced entity class and fetch plan of a cross-datastore property. Properties with the same target
+     * share loaded instances.
+     */
+    private static class LoadTarget {
+
+        private final CrossDataStoreProperty crossProp;
+        private final MetaClass metaClass;
+        private final FetchPlan fetchPlan;
+
+        public LoadTarget(CrossDataStoreProperty crossDataStoreProperty) {
+            this.crossProp = crossDataStoreProperty;
+            this.metaClass = crossDataStoreProperty.property.getRange().asClass();
+            this.fetchPlan = crossDataStoreProperty.fetchPlanProperty.getFetchPlan();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            LoadTarget that = (LoadTarget) o;
+            return metaClass.equals(that.metaClass) && Objects.equals(fetchPlan, that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan);
+        }
+    }
+
     public class CrossDataStoreProperty {
 
         public final MetaProperty property;
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl;
+
+import io.jmix.core.*;
+import io.jmix.core.datastore.*;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records metrics of data store operations if {@link CoreProperties#isDataStoreMetricsEnabled()} is set. The listener
+ * is not registered in data stores otherwise, so it costs nothing when disabled.
+ * <p>
+ * Meters:
+ * <ul>
+ *     <li>{@code jmix.datastore.operation} - timer of operations tagged by {@code store}, {@code operation},
+ *     {@code entity}, {@code fetchPlan}, {@code outcome} ({@code success} or {@code error}) and {@code exception}
+ *     (simple class name of the thrown exception or {@code none})</li>
+ *     <li>{@code jmix.datastore.result.size} - distribution of the number of entities or values loaded by
+ *     an operation</li>
+ *     <li>{@code jmix.datastore.rows} - counter of loaded, saved and deleted entities</li>
+ * </ul>
+ * Operations are {@code load} (by id), {@code loadList}, {@code count}, {@code save}, {@code delete} (save context
+ * with removed entities only), {@code loadValues} and {@code countValues}. Percentile histograms are published
+ * only if {@link CoreProperties#isDataStoreMetricsPercentileHistogramEnabled()} is set.
+ */
+@Component("core_DataStoreMetricsListener")
+public class DataStoreMetricsListener implements DataStoreEventListener, DataStoreCustomizer {
+
+    public static final String OPERATION_TIMER = "jmix.datastore.operation";
+    public static final String RESULT_SIZE_SUMMARY = "jmix.datastore.result.size";
+    public static final String ROWS_COUNTER = "jmix.datastore.rows";
+
+    protected static final String SAMPLE_KEY = "core_DataStoreMetricsListener.sample";
+    protected static final String RELOAD_KEY = "core_DataStoreMetricsListener.reload";
+
+    protected static final String NONE = "none";
+    protected static final String MIXED = "mixed";
+
+    protected static final String SUCCESS = "success";
+    protected static final String ERROR = "error";
+
+    @Autowired
+    protected CoreProperties coreProperties;
+    @Autowired
+    protected MeterRegistry meterRegistry;
+    @Autowired
+    protected Metadata metadata;
+
+    @Override
+    public void customize(DataStore dataStore) {
+        if (coreProperties.isDataStoreMetricsEnabled() && dataStore instanceof AbstractDataStore) {
+            ((AbstractDataStore) dataStore).registerInterceptor(this);
+        }
+    }
+
+    @Override
+    public void beforeEntityLoad(DataStoreBeforeEntityLoadEvent event) {
+        // entities reloaded after save are measured as part of the save operation
+        if (event.getEventState().getValue(RELOAD_KEY) == null) {
+            startSample(event.getEventState());
+        }
+    }
+
+    @Override
+    public void entityReload(DataStoreEntityReloadEvent event) {
+        event.getEventState().setValue(RELOAD_KEY, Boolean.TRUE);
+    }
+
+    @Override
+    public void afterEntityLoad(DataStoreAfterEntityLoadEvent event) {
+        Timer.Sample sample = takeSample(event.getEventState());
+        if (sample == null) {
+            return;
+        }
+        LoadContext<?> context = event.getLoadContext();
+        String store = context.getEntityMetaClass().getStore().getName();
+        String operation = getLoadOperation(context);
+        String entity = context.getEntityMetaClass().getName();
+        int size = event.getResultEntities().size();
+
+        sample.stop(timer(store, operation, entity, getFetchPlanName(context.getFetchPlan()), null));
+        recordResultSize(store, operation, entity, size);
+        recordRows(store, operation, entity, size);
+    }
+
+    @Override
+    public void beforeEntityCount(DataStoreBeforeEntityCountEvent event) {
+        startSample(event.getEventState());
+    }
+
+    @Override
+    public void afterEntityCount(DataStoreAfterEntityCountEvent event) {
+        Timer.Sample sample = takeSample(event.getEventState());
+        if (sample == null) {
+            return;
+        }
+        LoadContext<?> context = event.getLoadContext();
+        String store = context.getEntityMetaClass().getStore().getName();
+        sample.stop(timer(store, "count", context.getEntityMetaClass().getName(), NONE, null));
+    }
+
+    @Override
+    public void beforeEntitySave(DataStoreBeforeEntitySaveEvent event) {
+        startSample(event.getEventState());
+    }
+
+    @Override
+    public void afterEntitySave(DataStoreAfterEntitySaveEvent event) {
+        Timer.Sample sample = takeSample(event.getEventState());
+        if (sample == null) {
+            return;
+        }
+        SaveContext context = event.getSaveContext();
+
+        Map<MetaClass, Integer> savedCounts = countByMetaClass(event.getSavedEntities());
+        Map<MetaClass, Integer> deletedCounts = countByMetaClass(event.getDeletedEntities());
+
+        String store = getStoreName(savedCounts, deletedCounts);
+        String entity = getEntityName(savedCounts, deletedCounts);
+        sample.stop(timer(store, getSaveOperation(context), entity, NONE, null));
+
+        savedCounts.forEach((metaClass, count) ->
+                recordRows(metaClass.getStore().getName(), "save", metaClass.getName(), count));
+        deletedCounts.forEach((metaClass, count) ->
+                recordRows(metaClass.getStore().getName(), "delete", metaClass.getName(), count));
+    }
+
+    @Override
+    public void beforeValueLoad(DataStoreBeforeValueLoadEvent event) {
+        startSample(event.getEventState());
+    }
+
+    @Override
+    public void afterValueLoad(DataStoreAfterValueLoadEvent event) {
+        Timer.Sample sample = takeSample(event.getEventState());
+        if (sample == null) {
+            return;
+        }
+        String store = getStoreName(event.getLoadContext());
+        if (event.isCountQuery()) {
+            sample.stop(timer(store, "countValues", NONE, NONE, null));
+        } else {
+            int size = event.getValues().size();
+            sample.stop(timer(store, "loadValues", NONE, NONE, null));
+            recordResultSize(store, "loadValues", NONE, size);
+            recordRows(store, "loadValues", NONE, size);
+        }
+    }
+
+    @Override
+    public void operationFailed(DataStoreOperationFailedEvent event) {
+        Timer.Sample sample = takeSample(event.getEventState());
+        if (sample == null) {
+            return;
+        }
+        Throwable exception = event.getException();
+        Object context = event.getContext();
+        if (context instanceof LoadContext<?> loadContext) {
+            MetaClass metaClass = loadContext.getEntityMetaClass();
+            String operation = event.isCountQuery() ? "count" : getLoadOperation(loadContext);
+            String fetchPlan = event.isCountQuery() ? NONE : getFetchPlanName(loadContext.getFetchPlan());
+            sample.stop(timer(metaClass.getStore().getName(), operation, metaClass.getName(), fetchPlan, exception));
+        } else if (context instanceof SaveContext saveContext) {
+            Map<MetaClass, Integer> savedCounts = countByMetaClass(saveContext.getEntitiesToSave());
+            Map<MetaClass, Integer> deletedCounts = countByMetaClass(saveContext.getEntitiesToRemove());
+            sample.stop(timer(getStoreName(savedCounts, deletedCounts), getSaveOperation(saveContext),
+                    getEntityName(savedCounts, deletedCounts), NONE, exception));
+        } else if (context instanceof ValueLoadContext valueLoadContext) {
+            String operation = event.isCountQuery() ? "countValues" : "loadValues";
+            sample.stop(timer(getStoreName(valueLoadContext), operation, NONE, NONE, exception));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // start measuring before other listeners do their work
+        return JmixOrder.HIGHEST_PRECEDENCE;
+    }
+
+    protected void startSample(EventSharedState eventState) {
+        eventState.setValue(SAMPLE_KEY, Timer.start(meterRegistry));
+    }
+
+    /**
+     * Returns the sample started for the operation and removes it from the state, so that the operation is
+     * measured once.
+     */
+    @Nullable
+    protected Timer.Sample takeSample(EventSharedState eventState) {
+        Timer.Sample sample = (Timer.Sample) eventState.getValue(SAMPLE_KEY);
+        if (sample != null) {
+            eventState.setValue(SAMPLE_KEY, null);
+        }
+        return sample;
+    }
+
+    protected Timer timer(String store, String operation, String entity, String fetchPlan,
+                          @Nullable Throwable exception) {
+        return Timer.builder(OPERATION_TIMER)
+                .tag("store", store)
+                .tag("operation", operation)
+                .tag("entity", entity)
+                .tag("fetchPlan", fetchPlan)
+                .tag("outcome", exception == null ? SUCCESS : ERROR)
+                .tag("exception", exception == null ? NONE : exception.getClass().getSimpleName())
+                .publishPercentileHistogram(coreProperties.isDataStoreMetricsPercentileHistogramEnabled())
+                .register(meterRegistry);
+    }
+
+    protected void recordResultSize(String store, String operation, String entity, int size) {
+        DistributionSummary.builder(RESULT_SIZE_SUMMARY)
+                .tag("store", store)
+                .tag("operation", operation)
+                .tag("entity", entity)
+                .publishPercentileHistogram(coreProperties.isDataStoreMetricsPercentileHistogramEnabled())
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    protected void recordRows(String store, String operation, String entity, int count) {
+        if (count > 0) {
+            meterRegistry.counter(ROWS_COUNTER, "store", store, "operation", operation, "entity", entity)
+                    .increment(count);
+        }
+    }
+
+    protected String getLoadOperation(LoadContext<?> context) {
+        return context.getId() != null ? "load" : "loadList";
+    }
+
+    protected String getSaveOperation(SaveContext context) {
+        return context.getEntitiesToSave().isEmpty() && !context.getEntitiesToRemove().isEmpty()
+                ? "delete" : "save";
+    }
+
+    protected String getStoreName(ValueLoadContext context) {
+        String store = context.getStoreName();
+        return store == null ? Stores.MAIN : store;
+    }
+
+    protected String getFetchPlanName(@Nullable FetchPlan fetchPlan) {
+        if (fetchPlan == null) {
+            return NONE;
+        }
+        String name = fetchPlan.getName();
+        // fetch plans built in code have no name
+        return name == null || name.isEmpty() ? "adhoc" : name;
+    }
+
+    protected Map<MetaClass, Integer> countByMetaClass(Collection<Object> entities) {
+        Map<MetaClass, Integer> counts = new HashMap<>();
+        for (Object entity : entities) {
+            counts.merge(metadata.getClass(entity), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    protected String getStoreName(Map<MetaClass, Integer> savedCounts, Map<MetaClass, Integer> deletedCounts) {
+        MetaClass metaClass = !savedCounts.isEmpty()
+                ? savedCounts.keySet().iterator().next()
+                : deletedCounts.isEmpty() ? null : deletedCounts.keySet().iterator().next();
+        return metaClass == null ? NONE : metaClass.getStore().getName();
+    }
+
+    protected String getEntityName(Map<MetaClass, Integer> savedCounts, Map<MetaClass, Integer> deletedCounts) {
+        String name = null;
+        for (MetaClass metaClass : savedCounts.keySet()) {
+            if (name != null && !name.equals(metaClass.getName())) {
+                return MIXED;
+            }
+            name = metaClass.getName();
+        }
+        for (MetaClass metaClass : deletedCounts.keySet()) {
+            if (name != null && !name.equals(metaClass.getName())) {
+                return MIXED;
+            }
+            name = metaClass.getName();
+        }
+        return name == null ? NONE : name;
+    }
+}
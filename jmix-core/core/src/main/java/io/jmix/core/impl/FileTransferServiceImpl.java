@@ -40,6 +40,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.Channels;
 import java.util.Objects;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -57,6 +58,15 @@ public class FileTransferServiceImpl implements FileTransferService {
                                          String fileStorageName,
                                          Boolean attachment,
                                          HttpServletResponse response) throws FileTransferException {
+        downloadAndWriteResponse(fileReference, fileStorageName, attachment, null, response);
+    }
+
+    @Override
+    public void downloadAndWriteResponse(FileRef fileReference,
+                                         String fileStorageName,
+                                         Boolean attachment,
+                                         @Nullable HttpServletRequest request,
+                                         HttpServletResponse response) throws FileTransferException {
         FileStorage fileStorage = getFileStorageByNameOrDefault(fileStorageName);
 
         if (!fileStorage.fileExists(fileReference)) {
@@ -77,9 +87,33 @@ public class FileTransferServiceImpl implements FileTransferService {
             }
             response.setHeader("Content-Disposition", contentDisposition);
 
+            long size = fileStorage.getFileSize(fileReference);
+            if (size < 0) {
+                ServletOutputStream os = response.getOutputStream();
+                try (InputStream is = fileStorage.openStream(fileReference)) {
+                    IOUtils.copy(is, os);
+                }
+                os.flush();
+                return;
+            }
+
+            FileByteRange range = request != null
+                    ? FileByteRange.resolve(request.getHeader(HttpHeaders.RANGE),
+                    request.getHeader(HttpHeaders.IF_RANGE), size)
+                    : FileByteRange.wholeFile(size);
+
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, FileByteRange.ACCEPT_RANGES_VALUE);
+            response.setStatus(range.getStatus().value());
+            if (range.getContentRange() != null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, range.getContentRange());
+            }
+            if (!range.isSatisfiable()) {
+                return;
+            }
+            response.setContentLengthLong(range.getLength());
+
             ServletOutputStream os = response.getOutputStream();
-            InputStream is = fileStorage.openStream(fileReference);
-            IOUtils.copy(is, os);
+            fileStorage.transferTo(fileReference, range.getStart(), range.getLength(), Channels.newChannel(os));
             os.flush();
 
         } catch (Exception e) {
@@ -60,6 +60,7 @@ import jakarta.validation.constraints.*;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.jmix.core.common.util.Preconditions.checkNotNullArgument;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -67,6 +68,10 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 /**
  * INTERNAL.
  * Loads meta-model from a set of annotated Java classes.
+ * <p>
+ * The model is built by reflection on each start. Meta-properties keep the {@link Field}s, {@link Method}s,
+ * datatypes and annotation values of the loaded classes, so a serialized model could not be restored without
+ * resolving the same reflective objects. Durations of the loading phases are logged at DEBUG level.
  */
 @Component("core_MetaModelLoader")
 public class MetaModelLoader {
@@ -100,6 +105,12 @@ public class MetaModelLoader {
 
     private static final Logger log = LoggerFactory.getLogger(MetaModelLoader.class);
 
+    /**
+     * Declared methods of entity classes obtained while the model is being loaded. {@link Class#getDeclaredMethods()}
+     * copies all methods on each call, and the loader needs them for each property.
+     */
+    protected final Map<Class<?>, Method[]> declaredMethods = new ConcurrentHashMap<>();
+
     @Autowired
     public MetaModelLoader(DatatypeRegistry datatypes, Stores stores, FormatStringsRegistry formatStringsRegistry) {
         this.datatypes = datatypes;
@@ -110,46 +121,77 @@ public class MetaModelLoader {
     public void loadModel(Session session, Set<String> classNames) {
         checkNotNullArgument(classNames, "classInfos is null");
 
-        Set<Class<?>> classes = new LinkedHashSet<>();
-        for (String className : classNames) {
-            try {
-                classes.add(ReflectionHelper.loadClass(className));
-            } catch (ClassNotFoundException e) {
-                log.warn("Class {} not found", className);
+        try {
+            long startTime = System.currentTimeMillis();
+
+            Set<Class<?>> classes = new LinkedHashSet<>();
+            for (String className : classNames) {
+                try {
+                    classes.add(ReflectionHelper.loadClass(className));
+                } catch (ClassNotFoundException e) {
+                    log.warn("Class {} not found", className);
+                }
             }
-        }
+            long classesLoadedTime = System.currentTimeMillis();
 
-        for (Class<?> aClass : classes) {
-            MetaClassImpl metaClass = createClass(session, aClass);
-            if (metaClass == null) {
-                log.warn("Class {} is not loaded into metadata", aClass.getName());
+            for (Class<?> aClass : classes) {
+                MetaClassImpl metaClass = createClass(session, aClass);
+                if (metaClass == null) {
+                    log.warn("Class {} is not loaded into metadata", aClass.getName());
+                }
             }
-        }
 
-        for (MetaClass metaClass : session.getClasses()) {
-            initAncestors(session, metaClass);
-            assignStore(metaClass);
-        }
+            for (MetaClass metaClass : session.getClasses()) {
+                initAncestors(session, metaClass);
+                assignStore(metaClass);
+            }
+            long metaClassesCreatedTime = System.currentTimeMillis();
 
-        List<RangeInitTask> tasks = new ArrayList<>();
-        for (Class<?> aClass : classes) {
-            MetadataObjectInfo<MetaClass> info = loadClass(session, aClass);
-            if (info != null) {
-                tasks.addAll(info.getTasks());
-            } else {
-                log.warn("Class {} is not loaded into metadata", aClass.getName());
+            List<RangeInitTask> tasks = new ArrayList<>();
+            for (Class<?> aClass : classes) {
+                MetadataObjectInfo<MetaClass> info = loadClass(session, aClass);
+                if (info != null) {
+                    tasks.addAll(info.getTasks());
+                } else {
+                    log.warn("Class {} is not loaded into metadata", aClass.getName());
+                }
             }
-        }
+            long propertiesLoadedTime = System.currentTimeMillis();
 
-        for (RangeInitTask task : tasks) {
-            task.execute();
-        }
+            for (RangeInitTask task : tasks) {
+                task.execute();
+            }
+
+            for (MetaClass metaClass : session.getClasses()) {
+                initInheritedProperties(metaClass);
+            }
+            long endTime = System.currentTimeMillis();
 
-        for (MetaClass metaClass : session.getClasses()) {
-            initInheritedProperties(metaClass);
+            logLoadingTime(session, startTime, classesLoadedTime, metaClassesCreatedTime, propertiesLoadedTime, endTime);
+        } finally {
+            declaredMethods.clear();
         }
     }
 
+    /**
+     * Logs durations of the meta-model loading phases. Arguments are timestamps in milliseconds taken at the start
+     * of loading and at the end of each phase.
+     */
+    protected void logLoadingTime(Session session, long startTime, long classesLoadedTime, long metaClassesCreatedTime,
+                                  long propertiesLoadedTime, long endTime) {
+        log.debug("Meta-model of {} classes loaded in {} ms: loading Java classes {} ms, creating meta-classes {} ms, " +
+                        "loading properties {} ms, initializing ranges and inherited properties {} ms",
+                session.getClasses().size(), endTime - startTime,
+                classesLoadedTime - startTime,
+                metaClassesCreatedTime - classesLoadedTime,
+                propertiesLoadedTime - metaClassesCreatedTime,
+                endTime - propertiesLoadedTime);
+    }
+
+    protected Method[] getDeclaredMethods(Class<?> javaClass) {
+        return declaredMethods.computeIfAbsent(javaClass, Class::getDeclaredMethods);
+    }
+
     protected void initAncestors(Session session, MetaClass metaClass) {
         Class<?> ancestor = metaClass.getJavaClass().getSuperclass();
         if (ancestor != null) {
@@ -300,7 +342,7 @@ public class MetaModelLoader {
             onPropertyLoaded(metaProperty, f);
         }
 
-        for (Method method : clazz.getDeclaredMethods()) {
+        for (Method method : getDeclaredMethods(clazz)) {
             if (method.isSynthetic())
                 continue;
 
@@ -338,7 +380,7 @@ public class MetaModelLoader {
     }
 
     private boolean isFieldWithGetter(Field field, Class<?> javaClass) {
-        for (Method method : javaClass.getDeclaredMethods()) {
+        for (Method method : getDeclaredMethods(javaClass)) {
             if (method.getName().equals("get" + StringUtils.capitalize(field.getName()))
                     && (method.getReturnType().equals(field.getType()) || isEnumGetter(method, field))) {
                 return true;
@@ -881,7 +923,7 @@ public class MetaModelLoader {
 
     protected boolean setterExists(Field field) {
         List<String> setterNames = buildSetterNames(field);
-        Method[] methods = field.getDeclaringClass().getDeclaredMethods();
+        Method[] methods = getDeclaredMethods(field.getDeclaringClass());
         for (Method method : methods) {
             if (setterNames.contains(method.getName()))
                 return true;
@@ -912,7 +954,7 @@ public class MetaModelLoader {
         if (getter.getName().startsWith("get")) {
             String setterName;
             setterName = "set" + getter.getName().substring(3);
-            Method[] methods = getter.getDeclaringClass().getDeclaredMethods();
+            Method[] methods = getDeclaredMethods(getter.getDeclaringClass());
             for (Method method : methods) {
                 if (setterName.equals(method.getName())) {
                     return true;
@@ -922,7 +964,7 @@ public class MetaModelLoader {
         if (getter.getName().startsWith("is")) {
             //handle a special case of Kotlin entity and a property with a name starting with "is*"
             String setterName = "set" + getter.getName().substring(2);
-            Method[] methods = getter.getDeclaringClass().getDeclaredMethods();
+            Method[] methods = getDeclaredMethods(getter.getDeclaringClass());
             for (Method method : methods) {
                 if (setterName.equals(method.getName())) {
                     return true;
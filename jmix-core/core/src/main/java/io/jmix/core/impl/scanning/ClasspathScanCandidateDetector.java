@@ -17,8 +17,18 @@
 package io.jmix.core.impl.scanning;
 
 import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.lang.Nullable;
 
 public interface ClasspathScanCandidateDetector {
 
     boolean isCandidate(MetadataReader metadataReader);
+
+    /**
+     * Returns the key of classes selected by this detector in the {@link ClasspathScanIndex} generated at build time,
+     * or null if the detector always requires scanning of the classpath.
+     */
+    @Nullable
+    default String getIndexKey() {
+        return null;
+    }
 }
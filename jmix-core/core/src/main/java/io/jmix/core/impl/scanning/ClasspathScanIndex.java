@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl.scanning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Names of classes detected at build time in a base package of a Jmix module.
+ * <p>
+ * The index is generated by the Jmix Gradle plugin into the {@value #INDEX_FILE_NAME} file of the module base package.
+ * Each key of the index corresponds to a {@link ClasspathScanCandidateDetector#getIndexKey()} and contains a
+ * comma-separated list of class names.
+ */
+public class ClasspathScanIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ClasspathScanIndex.class);
+
+    public static final String INDEX_FILE_NAME = "jmix-scan-index.properties";
+
+    public static final String VERSION_KEY = "version";
+    public static final String VERSION = "1";
+
+    public static final String ENTITIES_KEY = "entities";
+    public static final String CONVERTERS_KEY = "converters";
+
+    protected final Map<String, Set<String>> classNames;
+
+    protected ClasspathScanIndex(Map<String, Set<String>> classNames) {
+        this.classNames = classNames;
+    }
+
+    /**
+     * Returns names of classes stored under the given key.
+     */
+    public Set<String> getClassNames(String key) {
+        return classNames.getOrDefault(key, Collections.emptySet());
+    }
+
+    /**
+     * Loads the index of the package from all classpath roots containing the package.
+     *
+     * @param packagePath resource path of the package, e.g. {@code io/jmix/core}
+     * @return the index or null if some root of the package has no index or the index is stale
+     */
+    @Nullable
+    public static ClasspathScanIndex load(ResourcePatternResolver resolver, String packagePath) {
+        try {
+            Resource[] indexResources = resolver.getResources(
+                    ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + packagePath + "/" + INDEX_FILE_NAME);
+            if (indexResources.length == 0) {
+                log.trace("No classpath scan index for package {}", packagePath);
+                return null;
+            }
+
+            Resource[] packageRoots = resolver.getResources(
+                    ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + packagePath + "/");
+            if (packageRoots.length > indexResources.length) {
+                log.debug("Classpath scan index is not found in some of {} locations of package {}",
+                        packageRoots.length, packagePath);
+                return null;
+            }
+
+            Map<String, Set<String>> classNames = new HashMap<>();
+            for (Resource indexResource : indexResources) {
+                Properties properties = new Properties();
+                try (InputStream stream = indexResource.getInputStream()) {
+                    properties.load(stream);
+                }
+                if (!VERSION.equals(properties.getProperty(VERSION_KEY))) {
+                    log.debug("Unsupported version of classpath scan index {}", indexResource);
+                    return null;
+                }
+                for (String key : properties.stringPropertyNames()) {
+                    if (!VERSION_KEY.equals(key)) {
+                        classNames.computeIfAbsent(key, k -> new HashSet<>())
+                                .addAll(StringUtils.commaDelimitedListToSet(properties.getProperty(key)));
+                    }
+                }
+                if (indexResource.isFile() && isStale(indexResource.getFile(), packagePath, properties)) {
+                    log.debug("Classpath scan index {} is stale", indexResource);
+                    return null;
+                }
+            }
+            return new ClasspathScanIndex(classNames);
+        } catch (IOException e) {
+            log.warn("Unable to load classpath scan index of package {}", packagePath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks an index in a directory, which classes can be recompiled after the index is generated: the index is
+     * stale if some class of the package is newer than the index or some indexed class does not exist.
+     */
+    protected static boolean isStale(File indexFile, String packagePath, Properties properties) throws IOException {
+        Path packageDir = indexFile.getParentFile().toPath();
+        Path rootDir = packageDir;
+        for (int i = 0; i < packagePath.split("/").length; i++) {
+            rootDir = rootDir.getParent();
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            if (VERSION_KEY.equals(key)) {
+                continue;
+            }
+            for (String className : StringUtils.commaDelimitedListToSet(properties.getProperty(key))) {
+                if (!Files.exists(rootDir.resolve(className.replace('.', '/') + ".class"))) {
+                    return true;
+                }
+            }
+        }
+
+        long indexModified = indexFile.lastModified();
+        try (Stream<Path> files = Files.walk(packageDir)) {
+            return files.anyMatch(file -> file.toString().endsWith(".class")
+                    && file.toFile().lastModified() > indexModified);
+        }
+    }
+}
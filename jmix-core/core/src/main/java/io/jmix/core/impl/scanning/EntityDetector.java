@@ -27,4 +27,9 @@ public class EntityDetector implements ClasspathScanCandidateDetector {
     public boolean isCandidate(MetadataReader metadataReader) {
         return metadataReader.getAnnotationMetadata().hasAnnotation(JmixEntity.class.getName());
     }
+
+    @Override
+    public String getIndexKey() {
+        return ClasspathScanIndex.ENTITIES_KEY;
+    }
 }
@@ -24,6 +24,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.stereotype.Component;
 
@@ -37,6 +39,10 @@ import java.util.stream.Collectors;
  * <p>
  * Detected class names are stored and available through the {@link #getClassNames(Class)} method. This method
  * accepts a {@code ClasspathScanCandidateDetector} type and returns names of classes selected by this detector.
+ * <p>
+ * If a base package has a {@link ClasspathScanIndex} generated at build time, detectors having
+ * {@link ClasspathScanCandidateDetector#getIndexKey()} take class names from the index, and the package is scanned
+ * only for other detectors.
  */
 @Component("core_JmixModulesClasspathScanner")
 public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
@@ -72,10 +78,37 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
         log.trace("Scanning packages {} using detectors {}", basePackages, candidateDetectors);
         long startTime = System.currentTimeMillis();
 
-        basePackages.stream()
-                .flatMap(this::scanPackage)
+        ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver(getResourceLoader());
+        for (String basePackage : basePackages) {
+            List<ClasspathScanCandidateDetector> scanDetectors = candidateDetectors;
+
+            ClasspathScanIndex index = ClasspathScanIndex.load(resourcePatternResolver, resolveBasePackage(basePackage));
+            if (index != null) {
+                log.trace("Using classpath scan index of package {}", basePackage);
+                scanDetectors = new ArrayList<>();
+                for (ClasspathScanCandidateDetector detector : candidateDetectors) {
+                    String indexKey = detector.getIndexKey();
+                    if (indexKey != null) {
+                        detectedClasses.computeIfAbsent(detector.getClass(), aClass -> new HashSet<>())
+                                .addAll(index.getClassNames(indexKey));
+                    } else {
+                        scanDetectors.add(detector);
+                    }
+                }
+            }
+
+            if (!scanDetectors.isEmpty()) {
+                scanPackage(basePackage, scanDetectors);
+            }
+        }
+
+        log.info("Classpath scan completed in {} ms", System.currentTimeMillis() - startTime);
+    }
+
+    protected void scanPackage(String basePackage, List<ClasspathScanCandidateDetector> detectors) {
+        scanPackage(basePackage)
                 .forEach(metadataReader -> {
-                    for (ClasspathScanCandidateDetector detector : candidateDetectors) {
+                    for (ClasspathScanCandidateDetector detector : detectors) {
                         if (detector.isCandidate(metadataReader)) {
                             Set<String> classNames = detectedClasses.computeIfAbsent(
                                     detector.getClass(), aClass -> new HashSet<>());
@@ -83,8 +116,6 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
                         }
                     }
                 });
-
-        log.info("Classpath scan completed in {} ms", System.currentTimeMillis() - startTime);
     }
 
     /**
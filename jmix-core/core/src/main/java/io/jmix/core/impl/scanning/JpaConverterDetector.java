@@ -28,4 +28,9 @@ public class JpaConverterDetector implements ClasspathScanCandidateDetector {
     public boolean isCandidate(MetadataReader metadataReader) {
         return metadataReader.getAnnotationMetadata().hasAnnotation(Converter.class.getName());
     }
+
+    @Override
+    public String getIndexKey() {
+        return ClasspathScanIndex.CONVERTERS_KEY;
+    }
 }
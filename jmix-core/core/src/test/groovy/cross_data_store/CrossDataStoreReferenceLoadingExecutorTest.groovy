@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cross_data_store
+
+import io.jmix.core.impl.CrossDataStoreReferenceLoadingExecutor
+import org.springframework.security.authentication.TestingAuthenticationToken
+import org.springframework.security.core.context.SecurityContextHolder
+import spock.lang.Specification
+import test_support.TestCoreProperties
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class CrossDataStoreReferenceLoadingExecutorTest extends Specification {
+
+    CrossDataStoreReferenceLoadingExecutor executor
+
+    void setup() {
+        executor = new CrossDataStoreReferenceLoadingExecutor()
+        executor.properties = TestCoreProperties.builder()
+                .setCrossDataStoreReferenceLoadingThreads(2)
+                .build()
+        executor.init()
+    }
+
+    void cleanup() {
+        executor.shutdown()
+        SecurityContextHolder.clearContext()
+    }
+
+    def "results are returned in the order of tasks"() {
+        def tasks = (1..5).collect { n -> { -> Thread.sleep(10 * (5 - n)); n } as Callable<Integer> }
+
+        expect:
+        executor.invokeAll(tasks) == [1, 2, 3, 4, 5]
+    }
+
+    def "tasks run concurrently in worker threads"() {
+        def latch = new CountDownLatch(2)
+        def task = { ->
+            latch.countDown()
+            latch.await(5, TimeUnit.SECONDS)
+            Thread.currentThread()
+        } as Callable<Thread>
+
+        when:
+        def threads = executor.invokeAll([task, task])
+
+        then:
+        latch.count == 0
+        threads.every { !it.is(Thread.currentThread()) }
+        threads.unique(false).size() == 2
+    }
+
+    def "exception thrown by a task is propagated to the caller"() {
+        def tasks = [
+                { -> 'loaded' } as Callable<String>,
+                { -> throw new IllegalStateException('Data store is not available') } as Callable<String>
+        ]
+
+        when:
+        executor.invokeAll(tasks)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == 'Data store is not available'
+    }
+
+    def "checked exception thrown by a task is wrapped"() {
+        def tasks = [
+                { -> 'loaded' } as Callable<String>,
+                { -> throw new IOException('Connection reset') } as Callable<String>
+        ]
+
+        when:
+        executor.invokeAll(tasks)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.cause instanceof IOException
+    }
+
+    def "tasks run in the security context of the caller"() {
+        def authentication = new TestingAuthenticationToken('admin', null)
+        SecurityContextHolder.context.authentication = authentication
+        def task = { -> SecurityContextHolder.context.authentication } as Callable<Object>
+
+        expect:
+        executor.invokeAll([task, task]).every { it.is(authentication) }
+    }
+
+    def "nested tasks run in the worker thread"() {
+        def task = { ->
+            def worker = Thread.currentThread()
+            def nested = executor.invokeAll([
+                    { -> Thread.currentThread() } as Callable<Thread>,
+                    { -> Thread.currentThread() } as Callable<Thread>
+            ])
+            nested.every { it.is(worker) }
+        } as Callable<Boolean>
+
+        expect:
+        executor.invokeAll([task, task]) == [true, true]
+    }
+}
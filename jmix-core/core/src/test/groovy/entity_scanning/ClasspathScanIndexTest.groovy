@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entity_scanning
+
+import io.jmix.core.impl.scanning.ClasspathScanIndex
+import org.springframework.core.io.DefaultResourceLoader
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ClasspathScanIndexTest extends Specification {
+
+    @TempDir
+    Path root
+
+    def "index is loaded from the package"() {
+        given:
+        writeClass('com/company/entity/Foo')
+        writeClass('com/company/converter/BarConverter')
+        writeIndex('version=1\nentities=com.company.entity.Foo\nconverters=com.company.converter.BarConverter\n')
+
+        when:
+        def index = ClasspathScanIndex.load(resolver(), 'com/company')
+
+        then:
+        index != null
+        index.getClassNames(ClasspathScanIndex.ENTITIES_KEY) == ['com.company.entity.Foo'] as Set
+        index.getClassNames(ClasspathScanIndex.CONVERTERS_KEY) == ['com.company.converter.BarConverter'] as Set
+    }
+
+    def "index is not loaded if it is missing"() {
+        given:
+        writeClass('com/company/entity/Foo')
+
+        expect:
+        ClasspathScanIndex.load(resolver(), 'com/company') == null
+    }
+
+    def "index is stale if an indexed class does not exist"() {
+        given:
+        writeClass('com/company/entity/Foo')
+        writeIndex('version=1\nentities=com.company.entity.Foo,com.company.entity.Removed\nconverters=\n')
+
+        expect:
+        ClasspathScanIndex.load(resolver(), 'com/company') == null
+    }
+
+    def "index is stale if a class is newer than the index"() {
+        given:
+        writeIndex('version=1\nentities=\nconverters=\n')
+        def classFile = writeClass('com/company/entity/Foo')
+        classFile.toFile().setLastModified(root.resolve('com/company/' + ClasspathScanIndex.INDEX_FILE_NAME).toFile().lastModified() + 1000)
+
+        expect:
+        ClasspathScanIndex.load(resolver(), 'com/company') == null
+    }
+
+    def "index of unknown version is ignored"() {
+        given:
+        writeIndex('version=0\nentities=\nconverters=\n')
+
+        expect:
+        ClasspathScanIndex.load(resolver(), 'com/company') == null
+    }
+
+    private Path writeClass(String path) {
+        def file = root.resolve(path + '.class')
+        Files.createDirectories(file.parent)
+        Files.write(file, new byte[0])
+        file.toFile().setLastModified(System.currentTimeMillis() - 60_000)
+        return file
+    }
+
+    private void writeIndex(String content) {
+        def file = root.resolve('com/company/' + ClasspathScanIndex.INDEX_FILE_NAME)
+        Files.createDirectories(file.parent)
+        Files.writeString(file, content)
+    }
+
+    private PathMatchingResourcePatternResolver resolver() {
+        def classLoader = new URLClassLoader([root.toUri().toURL()] as URL[], (ClassLoader) null)
+        return new PathMatchingResourcePatternResolver(new DefaultResourceLoader(classLoader))
+    }
+}
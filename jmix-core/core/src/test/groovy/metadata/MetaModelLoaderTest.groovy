@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package metadata
+
+import io.jmix.core.CoreConfiguration
+import io.jmix.core.Stores
+import io.jmix.core.impl.MetaModelLoader
+import io.jmix.core.impl.scanning.EntityDetector
+import io.jmix.core.impl.scanning.JmixModulesClasspathScanner
+import io.jmix.core.metamodel.datatype.DatatypeRegistry
+import io.jmix.core.metamodel.datatype.FormatStringsRegistry
+import io.jmix.core.metamodel.model.Session
+import io.jmix.core.metamodel.model.impl.SessionImpl
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.addon1.TestAddon1Configuration
+import test_support.addon1.entity.TestAddon1Entity
+
+import java.lang.reflect.Method
+
+@ContextConfiguration(classes = [CoreConfiguration, TestAddon1Configuration])
+class MetaModelLoaderTest extends Specification {
+
+    @Autowired
+    DatatypeRegistry datatypes
+
+    @Autowired
+    Stores stores
+
+    @Autowired
+    FormatStringsRegistry formatStringsRegistry
+
+    @Autowired
+    JmixModulesClasspathScanner classpathScanner
+
+    def "declared methods of a class are obtained once while the model is loaded"() {
+
+        def loader = new TestMetaModelLoader(datatypes, stores, formatStringsRegistry)
+        def session = new SessionImpl()
+
+        when:
+
+        loader.loadModel(session, classpathScanner.getClassNames(EntityDetector))
+
+        then:
+
+        session.findClass(TestAddon1Entity)
+        loader.returnedMethods[TestAddon1Entity].size() > 1
+        loader.returnedMethods.values().every { arrays -> arrays.every { it.is(arrays[0]) } }
+        loader.cachedMethodsAfterLoading.isEmpty()
+    }
+
+    def "durations of loading phases are measured"() {
+
+        def loader = new TestMetaModelLoader(datatypes, stores, formatStringsRegistry)
+        def session = new SessionImpl()
+
+        when:
+
+        loader.loadModel(session, classpathScanner.getClassNames(EntityDetector))
+
+        then:
+
+        loader.phaseTimes.size() == 5
+        loader.phaseTimes == loader.phaseTimes.sort(false)
+    }
+
+    static class TestMetaModelLoader extends MetaModelLoader {
+
+        Map<Class<?>, List<Method[]>> returnedMethods = [:]
+        List<Long> phaseTimes = []
+        Map<Class<?>, Method[]> cachedMethodsAfterLoading
+
+        TestMetaModelLoader(DatatypeRegistry datatypes, Stores stores, FormatStringsRegistry formatStringsRegistry) {
+            super(datatypes, stores, formatStringsRegistry)
+        }
+
+        @Override
+        void loadModel(Session session, Set<String> classNames) {
+            super.loadModel(session, classNames)
+            cachedMethodsAfterLoading = new HashMap<>(declaredMethods)
+        }
+
+        @Override
+        protected Method[] getDeclaredMethods(Class<?> javaClass) {
+            Method[] methods = super.getDeclaredMethods(javaClass)
+            returnedMethods.computeIfAbsent(javaClass) { [] }.add(methods)
+            return methods
+        }
+
+        @Override
+        protected void logLoadingTime(Session session, long startTime, long classesLoadedTime,
+                                      long metaClassesCreatedTime, long propertiesLoadedTime, long endTime) {
+            phaseTimes = [startTime, classesLoadedTime, metaClassesCreatedTime, propertiesLoadedTime, endTime]
+            super.logLoadingTime(session, startTime, classesLoadedTime, metaClassesCreatedTime,
+                    propertiesLoadedTime, endTime)
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package file_storage;
+
+import io.jmix.core.CoreConfiguration;
+import io.jmix.core.FileByteRange;
+import io.jmix.core.FileRef;
+import io.jmix.core.FileTransferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test_support.addon1.TestAddon1Configuration;
+import test_support.app.TestAppConfiguration;
+import test_support.app.TestFileStorage;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {CoreConfiguration.class, TestAddon1Configuration.class, TestAppConfiguration.class})
+public class FileTransferRangeTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @Autowired
+    TestFileStorage fileStorage;
+
+    @Autowired
+    FileTransferService fileTransferService;
+
+    FileRef fileRef;
+
+    @BeforeEach
+    void setUp() {
+        fileRef = fileStorage.saveStream("range.txt",
+                new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void testResolveRange() {
+        FileByteRange range = FileByteRange.resolve("bytes=5-9", null, 20);
+        assertEquals(HttpStatus.PARTIAL_CONTENT, range.getStatus());
+        assertEquals(5, range.getStart());
+        assertEquals(5, range.getLength());
+        assertEquals("bytes 5-9/20", range.getContentRange());
+
+        range = FileByteRange.resolve("bytes=15-", null, 20);
+        assertEquals(15, range.getStart());
+        assertEquals(5, range.getLength());
+
+        range = FileByteRange.resolve("bytes=10-100", null, 20);
+        assertEquals("bytes 10-19/20", range.getContentRange());
+
+        range = FileByteRange.resolve(null, null, 20);
+        assertEquals(HttpStatus.OK, range.getStatus());
+        assertEquals(20, range.getLength());
+        assertNull(range.getContentRange());
+
+        range = FileByteRange.resolve("bytes=0-1, 5-6", null, 20);
+        assertEquals(HttpStatus.OK, range.getStatus());
+
+        range = FileByteRange.resolve("bytes=30-40", null, 20);
+        assertFalse(range.isSatisfiable());
+        assertEquals("bytes */20", range.getContentRange());
+
+        range = FileByteRange.resolve("chars=1-2", null, 20);
+        assertEquals(HttpStatus.OK, range.getStatus());
+        assertEquals(20, range.getLength());
+
+        range = FileByteRange.resolve("bytes=9-5", null, 20);
+        assertEquals(HttpStatus.OK, range.getStatus());
+    }
+
+    @Test
+    void testSingleRange() throws Exception {
+        MockHttpServletResponse response = download("bytes=2-5", null);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("bytes 2-5/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void testSuffixRange() throws Exception {
+        MockHttpServletResponse response = download("bytes=-3", null);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("bytes 17-19/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("hij", response.getContentAsString());
+    }
+
+    @Test
+    void testUnsatisfiableRange() throws Exception {
+        MockHttpServletResponse response = download("bytes=20-25", null);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(), response.getStatus());
+        assertEquals("bytes */20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testIfRangeSendsWholeFile() throws Exception {
+        MockHttpServletResponse response = download("bytes=2-5", "\"some-etag\"");
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void testNoRange() throws Exception {
+        MockHttpServletResponse response = download(null, null);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(20, response.getContentLengthLong());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    private MockHttpServletResponse download(String range, String ifRange) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        if (ifRange != null) {
+            request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileTransferService.downloadAndWriteResponse(fileRef, "testFs", false, request, response);
+        return response;
+    }
+}
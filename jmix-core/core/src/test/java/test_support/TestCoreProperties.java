@@ -31,6 +31,10 @@ public class TestCoreProperties extends CoreProperties {
                               String dbDir,
                               List<String> availableLocales,
                               int crossDataStoreReferenceLoadingBatchSize,
+                              boolean crossDataStoreReferenceParallelLoadingEnabled,
+                              int crossDataStoreReferenceLoadingThreads,
+                              boolean dataStoreMetricsEnabled,
+                              boolean dataStoreMetricsPercentileHistogramEnabled,
                               boolean idGenerationForEntitiesInAdditionalDataStoresEnabled,
                               int dom4jMaxPoolSize,
                               int dom4jMaxBorrowWaitMillis,
@@ -44,7 +48,9 @@ public class TestCoreProperties extends CoreProperties {
                               PessimisticLock pessimisticLock,
                               boolean roundDecimalValueByFormat) {
         super(webHostName, webPort, confDir, workDir, tempDir, dbDir, availableLocales,
-                crossDataStoreReferenceLoadingBatchSize, idGenerationForEntitiesInAdditionalDataStoresEnabled,
+                crossDataStoreReferenceLoadingBatchSize, crossDataStoreReferenceParallelLoadingEnabled,
+                crossDataStoreReferenceLoadingThreads, dataStoreMetricsEnabled,
+                dataStoreMetricsPercentileHistogramEnabled, idGenerationForEntitiesInAdditionalDataStoresEnabled,
                 dom4jMaxPoolSize, dom4jMaxBorrowWaitMillis, anonymousAuthenticationTokenKey, defaultFileStorage,
                 entitySerializationTokenRequired, entitySerializationTokenEncryptionKey,
                 legacyFetchPlanSerializationAttributeName, triggerFilesEnabled, triggerFilesProcessInterval,
@@ -64,6 +70,10 @@ public class TestCoreProperties extends CoreProperties {
         String dbDir;
         List<String> availableLocales;
         int crossDataStoreReferenceLoadingBatchSize = 50;
+        boolean crossDataStoreReferenceParallelLoadingEnabled = false;
+        int crossDataStoreReferenceLoadingThreads = 4;
+        boolean dataStoreMetricsEnabled = false;
+        boolean dataStoreMetricsPercentileHistogramEnabled = false;
         boolean idGenerationForEntitiesInAdditionalDataStoresEnabled = true;
         int dom4jMaxPoolSize = 100;
         int dom4jMaxBorrowWaitMillis = 1000;
@@ -117,6 +127,26 @@ public class TestCoreProperties extends CoreProperties {
             return this;
         }
 
+        public Builder setCrossDataStoreReferenceParallelLoadingEnabled(boolean crossDataStoreReferenceParallelLoadingEnabled) {
+            this.crossDataStoreReferenceParallelLoadingEnabled = crossDataStoreReferenceParallelLoadingEnabled;
+            return this;
+        }
+
+        public Builder setCrossDataStoreReferenceLoadingThreads(int crossDataStoreReferenceLoadingThreads) {
+            this.crossDataStoreReferenceLoadingThreads = crossDataStoreReferenceLoadingThreads;
+            return this;
+        }
+
+        public Builder setDataStoreMetricsEnabled(boolean dataStoreMetricsEnabled) {
+            this.dataStoreMetricsEnabled = dataStoreMetricsEnabled;
+            return this;
+        }
+
+        public Builder setDataStoreMetricsPercentileHistogramEnabled(boolean dataStoreMetricsPercentileHistogramEnabled) {
+            this.dataStoreMetricsPercentileHistogramEnabled = dataStoreMetricsPercentileHistogramEnabled;
+            return this;
+        }
+
         public Builder setIdGenerationForEntitiesInAdditionalDataStoresEnabled(boolean idGenerationForEntitiesInAdditionalDataStoresEnabled) {
             this.idGenerationForEntitiesInAdditionalDataStoresEnabled = idGenerationForEntitiesInAdditionalDataStoresEnabled;
             return this;
@@ -187,6 +217,10 @@ public class TestCoreProperties extends CoreProperties {
                     this.dbDir,
                     this.availableLocales,
                     this.crossDataStoreReferenceLoadingBatchSize,
+                    this.crossDataStoreReferenceParallelLoadingEnabled,
+                    this.crossDataStoreReferenceLoadingThreads,
+                    this.dataStoreMetricsEnabled,
+                    this.dataStoreMetricsPercentileHistogramEnabled,
                     this.idGenerationForEntitiesInAdditionalDataStoresEnabled,
                     this.dom4jMaxPoolSize,
                     this.dom4jMaxBorrowWaitMillis,
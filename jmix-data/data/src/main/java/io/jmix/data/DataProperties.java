@@ -33,17 +33,31 @@ public class DataProperties {
     String uniqueConstraintViolationPattern;
     boolean useUserLocaleForRelativeDateTimeMoments;
 
+    /**
+     * Maximum number of parsed JPQL query trees kept in memory. Zero disables the cache.
+     */
+    int queryTreeCacheSize;
+
+    /**
+     * Whether the next block of cached number ids is reserved in background when a half of the current block is used.
+     */
+    boolean numberIdCachePrefetch;
+
     public DataProperties(
             @DefaultValue("true") boolean useReadOnlyTransactionForLoad,
             @DefaultValue("100") int numberIdCacheSize,
             boolean useEntityDataStoreForIdSequence,
             @Nullable String uniqueConstraintViolationPattern,
-            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments) {
+            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments,
+            @DefaultValue("1000") int queryTreeCacheSize,
+            @DefaultValue("true") boolean numberIdCachePrefetch) {
         this.useReadOnlyTransactionForLoad = useReadOnlyTransactionForLoad;
         this.numberIdCacheSize = numberIdCacheSize;
         this.useEntityDataStoreForIdSequence = useEntityDataStoreForIdSequence;
         this.uniqueConstraintViolationPattern = uniqueConstraintViolationPattern;
         this.useUserLocaleForRelativeDateTimeMoments = useUserLocaleForRelativeDateTimeMoments;
+        this.queryTreeCacheSize = queryTreeCacheSize;
+        this.numberIdCachePrefetch = numberIdCachePrefetch;
     }
 
     public boolean isUseReadOnlyTransactionForLoad() {
@@ -69,4 +83,18 @@ public class DataProperties {
     public boolean isUseUserLocaleForRelativeDateTimeMoments() {
         return useUserLocaleForRelativeDateTimeMoments;
     }
+
+    /**
+     * @see #queryTreeCacheSize
+     */
+    public int getQueryTreeCacheSize() {
+        return queryTreeCacheSize;
+    }
+
+    /**
+     * @see #numberIdCachePrefetch
+     */
+    public boolean isNumberIdCachePrefetch() {
+        return numberIdCachePrefetch;
+    }
 }
@@ -16,6 +16,11 @@
 
 package io.jmix.data;
 
+import io.jmix.data.persistence.SequenceSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Provides access to the database sequences.
  */
@@ -32,6 +37,25 @@ public interface Sequences {
      */
     long createNextValue(Sequence sequence);
 
+    /**
+     * Returns the given number of next sequence values. All values are obtained in one transaction. On databases
+     * providing a multi-row statement for the sequence (see {@link SequenceSupport#getNextValuesSql(String, int)})
+     * the values are selected by one statement, otherwise a statement is executed for each value.
+     * <p>
+     * The default implementation calls {@link #createNextValue(Sequence)} for each value.
+     *
+     * @param sequence  sequence object
+     * @param count     number of values
+     * @return          next values
+     */
+    default List<Long> createNextValues(Sequence sequence, int count) {
+        List<Long> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(createNextValue(sequence));
+        }
+        return values;
+    }
+
     /**
      * Returns the current value of the sequence. For some implementations
      * {@link #createNextValue(Sequence)} must be called at least once beforehand.
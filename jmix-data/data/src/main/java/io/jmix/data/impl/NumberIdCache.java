@@ -27,19 +27,32 @@ import io.jmix.data.DataProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.lang.Nullable;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Intermediate cache for generated ids of entities with long/integer PK.
  * The cache size is determined by the {@code jmix.data.numberIdCacheSize} property.
+ * <p>
+ * Ids are handed out from the current block by an atomic counter without locking. When a half of the block is used,
+ * the next block is reserved in background (see {@code jmix.data.numberIdCachePrefetch}), so that threads do not wait
+ * for the database when the current block runs out.
  */
 @Component("data_NumberIdCache")
 public class NumberIdCache {
 
+    private static final Logger log = LoggerFactory.getLogger(NumberIdCache.class);
+
     @Autowired
     protected Metadata metadata;
     @Autowired
@@ -51,44 +64,109 @@ public class NumberIdCache {
 
     protected ConcurrentMap<String, Generator> cache = new ConcurrentHashMap<>();
 
+    // one thread for all sequences, each generator has at most one prefetch queued
+    protected final ThreadPoolExecutor prefetchExecutor = createPrefetchExecutor();
+
     protected class Generator {
-        protected long counter;
-        protected long sequenceValue;
         protected String entityName;
         protected String sequenceName;
         protected boolean cached;
 
+        protected volatile Block block;
+        // guarded by this
+        protected CompletableFuture<Block> nextBlock;
+
         public Generator(String entityName,
                          @Nullable String sequenceName,
                          boolean cached) {
             this.entityName = entityName;
             this.sequenceName = sequenceName;
             this.cached = cached;
-            if (useIdCache()) {
-                createCachedCounter();
-            }
         }
 
         protected boolean useIdCache() {
             return dataProperties.getNumberIdCacheSize() != 0 && cached;
         }
 
-        protected void createCachedCounter() {
-            sequenceValue = numberIdWorker.createCachedLongId(entityName, sequenceName);
-            counter = sequenceValue;
+        public long getNext() {
+            if (!useIdCache()) {
+                return numberIdWorker.createLongId(entityName, sequenceName);
+            }
+            while (true) {
+                Block current = block;
+                if (current != null) {
+                    long next = current.counter.incrementAndGet();
+                    if (next <= current.last) {
+                        if (next == current.prefetchAt) {
+                            prefetchNextBlock();
+                        }
+                        return next;
+                    }
+                }
+                switchBlock(current);
+            }
         }
 
-        public synchronized long getNext() {
+        public List<Long> getNext(int count) {
             if (!useIdCache()) {
-                return numberIdWorker.createLongId(entityName, sequenceName);
-            } else {
-                long next = ++counter;
-                if (next > sequenceValue + dataProperties.getNumberIdCacheSize()) {
-                    createCachedCounter();
-                    next = ++counter;
+                return numberIdWorker.createLongIds(entityName, sequenceName, count);
+            }
+            int cacheSize = dataProperties.getNumberIdCacheSize();
+            int blockCount = (int) ((count + (long) cacheSize - 1) / cacheSize);
+            List<Long> ids = new ArrayList<>(count);
+            for (Long sequenceValue : numberIdWorker.createCachedLongIds(entityName, sequenceName, blockCount)) {
+                for (int i = 1; i <= cacheSize && ids.size() < count; i++) {
+                    ids.add(sequenceValue + i);
+                }
+            }
+            return ids;
+        }
+
+        /**
+         * Replaces the exhausted block by the prefetched one, or reserves a new block if nothing is prefetched.
+         * Does nothing if another thread has already replaced the block.
+         */
+        protected synchronized void switchBlock(@Nullable Block exhausted) {
+            if (block != exhausted) {
+                return;
+            }
+            Block next = null;
+            if (nextBlock != null) {
+                try {
+                    next = nextBlock.join();
+                } catch (CompletionException | CancellationException e) {
+                    log.warn("Unable to prefetch ids for {}", entityName, e);
                 }
-                return next;
+                nextBlock = null;
             }
+            block = next != null ? next : reserveBlock();
+        }
+
+        protected synchronized void prefetchNextBlock() {
+            if (nextBlock == null && dataProperties.isNumberIdCachePrefetch()) {
+                nextBlock = CompletableFuture.supplyAsync(this::reserveBlock, prefetchExecutor);
+            }
+        }
+
+        protected Block reserveBlock() {
+            int cacheSize = dataProperties.getNumberIdCacheSize();
+            long sequenceValue = numberIdWorker.createCachedLongId(entityName, sequenceName);
+            return new Block(sequenceValue, cacheSize);
+        }
+    }
+
+    /**
+     * Ids from {@code sequenceValue + 1} to {@code sequenceValue + size} reserved by one sequence call.
+     */
+    protected static class Block {
+        protected final AtomicLong counter;
+        protected final long last;
+        protected final long prefetchAt;
+
+        protected Block(long sequenceValue, int size) {
+            this.counter = new AtomicLong(sequenceValue);
+            this.last = sequenceValue + size;
+            this.prefetchAt = sequenceValue + Math.max(size / 2, 1);
         }
     }
 
@@ -115,6 +193,22 @@ public class NumberIdCache {
      * @return next id
      */
     public Long createLongId(String entityName) {
+        return getGenerator(entityName).getNext();
+    }
+
+    /**
+     * Generates the given number of ids at once. Ids are taken from new blocks reserved in one transaction, so
+     * the ids that remain in the last block are not used.
+     *
+     * @param entityName entity name
+     * @param count      number of ids
+     * @return next ids
+     */
+    public List<Long> createLongIds(String entityName, int count) {
+        return getGenerator(entityName).getNext(count);
+    }
+
+    protected Generator getGenerator(String entityName) {
         MetaClass metaClass = metadata.findClass(entityName);
         SequenceParams sequenceParams;
         if (metaClass != null) {
@@ -123,11 +217,10 @@ public class NumberIdCache {
             sequenceParams = new SequenceParams();
         }
 
-        Generator gen = cache.computeIfAbsent(
+        return cache.computeIfAbsent(
                 getCacheKey(entityName, sequenceParams.name),
                 s -> new Generator(entityName, sequenceParams.name, sequenceParams.cached)
         );
-        return gen.getNext();
     }
 
     protected SequenceParams getSequenceParams(MetaClass metaClass) {
@@ -154,6 +247,27 @@ public class NumberIdCache {
         cache.clear();
     }
 
+    protected ThreadPoolExecutor createPrefetchExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "NumberIdPrefetch-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
     protected String getCacheKey(String entityName, @Nullable String sequenceName) {
         return sequenceName == null ? entityName : sequenceName;
     }
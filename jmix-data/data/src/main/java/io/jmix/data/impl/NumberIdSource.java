@@ -16,9 +16,36 @@
 
 package io.jmix.data.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface NumberIdSource {
 
     Long createLongId(String entityName);
 
     Integer createIntegerId(String entityName);
+
+    /**
+     * Reserves the given number of ids at once, e.g. for bulk import of entities. The default implementation
+     * calls {@link #createLongId(String)} for each id.
+     */
+    default List<Long> createLongIds(String entityName, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(createLongId(entityName));
+        }
+        return ids;
+    }
+
+    /**
+     * Reserves the given number of ids at once, e.g. for bulk import of entities. The default implementation
+     * calls {@link #createIntegerId(String)} for each id.
+     */
+    default List<Integer> createIntegerIds(String entityName, int count) {
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(createIntegerId(entityName));
+        }
+        return ids;
+    }
 }
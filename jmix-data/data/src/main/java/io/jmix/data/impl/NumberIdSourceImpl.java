@@ -20,6 +20,9 @@ import org.springframework.stereotype.Component;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component("data_NumberIdSource")
 public class NumberIdSourceImpl implements NumberIdSource {
     @Autowired
@@ -32,7 +35,25 @@ public class NumberIdSourceImpl implements NumberIdSource {
 
     @Override
     public Integer createIntegerId(String entityName) {
-        long nextLong = createLongId(entityName);
+        return toInteger(entityName, createLongId(entityName));
+    }
+
+    @Override
+    public List<Long> createLongIds(String entityName, int count) {
+        return cache.createLongIds(entityName, count);
+    }
+
+    @Override
+    public List<Integer> createIntegerIds(String entityName, int count) {
+        List<Long> longIds = createLongIds(entityName, count);
+        List<Integer> ids = new ArrayList<>(longIds.size());
+        for (Long longId : longIds) {
+            ids.add(toInteger(entityName, longId));
+        }
+        return ids;
+    }
+
+    protected int toInteger(String entityName, long nextLong) {
         int nextInt = (int) nextLong;
         if (nextInt != nextLong)
             throw new IllegalStateException("Error creating a new Integer ID for entity " + entityName
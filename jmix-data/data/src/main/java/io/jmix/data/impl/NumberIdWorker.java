@@ -28,6 +28,8 @@ import org.springframework.stereotype.Component;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+
 /**
  * Generates ids for entities with long/integer PK using database sequences.
  */
@@ -47,21 +49,40 @@ public class NumberIdWorker {
     protected DataProperties dataProperties;
 
     public Long createLongId(String entityName, String sequenceName) {
-        Sequence sequence = Sequence.withName(getSequenceName(entityName, sequenceName))
+        return sequences.createNextValue(createSequence(entityName, sequenceName));
+    }
+
+    public Long createCachedLongId(String entityName, String sequenceName) {
+        return sequences.createNextValue(createCachedSequence(entityName, sequenceName));
+    }
+
+    /**
+     * Returns the given number of ids obtained in one transaction.
+     */
+    public List<Long> createLongIds(String entityName, String sequenceName, int count) {
+        return sequences.createNextValues(createSequence(entityName, sequenceName), count);
+    }
+
+    /**
+     * Returns the given number of values of the cached sequence obtained in one transaction. Each value {@code v}
+     * reserves ids from {@code v + 1} to {@code v + numberIdCacheSize}.
+     */
+    public List<Long> createCachedLongIds(String entityName, String sequenceName, int count) {
+        return sequences.createNextValues(createCachedSequence(entityName, sequenceName), count);
+    }
+
+    protected Sequence createSequence(String entityName, String sequenceName) {
+        return Sequence.withName(getSequenceName(entityName, sequenceName))
                 .setStore(getDataStore(entityName))
                 .setStartValue(1)
                 .setIncrement(1);
-
-        return sequences.createNextValue(sequence);
     }
 
-    public Long createCachedLongId(String entityName, String sequenceName) {
-        Sequence sequence = Sequence.withName(getSequenceName(entityName, sequenceName))
+    protected Sequence createCachedSequence(String entityName, String sequenceName) {
+        return Sequence.withName(getSequenceName(entityName, sequenceName))
                 .setStore(getDataStore(entityName))
                 .setStartValue(0)
                 .setIncrement(dataProperties.getNumberIdCacheSize());
-
-        return sequences.createNextValue(sequence);
     }
 
     /**
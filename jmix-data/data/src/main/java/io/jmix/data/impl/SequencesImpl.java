@@ -28,6 +28,7 @@ import org.apache.commons.text.StringTokenizer;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionCallback;
@@ -39,6 +40,7 @@ import jakarta.persistence.Query;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -68,6 +70,37 @@ public class SequencesImpl implements Sequences {
         return getResult(sequence, sqlScript);
     }
 
+    @Override
+    public List<Long> createNextValues(Sequence sequence, int count) {
+        Preconditions.checkNotNull(sequence, "Sequence can't be null");
+        Preconditions.checkArgument(count >= 0, "Count can't be negative");
+        checkSequenceName(sequence.getName());
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+        SequenceSupport sequenceSupport = getSequenceSupport(sequence);
+        String multiRowSql = sequenceSupport.getNextValuesSql(sequence.getName(), count);
+        String sqlScript = sequenceSupport.getNextValueSql(sequence.getName());
+        lock.readLock().lock();
+        try {
+            TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(getDataStore(sequence));
+            return transactionTemplate.execute(status -> {
+                checkSequenceExists(sequence);
+                if (multiRowSql != null) {
+                    return selectValues(sequence, multiRowSql);
+                }
+                // no multi-row statement for this database, one statement per value
+                List<Long> values = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    values.add(toLong(executeScript(sequence, sqlScript)));
+                }
+                return values;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public long getCurrentValue(Sequence sequence) {
         Preconditions.checkNotNull(sequence, "Sequence can't be null");
@@ -132,23 +165,27 @@ public class SequencesImpl implements Sequences {
                 checkSequenceExists(sequence);
                 return executeScript(sequence, sqlScript);
             });
-            if (value instanceof Long)
-                return (Long) value;
-            else if (value instanceof BigDecimal)
-                return ((BigDecimal) value).longValue();
-            else if (value instanceof BigInteger)
-                return ((BigInteger) value).longValue();
-            else if (value instanceof String)
-                return Long.parseLong((String) value);
-            else if (value == null)
-                throw new IllegalStateException("No value returned");
-            else
-                throw new IllegalStateException("Unsupported value type: " + value.getClass());
+            return toLong(value);
         } finally {
             lock.readLock().unlock();
         }
     }
 
+    protected long toLong(@Nullable Object value) {
+        if (value instanceof Long)
+            return (Long) value;
+        else if (value instanceof BigDecimal)
+            return ((BigDecimal) value).longValue();
+        else if (value instanceof BigInteger)
+            return ((BigInteger) value).longValue();
+        else if (value instanceof String)
+            return Long.parseLong((String) value);
+        else if (value == null)
+            throw new IllegalStateException("No value returned");
+        else
+            throw new IllegalStateException("Unsupported value type: " + value.getClass());
+    }
+
     protected void checkSequenceExists(Sequence sequence) {
         String sequenceName = sequence.getName();
         if (existingSequences.contains(sequenceName)) {
@@ -184,6 +221,15 @@ public class SequencesImpl implements Sequences {
         }
     }
 
+    protected List<Long> selectValues(Sequence sequence, String sql) {
+        JdbcTemplate jdbcTemplate = storeAwareLocator.getJdbcTemplate(getDataStore(sequence));
+        try {
+            return jdbcTemplate.query(sql, (rs, rowNum) -> rs.getLong(1));
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Error executing SQL for getting next numbers", e);
+        }
+    }
+
     protected Object executeScript(Sequence sequence, String sqlScript) {
         JdbcTemplate jdbcTemplate = storeAwareLocator.getJdbcTemplate(getDataStore(sequence));
 
@@ -48,6 +48,11 @@ public class OracleSequenceSupport implements SequenceSupport {
         return "select " + sequenceName + ".NEXTVAL from DUAL";
     }
 
+    @Override
+    public String getNextValuesSql(String sequenceName, int count) {
+        return "select " + sequenceName + ".NEXTVAL from DUAL connect by level <= " + count;
+    }
+
     @Override
     public String getCurrentValueSql(String sequenceName) {
         return "select GET_SEQ_VAL('" + sequenceName.toUpperCase() + "') from DUAL";
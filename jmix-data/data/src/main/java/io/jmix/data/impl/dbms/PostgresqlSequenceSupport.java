@@ -55,6 +55,12 @@ public class PostgresqlSequenceSupport implements SequenceSupport {
         return "select nextval('" + sequenceName.toLowerCase() + "')";
     }
 
+    @Override
+    public String getNextValuesSql(String sequenceName, int count) {
+        Preconditions.checkNotNullArgument(sequenceName, "sequenceName is null");
+        return "select nextval('" + sequenceName.toLowerCase() + "') from generate_series(1, " + count + ")";
+    }
+
     @Override
     public String getCurrentValueSql(String sequenceName) {
         Preconditions.checkNotNullArgument(sequenceName, "sequenceName is null");
@@ -24,6 +24,7 @@ import io.jmix.core.metamodel.model.MetaClass;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +32,9 @@ import java.util.stream.Collectors;
  * synchronization.
  */
 public class DomainModel {
+    private static final AtomicLong versionSequence = new AtomicLong();
+
+    protected final long version = versionSequence.incrementAndGet();
     protected Map<String, JpqlEntityModel> entities = new HashMap<>();
     protected ExtendedEntities extendedEntities;
     protected Metadata metadata;
@@ -47,6 +51,13 @@ public class DomainModel {
         }
     }
 
+    /**
+     * @return unique number of this model instance, used to distinguish query trees parsed against different models
+     */
+    public long getVersion() {
+        return version;
+    }
+
     public void add(JpqlEntityModel entity) {
         if (entity == null)
             throw new NullPointerException("No entity passed");
@@ -56,6 +56,23 @@ public class QueryTree {
         new TreeVisitor().visit(tree, idVarSelector);
     }
 
+    protected QueryTree(DomainModel model, String queryString, CommonTree tree) {
+        this.model = model;
+        this.queryString = queryString;
+        this.tree = tree;
+
+        this.idVarSelector = new IdVarSelector(model);
+        new TreeVisitor().visit(tree, idVarSelector);
+    }
+
+    /**
+     * Creates a copy of this tree that can be transformed independently of the original one
+     * without parsing the query again.
+     */
+    public QueryTree copy() {
+        return new QueryTree(model, queryString, BaseCustomNode.dupTree(tree));
+    }
+
     public DomainModel getModel() {
         return model;
     }
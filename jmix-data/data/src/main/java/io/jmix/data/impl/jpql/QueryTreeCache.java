@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.data.impl.jpql;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.jmix.core.annotation.Internal;
+import io.jmix.data.DataProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * INTERNAL.
+ * Keeps parsed and analyzed JPQL query trees to avoid running the ANTLR parser on the same query text repeatedly.
+ * <p>
+ * Cached trees are never modified: each caller receives its own {@link QueryTree#copy()}.
+ * Trees are keyed by query text and {@link DomainModel#getVersion()}, so trees parsed against a previous domain model
+ * are never returned and are evicted as the cache fills up.
+ */
+@Internal
+@Component("data_QueryTreeCache")
+public class QueryTreeCache {
+
+    public static final String METRIC_NAME = "jmix.data.queryTreeCache";
+
+    @Autowired
+    protected DataProperties dataProperties;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    protected Cache<CacheKey, QueryTree> cache;
+
+    @PostConstruct
+    protected void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(dataProperties.getQueryTreeCacheSize())
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, METRIC_NAME);
+    }
+
+    /**
+     * Returns a copy of the cached tree for the given query, parsing the query with the passed function
+     * if the tree is not cached yet.
+     *
+     * @param model  domain model the query is parsed against
+     * @param query  query text
+     * @param parser function that parses and validates the query
+     * @return tree that can be freely modified by the caller
+     */
+    public QueryTree get(DomainModel model, String query, Supplier<QueryTree> parser) {
+        if (dataProperties.getQueryTreeCacheSize() <= 0) {
+            return parser.get();
+        }
+
+        CacheKey key = new CacheKey(model.getVersion(), query);
+        QueryTree template;
+        try {
+            // concurrent callers of the same key wait for a single parse
+            template = cache.get(key, parser::get);
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+        return template.copy();
+    }
+
+    /**
+     * Removes all cached trees.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    protected static class CacheKey {
+        protected final long modelVersion;
+        protected final String query;
+
+        public CacheKey(long modelVersion, String query) {
+            this.modelVersion = modelVersion;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey that = (CacheKey) o;
+            return modelVersion == that.modelVersion && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(modelVersion, query);
+        }
+    }
+}
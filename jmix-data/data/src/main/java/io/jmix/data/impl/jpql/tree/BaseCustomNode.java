@@ -20,7 +20,6 @@ import io.jmix.data.impl.jpql.ErrorRec;
 import io.jmix.data.impl.jpql.QueryBuilder;
 import org.antlr.runtime.Token;
 import org.antlr.runtime.tree.CommonTree;
-import org.antlr.runtime.tree.Tree;
 
 import java.util.List;
 
@@ -52,10 +51,25 @@ public class BaseCustomNode extends CommonTree implements TreeToQueryCapable {
     }
 
     protected void dupChildren(CommonTree result) {
+        if (children == null) {
+            return;
+        }
         for (Object child : children) {
-            CommonTree t = (CommonTree) child;
-            Tree copy = t.dupNode();
-            result.addChild(copy);
+            result.addChild(dupTree((CommonTree) child));
+        }
+    }
+
+    /**
+     * Creates a deep copy of the given subtree. Custom nodes copy their children in {@link #dupNode()},
+     * plain ANTLR nodes copy only themselves, so their children are copied here.
+     */
+    public static CommonTree dupTree(CommonTree tree) {
+        CommonTree copy = (CommonTree) tree.dupNode();
+        if (!(tree instanceof BaseCustomNode)) {
+            for (int i = 0; i < tree.getChildCount(); i++) {
+                copy.addChild(dupTree((CommonTree) tree.getChild(i)));
+            }
         }
+        return copy;
     }
 }
\ No newline at end of file
@@ -21,6 +21,8 @@
  */
 package io.jmix.data.persistence;
 
+import org.springframework.lang.Nullable;
+
 /**
  * Interface defining methods for managing database sequences.
  *
@@ -39,5 +41,16 @@ public interface SequenceSupport {
 
     String getNextValueSql(String sequenceName);
 
+    /**
+     * Returns SQL selecting the given number of next values of the sequence in one statement, one value per row.
+     *
+     * @return SQL or null if the database does not support it, then {@link #getNextValueSql(String)} is executed
+     * for each value
+     */
+    @Nullable
+    default String getNextValuesSql(String sequenceName, int count) {
+        return null;
+    }
+
     String getCurrentValueSql(String sequenceName);
 }
@@ -19,15 +19,80 @@ package io.jmix.eclipselink;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "jmix.eclipselink")
 public class EclipselinkProperties {
     boolean queryCacheEnabled;
 
-    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled) {
+    /**
+     * Whether to keep an in-memory index of cached queries by their related entity types, so that invalidation
+     * of a type evicts only its own queries. Disabled by default. Enable it only if the query cache is local to each
+     * node: the index knows only about queries cached by the current node, so it can't be used with a query cache
+     * shared between cluster nodes.
+     */
+    boolean queryCacheTypeIndexEnabled;
+
+    /**
+     * Whether to read lists filtered in memory (e.g. by in-memory row-level policies) with a forward-only cursor
+     * in one query, instead of loading them by pages.
+     */
+    boolean cursorForInMemoryFilteringEnabled;
+
+    /**
+     * Maximum number of lazily loaded references of entities loaded together, which are loaded by one query when
+     * one of them is accessed. Can be overridden for a property by {@link LazyLoadingBatchSize}. Values less than 2
+     * switch batch loading off.
+     */
+    int lazyLoadingBatchSize;
+
+    /**
+     * Minimum execution time of a JPQL query to be logged with its final query string by the
+     * {@code io.jmix.eclipselink.SlowQuery} logger. Zero disables the slow query log.
+     */
+    Duration slowQueryThreshold;
+
+    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled,
+                                 @DefaultValue("false") boolean queryCacheTypeIndexEnabled,
+                                 @DefaultValue("true") boolean cursorForInMemoryFilteringEnabled,
+                                 @DefaultValue("100") int lazyLoadingBatchSize,
+                                 @DefaultValue("0") Duration slowQueryThreshold) {
         this.queryCacheEnabled = queryCacheEnabled;
+        this.queryCacheTypeIndexEnabled = queryCacheTypeIndexEnabled;
+        this.cursorForInMemoryFilteringEnabled = cursorForInMemoryFilteringEnabled;
+        this.lazyLoadingBatchSize = lazyLoadingBatchSize;
+        this.slowQueryThreshold = slowQueryThreshold;
     }
 
     public boolean isQueryCacheEnabled() {
         return queryCacheEnabled;
     }
+
+    /**
+     * @see #queryCacheTypeIndexEnabled
+     */
+    public boolean isQueryCacheTypeIndexEnabled() {
+        return queryCacheTypeIndexEnabled;
+    }
+
+    /**
+     * @see #cursorForInMemoryFilteringEnabled
+     */
+    public boolean isCursorForInMemoryFilteringEnabled() {
+        return cursorForInMemoryFilteringEnabled;
+    }
+
+    /**
+     * @see #lazyLoadingBatchSize
+     */
+    public int getLazyLoadingBatchSize() {
+        return lazyLoadingBatchSize;
+    }
+
+    /**
+     * @see #slowQueryThreshold
+     */
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
 }
@@ -48,14 +48,18 @@ import org.eclipse.persistence.internal.jpa.EJBQueryImpl;
 import org.eclipse.persistence.jpa.JpaQuery;
 import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
+import org.eclipse.persistence.queries.CursoredStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.env.Environment;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Connection;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
@@ -423,6 +427,58 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
         }
     }
 
+    /**
+     * Executes the query with a forward-only cursor and passes the results to the consumer in chunks, until
+     * the consumer returns {@code false} or there are no more results. The query cache is not used.
+     * <p>
+     * Rows are fetched from the database incrementally only if the driver supports it with the given fetch size.
+     * For example, PostgreSQL fetches rows by portions only outside of autocommit mode, so the query should be
+     * executed in a transaction to avoid reading the whole result into memory. If a transaction is active, the
+     * database transaction is started before executing the query, so that the cursor is opened on the transactional
+     * connection instead of a shared read connection in autocommit mode.
+     *
+     * @param chunkSize     number of results in a chunk, also used as JDBC fetch size
+     * @param chunkConsumer receives chunks of results and returns {@code true} to continue reading
+     */
+    public void scrollResultList(int chunkSize, Predicate<List<E>> chunkConsumer) {
+        logQueryString();
+
+        singleResultExpected = false;
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // database transactions are started lazily, obtaining the connection starts it early
+            entityManager.unwrap(Connection.class);
+        }
+
+        JpaQuery<E> query = getQuery();
+        query.setHint(QueryHints.CURSOR, HintValues.TRUE);
+        query.setHint(QueryHints.CURSOR_PAGE_SIZE, chunkSize);
+        query.setHint(QueryHints.JDBC_FETCH_SIZE, chunkSize);
+        preExecute(query);
+
+        CursoredStream cursor = (CursoredStream) query.getSingleResult();
+        try {
+            while (cursor.hasNext()) {
+                @SuppressWarnings("unchecked")
+                List<E> chunk = (List) cursor.next(chunkSize);
+                // don't keep references to the passed chunks in the stream
+                cursor.clear();
+                for (Object item : chunk) {
+                    if (item instanceof Entity) {
+                        for (FetchPlan fetchPlan : fetchPlans) {
+                            entityFetcher.fetch((Entity) item, fetchPlan);
+                        }
+                    }
+                }
+                if (!chunkConsumer.test(chunk)) {
+                    break;
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
     public String getQueryString() {
         return queryString;
     }
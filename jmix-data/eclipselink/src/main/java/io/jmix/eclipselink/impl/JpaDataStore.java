@@ -35,6 +35,7 @@ import io.jmix.data.impl.EntityEventManager;
 import io.jmix.data.impl.JpqlQueryBuilder;
 import io.jmix.data.impl.QueryResultsManager;
 import io.jmix.data.persistence.DbmsSpecifics;
+import io.jmix.eclipselink.EclipselinkProperties;
 import io.jmix.eclipselink.impl.lazyloading.LazyLoadingContext;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.exceptions.QueryException;
@@ -53,8 +54,12 @@ import org.springframework.transaction.support.DefaultTransactionDefinition;
 
 import org.springframework.lang.Nullable;
 import jakarta.persistence.*;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -76,9 +81,14 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
 
     private static final Logger log = LoggerFactory.getLogger(JpaDataStore.class);
 
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("io.jmix.eclipselink.SlowQuery");
+
     @Autowired
     protected DataProperties properties;
 
+    @Autowired
+    protected EclipselinkProperties eclipselinkProperties;
+
     @Autowired
     protected FetchPlans fetchPlans;
 
@@ -168,6 +178,34 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean loadAllIncrementally(LoadContext<?> context, int batchSize, Predicate<List<Object>> consumer) {
+        if (!eclipselinkProperties.isCursorForInMemoryFilteringEnabled()
+                || !context.getIds().isEmpty()
+                || context.getLockMode() != null) {
+            return false;
+        }
+
+        queryResultsManager.savePreviousQueryResults(context);
+
+        EntityManager em = storeAwareLocator.getEntityManager(storeName);
+        em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
+
+        LoadContext<?> cursorContext = context.copy();
+        if (cursorContext.getQuery() != null) {
+            cursorContext.getQuery().setFirstResult(0);
+            cursorContext.getQuery().setMaxResults(0);
+        }
+
+        JmixEclipseLinkQuery<Object> query = (JmixEclipseLinkQuery<Object>) createQuery(em, cursorContext, false);
+        execute(query, () -> {
+            query.scrollResultList(batchSize, consumer);
+            return null;
+        });
+        return true;
+    }
+
     protected List<Object> loadAllByIds(LoadContext<?> context, EntityManager em) {
         LoadContext<?> contextCopy = context.copy();
         contextCopy.setIds(Collections.emptyList());
@@ -213,7 +251,7 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
 
         Query query = createQuery(em, context, true);
-        Number result = (Number) query.getSingleResult();
+        Number result = (Number) executeQuery(query, true).get(0);
 
         return result.longValue();
     }
@@ -346,7 +384,7 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
 
         Query query = createLoadQuery(em, context, true);
-        Number result = (Number) query.getSingleResult();
+        Number result = (Number) executeQuery(query, true).get(0);
 
         return result.longValue();
     }
@@ -561,20 +599,35 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     }
 
     protected List<Object> executeQuery(Query query, boolean singleResult) {
-        List<Object> list;
-        try {
+        return execute(query, () -> {
             if (singleResult) {
                 try {
                     Object result = query.getSingleResult();
-                    list = new ArrayList<>(1);
+                    List<Object> list = new ArrayList<>(1);
                     list.add(result);
+                    return list;
                 } catch (NoResultException e) {
-                    list = Collections.emptyList();
+                    return Collections.emptyList();
                 }
             } else {
                 //noinspection unchecked
-                list = query.getResultList();
+                return query.getResultList();
             }
+        });
+    }
+
+    /**
+     * Runs the passed execution of the query, translating persistence exceptions and logging the query if it
+     * is slower than {@link EclipselinkProperties#getSlowQueryThreshold()}.
+     */
+    protected <T> T execute(Query query, Supplier<T> execution) {
+        Duration slowQueryThreshold = eclipselinkProperties.getSlowQueryThreshold();
+        boolean slowQueryLogEnabled = !slowQueryThreshold.isZero() && slowQueryLog.isWarnEnabled();
+        long startTime = slowQueryLogEnabled ? System.nanoTime() : 0;
+
+        T result;
+        try {
+            result = execution.get();
         } catch (PersistenceException e) {
             if (e.getCause() instanceof QueryException
                     && e.getMessage() != null
@@ -584,7 +637,22 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
                 throw e;
             }
         }
-        return list;
+
+        if (slowQueryLogEnabled) {
+            logSlowQuery(query, System.nanoTime() - startTime, slowQueryThreshold);
+        }
+        return result;
+    }
+
+    protected void logSlowQuery(Query query, long elapsedNanos, Duration threshold) {
+        if (elapsedNanos < threshold.toNanos()) {
+            return;
+        }
+        String queryString = query instanceof JmixEclipseLinkQuery
+                ? ((JmixEclipseLinkQuery<?>) query).getQueryString()
+                : query.toString();
+        slowQueryLog.warn("Slow query in store '{}' took {} ms: {}",
+                storeName, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), queryString);
     }
 
 
@@ -53,4 +53,25 @@ public interface QueryCache {
      * Returns number of entries in this cache.
      */
     long size();
+
+    /**
+     * Returns number of lookups that found a cached query result.
+     */
+    default long getHitCount() {
+        return 0;
+    }
+
+    /**
+     * Returns number of lookups that didn't find a cached query result.
+     */
+    default long getMissCount() {
+        return 0;
+    }
+
+    /**
+     * Returns number of query results discarded by invalidation of their related types.
+     */
+    default long getEvictionCount() {
+        return 0;
+    }
 }
@@ -40,6 +40,21 @@ public class QueryCacheManagementFacade {
         return queryCache.size();
     }
 
+    @ManagedAttribute(description = "Number of lookups that found a cached query")
+    public long getHitCount() {
+        return queryCache.getHitCount();
+    }
+
+    @ManagedAttribute(description = "Number of lookups that didn't find a cached query")
+    public long getMissCount() {
+        return queryCache.getMissCount();
+    }
+
+    @ManagedAttribute(description = "Number of cached queries discarded on changes of related entities")
+    public long getEvictionCount() {
+        return queryCache.getEvictionCount();
+    }
+
     @ManagedOperation(description = "Discard all cached queries")
     public String evictAll() {
         queryCacheMgr.invalidateAll();
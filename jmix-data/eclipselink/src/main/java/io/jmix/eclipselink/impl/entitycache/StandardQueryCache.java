@@ -18,6 +18,7 @@ package io.jmix.eclipselink.impl.entitycache;
 
 import com.google.common.collect.Sets;
 import io.jmix.core.CacheOperations;
+import io.jmix.eclipselink.EclipselinkProperties;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,9 +28,14 @@ import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component("eclipselink_QueryCache")
 public class StandardQueryCache implements QueryCache {
@@ -40,9 +46,35 @@ public class StandardQueryCache implements QueryCache {
     protected CacheManager cacheManager;
     @Autowired
     protected CacheOperations cacheOperations;
+    @Autowired
+    protected EclipselinkProperties properties;
+
+    /**
+     * Keys of cached queries by names of their related types.
+     */
+    protected final Map<String, Set<QueryKey>> keysByType = new ConcurrentHashMap<>();
+    /**
+     * Related types by keys of cached queries, used to remove a key from all type entries at once.
+     */
+    protected final Map<QueryKey, Set<String>> typesByKey = new ConcurrentHashMap<>();
+    /**
+     * Number of indexed keys at which keys of entries evicted by the cache itself (by size or expiration) are
+     * removed from the index.
+     */
+    protected final AtomicInteger indexPruneThreshold = new AtomicInteger(MIN_INDEX_PRUNE_THRESHOLD);
+    /**
+     * Indexed keys that were missing from the cache at the last pruning.
+     */
+    protected volatile Set<QueryKey> pruneCandidates = Collections.emptySet();
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+    protected final LongAdder evictionCount = new LongAdder();
 
     public static final String QUERY_CACHE_NAME = "jmix-eclipselink-query-cache";
 
+    protected static final int MIN_INDEX_PRUNE_THRESHOLD = 1000;
+
     protected static final Logger log = LoggerFactory.getLogger(QueryCache.class);
 
     @PostConstruct
@@ -55,12 +87,35 @@ public class StandardQueryCache implements QueryCache {
 
     @Override
     public QueryResult get(QueryKey queryKey) {
-        return queries.get(queryKey, QueryResult.class);
+        QueryResult queryResult = queries.get(queryKey, QueryResult.class);
+        if (queryResult != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return queryResult;
     }
 
     @Override
     public void put(QueryKey queryKey, QueryResult queryResult) {
+        if (properties.isQueryCacheTypeIndexEnabled()) {
+            // index the key before the result becomes visible, so that a concurrent invalidation can't miss it
+            addToIndex(queryKey, queryResult);
+        }
         queries.put(queryKey, queryResult);
+
+        if (properties.isQueryCacheTypeIndexEnabled()) {
+            if (!typesByKey.containsKey(queryKey) && CollectionUtils.isNotEmpty(queryResult.getRelatedTypes())) {
+                // a concurrent invalidation removed the key from the index after it was indexed above,
+                // and its eviction could happen before the result was put
+                queries.evictIfPresent(queryKey);
+            }
+
+            int threshold = indexPruneThreshold.get();
+            if (typesByKey.size() >= threshold && indexPruneThreshold.compareAndSet(threshold, Integer.MAX_VALUE)) {
+                pruneIndex();
+            }
+        }
     }
 
     @Override
@@ -76,7 +131,19 @@ public class StandardQueryCache implements QueryCache {
     }
 
     protected void invalidateByTypes(Set<String> typeNames) {
-        if (cacheOperations.isIterableCache(queries)) {
+        if (properties.isQueryCacheTypeIndexEnabled()) {
+            for (String typeName : typeNames) {
+                Set<QueryKey> keys = keysByType.remove(typeName);
+                if (keys != null) {
+                    for (QueryKey queryKey : keys) {
+                        removeFromIndex(queryKey);
+                        if (queries.evictIfPresent(queryKey)) {
+                            evictionCount.increment();
+                        }
+                    }
+                }
+            }
+        } else if (cacheOperations.isIterableCache(queries)) {
             Set<QueryKey> evicted = new HashSet<>();
 
             cacheOperations.<QueryKey, QueryResult>forEach(queries, (queryKey, queryResult) -> {
@@ -86,8 +153,9 @@ public class StandardQueryCache implements QueryCache {
             });
 
             for (QueryKey queryKey : evicted) {
-                queries.evictIfPresent(queryKey);
-
+                if (queries.evictIfPresent(queryKey)) {
+                    evictionCount.increment();
+                }
             }
         } else {
             queries.invalidate();
@@ -98,6 +166,9 @@ public class StandardQueryCache implements QueryCache {
     public void invalidateAll() {
         log.debug("Invalidate all cache");
         queries.invalidate();
+        keysByType.clear();
+        typesByKey.clear();
+        pruneCandidates = Collections.emptySet();
     }
 
     @Override
@@ -110,4 +181,81 @@ public class StandardQueryCache implements QueryCache {
             return 0;
         }
     }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    protected void addToIndex(QueryKey queryKey, QueryResult queryResult) {
+        Set<String> relatedTypes = queryResult.getRelatedTypes();
+        if (relatedTypes == null || relatedTypes.isEmpty()) {
+            return;
+        }
+        typesByKey.put(queryKey, relatedTypes);
+        for (String typeName : relatedTypes) {
+            // compute() is atomic with respect to remove() in invalidateByTypes()
+            keysByType.compute(typeName, (name, keys) -> {
+                if (keys == null) {
+                    keys = ConcurrentHashMap.newKeySet();
+                }
+                keys.add(queryKey);
+                return keys;
+            });
+        }
+    }
+
+    /**
+     * Removes keys of entries evicted by the cache itself from the index. A key is removed only if it was missing
+     * from the cache at the previous pruning too, because keys are indexed before their results are put into the
+     * cache. The next pruning happens when the index doubles, so the index stays proportional to the cache size
+     * at an amortized constant cost per put.
+     */
+    protected void pruneIndex() {
+        try {
+            Set<QueryKey> cachedKeys = null;
+            if (cacheOperations.isIterableCache(queries)) {
+                Set<QueryKey> keys = new HashSet<>();
+                cacheOperations.<QueryKey, QueryResult>forEach(queries, (queryKey, queryResult) -> keys.add(queryKey));
+                cachedKeys = keys;
+            }
+            Set<QueryKey> missingKeys = new HashSet<>();
+            for (QueryKey queryKey : typesByKey.keySet()) {
+                boolean cached = cachedKeys != null ? cachedKeys.contains(queryKey) : queries.get(queryKey) != null;
+                if (!cached) {
+                    if (pruneCandidates.contains(queryKey)) {
+                        removeFromIndex(queryKey);
+                    } else {
+                        missingKeys.add(queryKey);
+                    }
+                }
+            }
+            pruneCandidates = missingKeys;
+            log.debug("Pruned query cache index, {} keys left", typesByKey.size());
+        } finally {
+            indexPruneThreshold.set(Math.max(MIN_INDEX_PRUNE_THRESHOLD, typesByKey.size() * 2));
+        }
+    }
+
+    protected void removeFromIndex(QueryKey queryKey) {
+        Set<String> relatedTypes = typesByKey.remove(queryKey);
+        if (relatedTypes != null) {
+            for (String typeName : relatedTypes) {
+                keysByType.computeIfPresent(typeName, (name, keys) -> {
+                    keys.remove(queryKey);
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        }
+    }
 }
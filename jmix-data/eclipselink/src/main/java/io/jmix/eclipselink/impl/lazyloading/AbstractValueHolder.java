@@ -279,18 +279,40 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
                 }
             }
             isInstantiated = true;
+            leaveBatch();
         }
         return value;
     }
 
     protected abstract Object loadValue();
 
+    /**
+     * Sets the value loaded together with the value of another holder of the same {@link LazyLoadingBatch},
+     * unless the value of this holder is already loaded.
+     */
+    protected void setBatchLoadedValue(Object value) {
+        if (!isInstantiated) {
+            this.value = value;
+            afterLoadValue(value);
+            isInstantiated = true;
+            leaveBatch();
+        }
+    }
+
+    /**
+     * Removes this holder from its {@link LazyLoadingBatch} after the value is loaded, so that the batch does not
+     * keep the owners of loaded holders.
+     */
+    protected void leaveBatch() {
+    }
+
     protected abstract void afterLoadValue(Object value);
 
     @Override
     public void setValue(Object value) {
         this.value = value;
         this.isInstantiated = true;
+        leaveBatch();
         if (LazyLoadingContext.isDisabled()) {
             originalValueHolder.setValue(value);
         }
@@ -37,6 +37,8 @@ public class CollectionValuePropertyHolder extends AbstractValueHolder {
 
     private Object rootEntity;
 
+    protected transient LazyLoadingBatch<CollectionValuePropertyHolder> batch;
+
     public CollectionValuePropertyHolder(BeanFactory beanFactory,
                                          ValueHolderInterface originalValueHolder,
                                          Object owner,
@@ -52,13 +54,49 @@ public class CollectionValuePropertyHolder extends AbstractValueHolder {
         return rootEntity;
     }
 
+    void setBatch(LazyLoadingBatch<CollectionValuePropertyHolder> batch) {
+        this.batch = batch;
+        batch.add(this);
+    }
+
+    @Override
+    protected void leaveBatch() {
+        LazyLoadingBatch<CollectionValuePropertyHolder> batch = this.batch;
+        if (batch != null) {
+            batch.remove(this);
+            this.batch = null;
+        }
+    }
+
     @Override
     protected Object loadValue() {
         MetaClass metaClass = getMetadata().getClass(getOwner());
 
-        LoadContext<?> loadContext = createLoadContextByOwner(metaClass);
+        Object reloadedOwner = null;
+
+        List<CollectionValuePropertyHolder> holders = batch != null ? batch.getHoldersToLoad(this) : List.of(this);
+        if (holders.size() > 1) {
+            Map<Object, Object> ownersById = loadBatch(metaClass, holders);
+            for (CollectionValuePropertyHolder holder : holders) {
+                Object owner = ownersById.get(EntityValues.getId(holder.getOwner()));
+                if (holder != this && owner != null) {
+                    holder.setBatchLoadedValue(holder.getValueOfReloadedOwner(owner));
+                }
+            }
+            reloadedOwner = ownersById.get(EntityValues.getId(getOwner()));
+        }
+
+        if (reloadedOwner == null) {
+            LoadContext<?> loadContext = createLoadContextByOwner(metaClass);
+            reloadedOwner = getDataManager().load(loadContext);
+        }
+        return getValueOfReloadedOwner(reloadedOwner);
+    }
 
-        Object reloadedOwner = getDataManager().load(loadContext);
+    /**
+     * Returns the collection of the reloaded owner and registers its erased ids for the owner of this holder.
+     */
+    protected Collection<Object> getValueOfReloadedOwner(Object reloadedOwner) {
         Collection<Object> value = EntityValues.getValue(reloadedOwner, getPropertyInfo().getName());
 
         getSecurityState(getOwner()).addErasedIds(getPropertyInfo().getName(),
@@ -79,6 +117,23 @@ public class CollectionValuePropertyHolder extends AbstractValueHolder {
         }
     }
 
+    protected Map<Object, Object> loadBatch(MetaClass metaClass, List<CollectionValuePropertyHolder> holders) {
+        Set<Object> ids = new LinkedHashSet<>();
+        for (CollectionValuePropertyHolder holder : holders) {
+            ids.add(Objects.requireNonNull(EntityValues.getId(holder.getOwner())));
+        }
+
+        LoadContext<?> loadContext = createLoadContextByOwner(metaClass)
+                .setId(null)
+                .setIds(ids);
+
+        Map<Object, Object> ownersById = new HashMap<>();
+        for (Object owner : getDataManager().loadList(loadContext)) {
+            ownersById.put(EntityValues.getId(owner), owner);
+        }
+        return ownersById;
+    }
+
     protected LoadContext<?> createLoadContextByOwner(MetaClass metaClass) {
         return new LoadContext<>(metaClass)
                 .setId(Objects.requireNonNull(EntityValues.getId(getOwner())))
@@ -24,10 +24,14 @@ import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.Range;
+import io.jmix.data.persistence.DbmsSpecifics;
+import io.jmix.eclipselink.EclipselinkProperties;
+import io.jmix.eclipselink.LazyLoadingBatchSize;
 import org.eclipse.persistence.indirection.ValueHolderInterface;
 import org.eclipse.persistence.internal.indirection.QueryBasedValueHolder;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import jakarta.persistence.Basic;
@@ -57,6 +61,10 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
     protected ExtendedEntities extendedEntities;
     @Autowired
     protected FetchPlans fetchPlans;
+    @Autowired
+    protected EclipselinkProperties eclipselinkProperties;
+    @Autowired
+    protected DbmsSpecifics dbmsSpecifics;
 
     @Override
     public void afterEntityLoad(DataStoreAfterEntityLoadEvent event) {
@@ -68,12 +76,19 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
         if (fetchPlan == null) {
             fetchPlan = fetchPlanRepository.getFetchPlan(metaClass, FetchPlan.LOCAL);
         }
+        // value holders of the same property of entities loaded together are loaded in batches
+        Map<String, LazyLoadingBatch<?>> batches = new HashMap<>();
         for (Object entity : event.getResultEntities()) {
-            processValueHolders(entity, context, fetchPlan);
+            processValueHolders(entity, context, fetchPlan, batches);
         }
     }
 
     public void processValueHolders(Object entity, LoadContext<?> loadContext, FetchPlan fetchPlan) {
+        processValueHolders(entity, loadContext, fetchPlan, null);
+    }
+
+    protected void processValueHolders(Object entity, LoadContext<?> loadContext, FetchPlan fetchPlan,
+                                       @Nullable Map<String, LazyLoadingBatch<?>> batches) {
         Map<Object, Set<FetchPlan>> collectedFetchPlans = new HashMap<>();
 
         if (fetchPlan != null) {
@@ -103,11 +118,11 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
                         metadataTools.getCrossDataStoreReferenceIdProperty(property.getStore().getName(), property) == null) {
                     if (!entityStates.isLoaded(entry.getKey(), property.getName())) {
                         if (property.getRange().getCardinality().isMany()) {
-                            processCollectionValueHolder(entry.getKey(), property, loadOptions);
+                            processCollectionValueHolder(entry.getKey(), property, loadOptions, batches);
                         } else if (property.getRange().getCardinality() == Range.Cardinality.ONE_TO_ONE) {
-                            processOneToOneValueHolder(entry.getKey(), property, loadOptions);
+                            processOneToOneValueHolder(entry.getKey(), property, loadOptions, batches);
                         } else if (property.getRange().getCardinality() == Range.Cardinality.MANY_TO_ONE) {
-                            processManyToOneValueHolder(entry.getKey(), property, loadOptions);
+                            processManyToOneValueHolder(entry.getKey(), property, loadOptions, batches);
                         }
                     }
                 }
@@ -115,19 +130,26 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
         }
     }
 
-    protected void processCollectionValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions) {
+    protected void processCollectionValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions,
+                                                @Nullable Map<String, LazyLoadingBatch<?>> batches) {
         Object valueHolder = getCollectionValueHolder(owner, property.getName());
         if (valueHolder != null && !(valueHolder instanceof AbstractValueHolder)) {
-            AbstractValueHolder wrappedValueHolder =
+            CollectionValuePropertyHolder wrappedValueHolder =
                     new CollectionValuePropertyHolder(beanFactory, (ValueHolderInterface) valueHolder, owner, property);
 
             wrappedValueHolder.setLoadOptions(LoadOptions.with(loadOptions));
 
+            LazyLoadingBatch<CollectionValuePropertyHolder> batch = getBatch(owner, property, batches);
+            if (batch != null) {
+                wrappedValueHolder.setBatch(batch);
+            }
+
             setCollectionValueHolder(owner, property.getName(), wrappedValueHolder);
         }
     }
 
-    protected void processOneToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions) {
+    protected void processOneToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions,
+                                              @Nullable Map<String, LazyLoadingBatch<?>> batches) {
         Object originalValueHolder = getSingleValueHolder(owner, property.getName());
 
         if (originalValueHolder != null && !(originalValueHolder instanceof AbstractValueHolder)) {
@@ -138,11 +160,18 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
                 if (queryBasedValueHolder != null) {
                     Object entityId = getEntityIdFromValueHolder(queryBasedValueHolder);
 
-                    wrappedValueHolder =
+                    SingleValueOwningPropertyHolder owningValueHolder =
                             new SingleValueOwningPropertyHolder(beanFactory, (ValueHolderInterface) originalValueHolder,
                                     owner, property, entityId);
 
-                    wrappedValueHolder.setLoadOptions(LoadOptions.with(loadOptions));
+                    owningValueHolder.setLoadOptions(LoadOptions.with(loadOptions));
+
+                    LazyLoadingBatch<SingleValueOwningPropertyHolder> batch = getBatch(owner, property, batches);
+                    if (batch != null) {
+                        owningValueHolder.setBatch(batch);
+                    }
+
+                    wrappedValueHolder = owningValueHolder;
                 }
             } else {
                 //noinspection ConstantConditions
@@ -156,7 +185,8 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
         }
     }
 
-    protected void processManyToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions) {
+    protected void processManyToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions,
+                                               @Nullable Map<String, LazyLoadingBatch<?>> batches) {
         Object originalValueHolder = getSingleValueHolder(owner, property.getName());
 
         if (originalValueHolder != null && !(originalValueHolder instanceof AbstractValueHolder)) {
@@ -164,17 +194,53 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
             if (queryBasedValueHolder != null) {
                 Object entityId = getEntityIdFromValueHolder(queryBasedValueHolder);
 
-                AbstractValueHolder wrappedValueHolder =
+                SingleValueOwningPropertyHolder wrappedValueHolder =
                         new SingleValueOwningPropertyHolder(beanFactory, (ValueHolderInterface) originalValueHolder,
                                 owner, property, entityId);
 
                 wrappedValueHolder.setLoadOptions(LoadOptions.with(loadOptions));
 
+                LazyLoadingBatch<SingleValueOwningPropertyHolder> batch = getBatch(owner, property, batches);
+                if (batch != null) {
+                    wrappedValueHolder.setBatch(batch);
+                }
+
                 setSingleValueHolder(owner, property.getName(), wrappedValueHolder);
             }
         }
     }
 
+    @Nullable
+    protected <H extends AbstractValueHolder> LazyLoadingBatch<H> getBatch(Object owner, MetaProperty property,
+                                                                           @Nullable Map<String, LazyLoadingBatch<?>> batches) {
+        if (batches == null) {
+            return null;
+        }
+        String key = metadata.getClass(owner).getName() + "." + property.getName();
+        //noinspection unchecked
+        LazyLoadingBatch<H> batch = (LazyLoadingBatch<H>) batches.get(key);
+        if (batch == null) {
+            int batchSize = getBatchSize(property);
+            if (batchSize < 2) {
+                return null;
+            }
+            batch = new LazyLoadingBatch<>(batchSize);
+            batches.put(key, batch);
+        }
+        return batch;
+    }
+
+    protected int getBatchSize(MetaProperty property) {
+        LazyLoadingBatchSize annotation = property.getAnnotatedElement().getAnnotation(LazyLoadingBatchSize.class);
+        int batchSize = annotation != null ? annotation.value() : eclipselinkProperties.getLazyLoadingBatchSize();
+
+        Integer maxIdsBatchSize = dbmsSpecifics.getDbmsFeatures(property.getStore().getName()).getMaxIdsBatchSize();
+        if (maxIdsBatchSize != null && maxIdsBatchSize > 0) {
+            batchSize = Math.min(batchSize, maxIdsBatchSize);
+        }
+        return batchSize;
+    }
+
     protected void collectFetchPlans(Object instance, FetchPlan fetchPlan, Map<Object, Set<FetchPlan>> collectedFetchPlans) {
         Set<FetchPlan> instanceFetchPlans = collectedFetchPlans.get(instance);
         if (instanceFetchPlans == null) {
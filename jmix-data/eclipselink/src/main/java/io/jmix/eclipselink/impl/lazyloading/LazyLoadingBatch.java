@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.eclipselink.impl.lazyloading;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Value holders of the same property of entities loaded together. When the value of one holder is accessed, the
+ * holder loads values of up to {@code batchSize} holders of the batch by one query.
+ * <p>
+ * A holder leaves the batch when its value is loaded, so the batch does not keep owners of loaded holders, and
+ * becomes empty when all holders are loaded.
+ */
+class LazyLoadingBatch<H extends AbstractValueHolder> {
+
+    protected final Set<H> holders = new LinkedHashSet<>();
+    protected final int batchSize;
+
+    LazyLoadingBatch(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    synchronized void add(H holder) {
+        holders.add(holder);
+    }
+
+    synchronized void remove(H holder) {
+        holders.remove(holder);
+    }
+
+    /**
+     * Returns the given holder followed by not loaded holders of the batch that go after it, wrapping around
+     * to the beginning of the batch. The number of holders is limited by the batch size.
+     */
+    synchronized List<H> getHoldersToLoad(H trigger) {
+        List<H> result = new ArrayList<>();
+        result.add(trigger);
+
+        List<H> preceding = new ArrayList<>();
+        boolean afterTrigger = false;
+        for (H holder : holders) {
+            if (holder == trigger) {
+                afterTrigger = true;
+            } else if (!holder.isInstantiated()) {
+                if (afterTrigger) {
+                    if (result.size() >= batchSize) {
+                        break;
+                    }
+                    result.add(holder);
+                } else if (preceding.size() < batchSize) {
+                    preceding.add(holder);
+                }
+            }
+        }
+        for (int i = 0; i < preceding.size() && result.size() < batchSize; i++) {
+            result.add(preceding.get(i));
+        }
+        return result;
+    }
+}
@@ -18,6 +18,7 @@ package io.jmix.eclipselink.impl.lazyloading;
 
 import io.jmix.core.LoadContext;
 import io.jmix.core.UuidProvider;
+import io.jmix.core.entity.EntityValues;
 import io.jmix.core.impl.SerializationContext;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
@@ -26,7 +27,7 @@ import org.eclipse.persistence.indirection.ValueHolderInterface;
 import org.springframework.beans.factory.BeanFactory;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.*;
 
 import static io.jmix.core.entity.EntitySystemAccess.getSecurityState;
 
@@ -35,6 +36,8 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
 
     protected final Object entityId;
 
+    protected transient LazyLoadingBatch<SingleValueOwningPropertyHolder> batch;
+
     public SingleValueOwningPropertyHolder(BeanFactory beanFactory,
                                            ValueHolderInterface originalValueHolder,
                                            Object owner,
@@ -48,10 +51,40 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
         return convertId(entityId, getMetadata().getClass(getPropertyInfo().getJavaType()));
     }
 
+    void setBatch(LazyLoadingBatch<SingleValueOwningPropertyHolder> batch) {
+        this.batch = batch;
+        batch.add(this);
+    }
+
+    @Override
+    protected void leaveBatch() {
+        LazyLoadingBatch<SingleValueOwningPropertyHolder> batch = this.batch;
+        if (batch != null) {
+            batch.remove(this);
+            this.batch = null;
+        }
+    }
+
     protected Object loadValue() {
         MetaClass metaClass = getMetadata().getClass(getPropertyInfo().getJavaType());
         LoadOptions loadOptions = getLoadOptions();
 
+        List<SingleValueOwningPropertyHolder> holders = batch != null ? batch.getHoldersToLoad(this) : List.of(this);
+        if (holders.size() > 1) {
+            Map<Object, Object> entitiesById = loadBatch(metaClass, holders);
+            for (SingleValueOwningPropertyHolder holder : holders) {
+                Object entity = entitiesById.get(holder.getEntityId());
+                // not found references are loaded one by one to register erased ids
+                if (holder != this && entity != null) {
+                    holder.setBatchLoadedValue(entity);
+                }
+            }
+            Object value = entitiesById.get(getEntityId());
+            if (value != null) {
+                return value;
+            }
+        }
+
         LoadContext<?> loadContext = new LoadContext<>(metaClass)
                 .setId(getEntityId())
                 .setHint(PersistenceHints.SOFT_DELETION, false)
@@ -67,6 +100,27 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
         return value;
     }
 
+    protected Map<Object, Object> loadBatch(MetaClass metaClass, List<SingleValueOwningPropertyHolder> holders) {
+        LoadOptions loadOptions = getLoadOptions();
+
+        Set<Object> ids = new LinkedHashSet<>();
+        for (SingleValueOwningPropertyHolder holder : holders) {
+            ids.add(holder.getEntityId());
+        }
+
+        LoadContext<?> loadContext = new LoadContext<>(metaClass)
+                .setIds(ids)
+                .setHint(PersistenceHints.SOFT_DELETION, false)
+                .setHints(loadOptions.getHints())
+                .setAccessConstraints(loadOptions.getAccessConstraints());
+
+        Map<Object, Object> entitiesById = new HashMap<>();
+        for (Object entity : getDataManager().loadList(loadContext)) {
+            entitiesById.put(EntityValues.getId(entity), entity);
+        }
+        return entitiesById;
+    }
+
     protected Object convertId(Object entityId, MetaClass metaClass) {
         MetaProperty primaryKeyProperty = getMetadataTools().getPrimaryKeyProperty(metaClass);
         if (primaryKeyProperty != null && UUID.class.equals(primaryKeyProperty.getJavaType())) {
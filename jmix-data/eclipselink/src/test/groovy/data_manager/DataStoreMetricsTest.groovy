@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.Stores
+import io.jmix.core.datastore.AbstractDataStore
+import io.jmix.core.datastore.DataStoreEntityLoadingEvent
+import io.jmix.core.datastore.DataStoreEventListener
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.core.impl.DataStoreMetricsListener
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+
+class DataStoreMetricsTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    DataStoreFactory dataStoreFactory
+    @Autowired
+    Metadata metadata
+    @Autowired
+    DataStoreMetricsListener metricsListener
+
+    AbstractDataStore dataStore
+    MeterRegistry originalRegistry
+    SimpleMeterRegistry registry = new SimpleMeterRegistry()
+
+    void setup() {
+        originalRegistry = metricsListener.meterRegistry
+        metricsListener.meterRegistry = registry
+
+        // the listener is registered only if jmix.core.data-store-metrics-enabled is set
+        dataStore = (AbstractDataStore) dataStoreFactory.get(Stores.MAIN)
+        dataStore.registerInterceptor(metricsListener)
+    }
+
+    void cleanup() {
+        dataStore.listeners.remove(metricsListener)
+        metricsListener.meterRegistry = originalRegistry
+        super.cleanup()
+    }
+
+    def "operations are timed and counted"() {
+        when:
+        Customer customer1 = dataManager.create(Customer)
+        customer1.name = 'c1'
+        Customer customer2 = dataManager.create(Customer)
+        customer2.name = 'c2'
+        dataManager.save(customer1, customer2)
+
+        dataManager.load(Customer).id(customer1.id).one()
+        dataManager.load(Customer).all().fetchPlan('_base').list()
+        dataManager.getCount(new LoadContext(metadata.getClass(Customer)))
+        dataManager.loadValues('select c.name from sales_Customer c').properties('name').list()
+        dataManager.remove(customer2)
+
+        then:
+        timerCount('save') == 1
+        timerCount('load') == 1
+        timerCount('loadList') == 1
+        timerCount('count') == 1
+        timerCount('loadValues') == 1
+        timerCount('delete') == 1
+
+        registry.get(DataStoreMetricsListener.OPERATION_TIMER)
+                .tags('operation', 'loadList', 'fetchPlan', '_base').timer().count() == 1
+
+        registry.get(DataStoreMetricsListener.RESULT_SIZE_SUMMARY)
+                .tags('operation', 'loadList', 'entity', 'sales_Customer').summary().totalAmount() == 2
+
+        registry.get(DataStoreMetricsListener.ROWS_COUNTER)
+                .tags('operation', 'save', 'entity', 'sales_Customer').counter().count() == 2
+        registry.get(DataStoreMetricsListener.ROWS_COUNTER)
+                .tags('operation', 'delete', 'entity', 'sales_Customer').counter().count() == 1
+    }
+
+    def "failed operations are timed with exception"() {
+        def failingListener = new DataStoreEventListener() {
+            @Override
+            void entityLoading(DataStoreEntityLoadingEvent event) {
+                throw new IllegalStateException('Loading failed')
+            }
+        }
+        dataStore.registerInterceptor(failingListener)
+
+        when:
+        dataManager.load(Customer).all().list()
+
+        then:
+        thrown(IllegalStateException)
+
+        registry.get(DataStoreMetricsListener.OPERATION_TIMER)
+                .tags('operation', 'loadList', 'entity', 'sales_Customer',
+                        'outcome', 'error', 'exception', 'IllegalStateException')
+                .timer().count() == 1
+        registry.find(DataStoreMetricsListener.OPERATION_TIMER).tags('outcome', 'success').timers().isEmpty()
+
+        cleanup:
+        dataStore.listeners.remove(failingListener)
+    }
+
+    def "percentile histogram is not published by default"() {
+        when:
+        dataManager.load(Customer).all().list()
+
+        then:
+        registry.get(DataStoreMetricsListener.OPERATION_TIMER)
+                .tags('operation', 'loadList').timer().takeSnapshot().histogramCounts().length == 0
+        registry.get(DataStoreMetricsListener.RESULT_SIZE_SUMMARY)
+                .tags('operation', 'loadList').summary().takeSnapshot().histogramCounts().length == 0
+    }
+
+    private long timerCount(String operation) {
+        registry.get(DataStoreMetricsListener.OPERATION_TIMER)
+                .tags('store', Stores.MAIN, 'operation', operation, 'entity', operation == 'loadValues' ? 'none' : 'sales_Customer',
+                        'outcome', 'success', 'exception', 'none')
+                .timer().count()
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_stores
+
+import io.jmix.core.*
+import io.jmix.core.impl.CrossDataStoreReferenceLoader
+import io.jmix.core.impl.DataStoreFactory
+import org.springframework.beans.factory.BeanFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import test_support.DataSpec
+import test_support.TestInMemoryDataStore
+import test_support.entity.multidb.Db1Order
+import test_support.entity.multidb.Mem1Customer
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class CrossDataStoreReferenceLoaderTest extends DataSpec {
+
+    @Autowired
+    Metadata metadata
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    UnconstrainedDataManager unconstrainedDataManager
+    @Autowired
+    DataStoreFactory dataStoreFactory
+    @Autowired
+    FetchPlans fetchPlans
+    @Autowired
+    BeanFactory beanFactory
+
+    List<LoadContext> loadContexts = new CopyOnWriteArrayList<>()
+    List<Thread> loadingThreads = new CopyOnWriteArrayList<>()
+
+    Mem1Customer customer1
+    Mem1Customer customer2
+    Mem1Customer customer3
+
+    void setup() {
+        ((TestInMemoryDataStore) dataStoreFactory.get("mem1")).clear()
+        customer1 = saveCustomer('customer1')
+        customer2 = saveCustomer('customer2')
+        customer3 = saveCustomer('customer3')
+    }
+
+    def "referenced entity is loaded once for all entities referencing it"() {
+        def loader = createLoader(false, 50)
+        def orders = [createOrder(customer1), createOrder(customer2), createOrder(customer1)]
+
+        when:
+        loader.processEntities(orders)
+
+        then:
+        loadContexts.size() == 1
+        loadContexts[0].ids as Set == [customer1.id, customer2.id] as Set
+
+        orders[0].mem1Customer == customer1
+        orders[1].mem1Customer == customer2
+        orders[2].mem1Customer.is(orders[0].mem1Customer)
+    }
+
+    def "identifiers are split into batches"() {
+        def loader = createLoader(false, 2)
+        def orders = [createOrder(customer1), createOrder(customer2), createOrder(customer3), createOrder(customer1)]
+
+        when:
+        loader.processEntities(orders)
+
+        then:
+        loadContexts*.ids*.size().sort() == [1, 2]
+        loadContexts*.ids.flatten() as Set == [customer1.id, customer2.id, customer3.id] as Set
+
+        orders*.mem1Customer == [customer1, customer2, customer3, customer1]
+    }
+
+    def "batches are loaded in the calling thread when loading joins the transaction"() {
+        def loader = createLoader(true, 1)
+        def orders = [createOrder(customer1), createOrder(customer2), createOrder(customer3)]
+
+        when:
+        loader.processEntities(orders)
+
+        then:
+        loadContexts.size() == 3
+        loadContexts.every { it.joinTransaction }
+        loadingThreads.every { it.is(Thread.currentThread()) }
+
+        orders*.mem1Customer == [customer1, customer2, customer3]
+    }
+
+    protected CrossDataStoreReferenceLoader createLoader(boolean joinTransaction, int batchSize) {
+        def fetchPlan = fetchPlans.builder(Db1Order).add('mem1Customer').build()
+        def loader = beanFactory.getBean(CrossDataStoreReferenceLoader,
+                metadata.getClass(Db1Order), fetchPlan, joinTransaction)
+        loader.properties = new Binder(new MapConfigurationPropertySource([
+                'jmix.core.cross-data-store-reference-parallel-loading-enabled': 'true',
+                'jmix.core.cross-data-store-reference-loading-batch-size'      : batchSize.toString()
+        ])).bindOrCreate('jmix.core', CoreProperties)
+        loader.dataManager = [
+                loadList: { LoadContext context ->
+                    loadContexts.add(context)
+                    loadingThreads.add(Thread.currentThread())
+                    unconstrainedDataManager.loadList(context)
+                }
+        ] as UnconstrainedDataManager
+        return loader
+    }
+
+    protected Mem1Customer saveCustomer(String name) {
+        Mem1Customer customer = metadata.create(Mem1Customer)
+        customer.name = name
+        return dataManager.save(customer)
+    }
+
+    protected Db1Order createOrder(Mem1Customer customer) {
+        Db1Order order = metadata.create(Db1Order)
+        order.mem1CustomerId = customer.id
+        return order
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jpql_transform
+
+import io.jmix.data.DataProperties
+import io.jmix.data.impl.jpql.DomainModel
+import io.jmix.data.impl.jpql.JpqlSyntaxException
+import io.jmix.data.impl.jpql.QueryParserAstBased
+import io.jmix.data.impl.jpql.QueryTreeCache
+import io.jmix.data.impl.jpql.model.EntityBuilder
+import io.jmix.data.impl.jpql.transform.QueryTransformerAstBased
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class QueryTreeCacheTest extends Specification {
+
+    static final String QUERY = 'select c from sec$GroupHierarchy h join h.parent.constraints c where :par1 is null'
+
+    DomainModel domainModel
+    QueryTreeCache cache
+
+    void setup() {
+        def groupHierarchy = EntityBuilder.create()
+                .startNewEntity('sec$GroupHierarchy')
+                .addStringAttribute('group')
+                .addReferenceAttribute("parent", 'sec$GroupHierarchy')
+                .addCollectionReferenceAttribute("constraints", 'sec$Constraint')
+                .produce()
+
+        def constraint = EntityBuilder.create()
+                .startNewEntity('sec$Constraint')
+                .addReferenceAttribute("group", 'sec$GroupHierarchy')
+                .produce()
+
+        domainModel = new DomainModel(groupHierarchy, constraint)
+
+        cache = new QueryTreeCache()
+        cache.dataProperties = new DataProperties(true, 100, false, null, true, 10, true)
+        cache.meterRegistry = new SimpleMeterRegistry()
+        cache.init()
+    }
+
+    def "transformation does not affect cached tree"() {
+
+        when:
+
+        def transformer = createTransformer(QUERY)
+        transformer.replaceIsNullStatements("par1", true)
+        def transformed = transformer.getResult()
+
+        def untouched = createTransformer(QUERY).getResult()
+
+        then:
+
+        transformed == 'select c from sec$GroupHierarchy h join h.parent.constraints c where 1=1'
+        untouched == QUERY
+        cache.stats.missCount() == 1
+        cache.stats.hitCount() == 1
+    }
+
+    def "parser and transformer share cached tree"() {
+
+        when:
+
+        def parser = new QueryParserAstBased(domainModel, QUERY)
+        parser.queryTreeCache = cache
+
+        then:
+
+        parser.getEntityName() == 'sec$GroupHierarchy'
+        createTransformer(QUERY).getResult() == QUERY
+        cache.size() == 1
+        cache.stats.hitCount() == 1
+    }
+
+    def "trees are not shared between domain models"() {
+
+        when:
+
+        createTransformer(QUERY).getResult()
+        domainModel = new DomainModel(domainModel.getEntityByName('sec$GroupHierarchy'),
+                domainModel.getEntityByName('sec$Constraint'))
+        createTransformer(QUERY).getResult()
+
+        then:
+
+        cache.stats.missCount() == 2
+        cache.stats.hitCount() == 0
+    }
+
+    def "invalid query is not cached"() {
+
+        when:
+
+        createTransformer('select u from sec$Constraint').getResult()
+
+        then:
+
+        thrown(JpqlSyntaxException)
+        cache.size() == 0
+    }
+
+    def "concurrent misses parse query once"() {
+
+        def parses = new AtomicInteger()
+        def parsing = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def parser = new QueryParserAstBased(domainModel, QUERY)
+
+        when:
+
+        def first = Thread.start {
+            cache.get(domainModel, QUERY, {
+                parses.incrementAndGet()
+                parsing.countDown()
+                release.await(5, TimeUnit.SECONDS)
+                parser.parseTree()
+            })
+        }
+        parsing.await(5, TimeUnit.SECONDS)
+        def second = Thread.start {
+            cache.get(domainModel, QUERY, {
+                parses.incrementAndGet()
+                parser.parseTree()
+            })
+        }
+        Thread.sleep(100)
+        release.countDown()
+        first.join()
+        second.join()
+
+        then:
+
+        parses.get() == 1
+        cache.size() == 1
+    }
+
+    private QueryTransformerAstBased createTransformer(String query) {
+        def transformer = new QueryTransformerAstBased(domainModel, query)
+        transformer.queryTreeCache = cache
+        return transformer
+    }
+}
@@ -17,6 +17,8 @@
 package lazy_loading
 
 import io.jmix.core.*
+import io.jmix.eclipselink.impl.lazyloading.AbstractValueHolder
+import io.jmix.eclipselink.impl.lazyloading.ValueHoldersSupport
 import org.springframework.beans.factory.annotation.Autowired
 import test_support.DataSpec
 import test_support.entity.entity_extension.Address
@@ -249,6 +251,82 @@ class LazyLoadingTest extends DataSpec {
         checkManyToManyDuplicate(result)
     }
 
+    def "ManyToOne of entities loaded together is loaded in batch"() {
+        setup:
+
+        OneToManyEntity oneToManyEntity1 = metadata.create(OneToManyEntity.class)
+        oneToManyEntity1.setName("Batch one 1")
+        dataManager.save(oneToManyEntity1)
+
+        OneToManyEntity oneToManyEntity2 = metadata.create(OneToManyEntity.class)
+        oneToManyEntity2.setName("Batch one 2")
+        dataManager.save(oneToManyEntity2)
+
+        ManyToOneEntity manyToOneEntity1 = metadata.create(ManyToOneEntity.class)
+        manyToOneEntity1.setName("Batch many 1")
+        manyToOneEntity1.setOneToManyEntity(oneToManyEntity1)
+        dataManager.save(manyToOneEntity1)
+
+        ManyToOneEntity manyToOneEntity2 = metadata.create(ManyToOneEntity.class)
+        manyToOneEntity2.setName("Batch many 2")
+        manyToOneEntity2.setOneToManyEntity(oneToManyEntity2)
+        dataManager.save(manyToOneEntity2)
+
+        when:
+
+        List<ManyToOneEntity> entities = dataManager.load(ManyToOneEntity)
+                .ids(manyToOneEntity1.getId(), manyToOneEntity2.getId())
+                .list()
+        ManyToOneEntity first = entities.find { it.id == manyToOneEntity1.id }
+        ManyToOneEntity second = entities.find { it.id == manyToOneEntity2.id }
+
+        def firstReference = first.getOneToManyEntity()
+
+        then:
+
+        ((AbstractValueHolder) ValueHoldersSupport.getSingleValueHolder(second, "oneToManyEntity")).isInstantiated()
+        firstReference == oneToManyEntity1
+        second.getOneToManyEntity() == oneToManyEntity2
+    }
+
+    def "OneToMany of entities loaded together is loaded in batch"() {
+        setup:
+
+        OneToManyEntity oneToManyEntity1 = metadata.create(OneToManyEntity.class)
+        oneToManyEntity1.setName("Batch one 1")
+        dataManager.save(oneToManyEntity1)
+
+        OneToManyEntity oneToManyEntity2 = metadata.create(OneToManyEntity.class)
+        oneToManyEntity2.setName("Batch one 2")
+        dataManager.save(oneToManyEntity2)
+
+        ManyToOneEntity manyToOneEntity1 = metadata.create(ManyToOneEntity.class)
+        manyToOneEntity1.setName("Batch many 1")
+        manyToOneEntity1.setOneToManyEntity(oneToManyEntity1)
+        dataManager.save(manyToOneEntity1)
+
+        ManyToOneEntity manyToOneEntity2 = metadata.create(ManyToOneEntity.class)
+        manyToOneEntity2.setName("Batch many 2")
+        manyToOneEntity2.setOneToManyEntity(oneToManyEntity2)
+        dataManager.save(manyToOneEntity2)
+
+        when:
+
+        List<OneToManyEntity> entities = dataManager.load(OneToManyEntity)
+                .ids(oneToManyEntity1.getId(), oneToManyEntity2.getId())
+                .list()
+        OneToManyEntity first = entities.find { it.id == oneToManyEntity1.id }
+        OneToManyEntity second = entities.find { it.id == oneToManyEntity2.id }
+
+        def firstCollection = first.getManyToOneEntities()
+
+        then:
+
+        ((AbstractValueHolder) ValueHoldersSupport.getCollectionValueHolder(second, "manyToOneEntities")).isInstantiated()
+        firstCollection == [manyToOneEntity1]
+        second.getManyToOneEntities() == [manyToOneEntity2]
+    }
+
     def "Value holder should not be searched for transient or embedded entities"() {
         setup: "This test checks embedded case. Transient case checked using ManyToOneEntity#transientField in other tests"
         SelfReferencedEmployee supervisor = metadata.create(SelfReferencedEmployee)
@@ -86,6 +86,7 @@ class NumberIdConcurrencyTest extends DataSpec {
     def "generating ids with increment 1"() {
 
         DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 1)
+        DataConfigPropertiesAccess.setNumberIdCachePrefetch(dataProperties, false)
 
         when:
 
@@ -99,6 +100,57 @@ class NumberIdConcurrencyTest extends DataSpec {
 
         cleanup:
 
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
+        DataConfigPropertiesAccess.setNumberIdCachePrefetch(dataProperties, true)
+    }
+
+    def "next block is reserved in advance"() {
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 10)
+
+        when: "a half of the first block is used"
+
+        def ids = (1..5).collect { numberIdCache.createLongId('test$NumberIdSingleTableRoot') }
+
+        then:
+
+        ids == [1L, 2L, 3L, 4L, 5L]
+
+        when: "the first block runs out"
+
+        ids = (1..10).collect { numberIdCache.createLongId('test$NumberIdSingleTableRoot') }
+
+        then: "ids continue from the prefetched block"
+
+        ids == (6L..15L).toList()
+
+        cleanup:
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
+    }
+
+    def "reserving ids in batch"() {
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 20)
+
+        when:
+
+        def ids = numberIdCache.createLongIds('test$NumberIdSingleTableRoot', 50)
+
+        then:
+
+        ids == (1L..50L).toList()
+
+        when: "ids are generated one by one after the batch"
+
+        def next = numberIdCache.createLongId('test$NumberIdSingleTableRoot')
+
+        then: "ids of the last reserved block are not reused"
+
+        next == 61L
+
+        cleanup:
+
         DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
     }
 
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package query_cache
+
+import io.jmix.core.CacheOperations
+import io.jmix.eclipselink.EclipselinkProperties
+import io.jmix.eclipselink.impl.entitycache.QueryKey
+import io.jmix.eclipselink.impl.entitycache.QueryResult
+import io.jmix.eclipselink.impl.entitycache.StandardQueryCache
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager
+import spock.lang.Specification
+
+import java.time.Duration
+
+class StandardQueryCacheTest extends Specification {
+
+    StandardQueryCache queryCache
+
+    void setup() {
+        queryCache = new StandardQueryCache()
+        queryCache.cacheManager = new ConcurrentMapCacheManager(StandardQueryCache.QUERY_CACHE_NAME)
+        queryCache.cacheOperations = new CacheOperations()
+        queryCache.properties = new EclipselinkProperties(true, true, true, 100, Duration.ZERO)
+        queryCache.init()
+    }
+
+    def "invalidation of a type evicts only queries related to it"() {
+
+        def orderQuery = createKey('select o from test_Order o')
+        def customerQuery = createKey('select c from test_Customer c')
+        def joinQuery = createKey('select o from test_Order o join o.customer c')
+
+        when:
+
+        queryCache.put(orderQuery, createResult('test_Order'))
+        queryCache.put(customerQuery, createResult('test_Customer'))
+        queryCache.put(joinQuery, createResult('test_Order', 'test_Customer'))
+
+        queryCache.invalidate('test_Customer')
+
+        then:
+
+        queryCache.get(orderQuery) != null
+        queryCache.get(customerQuery) == null
+        queryCache.get(joinQuery) == null
+
+        queryCache.hitCount == 1
+        queryCache.missCount == 2
+        queryCache.evictionCount == 2
+
+        when:
+
+        queryCache.invalidate('test_Order')
+
+        then:
+
+        queryCache.get(orderQuery) == null
+        queryCache.evictionCount == 3
+    }
+
+    def "query cached again after invalidation is indexed again"() {
+
+        def query = createKey('select o from test_Order o')
+
+        when:
+
+        queryCache.put(query, createResult('test_Order'))
+        queryCache.invalidate('test_Order')
+        queryCache.put(query, createResult('test_Order'))
+        queryCache.invalidate(['test_Customer', 'test_Order'] as Set)
+
+        then:
+
+        queryCache.get(query) == null
+        queryCache.evictionCount == 2
+    }
+
+    def "query invalidated between indexing and caching is not left in the cache"() {
+
+        def query = createKey('select o from test_Order o')
+
+        queryCache = new StandardQueryCache() {
+            @Override
+            protected void addToIndex(QueryKey queryKey, QueryResult queryResult) {
+                super.addToIndex(queryKey, queryResult)
+                invalidate('test_Order')
+            }
+        }
+        queryCache.cacheManager = new ConcurrentMapCacheManager(StandardQueryCache.QUERY_CACHE_NAME)
+        queryCache.cacheOperations = new CacheOperations()
+        queryCache.properties = new EclipselinkProperties(true, true, true, 100, Duration.ZERO)
+        queryCache.init()
+
+        when:
+
+        queryCache.put(query, createResult('test_Order'))
+
+        then:
+
+        queryCache.get(query) == null
+        queryCache.typesByKey.isEmpty()
+    }
+
+    def "invalidation without index scans the cache"() {
+
+        queryCache.properties = new EclipselinkProperties(true, false, true, 100, Duration.ZERO)
+
+        def orderQuery = createKey('select o from test_Order o')
+        def customerQuery = createKey('select c from test_Customer c')
+
+        when:
+
+        queryCache.put(orderQuery, createResult('test_Order'))
+        queryCache.put(customerQuery, createResult('test_Customer'))
+
+        queryCache.invalidate('test_Customer')
+
+        then:
+
+        queryCache.get(orderQuery) != null
+        queryCache.get(customerQuery) == null
+        queryCache.evictionCount == 1
+    }
+
+    def "index forgets queries evicted by the cache itself"() {
+
+        queryCache.indexPruneThreshold.set(3)
+
+        def evictedQuery = createKey('select o from test_Order o')
+
+        when:
+
+        queryCache.put(evictedQuery, createResult('test_Order'))
+        queryCache.queries.evict(evictedQuery)
+        queryCache.put(createKey('select c from test_Customer c'), createResult('test_Customer'))
+        queryCache.put(createKey('select c from test_Customer c where c.id = 1'), createResult('test_Customer'))
+
+        then: "key missing from the cache is kept until the next pruning"
+
+        queryCache.typesByKey.containsKey(evictedQuery)
+        queryCache.pruneCandidates == [evictedQuery] as Set
+
+        when:
+
+        queryCache.indexPruneThreshold.set(3)
+        queryCache.put(createKey('select c from test_Customer c where c.id = 2'), createResult('test_Customer'))
+
+        then:
+
+        !queryCache.typesByKey.containsKey(evictedQuery)
+        !queryCache.keysByType.containsKey('test_Order')
+        queryCache.typesByKey.size() == 3
+        queryCache.indexPruneThreshold.get() == 1000
+    }
+
+    private static QueryKey createKey(String query) {
+        return new QueryKey(query, 0, 0, false, false, null, null, null)
+    }
+
+    private static QueryResult createResult(String type, String... relatedTypes) {
+        Set<String> types = new HashSet<>(relatedTypes.toList())
+        types.add(type)
+        return new QueryResult([], type, types)
+    }
+}
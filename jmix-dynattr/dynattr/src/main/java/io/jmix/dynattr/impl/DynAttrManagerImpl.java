@@ -18,6 +18,7 @@ package io.jmix.dynattr.impl;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.MultimapBuilder;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.CrudEntityContext;
 import io.jmix.core.common.util.ReflectionHelper;
@@ -81,8 +82,9 @@ public class DynAttrManagerImpl implements DynAttrManager {
     public void storeValues(Collection<Object> entities, Collection<AccessConstraint<?>> accessConstraints) {
         storeAwareLocator.getTransactionTemplate(dynamicAttributesStore)
                 .executeWithoutResult(status -> {
-                    for (Object entity : entities) {
-                        doStoreValues(entity, accessConstraints);
+                    Multimap<MetaClass, Object> changedEntities = collectChangedEntities(entities);
+                    for (MetaClass metaClass : changedEntities.keySet()) {
+                        doStoreValues(metaClass, changedEntities.get(metaClass), accessConstraints);
                     }
                 });
     }
@@ -109,61 +111,85 @@ public class DynAttrManagerImpl implements DynAttrManager {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    protected void doStoreValues(Object entity, Collection<AccessConstraint<?>> accessConstraints) {
-        DynamicAttributesState state = getExtraState(entity, DynamicAttributesState.class);
-        if (state != null && state.getDynamicAttributes() != null) {
-            EntityManager entityManager = storeAwareLocator.getEntityManager(dynamicAttributesStore);
-
-            DynamicAttributes dynamicModel = state.getDynamicAttributes();
-            DynamicAttributes.Changes changes = dynamicModel.getChanges();
-
-            if (changes.hasChanges()) {
-
-                MetaClass metaClass = metadata.getClass(entity);
-                List<CategoryAttributeValue> attributeValues = loadValues(metaClass, accessConstraints,
-                        Collections.singletonList(referenceToEntitySupport.getReferenceId(entity)));
-
-                for (CategoryAttributeValue attributeValue : attributeValues) {
-                    String attributeName = attributeValue.getCode();
-                    if (changes.isDeleted(attributeName)) {
-                        setValueToCategoryAttributeValue(attributeValue, null);
-                        entityManager.remove(attributeValue);
-                    } else if (changes.isUpdated(attributeName)) {
-                        setValueToCategoryAttributeValue(attributeValue, dynamicModel.getValue(attributeName));
+    /**
+     * Groups entities having changed dynamic attributes by their meta-classes.
+     */
+    protected Multimap<MetaClass, Object> collectChangedEntities(Collection<Object> entities) {
+        Multimap<MetaClass, Object> changedEntities = MultimapBuilder.linkedHashKeys().arrayListValues().build();
+        for (Object entity : entities) {
+            DynamicAttributesState state = getExtraState(entity, DynamicAttributesState.class);
+            if (state != null && state.getDynamicAttributes() != null
+                    && state.getDynamicAttributes().getChanges().hasChanges()) {
+                changedEntities.put(metadata.getClass(entity), entity);
+            }
+        }
+        return changedEntities;
+    }
 
-                        if (BooleanUtils.isTrue(attributeValue.getCategoryAttribute().getIsCollection())) {
-                            doStoreCollectionValue(attributeValue);
-                        }
-                    }
-                }
+    /**
+     * Stores changed dynamic attributes of entities of the same class. Existing values of all entities are loaded
+     * by {@link #loadValuesByEntityIds(MetaClass, Collection, List)}, then the changes are merged into them in memory.
+     */
+    protected void doStoreValues(MetaClass metaClass, Collection<Object> entities,
+                                 Collection<AccessConstraint<?>> accessConstraints) {
+        List<Object> ids = entities.stream()
+                .map(e -> referenceToEntitySupport.getReferenceId(e))
+                .collect(Collectors.toList());
 
-                List<String> existing = attributeValues.stream().map(CategoryAttributeValue::getCode).collect(Collectors.toList());
-                List<String> toPersist = Stream.concat(
-                                changes.getCreated().keySet().stream(),
-                                changes.getUpdated().keySet().stream().filter(a -> !existing.contains(a))) //Haulmont/jmix-data#43
-                        .collect(Collectors.toList());
-
-                for (String attributeName : toPersist) {
-                    dynAttrMetadata.getAttributeByCode(metaClass, attributeName)
-                            .ifPresent(attribute -> {
-                                CategoryAttributeValue attributeValue = metadata.create(CategoryAttributeValue.class);
-                                setValueToCategoryAttributeValue(attributeValue, dynamicModel.getValue(attributeName));
-                                attributeValue.setObjectEntityId(referenceToEntitySupport.getReferenceId(entity));
-                                attributeValue.setCode(attributeName);
-                                attributeValue.setCategoryAttribute((CategoryAttribute) attribute.getSource());
-
-                                entityManager.persist(attributeValue);
-
-                                if (attribute.isCollection()) {
-                                    doStoreCollectionValue(attributeValue);
-                                }
-                            });
+        Multimap<Object, CategoryAttributeValue> allAttributeValues =
+                loadValuesByEntityIds(metaClass, accessConstraints, ids);
+
+        for (Object entity : entities) {
+            Object id = referenceToEntitySupport.getReferenceId(entity);
+            doStoreValues(metaClass, entity, allAttributeValues.get(id));
+        }
+    }
+
+    protected void doStoreValues(MetaClass metaClass, Object entity, Collection<CategoryAttributeValue> attributeValues) {
+        EntityManager entityManager = storeAwareLocator.getEntityManager(dynamicAttributesStore);
+
+        DynamicAttributes dynamicModel = getExtraState(entity, DynamicAttributesState.class).getDynamicAttributes();
+        DynamicAttributes.Changes changes = dynamicModel.getChanges();
+
+        Set<String> existing = new HashSet<>();
+        for (CategoryAttributeValue attributeValue : attributeValues) {
+            String attributeName = attributeValue.getCode();
+            existing.add(attributeName);
+            if (changes.isDeleted(attributeName)) {
+                setValueToCategoryAttributeValue(attributeValue, null);
+                entityManager.remove(attributeValue);
+            } else if (changes.isUpdated(attributeName)) {
+                setValueToCategoryAttributeValue(attributeValue, dynamicModel.getValue(attributeName));
+
+                if (BooleanUtils.isTrue(attributeValue.getCategoryAttribute().getIsCollection())) {
+                    doStoreCollectionValue(attributeValue);
                 }
             }
-            //todo: refresh state
-            //state.setValues(mergedValues);
         }
+
+        List<String> toPersist = Stream.concat(
+                        changes.getCreated().keySet().stream(),
+                        changes.getUpdated().keySet().stream().filter(a -> !existing.contains(a))) //Haulmont/jmix-data#43
+                .collect(Collectors.toList());
+
+        for (String attributeName : toPersist) {
+            dynAttrMetadata.getAttributeByCode(metaClass, attributeName)
+                    .ifPresent(attribute -> {
+                        CategoryAttributeValue attributeValue = metadata.create(CategoryAttributeValue.class);
+                        setValueToCategoryAttributeValue(attributeValue, dynamicModel.getValue(attributeName));
+                        attributeValue.setObjectEntityId(referenceToEntitySupport.getReferenceId(entity));
+                        attributeValue.setCode(attributeName);
+                        attributeValue.setCategoryAttribute((CategoryAttribute) attribute.getSource());
+
+                        entityManager.persist(attributeValue);
+
+                        if (attribute.isCollection()) {
+                            doStoreCollectionValue(attributeValue);
+                        }
+                    });
+        }
+        //todo: refresh state
+        //state.setValues(mergedValues);
     }
 
     /**
@@ -214,23 +240,8 @@ public class DynAttrManagerImpl implements DynAttrManager {
                     .map(e -> referenceToEntitySupport.getReferenceId(e))
                     .collect(Collectors.toList());
 
-            Multimap<Object, CategoryAttributeValue> allAttributeValues = HashMultimap.create();
-
-            List<Object> currentIds = new ArrayList<>();
-            for (Object id : ids) {
-                currentIds.add(id);
-                if (currentIds.size() >= MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH) {
-                    for (CategoryAttributeValue attributeValue : loadValues(metaClass, accessConstraints, currentIds)) {
-                        allAttributeValues.put(attributeValue.getObjectEntityId(), attributeValue);
-                    }
-                    currentIds = new ArrayList<>();
-                }
-            }
-            if (!currentIds.isEmpty()) {
-                for (CategoryAttributeValue attributeValue : loadValues(metaClass, accessConstraints, currentIds)) {
-                    allAttributeValues.put(attributeValue.getObjectEntityId(), attributeValue);
-                }
-            }
+            Multimap<Object, CategoryAttributeValue> allAttributeValues =
+                    loadValuesByEntityIds(metaClass, accessConstraints, ids);
 
             for (Object entity : entities) {
                 Collection<CategoryAttributeValue> values = allAttributeValues.get(referenceToEntitySupport.getReferenceId(entity));
@@ -251,6 +262,25 @@ public class DynAttrManagerImpl implements DynAttrManager {
         }
     }
 
+    /**
+     * Loads values of the entities in batches of {@link #MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH} entities.
+     *
+     * @return values grouped by entity id
+     */
+    protected Multimap<Object, CategoryAttributeValue> loadValuesByEntityIds(MetaClass metaClass,
+                                                                            Collection<AccessConstraint<?>> accessConstraints,
+                                                                            List<Object> entityIds) {
+        Multimap<Object, CategoryAttributeValue> allAttributeValues = HashMultimap.create();
+        for (int i = 0; i < entityIds.size(); i += MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH) {
+            List<Object> currentIds = new ArrayList<>(entityIds.subList(i,
+                    Math.min(i + MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH, entityIds.size())));
+            for (CategoryAttributeValue attributeValue : loadValues(metaClass, accessConstraints, currentIds)) {
+                allAttributeValues.put(attributeValue.getObjectEntityId(), attributeValue);
+            }
+        }
+        return allAttributeValues;
+    }
+
     protected List<CategoryAttributeValue> loadValues(MetaClass metaClass, Collection<AccessConstraint<?>> accessConstraints,
                                                       List<Object> entityIds) {
 
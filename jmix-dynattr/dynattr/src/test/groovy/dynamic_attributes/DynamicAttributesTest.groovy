@@ -434,6 +434,40 @@ class DynamicAttributesTest extends Specification {
         EntityValues.getValue(user, '+userEnumAttribute') == 'option2'
     }
 
+    def "save several entities with created, updated and deleted dynamic attributes"() {
+        setup:
+
+        def users = (1..3).collect { new User(name: "bulkUser$it", login: "bulkUser$it") }
+        dataManager.save(*users)
+
+        users = users.collect {
+            dataManager.load(User).id(it.id).hint(DynAttrQueryHints.LOAD_DYN_ATTR, true).one()
+        }
+        users.eachWithIndex { user, i -> EntityValues.setValue(user, '+userAttribute', "name$i") }
+        dataManager.save(*users)
+
+        when:
+
+        users = users.collect {
+            dataManager.load(User).id(it.id).hint(DynAttrQueryHints.LOAD_DYN_ATTR, true).one()
+        }
+        EntityValues.setValue(users[0], '+userAttribute', 'updated')
+        EntityValues.setValue(users[1], '+userAttribute', null)
+        EntityValues.setValue(users[2], '+userIntCollectionAttribute', [1, 2])
+        dataManager.save(*users)
+
+        users = users.collect {
+            dataManager.load(User).id(it.id).hint(DynAttrQueryHints.LOAD_DYN_ATTR, true).one()
+        }
+
+        then:
+
+        EntityValues.getValue(users[0], '+userAttribute') == 'updated'
+        EntityValues.getValue(users[1], '+userAttribute') == null
+        EntityValues.getValue(users[2], '+userAttribute') == 'name2'
+        EntityValues.getValue(users[2], '+userIntCollectionAttribute') as Set == [1, 2] as Set
+    }
+
     def "load dynamic attributes through data repository"() {
         setup:
         String login = 'dynTestUser'
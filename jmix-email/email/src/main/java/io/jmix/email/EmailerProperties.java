@@ -23,6 +23,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @Validated
 @ConfigurationProperties(prefix = "jmix.email")
 public class EmailerProperties {
@@ -118,6 +120,11 @@ public class EmailerProperties {
      */
     boolean cleanFileStorage;
 
+    /**
+     * Pooled SMTP connections configuration.
+     */
+    SmtpPool smtpPool;
+
     public EmailerProperties(@DefaultValue("DoNotReply@localhost") String fromAddress,
                              @DefaultValue("2") int scheduledSendingDelayCallCount,
                              @DefaultValue("100") int messageQueueCapacity,
@@ -131,7 +138,8 @@ public class EmailerProperties {
                              @DefaultValue("0") int maxAgeOfImportantMessages,
                              @DefaultValue("0") int maxAgeOfNonImportantMessages,
                              @DefaultValue("0 0 0 * * ?") String emailCleaningCron,
-                             @DefaultValue("false") boolean cleanFileStorage) {
+                             @DefaultValue("false") boolean cleanFileStorage,
+                             @DefaultValue SmtpPool smtpPool) {
         this.fromAddress = fromAddress;
         this.scheduledSendingDelayCallCount = scheduledSendingDelayCallCount;
         this.messageQueueCapacity = messageQueueCapacity;
@@ -146,6 +154,7 @@ public class EmailerProperties {
         this.maxAgeOfNonImportantMessages = maxAgeOfNonImportantMessages;
         this.emailCleaningCron = emailCleaningCron;
         this.cleanFileStorage = cleanFileStorage;
+        this.smtpPool = smtpPool;
     }
 
     /**
@@ -259,4 +268,106 @@ public class EmailerProperties {
     public boolean getCleanFileStorage() {
         return cleanFileStorage;
     }
+
+    /**
+     * @see #smtpPool
+     */
+    public SmtpPool getSmtpPool() {
+        return smtpPool;
+    }
+
+    public static class SmtpPool {
+
+        /**
+         * Whether messages are sent through pooled connections to the SMTP server, each connection sending many
+         * messages, instead of connecting and authenticating for each message.
+         */
+        boolean enabled;
+
+        /**
+         * Maximum number of simultaneously open connections to one SMTP server. Limits the number of messages
+         * sent to the server concurrently.
+         */
+        int maxConnections;
+
+        /**
+         * Number of messages after which a connection is closed and a new one is opened. Zero value (0) means that
+         * the number is not limited.
+         */
+        @PositiveOrZero
+        int maxMessagesPerConnection;
+
+        /**
+         * Time after which an unused connection is closed.
+         */
+        Duration idleTimeout;
+
+        /**
+         * Maximum time to wait for a free connection when all connections to the server are busy.
+         */
+        Duration acquireTimeout;
+
+        /**
+         * Maximum number of messages sent to one SMTP server per second. Zero value (0) means that the rate is
+         * not limited.
+         */
+        @PositiveOrZero
+        double maxMessagesPerSecond;
+
+        public SmtpPool(@DefaultValue("false") boolean enabled,
+                        @DefaultValue("3") int maxConnections,
+                        @DefaultValue("100") int maxMessagesPerConnection,
+                        @DefaultValue("30s") Duration idleTimeout,
+                        @DefaultValue("60s") Duration acquireTimeout,
+                        @DefaultValue("0") double maxMessagesPerSecond) {
+            this.enabled = enabled;
+            this.maxConnections = maxConnections;
+            this.maxMessagesPerConnection = maxMessagesPerConnection;
+            this.idleTimeout = idleTimeout;
+            this.acquireTimeout = acquireTimeout;
+            this.maxMessagesPerSecond = maxMessagesPerSecond;
+        }
+
+        /**
+         * @see #enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @see #maxConnections
+         */
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        /**
+         * @see #maxMessagesPerConnection
+         */
+        public int getMaxMessagesPerConnection() {
+            return maxMessagesPerConnection;
+        }
+
+        /**
+         * @see #idleTimeout
+         */
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        /**
+         * @see #acquireTimeout
+         */
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        /**
+         * @see #maxMessagesPerSecond
+         */
+        public double getMaxMessagesPerSecond() {
+            return maxMessagesPerSecond;
+        }
+    }
 }
@@ -23,6 +23,7 @@ import io.jmix.core.FileTypesHelper;
 import io.jmix.core.TimeSource;
 import io.jmix.email.EmailHeader;
 import io.jmix.email.EmailSender;
+import io.jmix.email.EmailerProperties;
 import io.jmix.email.entity.SendingAttachment;
 import io.jmix.email.entity.SendingMessage;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -32,9 +33,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.stereotype.Component;
 
 import jakarta.activation.DataHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.activation.DataSource;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
@@ -61,12 +65,41 @@ public class EmailSenderImpl implements EmailSender {
     @Autowired
     protected MeterRegistry meterRegistry;
 
+    @Autowired
+    protected EmailerProperties emailerProperties;
+
+    protected SmtpConnectionPool connectionPool;
+
+    @PostConstruct
+    protected void initConnectionPool() {
+        if (emailerProperties.getSmtpPool().isEnabled()) {
+            if (mailSender instanceof JavaMailSenderImpl) {
+                connectionPool = new SmtpConnectionPool((JavaMailSenderImpl) mailSender,
+                        emailerProperties.getSmtpPool(), meterRegistry);
+            } else {
+                log.warn("SMTP connection pool is not used because mail sender {} is not a JavaMailSenderImpl",
+                        mailSender.getClass().getName());
+            }
+        }
+    }
+
+    @PreDestroy
+    protected void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
+    }
+
     @Override
     public void sendEmail(SendingMessage sendingMessage) throws MessagingException {
         MimeMessage msg = createMimeMessage(sendingMessage);
 
         Timer.Sample sample = Timer.start(meterRegistry);
-        mailSender.send(msg);
+        if (connectionPool != null) {
+            connectionPool.send(msg);
+        } else {
+            mailSender.send(msg);
+        }
         sample.stop(meterRegistry.timer("jmix.EmailSender.send"));
 
         log.info("Email '{}' to '{}' has been sent successfully", msg.getSubject(), sendingMessage.getAddress());
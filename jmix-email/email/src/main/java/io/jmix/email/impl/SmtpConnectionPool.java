@@ -0,0 +1,237 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.email.impl;
+
+import com.google.common.util.concurrent.RateLimiter;
+import io.jmix.core.annotation.Internal;
+import io.jmix.email.EmailerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * INTERNAL.
+ * Sends messages through connections to SMTP servers which stay open between messages.
+ * <p>
+ * Each server configured in {@link JavaMailSenderImpl} (host, port, protocol and username) has its own pool of at
+ * most {@link EmailerProperties.SmtpPool#getMaxConnections()} connections. A thread sending a message takes an idle
+ * connection or opens a new one if the limit is not reached, and waits for a released connection otherwise.
+ * Connections are closed after {@link EmailerProperties.SmtpPool#getMaxMessagesPerConnection()} messages and on
+ * any sending error. Connections idle for {@link EmailerProperties.SmtpPool#getIdleTimeout()} are closed when
+ * the pool is used next time.
+ */
+@Internal
+public class SmtpConnectionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpConnectionPool.class);
+
+    public static final String METRIC_NAME = "jmix.EmailSender.pool";
+
+    protected final JavaMailSenderImpl mailSender;
+    protected final EmailerProperties.SmtpPool properties;
+
+    protected final Map<String, ServerPool> serverPools = new ConcurrentHashMap<>();
+
+    protected final AtomicInteger openConnections = new AtomicInteger();
+    protected final Counter connectCounter;
+
+    protected volatile boolean closed;
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender, EmailerProperties.SmtpPool properties,
+                              MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.properties = properties;
+
+        meterRegistry.gauge(METRIC_NAME + ".connections", openConnections);
+        connectCounter = meterRegistry.counter(METRIC_NAME + ".connects");
+    }
+
+    /**
+     * Sends the message through a pooled connection to the server of the mail sender.
+     *
+     * @throws MailException if the message cannot be sent
+     */
+    public void send(MimeMessage message) throws MailException {
+        if (closed) {
+            throw new IllegalStateException("SMTP connection pool is closed");
+        }
+
+        ServerPool pool = serverPools.computeIfAbsent(getServerKey(), key -> new ServerPool());
+        try {
+            if (!pool.permits.tryAcquire(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No free connection to SMTP server " + getServerKey() +
+                        " in " + properties.getAcquireTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for a connection to SMTP server", e);
+        }
+
+        try {
+            if (pool.rateLimiter != null) {
+                pool.rateLimiter.acquire();
+            }
+
+            PooledTransport connection = borrow(pool);
+            try {
+                connection.transport.sendMessage(message, message.getAllRecipients());
+            } catch (MessagingException | RuntimeException e) {
+                close(connection);
+                throw new MailSendException("Failed to send message through SMTP server " + getServerKey(), e);
+            }
+            connection.sentCount++;
+            release(pool, connection);
+        } finally {
+            pool.permits.release();
+        }
+    }
+
+    /**
+     * Closes all idle connections. Connections used by sending threads are closed when released.
+     */
+    public void close() {
+        closed = true;
+        for (ServerPool pool : serverPools.values()) {
+            PooledTransport connection;
+            while ((connection = pool.idle.pollFirst()) != null) {
+                close(connection);
+            }
+        }
+    }
+
+    /**
+     * @return number of connections currently open to all servers
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    protected PooledTransport borrow(ServerPool pool) {
+        PooledTransport connection;
+        while ((connection = pool.idle.pollFirst()) != null) {
+            if (isReusable(connection)) {
+                return connection;
+            }
+            close(connection);
+        }
+        return connect();
+    }
+
+    protected void release(ServerPool pool, PooledTransport connection) {
+        int maxMessages = properties.getMaxMessagesPerConnection();
+        if (closed || maxMessages > 0 && connection.sentCount >= maxMessages) {
+            close(connection);
+        } else {
+            connection.lastUsed = System.currentTimeMillis();
+            // the most recently used connection is taken first, so that extra connections become idle and expire
+            pool.idle.offerFirst(connection);
+        }
+        closeExpired(pool);
+    }
+
+    protected void closeExpired(ServerPool pool) {
+        PooledTransport connection;
+        while ((connection = pool.idle.peekLast()) != null
+                && System.currentTimeMillis() - connection.lastUsed >= properties.getIdleTimeout().toMillis()) {
+            if (pool.idle.removeLastOccurrence(connection)) {
+                close(connection);
+            }
+        }
+    }
+
+    protected boolean isReusable(PooledTransport connection) {
+        long idleTime = System.currentTimeMillis() - connection.lastUsed;
+        return idleTime < properties.getIdleTimeout().toMillis() && connection.transport.isConnected();
+    }
+
+    protected PooledTransport connect() {
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) {
+                password = null;
+            }
+        }
+
+        try {
+            String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+            Transport transport = mailSender.getSession().getTransport(protocol);
+            transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+            openConnections.incrementAndGet();
+            connectCounter.increment();
+            log.debug("Opened connection to SMTP server {}", getServerKey());
+            return new PooledTransport(transport);
+        } catch (AuthenticationFailedException e) {
+            throw new MailAuthenticationException(e);
+        } catch (MessagingException e) {
+            throw new MailSendException("Unable to connect to SMTP server " + getServerKey(), e);
+        }
+    }
+
+    protected void close(PooledTransport connection) {
+        openConnections.decrementAndGet();
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing connection to SMTP server {}", getServerKey(), e);
+        }
+    }
+
+    protected String getServerKey() {
+        return String.format("%s://%s@%s:%s", mailSender.getProtocol(), mailSender.getUsername(),
+                mailSender.getHost(), mailSender.getPort());
+    }
+
+    protected class ServerPool {
+
+        protected final Semaphore permits = new Semaphore(Math.max(properties.getMaxConnections(), 1), true);
+        protected final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+        @Nullable
+        protected final RateLimiter rateLimiter = properties.getMaxMessagesPerSecond() > 0 ?
+                RateLimiter.create(properties.getMaxMessagesPerSecond()) : null;
+    }
+
+    protected static class PooledTransport {
+
+        protected final Transport transport;
+        protected int sentCount;
+        protected long lastUsed = System.currentTimeMillis();
+
+        protected PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
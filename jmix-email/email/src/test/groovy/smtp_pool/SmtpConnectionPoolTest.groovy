@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package smtp_pool
+
+import com.icegreen.greenmail.util.GreenMail
+import com.icegreen.greenmail.util.ServerSetupTest
+import io.jmix.email.EmailerProperties
+import io.jmix.email.impl.SmtpConnectionPool
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import jakarta.mail.Message
+import jakarta.mail.internet.InternetAddress
+import jakarta.mail.internet.MimeMessage
+import org.springframework.mail.javamail.JavaMailSenderImpl
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class SmtpConnectionPoolTest extends Specification {
+
+    GreenMail greenMail
+    JavaMailSenderImpl mailSender
+    SimpleMeterRegistry meterRegistry
+    SmtpConnectionPool pool
+
+    void setup() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort())
+        greenMail.start()
+
+        mailSender = new JavaMailSenderImpl()
+        mailSender.host = greenMail.smtp.serverSetup.bindAddress
+        mailSender.port = greenMail.smtp.port
+
+        meterRegistry = new SimpleMeterRegistry()
+    }
+
+    void cleanup() {
+        pool?.close()
+        greenMail.stop()
+    }
+
+    def "connections are reused for several messages"() {
+        pool = createPool(2, 3)
+
+        when:
+
+        (1..7).each { pool.send(createMessage(it)) }
+
+        then:
+
+        greenMail.receivedMessages.length == 7
+        meterRegistry.counter(SmtpConnectionPool.METRIC_NAME + '.connects').count() == 3
+        pool.openConnections == 1
+    }
+
+    def "number of connections is limited when messages are sent concurrently"() {
+        pool = createPool(2, 0)
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+
+        def futures = (1..40).collect { i -> executor.submit { pool.send(createMessage(i)) } }
+        futures*.get(30, TimeUnit.SECONDS)
+        executor.shutdown()
+
+        then:
+
+        greenMail.receivedMessages.length == 40
+        meterRegistry.counter(SmtpConnectionPool.METRIC_NAME + '.connects').count() <= 2
+    }
+
+    def "closed connection is replaced by a new one"() {
+        pool = createPool(1, 0)
+
+        when:
+
+        pool.send(createMessage(1))
+        pool.serverPools.values().each { serverPool -> serverPool.idle.each { it.transport.close() } }
+        pool.send(createMessage(2))
+
+        then:
+
+        greenMail.receivedMessages.length == 2
+        meterRegistry.counter(SmtpConnectionPool.METRIC_NAME + '.connects').count() == 2
+    }
+
+    private SmtpConnectionPool createPool(int maxConnections, int maxMessagesPerConnection) {
+        def properties = new EmailerProperties.SmtpPool(true, maxConnections, maxMessagesPerConnection,
+                Duration.ofMinutes(1), Duration.ofSeconds(10), 0)
+        return new SmtpConnectionPool(mailSender, properties, meterRegistry)
+    }
+
+    private MimeMessage createMessage(int number) {
+        def message = new MimeMessage(mailSender.session)
+        message.setFrom(new InternetAddress('sender@localhost'))
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress('recipient@localhost'))
+        message.setSubject("Message $number")
+        message.setText("Body $number")
+        return message
+    }
+}
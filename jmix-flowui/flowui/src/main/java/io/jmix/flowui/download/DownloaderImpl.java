@@ -167,7 +167,7 @@ public class DownloaderImpl implements Downloader {
         fileDownloader.setFileName(resourceName);
         fileDownloader.setFileNotFoundExceptionHandler(this::handleFileNotFoundException);
 
-        StreamResource resource = new StreamResource(resourceName, dataProvider::getStream);
+        StreamResource resource = createStreamResource(dataProvider, resourceName);
 
         if (downloadFormat != null && StringUtils.isNotEmpty(downloadFormat.getContentType())) {
             resource.setContentType(downloadFormat.getContentType());
@@ -230,6 +230,14 @@ public class DownloaderImpl implements Downloader {
         download(dataProvider, resourceName, format);
     }
 
+    protected StreamResource createStreamResource(DownloadDataProvider dataProvider, String resourceName) {
+        if (dataProvider instanceof FileRefDownloadDataProvider fileRefDataProvider) {
+            return new StreamResource(resourceName, new FileRefStreamResourceWriter(
+                    fileRefDataProvider.getFileReference(), fileRefDataProvider.getFileStorage()));
+        }
+        return new StreamResource(resourceName, dataProvider::getStream);
+    }
+
     protected void checkUIAccess() {
         VaadinSession vaadinSession = VaadinSession.getCurrent();
 
@@ -41,4 +41,12 @@ public class FileRefDownloadDataProvider implements DownloadDataProvider {
     public InputStream getStream() {
         return fileStorage.openStream(fileReference);
     }
+
+    public FileRef getFileReference() {
+        return fileReference;
+    }
+
+    public FileStorage getFileStorage() {
+        return fileStorage;
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.flowui.download;
+
+import com.vaadin.flow.server.StreamResourceWriter;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinSession;
+import io.jmix.core.FileByteRange;
+import io.jmix.core.FileRef;
+import io.jmix.core.FileStorage;
+import org.apache.commons.io.IOUtils;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+
+import static io.jmix.core.common.util.Preconditions.checkNotNullArgument;
+
+/**
+ * Writes a file from {@link FileStorage} to the response serving a single byte range if the request contains
+ * the {@code Range} header. The file contents is transferred by {@link FileStorage#transferTo}, so storages
+ * with random access to files read only the requested part.
+ */
+public class FileRefStreamResourceWriter implements StreamResourceWriter {
+
+    protected FileRef fileReference;
+    protected FileStorage fileStorage;
+
+    public FileRefStreamResourceWriter(FileRef fileReference, FileStorage fileStorage) {
+        checkNotNullArgument(fileReference, "Null file reference");
+        this.fileReference = fileReference;
+        this.fileStorage = fileStorage;
+    }
+
+    @Override
+    public void accept(OutputStream stream, VaadinSession session) throws IOException {
+        long size = fileStorage.getFileSize(fileReference);
+        if (size < 0) {
+            try (InputStream inputStream = fileStorage.openStream(fileReference)) {
+                IOUtils.copy(inputStream, stream);
+            }
+            return;
+        }
+
+        FileByteRange range = FileByteRange.wholeFile(size);
+
+        VaadinResponse response = VaadinResponse.getCurrent();
+        if (response != null) {
+            VaadinRequest request = VaadinRequest.getCurrent();
+            if (request != null) {
+                range = FileByteRange.resolve(request.getHeader(HttpHeaders.RANGE),
+                        request.getHeader(HttpHeaders.IF_RANGE), size);
+            }
+
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, FileByteRange.ACCEPT_RANGES_VALUE);
+            response.setStatus(range.getStatus().value());
+            if (range.getContentRange() != null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, range.getContentRange());
+            }
+            if (!range.isSatisfiable()) {
+                return;
+            }
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(range.getLength()));
+        }
+
+        fileStorage.transferTo(fileReference, range.getStart(), range.getLength(), Channels.newChannel(stream));
+    }
+}
@@ -27,6 +27,7 @@ import org.gradle.api.file.FileCollection
 import org.gradle.api.tasks.SourceSet
 
 import static io.jmix.gradle.DescriptorGenerationUtils.CONVERTERS_LIST_PROPERTY
+import static io.jmix.gradle.DescriptorGenerationUtils.SCAN_INDEX_FILE_NAME
 import static io.jmix.gradle.MetaModelUtil.*
 
 class EnhancingAction implements Action<Task> {
@@ -52,6 +53,8 @@ class EnhancingAction implements Action<Task> {
 
         constructDescriptors(project, sourceSet, classesInfo)
 
+        constructScanIndex(project, sourceSet, classesInfo)
+
         persistenceProviderEnhancing().run(project, sourceSet, classesInfo.allStores())
 
         runJmixEnhancing(project, sourceSet, classesInfo)
@@ -207,6 +210,49 @@ class EnhancingAction implements Action<Task> {
         }
     }
 
+    /**
+     * Creates an index of entities and converters in the base package of each module of the main source set,
+     * so that the application does not scan the module classes at startup.
+     */
+    protected void constructScanIndex(Project project, sourceSet, ClassesInfo classesInfo) {
+        if (sourceSetName != MAIN_SET_NAME) {
+            return
+        }
+
+        ClassPool classPool = createClassPool(project, sourceSet)
+        File classesDir = sourceSet.java.destinationDirectory.get().getAsFile()
+
+        for (String modulePath : classesInfo.modulePaths) {
+            Set<String> entities = new HashSet<>()
+            Set<String> converters = new HashSet<>()
+
+            File packageDir = new File(classesDir, modulePath)
+            if (packageDir.isDirectory()) {
+                project.fileTree(packageDir).matching { include '**/*.class' }.each { File file ->
+                    String pathStr = classesDir.toPath().relativize(file.toPath()).join('.')
+                    String className = pathStr.substring(0, pathStr.length() - '.class'.length())
+
+                    try {
+                        CtClass ctClass = classPool.get(className)
+                        if (isJmixEntity(ctClass)) {
+                            entities.add(className)
+                        }
+                        if (isJpaConverter(ctClass)) {
+                            converters.add(className)
+                        }
+                    } catch (NotFoundException e) {
+                        project.logger.info "Cannot determine $className for classpath scan index: $e"
+                    }
+                }
+            }
+
+            DescriptorGenerationUtils.constructScanIndex(
+                    "$project.buildDir/tmp/entitiesEnhancing/resources/$sourceSetName/$modulePath/$SCAN_INDEX_FILE_NAME",
+                    entities,
+                    converters)
+        }
+    }
+
     static void copyGeneratedFiles(Project project, String sourceSetName) {
         project.copy {
             from "$project.buildDir/tmp/entitiesEnhancing/resources/$sourceSetName/"
@@ -35,6 +35,9 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -58,6 +61,13 @@ public class DescriptorGenerationUtils {
 
     static final String CONVERTERS_LIST_PROPERTY = "io.jmix.enhancing.converters-list";
 
+    /**
+     * Name of the classpath scan index file in a module base package, must match
+     * {@code io.jmix.core.impl.scanning.ClasspathScanIndex}.
+     */
+    public static final String SCAN_INDEX_FILE_NAME = "jmix-scan-index.properties";
+    static final String SCAN_INDEX_VERSION = "1";
+
     public static File constructPersistenceXml(String persistenceFileName,
                                                String storeName,
                                                String ormRelativeFileName,
@@ -201,6 +211,26 @@ public class DescriptorGenerationUtils {
         return ormFile;
     }
 
+    /**
+     * Writes the index of entities and converters of a module read by {@code JmixModulesClasspathScanner} instead of
+     * scanning the module base package at startup.
+     */
+    public static File constructScanIndex(String fileName, Set<String> entities, Set<String> converters) {
+        File file = new File(fileName);
+        file.getParentFile().mkdirs();
+
+        LOG.info("Creating file " + file);
+        // written manually instead of Properties.store() to keep the file free of timestamps
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.ISO_8859_1)) {
+            writer.write("version=" + SCAN_INDEX_VERSION + "\n");
+            writer.write("entities=" + String.join(",", new TreeSet<>(entities)) + "\n");
+            writer.write("converters=" + String.join(",", new TreeSet<>(converters)) + "\n");
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot write " + file.getName(), e);
+        }
+        return file;
+    }
+
     private static void writeDocument(Document doc, File file) {
         LOG.info("Creating file " + file);
         try (OutputStream os = new FileOutputStream(file)) {
@@ -31,6 +31,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 /**
@@ -53,13 +54,14 @@ public class GraphQLFilesDownloadController {
     @GetMapping("/graphql/files")
     public void downloadFile(@RequestParam("fileRef") String fileRef,
                              @RequestParam(required = false) Boolean attachment,
+                             HttpServletRequest request,
                              HttpServletResponse response) {
 
         filePermissionService.checkFileDownloadPermission();
         try {
             FileRef fileReference;
             fileReference = FileRef.fromString(encodeFileName(fileRef));
-            fileTransferService.downloadAndWriteResponse(fileReference, fileReference.getStorageName(), attachment, response);
+            fileTransferService.downloadAndWriteResponse(fileReference, fileReference.getStorageName(), attachment, request, response);
         } catch (IllegalArgumentException e) {
             throw new GraphQLControllerException("Invalid file reference",
                     String.format("Cannot convert '%s' into valid file reference", fileRef),
@@ -18,6 +18,9 @@ package io.jmix.gridexportflowui;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
 
 /**
  * Export actions configuration interface
@@ -35,6 +38,11 @@ public class GridExportProperties {
      */
     ExcelExporterProperties excel;
 
+    /**
+     * Background "export all rows" configuration.
+     */
+    AsyncExportProperties async;
+
     /**
      * @see #exportAllBatchSize
      */
@@ -44,15 +52,21 @@ public class GridExportProperties {
 
 
     public GridExportProperties(@DefaultValue("1000") int exportAllBatchSize,
-                                @DefaultValue ExcelExporterProperties excel) {
+                                @DefaultValue ExcelExporterProperties excel,
+                                @DefaultValue AsyncExportProperties async) {
         this.exportAllBatchSize = exportAllBatchSize;
         this.excel = excel;
+        this.async = async;
     }
 
     public ExcelExporterProperties getExcel() {
         return excel;
     }
 
+    public AsyncExportProperties getAsync() {
+        return async;
+    }
+
     public static class ExcelExporterProperties {
 
         /**
@@ -71,4 +85,97 @@ public class GridExportProperties {
             return useSxssf;
         }
     }
+
+    public static class AsyncExportProperties {
+
+        /**
+         * Whether to export all rows in a background job instead of the UI request. The exported file is saved
+         * to a file storage and downloaded when the job is completed.
+         */
+        boolean enabled;
+
+        /**
+         * Maximum number of export jobs running at the same time.
+         */
+        int poolSize;
+
+        /**
+         * Maximum number of export jobs waiting for a free thread. Jobs submitted when the queue is full are rejected.
+         */
+        int queueCapacity;
+
+        /**
+         * Maximum number of pending and running export jobs of a single user.
+         */
+        int maxJobsPerUser;
+
+        /**
+         * Name of the file storage to save exported files to. The default file storage is used if not set.
+         */
+        String fileStorage;
+
+        /**
+         * Time after which an exported file that has not been downloaded is removed from the file storage. A file is
+         * removed right after it is downloaded. A failed export job that has not been resumed within this time is
+         * cancelled.
+         */
+        Duration resultExpiration;
+
+        public AsyncExportProperties(@DefaultValue("false") boolean enabled,
+                                     @DefaultValue("2") int poolSize,
+                                     @DefaultValue("10") int queueCapacity,
+                                     @DefaultValue("1") int maxJobsPerUser,
+                                     @Nullable String fileStorage,
+                                     @DefaultValue("1h") Duration resultExpiration) {
+            this.enabled = enabled;
+            this.poolSize = poolSize;
+            this.queueCapacity = queueCapacity;
+            this.maxJobsPerUser = maxJobsPerUser;
+            this.fileStorage = fileStorage;
+            this.resultExpiration = resultExpiration;
+        }
+
+        /**
+         * @see #enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @see #poolSize
+         */
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        /**
+         * @see #queueCapacity
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * @see #maxJobsPerUser
+         */
+        public int getMaxJobsPerUser() {
+            return maxJobsPerUser;
+        }
+
+        /**
+         * @see #fileStorage
+         */
+        @Nullable
+        public String getFileStorage() {
+            return fileStorage;
+        }
+
+        /**
+         * @see #resultExpiration
+         */
+        public Duration getResultExpiration() {
+            return resultExpiration;
+        }
+    }
 }
@@ -16,6 +16,10 @@
 
 package io.jmix.gridexportflowui.exporter;
 
+import com.google.common.base.Strings;
+import com.vaadin.flow.component.HasText;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.grid.Grid;
 import io.jmix.core.*;
 import io.jmix.core.entity.EntityValues;
@@ -25,20 +29,31 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.metamodel.model.Range;
+import io.jmix.flowui.Notifications;
 import io.jmix.flowui.UiProperties;
 import io.jmix.flowui.component.ListDataComponent;
 import io.jmix.flowui.component.grid.EnhancedDataGrid;
 import io.jmix.flowui.data.grid.EntityDataGridItems;
+import io.jmix.flowui.download.DownloadFormat;
+import io.jmix.flowui.download.Downloader;
 import io.jmix.flowui.model.InstanceContainer;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportColumn;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportJob;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportWriter;
+import io.jmix.gridexportflowui.exporter.async.AsyncAllRecordsExporter;
 import org.apache.commons.collections4.MapUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.lang.Nullable;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporter<?>> implements DataGridExporter {
 
@@ -48,6 +63,10 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
     protected MetadataTools metadataTools;
     protected UiProperties uiProperties;
     protected CoreProperties coreProperties;
+    protected Notifications notifications;
+    protected AsyncAllRecordsExporter asyncAllRecordsExporter;
+
+    protected AllRecordsExportJob exportJob;
 
     @Autowired
     public void setMessageTools(MessageTools messageTools) {
@@ -79,6 +98,16 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
         this.coreProperties = coreProperties;
     }
 
+    @Autowired
+    public void setNotifications(Notifications notifications) {
+        this.notifications = notifications;
+    }
+
+    @Autowired
+    public void setAsyncAllRecordsExporter(AsyncAllRecordsExporter asyncAllRecordsExporter) {
+        this.asyncAllRecordsExporter = asyncAllRecordsExporter;
+    }
+
     protected String fileName;
 
     protected Map<String, Function<ColumnValueContext, Object>> columnValueProviders;
@@ -121,6 +150,156 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
                 : null;
     }
 
+    /**
+     * @return the last background export job started by this exporter, can be used to track its progress
+     * @see io.jmix.gridexportflowui.GridExportProperties.AsyncExportProperties#isEnabled()
+     */
+    @Nullable
+    public AllRecordsExportJob getExportJob() {
+        return exportJob;
+    }
+
+    /**
+     * @return true if all rows should be exported in a background job
+     */
+    protected boolean isAsyncExportEnabled(ExportMode exportMode) {
+        return exportMode == ExportMode.ALL_ROWS && asyncAllRecordsExporter.isEnabled();
+    }
+
+    /**
+     * @return true if the background export job of this exporter is not finished yet, in which case
+     * the exporter cannot be used for another export
+     */
+    protected boolean checkExportJobActive() {
+        if (exportJob != null && exportJob.isActive()) {
+            notifications.create(getAsyncExportMessage("asyncExport.inProgress"))
+                    .withType(Notifications.Type.WARNING)
+                    .show();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Cancels the failed background export job of this exporter, so it is not resumed by the next export.
+     */
+    protected void discardExportJob() {
+        if (exportJob != null) {
+            asyncAllRecordsExporter.cancel(exportJob);
+            exportJob = null;
+        }
+    }
+
+    /**
+     * Exports all rows of the data grid in a background job and downloads the file when the job is completed.
+     * If the previous job of this exporter has failed, it is resumed from the last exported row instead.
+     *
+     * @param downloader     downloader used when the job is completed
+     * @param dataGrid       data grid to export
+     * @param format         format of the exported file
+     * @param writerSupplier creates the writer of a new job
+     */
+    protected void exportAllRowsAsync(Downloader downloader, Grid<Object> dataGrid, DownloadFormat format,
+                                      Supplier<AllRecordsExportWriter> writerSupplier) {
+        AllRecordsExportJob job = exportJob;
+        boolean resume = job != null && job.getStatus() == AllRecordsExportJob.Status.FAILED;
+        if (!resume) {
+            AllRecordsExportWriter writer = writerSupplier.get();
+            try {
+                job = asyncAllRecordsExporter.createJob(((ListDataComponent<?>) dataGrid).getItems(),
+                        getFileName(dataGrid) + "." + format.getFileExt(), writer);
+            } catch (RuntimeException e) {
+                writer.dispose();
+                throw e;
+            }
+
+            UI ui = UI.getCurrent();
+            job.addProgressListener(j -> onExportJobProgress(ui, downloader, format, j));
+        }
+
+        try {
+            if (resume) {
+                asyncAllRecordsExporter.resume(job);
+            } else {
+                asyncAllRecordsExporter.submit(job);
+            }
+        } catch (IllegalStateException | RejectedExecutionException e) {
+            if (!resume) {
+                asyncAllRecordsExporter.cancel(job);
+            }
+            notifications.create(getAsyncExportMessage("asyncExport.rejected"))
+                    .withType(Notifications.Type.WARNING)
+                    .show();
+            return;
+        }
+
+        exportJob = job;
+        notifications.create(getAsyncExportMessage(resume ? "asyncExport.resumed" : "asyncExport.started"))
+                .show();
+    }
+
+    protected void onExportJobProgress(@Nullable UI ui, Downloader downloader, DownloadFormat format,
+                                       AllRecordsExportJob job) {
+        if (ui == null || job.isActive()) {
+            return;
+        }
+        try {
+            ui.access(() -> {
+                if (job.getStatus() == AllRecordsExportJob.Status.COMPLETED && job.getResult() != null) {
+                    downloader.download(asyncAllRecordsExporter.createResultDataProvider(job), job.getFileName(),
+                            format);
+                    onExportJobCompleted(job);
+                } else if (job.getStatus() == AllRecordsExportJob.Status.FAILED) {
+                    notifications.create(getAsyncExportMessage("asyncExport.failed.title"),
+                                    String.format(getAsyncExportMessage("asyncExport.failed.message"),
+                                            job.getExportedCount()))
+                            .withType(Notifications.Type.ERROR)
+                            .show();
+                }
+            });
+        } catch (UIDetachedException e) {
+            // the user has left, the file is removed from the file storage when it expires
+        }
+    }
+
+    protected String getAsyncExportMessage(String key) {
+        return messages.getMessage(AbstractDataGridExporter.class, key);
+    }
+
+    /**
+     * Invoked in the UI thread after the file exported by the background job is downloaded.
+     */
+    protected void onExportJobCompleted(AllRecordsExportJob job) {
+    }
+
+    /**
+     * Reads the state of data grid columns used to write rows of a background export job. Must be called
+     * in the UI thread.
+     */
+    @SuppressWarnings("rawtypes")
+    protected List<AllRecordsExportColumn> createExportColumns(Grid<Object> dataGrid) {
+        List<AllRecordsExportColumn> exportColumns = new ArrayList<>();
+        for (Grid.Column<Object> column : dataGrid.getColumns()) {
+            exportColumns.add(new AllRecordsExportColumn(column, column.getKey(), getColumnHeaderText(column),
+                    ((EnhancedDataGrid) dataGrid).getColumnMetaPropertyPath(column),
+                    getColumnValueProvider(column.getKey())));
+        }
+        return exportColumns;
+    }
+
+    protected String getColumnHeaderText(Grid.Column<?> column) {
+        String headerText = column.getHeaderText();
+        if (!Strings.isNullOrEmpty(headerText)) {
+            return headerText;
+        } else {
+            com.vaadin.flow.component.Component headerComponent = column.getHeaderComponent();
+            if (headerComponent instanceof HasText hasText) {
+                headerText = hasText.getText();
+            }
+            return Strings.nullToEmpty(headerText);
+        }
+    }
+
     protected String getMetaClassName(MetaClass metaClass) {
         return messageTools.getEntityCaption(metaClass);
     }
@@ -156,6 +335,22 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
         return cellValue;
     }
 
+    /**
+     * Returns the value of the column using the column state read in the UI thread, so it can be called
+     * by a background export job.
+     */
+    protected Object getColumnValue(ListDataComponent<?> target, AllRecordsExportColumn column, Object instance) {
+        Function<ColumnValueContext, Object> columnValueProvider = column.getValueProvider();
+        if (columnValueProvider != null) {
+            return columnValueProvider.apply(new ColumnValueContext(target, column.getColumn(), instance));
+        }
+
+        MetaPropertyPath metaPropertyPath = column.getMetaPropertyPath();
+        return metaPropertyPath != null
+                ? EntityValues.getValueEx(instance, metaPropertyPath.getPath())
+                : EntityValues.getValueEx(instance, column.getKey());
+    }
+
     protected Function<Object, InstanceContainer<Object>> createInstanceContainerProvider(
             Grid<?> dataGrid, Object item) {
         return entity -> {
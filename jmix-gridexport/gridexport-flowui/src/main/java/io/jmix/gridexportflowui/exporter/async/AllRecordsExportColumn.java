@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.gridexportflowui.exporter.async;
+
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.gridexportflowui.exporter.DataGridExporter.ColumnValueContext;
+import org.springframework.lang.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * State of a data grid column read in the UI thread when an {@link AllRecordsExportJob} is created. Writers use it
+ * to build rows in the job thread without accessing the data grid.
+ */
+public class AllRecordsExportColumn {
+
+    protected final Object column;
+    protected final String key;
+    protected final String headerText;
+    protected final MetaPropertyPath metaPropertyPath;
+    protected final Function<ColumnValueContext, Object> valueProvider;
+
+    public AllRecordsExportColumn(Object column, String key, String headerText,
+                                  @Nullable MetaPropertyPath metaPropertyPath,
+                                  @Nullable Function<ColumnValueContext, Object> valueProvider) {
+        this.column = column;
+        this.key = key;
+        this.headerText = headerText;
+        this.metaPropertyPath = metaPropertyPath;
+        this.valueProvider = valueProvider;
+    }
+
+    /**
+     * @return data grid column, passed to the column value provider
+     */
+    public Object getColumn() {
+        return column;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getHeaderText() {
+        return headerText;
+    }
+
+    /**
+     * @return property path of the column or null if the column is not bound to a property
+     */
+    @Nullable
+    public MetaPropertyPath getMetaPropertyPath() {
+        return metaPropertyPath;
+    }
+
+    /**
+     * @return value provider added to the exporter for the column. It is invoked in the job thread, so it must not
+     * access UI components.
+     */
+    @Nullable
+    public Function<ColumnValueContext, Object> getValueProvider() {
+        return valueProvider;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.gridexportflowui.exporter.async;
+
+import io.jmix.core.FileRef;
+import io.jmix.core.LoadContext;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Background export of all rows loaded by a data grid. Created and executed by {@link AsyncAllRecordsExporter}.
+ * <p>
+ * The job loads rows in batches ordered by primary key and remembers the primary key of the last exported row.
+ * If the job fails, {@link AsyncAllRecordsExporter#resume(AllRecordsExportJob)} continues the export from the
+ * row following the last exported one.
+ */
+public class AllRecordsExportJob {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    protected final UUID id = UUID.randomUUID();
+    protected final String fileName;
+    protected final LoadContext<?> loadContext;
+    protected final AllRecordsExportWriter writer;
+    protected final List<Consumer<AllRecordsExportJob>> progressListeners = new CopyOnWriteArrayList<>();
+
+    protected Authentication authentication;
+
+    protected volatile Status status = Status.PENDING;
+    protected volatile boolean cancelled;
+    protected volatile long totalCount = -1;
+    protected volatile long exportedCount;
+    protected volatile Object lastExportedPkValue;
+    protected volatile FileRef result;
+    protected volatile Throwable failure;
+    protected final AtomicBoolean resultRemoved = new AtomicBoolean();
+
+    public AllRecordsExportJob(String fileName, LoadContext<?> loadContext, AllRecordsExportWriter writer) {
+        this.fileName = fileName;
+        this.loadContext = loadContext;
+        this.writer = writer;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * @return name of the file saved to the file storage
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return load context of the first batch, copied for each batch
+     */
+    public LoadContext<?> getLoadContext() {
+        return loadContext;
+    }
+
+    public AllRecordsExportWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * @return name of the user who submitted the job
+     */
+    @Nullable
+    public String getUsername() {
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return true if the job is waiting for execution or running
+     */
+    public boolean isActive() {
+        return status == Status.PENDING || status == Status.RUNNING;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return number of rows to export, or -1 if the job is not started yet
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getExportedCount() {
+        return exportedCount;
+    }
+
+    /**
+     * @return primary key of the last exported row, the checkpoint the job is resumed from
+     */
+    @Nullable
+    public Object getLastExportedPkValue() {
+        return lastExportedPkValue;
+    }
+
+    /**
+     * @return reference to the exported file if the job is completed. The file is removed from the file storage
+     * after download or expiration, see {@link #isResultRemoved()}
+     */
+    @Nullable
+    public FileRef getResult() {
+        return result;
+    }
+
+    /**
+     * @return true if the exported file has been removed from the file storage after download or expiration
+     */
+    public boolean isResultRemoved() {
+        return resultRemoved.get();
+    }
+
+    /**
+     * @return exception the job failed with
+     */
+    @Nullable
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Adds a listener notified by the job thread when the job is started, after each exported batch and
+     * when the job is finished. Use {@code UI.access()} to update UI components from the listener.
+     */
+    public void addProgressListener(Consumer<AllRecordsExportJob> listener) {
+        progressListeners.add(listener);
+    }
+
+    public void removeProgressListener(Consumer<AllRecordsExportJob> listener) {
+        progressListeners.remove(listener);
+    }
+}
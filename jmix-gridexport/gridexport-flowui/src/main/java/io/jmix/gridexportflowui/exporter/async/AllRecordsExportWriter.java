@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.gridexportflowui.exporter.async;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Builds the output file of an {@link AllRecordsExportJob}. Rows are written by the job thread one by one, the
+ * writer is kept by a failed job until the job is resumed or cancelled. As the writer is not used in the UI thread,
+ * it must not access UI components, see {@link AllRecordsExportColumn}.
+ */
+public interface AllRecordsExportWriter {
+
+    /**
+     * Writes the entity instance as the next row of the output file.
+     *
+     * @param entity entity instance
+     * @return false if the output file cannot contain more rows and the export should be stopped
+     */
+    boolean write(Object entity) throws IOException;
+
+    /**
+     * Completes the output file and writes it to the stream.
+     *
+     * @param outputStream stream to write the file to
+     */
+    void finish(OutputStream outputStream) throws IOException;
+
+    /**
+     * Releases resources held by the writer. Called when the job is completed or cancelled.
+     */
+    void dispose();
+}
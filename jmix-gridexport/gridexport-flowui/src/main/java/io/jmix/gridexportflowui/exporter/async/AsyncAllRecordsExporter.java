@@ -0,0 +1,404 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.gridexportflowui.exporter.async;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.*;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.security.SecurityContextHelper;
+import io.jmix.flowui.data.DataUnit;
+import io.jmix.flowui.download.DownloadDataProvider;
+import io.jmix.gridexportflowui.GridExportProperties;
+import io.jmix.gridexportflowui.exporter.AbstractAllRecordsExporter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Exports all records of a data grid in background jobs executed by a dedicated thread pool, so the export does
+ * not block the UI request. The exported file is saved to a {@link FileStorage}.
+ * <p>
+ * Each batch is loaded in a separate transaction. The primary key of the last exported row is stored in the job
+ * after each row, so a failed job can be resumed without exporting rows twice. A failed job which is not resumed
+ * within {@link GridExportProperties.AsyncExportProperties#getResultExpiration()} is cancelled to release its writer.
+ * <p>
+ * The pool size, queue capacity and the number of jobs per user are configured by
+ * {@link GridExportProperties#getAsync()}.
+ */
+@Component("grdexp_AsyncAllRecordsExporter")
+public class AsyncAllRecordsExporter extends AbstractAllRecordsExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncAllRecordsExporter.class);
+
+    protected DataManager dataManager;
+    protected PlatformTransactionManager platformTransactionManager;
+    protected FileStorageLocator fileStorageLocator;
+    protected CoreProperties coreProperties;
+    protected GridExportProperties gridExportProperties;
+
+    protected final Map<UUID, AllRecordsExportJob> jobs = new ConcurrentHashMap<>();
+    protected final Map<UUID, AllRecordsExportJob> completedJobs = new ConcurrentHashMap<>();
+
+    protected ThreadPoolExecutor executor;
+    protected ScheduledExecutorService resultRemovalExecutor;
+
+    public AsyncAllRecordsExporter(MetadataTools metadataTools,
+                                   DataManager dataManager,
+                                   PlatformTransactionManager platformTransactionManager,
+                                   FileStorageLocator fileStorageLocator,
+                                   CoreProperties coreProperties,
+                                   GridExportProperties gridExportProperties) {
+        super(metadataTools);
+        this.dataManager = dataManager;
+        this.platformTransactionManager = platformTransactionManager;
+        this.fileStorageLocator = fileStorageLocator;
+        this.coreProperties = coreProperties;
+        this.gridExportProperties = gridExportProperties;
+    }
+
+    @PostConstruct
+    protected void init() {
+        GridExportProperties.AsyncExportProperties properties = gridExportProperties.getAsync();
+        executor = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+                new ThreadFactoryBuilder().setNameFormat("grdexp-export-%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+
+        resultRemovalExecutor = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setNameFormat("grdexp-export-cleanup-%d").setDaemon(true).build());
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        executor.shutdownNow();
+        resultRemovalExecutor.shutdownNow();
+        for (AllRecordsExportJob job : jobs.values()) {
+            job.getWriter().dispose();
+        }
+        jobs.clear();
+        // jobs live in memory only, so files of completed jobs cannot be downloaded after restart
+        for (AllRecordsExportJob job : completedJobs.values()) {
+            removeResult(job);
+        }
+    }
+
+    /**
+     * @see GridExportProperties.AsyncExportProperties#isEnabled()
+     */
+    public boolean isEnabled() {
+        return gridExportProperties.getAsync().isEnabled();
+    }
+
+    /**
+     * Creates a job exporting all records of the given data unit. Must be called in the UI thread, as the load
+     * context is created by the data loader of the data unit.
+     *
+     * @param dataUnit data unit linked with the data
+     * @param fileName name of the file saved to the file storage
+     * @param writer   writer building the output file
+     * @return new job, not submitted yet
+     */
+    public AllRecordsExportJob createJob(DataUnit dataUnit, String fileName, AllRecordsExportWriter writer) {
+        Preconditions.checkNotNullArgument(writer, "Cannot export all rows. Writer can't be null");
+
+        return new AllRecordsExportJob(fileName, generateLoadContext(dataUnit), writer);
+    }
+
+    /**
+     * Submits the job for execution on behalf of the current user.
+     *
+     * @throws IllegalStateException if the current user has reached the maximum number of active jobs
+     * @throws java.util.concurrent.RejectedExecutionException if the queue of jobs is full
+     */
+    public void submit(AllRecordsExportJob job) {
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+        String username = authentication != null ? authentication.getName() : null;
+        int maxJobsPerUser = gridExportProperties.getAsync().getMaxJobsPerUser();
+
+        synchronized (jobs) {
+            long activeCount = jobs.values().stream()
+                    .filter(j -> j.isActive() && Objects.equals(j.getUsername(), username))
+                    .count();
+            if (activeCount >= maxJobsPerUser) {
+                throw new IllegalStateException(String.format(
+                        "Cannot export all rows. User '%s' already has %d running export jobs", username, activeCount));
+            }
+
+            job.authentication = authentication;
+            job.cancelled = false;
+            job.failure = null;
+            job.status = AllRecordsExportJob.Status.PENDING;
+            jobs.put(job.getId(), job);
+        }
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            job.status = AllRecordsExportJob.Status.FAILED;
+            job.failure = e;
+            scheduleFailedJobDisposal(job);
+            throw e;
+        }
+    }
+
+    /**
+     * Submits the failed job again. The export continues from the row following the last exported one.
+     */
+    public void resume(AllRecordsExportJob job) {
+        if (job.getStatus() != AllRecordsExportJob.Status.FAILED) {
+            throw new IllegalStateException("Only failed export job can be resumed, job status: " + job.getStatus());
+        }
+        submit(job);
+    }
+
+    /**
+     * Cancels the job. A pending or running job stops before the next row, a failed or not submitted job
+     * releases its writer right away.
+     */
+    public void cancel(AllRecordsExportJob job) {
+        synchronized (jobs) {
+            if (job.getStatus() == AllRecordsExportJob.Status.COMPLETED
+                    || job.getStatus() == AllRecordsExportJob.Status.CANCELLED) {
+                return;
+            }
+            job.cancelled = true;
+            if (job.getStatus() == AllRecordsExportJob.Status.FAILED || !jobs.containsKey(job.getId())) {
+                finishCancelled(job);
+            }
+        }
+    }
+
+    /**
+     * Creates a data provider reading the file exported by the completed job. The file is removed from the file
+     * storage when the stream returned by the provider is closed, that is when the file is downloaded.
+     *
+     * @see #removeResult(AllRecordsExportJob)
+     */
+    public DownloadDataProvider createResultDataProvider(AllRecordsExportJob job) {
+        FileRef result = job.getResult();
+        Preconditions.checkNotNullArgument(result, "Export job %s is not completed", job.getId());
+
+        return () -> new FilterInputStream(fileStorageLocator.getByName(result.getStorageName()).openStream(result)) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    removeResult(job);
+                }
+            }
+        };
+    }
+
+    /**
+     * Removes the file exported by the job from the file storage. Invoked when the file is downloaded or when
+     * {@link GridExportProperties.AsyncExportProperties#getResultExpiration()} has passed since the job
+     * completion. Does nothing if the file is already removed.
+     */
+    public void removeResult(AllRecordsExportJob job) {
+        FileRef result = job.getResult();
+        if (result == null || !job.resultRemoved.compareAndSet(false, true)) {
+            return;
+        }
+        completedJobs.remove(job.getId());
+        try {
+            fileStorageLocator.getByName(result.getStorageName()).removeFile(result);
+        } catch (RuntimeException e) {
+            log.warn("Unable to remove file {} exported by job {}", result, job.getId(), e);
+        }
+    }
+
+    /**
+     * @return job with the given id if it is active or failed
+     */
+    @Nullable
+    public AllRecordsExportJob getJob(UUID id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * @return active and failed jobs
+     */
+    public List<AllRecordsExportJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    protected void run(AllRecordsExportJob job) {
+        Authentication previousAuthentication = SecurityContextHelper.getAuthentication();
+        SecurityContextHelper.setAuthentication(job.authentication);
+        try {
+            if (job.isCancelled()) {
+                finishCancelled(job);
+                return;
+            }
+
+            job.status = AllRecordsExportJob.Status.RUNNING;
+            fireProgress(job);
+
+            exportBatches(job);
+
+            if (job.isCancelled()) {
+                finishCancelled(job);
+            } else {
+                job.result = saveResult(job);
+                job.status = AllRecordsExportJob.Status.COMPLETED;
+                jobs.remove(job.getId());
+                job.getWriter().dispose();
+                scheduleResultRemoval(job);
+            }
+        } catch (Exception e) {
+            log.error("Export job {} failed after {} rows", job.getId(), job.getExportedCount(), e);
+            job.failure = e;
+            job.status = AllRecordsExportJob.Status.FAILED;
+            scheduleFailedJobDisposal(job);
+        } finally {
+            SecurityContextHelper.setAuthentication(previousAuthentication);
+        }
+        fireProgress(job);
+    }
+
+    protected void exportBatches(AllRecordsExportJob job) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(platformTransactionManager);
+        int loadBatchSize = gridExportProperties.getExportAllBatchSize();
+
+        if (job.getTotalCount() < 0) {
+            Long count = transactionTemplate.execute(status -> dataManager.getCount(job.getLoadContext().copy()));
+            job.totalCount = count != null ? count : 0;
+        }
+
+        boolean hasMore = true;
+        while (hasMore && !job.isCancelled()) {
+            LoadContext<?> loadContext = job.getLoadContext().copy();
+            LoadContext.Query query = loadContext.getQuery();
+            if (job.getLastExportedPkValue() != null) {
+                query.setParameter(LAST_LOADED_PK_CONDITION_PARAMETER_NAME, job.getLastExportedPkValue());
+            }
+            query.setMaxResults(loadBatchSize);
+
+            hasMore = Boolean.TRUE.equals(transactionTemplate.execute(status -> exportBatch(job, loadContext)));
+            fireProgress(job);
+        }
+    }
+
+    /**
+     * @return true if the next batch should be loaded
+     */
+    protected boolean exportBatch(AllRecordsExportJob job, LoadContext<?> loadContext) {
+        List<?> entities = dataManager.loadList(loadContext);
+        for (Object entity : entities) {
+            if (job.isCancelled()) {
+                return false;
+            }
+            try {
+                if (!job.getWriter().write(entity)) {
+                    return false;
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to write exported row", e);
+            }
+            job.lastExportedPkValue = Id.of(entity).getValue();
+            job.exportedCount++;
+        }
+        return entities.size() == loadContext.getQuery().getMaxResults();
+    }
+
+    protected FileRef saveResult(AllRecordsExportJob job) throws IOException {
+        Path tempDir = Files.createDirectories(Path.of(coreProperties.getTempDir()));
+        Path file = Files.createTempFile(tempDir, "export-", ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(file)) {
+                job.getWriter().finish(outputStream);
+            }
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                return getFileStorage().saveStream(job.getFileName(), inputStream);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    protected void scheduleResultRemoval(AllRecordsExportJob job) {
+        completedJobs.put(job.getId(), job);
+        resultRemovalExecutor.schedule(() -> removeResult(job),
+                gridExportProperties.getAsync().getResultExpiration().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancels the failed job if it is not resumed until the result expiration time passes, so that the writer
+     * releases its temporary files.
+     */
+    protected void scheduleFailedJobDisposal(AllRecordsExportJob job) {
+        Throwable failure = job.getFailure();
+        resultRemovalExecutor.schedule(() -> {
+            synchronized (jobs) {
+                // the job has not been resumed if it still has the same failure
+                if (job.getStatus() == AllRecordsExportJob.Status.FAILED && job.getFailure() == failure) {
+                    log.debug("Failed export job {} has not been resumed and is cancelled", job.getId());
+                    finishCancelled(job);
+                }
+            }
+        }, gridExportProperties.getAsync().getResultExpiration().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    protected FileStorage getFileStorage() {
+        String storageName = gridExportProperties.getAsync().getFileStorage();
+        return storageName != null ? fileStorageLocator.getByName(storageName) : fileStorageLocator.getDefault();
+    }
+
+    protected void finishCancelled(AllRecordsExportJob job) {
+        job.status = AllRecordsExportJob.Status.CANCELLED;
+        jobs.remove(job.getId());
+        job.getWriter().dispose();
+    }
+
+    protected void fireProgress(AllRecordsExportJob job) {
+        for (Consumer<AllRecordsExportJob> listener : job.progressListeners) {
+            try {
+                listener.accept(job);
+            } catch (RuntimeException e) {
+                log.warn("Error in progress listener of export job {}", job.getId(), e);
+            }
+        }
+    }
+}
@@ -16,8 +16,6 @@
 
 package io.jmix.gridexportflowui.exporter.excel;
 
-import com.google.common.base.Strings;
-import com.vaadin.flow.component.HasText;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.treegrid.TreeGrid;
 import com.vaadin.flow.data.provider.hierarchy.HierarchicalDataProvider;
@@ -42,6 +40,9 @@ import io.jmix.gridexportflowui.GridExportProperties;
 import io.jmix.gridexportflowui.action.ExportAction;
 import io.jmix.gridexportflowui.exporter.AbstractDataGridExporter;
 import io.jmix.gridexportflowui.exporter.ExportMode;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportColumn;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportJob;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
@@ -55,6 +56,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.lang.Nullable;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.ParseException;
 import java.util.*;
 import java.util.function.Function;
@@ -100,8 +102,6 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
 
     protected ExcelAllRecordsExporter excelAllRecordsExporter;
 
-    protected Notifications notifications;
-
     public ExcelExporter(GridExportProperties gridExportProperties,
                          ExcelAllRecordsExporter excelAllRecordsExporter,
                          Notifications notifications) {
@@ -135,6 +135,15 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
     public void exportDataGrid(Downloader downloader, Grid<Object> dataGrid, ExportMode exportMode) {
         Preconditions.checkNotNullArgument(downloader, "Downloader is null");
 
+        if (checkExportJobActive()) {
+            return;
+        }
+        if (isAsyncExportEnabled(exportMode)) {
+            exportAllRowsAsync(downloader, dataGrid, XLSX, () -> createAllRecordsExportWriter(dataGrid));
+            return;
+        }
+        discardExportJob();
+
         createWorkbookWithSheet();
         try {
             createFonts();
@@ -144,39 +153,7 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
 
             int r = 0;
 
-            Row row = sheet.createRow(r);
-            createAutoColumnSizers(columns.size());
-
-            float maxHeight = sheet.getDefaultRowHeightInPoints();
-
-            CellStyle headerCellStyle = wb.createCellStyle();
-            headerCellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-            for (DataGrid.Column<?> column : columns) {
-                String caption = column.getHeaderText();
-
-                int countOfReturnSymbols = StringUtils.countMatches(caption, "\n");
-                if (countOfReturnSymbols > 0) {
-                    maxHeight = Math.max(maxHeight, (countOfReturnSymbols + 1) * sheet.getDefaultRowHeightInPoints());
-                    headerCellStyle.setWrapText(true);
-                }
-            }
-            row.setHeightInPoints(maxHeight);
-
-            for (int c = 0; c < columns.size(); c++) {
-                DataGrid.Column<?> column = columns.get(c);
-                String columnHeaderText = getColumnHeaderText(column);
-
-                Cell cell = row.createCell(c);
-                RichTextString richTextString = createStringCellValue(columnHeaderText);
-                richTextString.applyFont(boldFont);
-                cell.setCellValue(richTextString);
-
-                ExcelAutoColumnSizer sizer = new ExcelAutoColumnSizer();
-                sizer.notifyCellValue(columnHeaderText, boldFont);
-                sizers[c] = sizer;
-
-                cell.setCellStyle(headerCellStyle);
-            }
+            createHeaderRow(columns.stream().map(this::getColumnHeaderText).toList());
 
             ContainerDataGridItems<Object> dataGridSource = (ContainerDataGridItems) ((ListDataComponent<Object>) dataGrid).getItems();
             if (dataGridSource == null) {
@@ -240,9 +217,7 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
                 );
             }
 
-            for (int c = 0; c < columns.size(); c++) {
-                sheet.setColumnWidth(c, sizers[c].getWidth() * COL_WIDTH_MAGIC);
-            }
+            applyColumnWidths(columns.size());
 
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             try {
@@ -266,16 +241,69 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
         }
     }
 
-    protected String getColumnHeaderText(DataGrid.Column<?> column) {
-        String headerText = column.getHeaderText();
-        if (!Strings.isNullOrEmpty(headerText)) {
-            return headerText;
-        } else {
-            com.vaadin.flow.component.Component headerComponent = column.getHeaderComponent();
-            if (headerComponent instanceof HasText hasText) {
-                headerText = hasText.getText();
+    protected void createHeaderRow(List<String> headerTexts) {
+        Row row = sheet.createRow(0);
+        createAutoColumnSizers(headerTexts.size());
+
+        float maxHeight = sheet.getDefaultRowHeightInPoints();
+
+        CellStyle headerCellStyle = wb.createCellStyle();
+        headerCellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+        for (String caption : headerTexts) {
+            int countOfReturnSymbols = StringUtils.countMatches(caption, "\n");
+            if (countOfReturnSymbols > 0) {
+                maxHeight = Math.max(maxHeight, (countOfReturnSymbols + 1) * sheet.getDefaultRowHeightInPoints());
+                headerCellStyle.setWrapText(true);
             }
-            return Strings.nullToEmpty(headerText);
+        }
+        row.setHeightInPoints(maxHeight);
+
+        for (int c = 0; c < headerTexts.size(); c++) {
+            String columnHeaderText = headerTexts.get(c);
+
+            Cell cell = row.createCell(c);
+            RichTextString richTextString = createStringCellValue(columnHeaderText);
+            richTextString.applyFont(boldFont);
+            cell.setCellValue(richTextString);
+
+            ExcelAutoColumnSizer sizer = new ExcelAutoColumnSizer();
+            sizer.notifyCellValue(columnHeaderText, boldFont);
+            sizers[c] = sizer;
+
+            cell.setCellStyle(headerCellStyle);
+        }
+    }
+
+    protected void applyColumnWidths(int columnCount) {
+        for (int c = 0; c < columnCount; c++) {
+            sheet.setColumnWidth(c, sizers[c].getWidth() * COL_WIDTH_MAGIC);
+        }
+    }
+
+    protected AllRecordsExportWriter createAllRecordsExportWriter(Grid<Object> dataGrid) {
+        return createAllRecordsExportWriter((ListDataComponent<?>) dataGrid, createExportColumns(dataGrid));
+    }
+
+    protected AllRecordsExportWriter createAllRecordsExportWriter(ListDataComponent<?> target,
+                                                                  List<AllRecordsExportColumn> columns) {
+        createWorkbookWithSheet();
+        try {
+            createFonts();
+            createFormats();
+
+            createHeaderRow(columns.stream().map(AllRecordsExportColumn::getHeaderText).toList());
+
+            return new ExcelAllRecordsExportWriter(target, columns);
+        } catch (RuntimeException e) {
+            disposeWorkBook();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void onExportJobCompleted(AllRecordsExportJob job) {
+        if (isXlsxMaxRowNumberExceeded()) {
+            showWarnNotification();
         }
     }
 
@@ -625,4 +653,46 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
             ((SXSSFWorkbook) wb).dispose();
         }
     }
+
+    /**
+     * Writes rows exported by a background job to the workbook of the exporter. Cell values are obtained using
+     * the column state read in the UI thread.
+     */
+    protected class ExcelAllRecordsExportWriter implements AllRecordsExportWriter {
+
+        protected final ListDataComponent<?> target;
+        protected final List<AllRecordsExportColumn> columns;
+
+        protected int rowNumber;
+
+        public ExcelAllRecordsExportWriter(ListDataComponent<?> target, List<AllRecordsExportColumn> columns) {
+            this.target = target;
+            this.columns = columns;
+        }
+
+        @Override
+        public boolean write(Object entity) {
+            if (checkIsRowNumberExceed(++rowNumber)) {
+                return false;
+            }
+            Row row = sheet.createRow(rowNumber);
+            for (int c = 0; c < columns.size(); c++) {
+                AllRecordsExportColumn column = columns.get(c);
+                Object cellValue = getColumnValue(target, column, entity);
+                formatValueCell(row.createCell(c), cellValue, column.getMetaPropertyPath(), c, rowNumber, 0, null);
+            }
+            return true;
+        }
+
+        @Override
+        public void finish(OutputStream outputStream) throws IOException {
+            applyColumnWidths(columns.size());
+            wb.write(outputStream);
+        }
+
+        @Override
+        public void dispose() {
+            disposeWorkBook();
+        }
+    }
 }
@@ -17,6 +17,7 @@
 package io.jmix.gridexportflowui.exporter.json;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import com.vaadin.flow.component.grid.Grid;
 import io.jmix.core.Metadata;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
@@ -30,13 +31,21 @@ import io.jmix.flowui.download.Downloader;
 import io.jmix.gridexportflowui.action.ExportAction;
 import io.jmix.gridexportflowui.exporter.AbstractDataGridExporter;
 import io.jmix.gridexportflowui.exporter.ExportMode;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportColumn;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportWriter;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -71,6 +80,17 @@ public class JsonExporter extends AbstractDataGridExporter<JsonExporter> {
 
     @Override
     public void exportDataGrid(Downloader downloader, Grid<Object> dataGrid, ExportMode exportMode) {
+        if (checkExportJobActive()) {
+            return;
+        }
+        if (isAsyncExportEnabled(exportMode)) {
+            exportAllRowsAsync(downloader, dataGrid, DownloadFormat.JSON,
+                    () -> new JsonAllRecordsExportWriter((ListDataComponent<?>) dataGrid, createExportColumns(dataGrid),
+                            createGsonForSerialization()));
+            return;
+        }
+        discardExportJob();
+
         Gson gson = createGsonForSerialization();
         JsonArray jsonElements = new JsonArray();
 
@@ -116,6 +136,25 @@ public class JsonExporter extends AbstractDataGridExporter<JsonExporter> {
         return jsonObject;
     }
 
+    protected JsonObject createJsonObjectFromEntity(ListDataComponent<?> target, List<AllRecordsExportColumn> columns,
+                                                    Object entity) {
+        JsonObject jsonObject = new JsonObject();
+
+        for (AllRecordsExportColumn column : columns) {
+            Object columnValue = getColumnValue(target, column, entity);
+            MetaPropertyPath metaPropertyPath = metadata.getClass(entity).getPropertyPath(column.getKey());
+
+            if (columnValue != null) {
+                jsonObject.add(column.getKey(),
+                        new JsonPrimitive(formatValue(columnValue, metaPropertyPath)));
+            } else {
+                jsonObject.add(column.getKey(), JsonNull.INSTANCE);
+            }
+        }
+
+        return jsonObject;
+    }
+
     protected Gson createGsonForSerialization() {
         GsonBuilder gsonBuilder = new GsonBuilder();
         if (gsonConfigurer != null) {
@@ -147,4 +186,55 @@ public class JsonExporter extends AbstractDataGridExporter<JsonExporter> {
     public String getLabel() {
         return messages.getMessage("jsonExporter.label");
     }
+
+    /**
+     * Writes rows exported by a background job to a temporary file as elements of a JSON array. Values are obtained
+     * using the column state read in the UI thread.
+     */
+    protected class JsonAllRecordsExportWriter implements AllRecordsExportWriter {
+
+        protected final ListDataComponent<?> target;
+        protected final List<AllRecordsExportColumn> columns;
+        protected final Gson gson;
+        protected final Path file;
+        protected final JsonWriter jsonWriter;
+
+        public JsonAllRecordsExportWriter(ListDataComponent<?> target, List<AllRecordsExportColumn> columns,
+                                          Gson gson) {
+            this.target = target;
+            this.columns = columns;
+            this.gson = gson;
+            try {
+                Path tempDir = Files.createDirectories(Path.of(coreProperties.getTempDir()));
+                file = Files.createTempFile(tempDir, "export-", ".json");
+                jsonWriter = gson.newJsonWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+                jsonWriter.beginArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to create temporary file for export", e);
+            }
+        }
+
+        @Override
+        public boolean write(Object entity) throws IOException {
+            gson.toJson(createJsonObjectFromEntity(target, columns, entity), jsonWriter);
+            return true;
+        }
+
+        @Override
+        public void finish(OutputStream outputStream) throws IOException {
+            jsonWriter.endArray();
+            jsonWriter.close();
+            Files.copy(file, outputStream);
+        }
+
+        @Override
+        public void dispose() {
+            try {
+                jsonWriter.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to delete temporary export file " + file, e);
+            }
+        }
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package async_export;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.jmix.core.CoreProperties;
+import io.jmix.core.Messages;
+import io.jmix.core.Metadata;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.flowui.component.ListDataComponent;
+import io.jmix.gridexportflowui.GridExportProperties;
+import io.jmix.gridexportflowui.exporter.DataGridExporter.ColumnValueContext;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportColumn;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportWriter;
+import io.jmix.gridexportflowui.exporter.excel.ExcelExporter;
+import io.jmix.gridexportflowui.exporter.json.JsonExporter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AllRecordsExportWriterTest {
+
+    private static final Map<String, String> EXCEL_FORMATS = Map.of(
+            "excelExporter.timeFormat", "h:mm",
+            "excelExporter.dateFormat", "m/d/yy",
+            "excelExporter.dateTimeFormat", "m/d/yy h:mm",
+            "excelExporter.integerFormat", "0",
+            "excelExporter.doubleFormat", "#,##0.00");
+
+    @TempDir
+    Path tempDir;
+
+    private final ListDataComponent<?> target = mock(ListDataComponent.class);
+    private final List<ColumnValueContext> valueContexts = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("Excel writer builds rows from the column state read in the UI thread")
+    public void excelWriter() throws Exception {
+        TestExcelExporter exporter = new TestExcelExporter();
+        Messages messages = mock(Messages.class);
+        when(messages.getMessage(anyString())).thenAnswer(invocation ->
+                EXCEL_FORMATS.getOrDefault((String) invocation.getArgument(0), ""));
+        exporter.setMessages(messages);
+
+        AllRecordsExportWriter writer = exporter.createWriter(target, createColumns());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            assertTrue(writer.write(new TestEntity(1, "First")));
+            assertTrue(writer.write(new TestEntity(2, "Second")));
+            writer.finish(output);
+        } finally {
+            writer.dispose();
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Export");
+            assertEquals(List.of("Id", "Name"), getCellValues(sheet.getRow(0)));
+            assertEquals(List.of("1", "First"), getCellValues(sheet.getRow(1)));
+            assertEquals(List.of("2", "Second"), getCellValues(sheet.getRow(2)));
+            assertEquals(2, sheet.getLastRowNum());
+        }
+        assertValueContexts();
+    }
+
+    @Test
+    @DisplayName("JSON writer builds objects from the column state read in the UI thread")
+    public void jsonWriter() throws Exception {
+        Metadata metadata = mock(Metadata.class);
+        when(metadata.getClass(any(Object.class))).thenReturn(mock(MetaClass.class));
+        CoreProperties coreProperties = mock(CoreProperties.class);
+        when(coreProperties.getTempDir()).thenReturn(tempDir.toString());
+
+        TestJsonExporter exporter = new TestJsonExporter(metadata);
+        exporter.setCoreProperties(coreProperties);
+
+        AllRecordsExportWriter writer = exporter.createWriter(target, createColumns());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            assertTrue(writer.write(new TestEntity(1, "First")));
+            assertTrue(writer.write(new TestEntity(2, null)));
+            writer.finish(output);
+        } finally {
+            writer.dispose();
+        }
+
+        JsonArray rows = JsonParser.parseString(output.toString(StandardCharsets.UTF_8)).getAsJsonArray();
+        assertEquals(2, rows.size());
+        JsonObject first = rows.get(0).getAsJsonObject();
+        assertEquals("1", first.get("id").getAsString());
+        assertEquals("First", first.get("name").getAsString());
+        JsonObject second = rows.get(1).getAsJsonObject();
+        assertEquals("2", second.get("id").getAsString());
+        assertTrue(second.get("name").isJsonNull());
+        assertValueContexts();
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "Temporary file is not removed");
+        }
+    }
+
+    private List<AllRecordsExportColumn> createColumns() {
+        return List.of(
+                new AllRecordsExportColumn("idColumn", "id", "Id", null,
+                        valueProvider(entity -> String.valueOf(entity.getId()))),
+                new AllRecordsExportColumn("nameColumn", "name", "Name", null,
+                        valueProvider(TestEntity::getName)));
+    }
+
+    private Function<ColumnValueContext, Object> valueProvider(Function<TestEntity, Object> getter) {
+        return context -> {
+            valueContexts.add(context);
+            return getter.apply(context.getEntity());
+        };
+    }
+
+    private void assertValueContexts() {
+        assertEquals(4, valueContexts.size());
+        for (ColumnValueContext context : valueContexts) {
+            assertSame(target, context.getTarget());
+            assertTrue(List.of("idColumn", "nameColumn").contains(context.<String>getColumn()));
+        }
+    }
+
+    private List<String> getCellValues(Row row) {
+        return List.of(row.getCell(0).getStringCellValue(), row.getCell(1).getStringCellValue());
+    }
+
+    private static class TestExcelExporter extends ExcelExporter {
+
+        public TestExcelExporter() {
+            super(new GridExportProperties(1000,
+                            new GridExportProperties.ExcelExporterProperties(false),
+                            new GridExportProperties.AsyncExportProperties(true, 1, 10, 1, null, Duration.ofHours(1))),
+                    null, null);
+        }
+
+        public AllRecordsExportWriter createWriter(ListDataComponent<?> target, List<AllRecordsExportColumn> columns) {
+            return createAllRecordsExportWriter(target, columns);
+        }
+    }
+
+    private static class TestJsonExporter extends JsonExporter {
+
+        public TestJsonExporter(Metadata metadata) {
+            super(metadata, null);
+        }
+
+        public AllRecordsExportWriter createWriter(ListDataComponent<?> target, List<AllRecordsExportColumn> columns) {
+            return new JsonAllRecordsExportWriter(target, columns, createGsonForSerialization());
+        }
+    }
+}
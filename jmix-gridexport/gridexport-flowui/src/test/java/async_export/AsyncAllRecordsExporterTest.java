@@ -0,0 +1,334 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package async_export;
+
+import io.jmix.core.*;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.gridexportflowui.GridExportProperties;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportJob;
+import io.jmix.gridexportflowui.exporter.async.AllRecordsExportWriter;
+import io.jmix.gridexportflowui.exporter.async.AsyncAllRecordsExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AsyncAllRecordsExporterTest {
+
+    private static final int ROW_COUNT = 5;
+
+    @TempDir
+    Path tempDir;
+
+    private final DataManager dataManager = mock(DataManager.class);
+    private final FileStorage fileStorage = mock(FileStorage.class);
+    private final Map<FileRef, byte[]> savedFiles = new ConcurrentHashMap<>();
+
+    private TestExporter exporter;
+
+    @AfterEach
+    public void tearDown() {
+        if (exporter != null) {
+            exporter.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Failed job is resumed from the row following the last exported one")
+    public void resumeFromCheckpoint() throws Exception {
+        exporter = createExporter(Duration.ofHours(1));
+        TestWriter writer = new TestWriter(3);
+        AllRecordsExportJob job = createJob(writer);
+
+        exporter.submit(job);
+        awaitFinished(job);
+
+        assertEquals(AllRecordsExportJob.Status.FAILED, job.getStatus());
+        assertEquals(2, job.getExportedCount());
+        assertEquals(2L, job.getLastExportedPkValue());
+        assertEquals(ROW_COUNT, job.getTotalCount());
+        assertFalse(writer.disposed);
+        assertEquals(List.of(job), exporter.getJobs());
+
+        exporter.resume(job);
+        awaitFinished(job);
+
+        assertEquals(AllRecordsExportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), writer.ids);
+        assertEquals(ROW_COUNT, job.getExportedCount());
+        assertTrue(writer.disposed);
+        assertTrue(exporter.getJobs().isEmpty());
+        assertEquals("1,2,3,4,5", new String(savedFiles.get(job.getResult()), StandardCharsets.UTF_8));
+        verify(dataManager, times(1)).getCount(any(LoadContext.class));
+    }
+
+    @Test
+    @DisplayName("Only failed job can be resumed")
+    public void resumeCompletedJob() throws Exception {
+        exporter = createExporter(Duration.ofHours(1));
+        AllRecordsExportJob job = createJob(new TestWriter(-1));
+
+        exporter.submit(job);
+        awaitFinished(job);
+
+        assertEquals(AllRecordsExportJob.Status.COMPLETED, job.getStatus());
+        assertThrows(IllegalStateException.class, () -> exporter.resume(job));
+    }
+
+    @Test
+    @DisplayName("Cancelled failed job releases its writer and cannot be resumed")
+    public void cancelFailedJob() throws Exception {
+        exporter = createExporter(Duration.ofHours(1));
+        TestWriter writer = new TestWriter(2);
+        AllRecordsExportJob job = createJob(writer);
+
+        exporter.submit(job);
+        awaitFinished(job);
+        assertEquals(AllRecordsExportJob.Status.FAILED, job.getStatus());
+
+        exporter.cancel(job);
+
+        assertEquals(AllRecordsExportJob.Status.CANCELLED, job.getStatus());
+        assertTrue(writer.disposed);
+        assertTrue(exporter.getJobs().isEmpty());
+        assertThrows(IllegalStateException.class, () -> exporter.resume(job));
+    }
+
+    @Test
+    @DisplayName("Running job stops after cancellation without saving a file")
+    public void cancelRunningJob() throws Exception {
+        exporter = createExporter(Duration.ofHours(1));
+        TestWriter writer = new TestWriter(-1);
+        writer.blockOnRow = 2;
+        AllRecordsExportJob job = createJob(writer);
+
+        exporter.submit(job);
+        assertTrue(writer.blocked.await(10, TimeUnit.SECONDS));
+        exporter.cancel(job);
+        writer.release.countDown();
+        awaitFinished(job);
+
+        assertEquals(AllRecordsExportJob.Status.CANCELLED, job.getStatus());
+        assertEquals(List.of(1L, 2L), writer.ids);
+        assertTrue(writer.disposed);
+        assertNull(job.getResult());
+        verify(fileStorage, never()).saveStream(anyString(), any(InputStream.class));
+    }
+
+    @Test
+    @DisplayName("Exported file is removed from the file storage after download")
+    public void removeResultAfterDownload() throws Exception {
+        exporter = createExporter(Duration.ofHours(1));
+        AllRecordsExportJob job = createJob(new TestWriter(-1));
+
+        exporter.submit(job);
+        awaitFinished(job);
+        FileRef result = job.getResult();
+        assertNotNull(result);
+
+        try (InputStream stream = exporter.createResultDataProvider(job).getStream()) {
+            assertEquals("1,2,3,4,5", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            verify(fileStorage, never()).removeFile(any());
+        }
+
+        assertTrue(job.isResultRemoved());
+        exporter.removeResult(job);
+        verify(fileStorage, times(1)).removeFile(result);
+    }
+
+    @Test
+    @DisplayName("Exported file which is not downloaded is removed when it expires")
+    public void removeExpiredResult() throws Exception {
+        exporter = createExporter(Duration.ofMillis(100));
+        AllRecordsExportJob job = createJob(new TestWriter(-1));
+
+        exporter.submit(job);
+        awaitFinished(job);
+        FileRef result = job.getResult();
+        assertNotNull(result);
+
+        verify(fileStorage, timeout(10_000)).removeFile(result);
+        assertTrue(job.isResultRemoved());
+    }
+
+    @Test
+    @DisplayName("Failed job which is not resumed is cancelled when the result expiration passes")
+    public void cancelExpiredFailedJob() throws Exception {
+        exporter = createExporter(Duration.ofMillis(100));
+        TestWriter writer = new TestWriter(2);
+        AllRecordsExportJob job = createJob(writer);
+
+        exporter.submit(job);
+        awaitFinished(job);
+        assertEquals(AllRecordsExportJob.Status.FAILED, job.getStatus());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!writer.disposed) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Failed export job is not cancelled in time");
+            }
+            Thread.sleep(10);
+        }
+
+        assertEquals(AllRecordsExportJob.Status.CANCELLED, job.getStatus());
+        assertTrue(exporter.getJobs().isEmpty());
+        assertThrows(IllegalStateException.class, () -> exporter.resume(job));
+    }
+
+    private TestExporter createExporter(Duration resultExpiration) {
+        when(dataManager.getCount(any(LoadContext.class))).thenReturn((long) ROW_COUNT);
+        when(dataManager.loadList(any(LoadContext.class))).thenAnswer(invocation -> {
+            LoadContext<?> loadContext = invocation.getArgument(0);
+            Object lastPk = loadContext.getQuery().getParameters().get("lastLoadedPkValue");
+            long first = lastPk == null ? 1 : (Long) lastPk + 1;
+            long last = Math.min(ROW_COUNT, first + loadContext.getQuery().getMaxResults() - 1);
+            return LongStream.rangeClosed(first, last)
+                    .mapToObj(id -> new TestEntity(id, "Row " + id))
+                    .collect(Collectors.toList());
+        });
+
+        when(fileStorage.saveStream(anyString(), any(InputStream.class))).thenAnswer(invocation -> {
+            FileRef fileRef = new FileRef("test", "file-" + savedFiles.size(), invocation.getArgument(0));
+            savedFiles.put(fileRef, ((InputStream) invocation.getArgument(1)).readAllBytes());
+            return fileRef;
+        });
+        when(fileStorage.openStream(any(FileRef.class))).thenAnswer(invocation ->
+                new ByteArrayInputStream(savedFiles.get((FileRef) invocation.getArgument(0))));
+
+        FileStorageLocator fileStorageLocator = mock(FileStorageLocator.class);
+        when(fileStorageLocator.getDefault()).thenReturn(fileStorage);
+        when(fileStorageLocator.getByName(anyString())).thenReturn(fileStorage);
+
+        CoreProperties coreProperties = mock(CoreProperties.class);
+        when(coreProperties.getTempDir()).thenReturn(tempDir.toString());
+
+        GridExportProperties gridExportProperties = new GridExportProperties(2,
+                new GridExportProperties.ExcelExporterProperties(false),
+                new GridExportProperties.AsyncExportProperties(true, 1, 10, 10, null, resultExpiration));
+
+        TestExporter exporter = new TestExporter(mock(MetadataTools.class), dataManager,
+                mock(PlatformTransactionManager.class), fileStorageLocator, coreProperties, gridExportProperties);
+        exporter.init();
+        return exporter;
+    }
+
+    private AllRecordsExportJob createJob(AllRecordsExportWriter writer) {
+        LoadContext<Object> loadContext = new LoadContext<>(mock(MetaClass.class));
+        loadContext.setQuery(new LoadContext.Query("select e from test_Entity e order by e.id"));
+        return new AllRecordsExportJob("export.txt", loadContext, writer);
+    }
+
+    private void awaitFinished(AllRecordsExportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (job.isActive()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Export job is not finished in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static class TestExporter extends AsyncAllRecordsExporter {
+
+        public TestExporter(MetadataTools metadataTools, DataManager dataManager,
+                            PlatformTransactionManager platformTransactionManager,
+                            FileStorageLocator fileStorageLocator, CoreProperties coreProperties,
+                            GridExportProperties gridExportProperties) {
+            super(metadataTools, dataManager, platformTransactionManager, fileStorageLocator, coreProperties,
+                    gridExportProperties);
+        }
+
+        @Override
+        public void init() {
+            super.init();
+        }
+
+        @Override
+        public void shutdown() {
+            super.shutdown();
+        }
+    }
+
+    /**
+     * Collects ids of written entities, fails once on the given id.
+     */
+    private static class TestWriter implements AllRecordsExportWriter {
+
+        final List<Long> ids = new CopyOnWriteArrayList<>();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        long failOnId;
+        long blockOnRow = -1;
+        volatile boolean disposed;
+
+        TestWriter(long failOnId) {
+            this.failOnId = failOnId;
+        }
+
+        @Override
+        public boolean write(Object entity) throws IOException {
+            long id = ((TestEntity) entity).getId();
+            if (id == failOnId) {
+                failOnId = -1;
+                throw new IOException("Failed to write row " + id);
+            }
+            ids.add(id);
+            if (ids.size() == blockOnRow) {
+                blocked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void finish(OutputStream outputStream) throws IOException {
+            outputStream.write(ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+}
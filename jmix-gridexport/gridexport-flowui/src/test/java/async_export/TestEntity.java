@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package async_export;
+
+import io.jmix.core.Entity;
+import io.jmix.core.EntityEntry;
+import io.jmix.core.entity.BaseEntityEntry;
+
+/**
+ * Entity with a fixed id, used instead of an enhanced entity class.
+ */
+public class TestEntity implements Entity {
+
+    private final long id;
+    private final String name;
+    private final EntityEntry entityEntry = new TestEntityEntry(this);
+
+    public TestEntity(long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public EntityEntry __getEntityEntry() {
+        return entityEntry;
+    }
+
+    private static class TestEntityEntry extends BaseEntityEntry {
+
+        public TestEntityEntry(Entity source) {
+            super(source);
+        }
+
+        @Override
+        public Object getEntityId() {
+            return ((TestEntity) getSource()).getId();
+        }
+
+        @Override
+        public void setEntityId(Object id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object getGeneratedIdOrNull() {
+            return getEntityId();
+        }
+
+        @Override
+        public void setGeneratedId(Object id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -19,6 +19,8 @@ package io.jmix.imap;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "jmix.imap")
 public class ImapProperties {
     boolean trustAllCertificates;
@@ -38,6 +40,35 @@ public class ImapProperties {
      */
     String imapSyncCron;
 
+    /**
+     * Whether folders are synchronized incrementally: new messages are fetched by UID range and, if the server
+     * supports CONDSTORE, changed flags are fetched since the HIGHESTMODSEQ saved by the previous synchronization.
+     * Folders without saved state or with changed UIDVALIDITY are reconciled in full.
+     */
+    boolean incrementalSync;
+
+    /**
+     * Maximum number of mailboxes synchronized concurrently.
+     */
+    int syncThreads;
+
+    /**
+     * Delay before the next synchronization of a mailbox after its synchronization has failed. The delay is doubled
+     * after each consecutive failure up to {@link #syncBackoffMaxDelay}.
+     */
+    Duration syncBackoffInitialDelay;
+
+    /**
+     * Maximum delay before the next synchronization of a mailbox which synchronization fails.
+     */
+    Duration syncBackoffMaxDelay;
+
+    /**
+     * How long a connected store is kept after synchronization of a mailbox to be reused by its next
+     * synchronization. Zero disables reuse of stores.
+     */
+    Duration storeIdleTimeout;
+
     public ImapProperties(@DefaultValue("false") boolean trustAllCertificates,
                           @DefaultValue("100") int updateBatchSize,
                           @DefaultValue("false") boolean clearCustomFlags,
@@ -45,7 +76,12 @@ public class ImapProperties {
                           @DefaultValue("5") int timeoutSeconds,
                           @DefaultValue("20") int eventsBatchSize,
                           @DefaultValue("0 * * * * ?") String imapSyncCron,
-                          @DefaultValue("true") boolean useDefaultQuartzConfiguration) {
+                          @DefaultValue("true") boolean useDefaultQuartzConfiguration,
+                          @DefaultValue("true") boolean incrementalSync,
+                          @DefaultValue("10") int syncThreads,
+                          @DefaultValue("1m") Duration syncBackoffInitialDelay,
+                          @DefaultValue("30m") Duration syncBackoffMaxDelay,
+                          @DefaultValue("10m") Duration storeIdleTimeout) {
         this.trustAllCertificates = trustAllCertificates;
         this.updateBatchSize = updateBatchSize;
         this.clearCustomFlags = clearCustomFlags;
@@ -54,6 +90,11 @@ public class ImapProperties {
         this.eventsBatchSize = eventsBatchSize;
         this.imapSyncCron = imapSyncCron;
         this.useDefaultQuartzConfiguration = useDefaultQuartzConfiguration;
+        this.incrementalSync = incrementalSync;
+        this.syncThreads = syncThreads;
+        this.syncBackoffInitialDelay = syncBackoffInitialDelay;
+        this.syncBackoffMaxDelay = syncBackoffMaxDelay;
+        this.storeIdleTimeout = storeIdleTimeout;
     }
 
     public boolean isTrustAllCertificates() {
@@ -93,4 +134,39 @@ public class ImapProperties {
     public String getImapSyncCron() {
         return imapSyncCron;
     }
-}
+
+    /**
+     * @see #incrementalSync
+     */
+    public boolean isIncrementalSync() {
+        return incrementalSync;
+    }
+
+    /**
+     * @see #syncThreads
+     */
+    public int getSyncThreads() {
+        return syncThreads;
+    }
+
+    /**
+     * @see #syncBackoffInitialDelay
+     */
+    public Duration getSyncBackoffInitialDelay() {
+        return syncBackoffInitialDelay;
+    }
+
+    /**
+     * @see #syncBackoffMaxDelay
+     */
+    public Duration getSyncBackoffMaxDelay() {
+        return syncBackoffMaxDelay;
+    }
+
+    /**
+     * @see #storeIdleTimeout
+     */
+    public Duration getStoreIdleTimeout() {
+        return storeIdleTimeout;
+    }
+}
\ No newline at end of file
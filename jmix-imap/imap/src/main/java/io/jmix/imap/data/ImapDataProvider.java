@@ -16,6 +16,7 @@
 
 package io.jmix.imap.data;
 
+import com.google.common.collect.Iterables;
 import io.jmix.core.DataManager;
 import io.jmix.core.FetchPlan;
 import io.jmix.core.FetchPlanRepository;
@@ -24,6 +25,7 @@ import io.jmix.imap.entity.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -86,6 +88,35 @@ public class ImapDataProvider {
                 .orElse(null);
     }
 
+    public long countMessages(ImapFolder imapFolder, long maxMessageUid) {
+        return dataManager.loadValue("select count(m) from imap_Message m where m.folder.id = :folderId " +
+                        "and m.msgUid <= :maxMessageUid", Long.class)
+                .parameter("folderId", imapFolder.getId())
+                .parameter("maxMessageUid", maxMessageUid)
+                .one();
+    }
+
+    public List<Long> findMessageUids(ImapFolder imapFolder, long maxMessageUid) {
+        return dataManager.loadValue("select m.msgUid from imap_Message m where m.folder.id = :folderId " +
+                        "and m.msgUid <= :maxMessageUid", Long.class)
+                .parameter("folderId", imapFolder.getId())
+                .parameter("maxMessageUid", maxMessageUid)
+                .list();
+    }
+
+    public List<ImapMessage> findMessagesByUids(ImapFolder mailFolder, Collection<Long> messageUids) {
+        List<ImapMessage> result = new ArrayList<>(messageUids.size());
+        for (List<Long> partition : Iterables.partition(messageUids, 1000)) {
+            result.addAll(dataManager.load(ImapMessage.class)
+                    .query("select m from imap_Message m where m.msgUid in :msgUids and m.folder.id = :mailFolderId")
+                    .parameter("mailFolderId", mailFolder.getId())
+                    .parameter("msgUids", partition)
+                    .fetchPlan("imap-msg-full")
+                    .list());
+        }
+        return result;
+    }
+
     @SuppressWarnings("UnusedReturnValue")
     public ImapMessage findMessageByUid(ImapFolder mailFolder, long messageUid) {
         return dataManager.load(ImapMessage.class)
@@ -16,6 +16,7 @@
 
 package io.jmix.imap.data;
 
+import com.google.common.collect.Iterables;
 import io.jmix.core.DataManager;
 import io.jmix.core.FluentLoader;
 import io.jmix.core.Metadata;
@@ -25,6 +26,7 @@ import io.jmix.imap.entity.ImapFolder;
 import io.jmix.imap.entity.ImapMessage;
 import io.jmix.imap.entity.ImapMessageSync;
 import io.jmix.imap.entity.ImapSyncStatus;
+import io.jmix.imap.sync.ImapFolderChanges;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -35,10 +37,7 @@ import org.springframework.util.CollectionUtils;
 import jakarta.mail.Flags;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import java.util.Collection;
-import java.util.Date;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -142,6 +141,43 @@ public class ImapMessageSyncDataProvider {
         });
     }
 
+    /**
+     * Creates syncs with the given status for the messages which have no syncs yet.
+     *
+     * @param messages messages with their new flags, flags may be null
+     * @return messages for which syncs are created
+     */
+    public List<ImapMessage> createSyncs(Map<ImapMessage, Flags> messages, ImapSyncStatus syncStatus) {
+        if (messages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return transaction.execute(transactionStatus -> {
+            List<ImapMessage> result = new ArrayList<>(messages.size());
+            for (List<ImapMessage> partition : Iterables.partition(messages.keySet(), 1000)) {
+                Set<UUID> syncedIds = new HashSet<>(entityManager.createQuery(
+                        "select ms.message.id from imap_MessageSync ms where ms.message.id in :msgIds", UUID.class)
+                        .setParameter("msgIds", partition.stream().map(ImapMessage::getId).collect(Collectors.toList()))
+                        .getResultList());
+                for (ImapMessage message : partition) {
+                    if (syncedIds.contains(message.getId())) {
+                        continue;
+                    }
+                    ImapMessageSync messageSync = metadata.create(ImapMessageSync.class);
+                    messageSync.setMessage(message);
+                    messageSync.setStatus(syncStatus);
+                    messageSync.setFolder(message.getFolder());
+                    Flags flags = messages.get(message);
+                    if (flags != null) {
+                        messageSync.setImapFlags(flags);
+                    }
+                    entityManager.persist(messageSync);
+                    result.add(message);
+                }
+            }
+            return result;
+        });
+    }
+
     public void updateSyncStatus(ImapMessage message,
                                  ImapSyncStatus syncStatus,
                                  ImapSyncStatus oldStatus,
@@ -205,4 +241,16 @@ public class ImapMessageSyncDataProvider {
                     .executeUpdate();
         });
     }
+
+    public void updateFolderSyncState(ImapFolder imapFolder, ImapFolderChanges.SyncState state) {
+        transaction.executeWithoutResult(transactionStatus -> {
+            entityManager.createQuery("update imap_Folder f set f.uidValidity = :uidValidity, " +
+                            "f.lastMessageUid = :lastMessageUid, f.highestModSeq = :highestModSeq where f.id = :folderId")
+                    .setParameter("uidValidity", state.getUidValidity())
+                    .setParameter("lastMessageUid", state.getLastUid())
+                    .setParameter("highestModSeq", state.getHighestModSeq())
+                    .setParameter("folderId", imapFolder.getId())
+                    .executeUpdate();
+        });
+    }
 }
@@ -102,6 +102,15 @@ public class ImapFolder {
     @JoinColumn(name = "PARENT_FOLDER_ID")
     protected ImapFolder parent;
 
+    @Column(name = "UID_VALIDITY")
+    protected Long uidValidity;
+
+    @Column(name = "LAST_MESSAGE_UID")
+    protected Long lastMessageUid;
+
+    @Column(name = "HIGHEST_MOD_SEQ")
+    protected Long highestModSeq;
+
     @Transient
     @JmixProperty
     protected Boolean unregistered = false;
@@ -241,6 +250,30 @@ public class ImapFolder {
         this.parent = parent;
     }
 
+    public Long getUidValidity() {
+        return uidValidity;
+    }
+
+    public void setUidValidity(Long uidValidity) {
+        this.uidValidity = uidValidity;
+    }
+
+    public Long getLastMessageUid() {
+        return lastMessageUid;
+    }
+
+    public void setLastMessageUid(Long lastMessageUid) {
+        this.lastMessageUid = lastMessageUid;
+    }
+
+    public Long getHighestModSeq() {
+        return highestModSeq;
+    }
+
+    public void setHighestModSeq(Long highestModSeq) {
+        this.highestModSeq = highestModSeq;
+    }
+
     public Boolean getUnregistered() {
         return unregistered;
     }
@@ -17,23 +17,32 @@
 package io.jmix.imap.impl;
 
 import com.sun.mail.imap.IMAPStore;
+import io.jmix.imap.ImapProperties;
 import io.jmix.imap.data.ImapDataProvider;
 import io.jmix.imap.entity.ImapMailBox;
 import io.jmix.imap.protocol.ThreadExtension;
+import io.jmix.imap.sync.ImapMailboxSyncActivationEvent;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.mail.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component("imap_ImapHelper")
 public class ImapHelper {
@@ -42,18 +51,132 @@ public class ImapHelper {
 
     protected final ConcurrentMap<UUID, Boolean> supportThreading = new ConcurrentHashMap<>();
 
+    protected final ConcurrentMap<UUID, IdleStore> idleStores = new ConcurrentHashMap<>();
+
+    // incremented when the mailbox configuration changes, so that stores built before the change are not reused
+    protected final ConcurrentMap<UUID, AtomicLong> configGenerations = new ConcurrentHashMap<>();
+
+    // configuration generation of the mailbox at the time the store was obtained by getStore
+    protected final Map<IMAPStore, Long> storeGenerations = Collections.synchronizedMap(new WeakHashMap<>());
+
     @Autowired
     protected ImapStoreBuilder imapStoreBuilder;
 
     @Autowired
     protected ImapDataProvider imapDataProvider;
 
+    @Autowired
+    protected ImapProperties imapProperties;
+
     public IMAPStore getStore(ImapMailBox box) throws MessagingException {
         log.debug("Accessing imap store for {}", box);
 
         String persistedPassword = imapDataProvider.getPersistedPassword(box);
-        return Objects.equals(box.getAuthentication().getPassword(), persistedPassword)
-                ? buildStore(box) : buildStore(box, box.getAuthentication().getPassword());
+        if (!Objects.equals(box.getAuthentication().getPassword(), persistedPassword)) {
+            return buildStore(box, box.getAuthentication().getPassword());
+        }
+
+        long generation = getConfigGeneration(box.getId()).get();
+        IMAPStore store = takeIdleStore(box);
+        if (store == null) {
+            store = buildStore(box);
+        }
+        storeGenerations.put(store, generation);
+        return store;
+    }
+
+    /**
+     * Keeps the connected store obtained by {@link #getStore(ImapMailBox)} to be returned by the next call for the
+     * same mailbox, or closes it if reuse of stores is disabled by {@link ImapProperties#getStoreIdleTimeout()}.
+     * Stores which stay idle longer than the timeout are closed by {@link #closeExpiredStores()}. A store obtained
+     * before the mailbox configuration changed, or built with a password which is not persisted, is closed.
+     */
+    public void releaseStore(ImapMailBox box, IMAPStore store) throws MessagingException {
+        Long generation = storeGenerations.remove(store);
+        AtomicLong currentGeneration = getConfigGeneration(box.getId());
+        if (imapProperties.getStoreIdleTimeout().isZero() || !store.isConnected()
+                || generation == null || generation != currentGeneration.get()) {
+            store.close();
+            return;
+        }
+        IdleStore idleStore = new IdleStore(store, generation);
+        IdleStore previous = idleStores.put(box.getId(), idleStore);
+        if (previous != null && previous.store != store) {
+            close(previous);
+        }
+        // the configuration could change while the store was being put
+        if (generation != currentGeneration.get() && idleStores.remove(box.getId(), idleStore)) {
+            close(idleStore);
+        }
+    }
+
+    /**
+     * Closes stores kept by {@link #releaseStore(ImapMailBox, IMAPStore)} which have been idle longer than
+     * {@link ImapProperties#getStoreIdleTimeout()}.
+     */
+    public void closeExpiredStores() {
+        idleStores.forEach((mailBoxId, idleStore) -> {
+            if (isExpired(idleStore) && idleStores.remove(mailBoxId, idleStore)) {
+                close(idleStore);
+            }
+        });
+    }
+
+    /**
+     * Closes the idle store of the mailbox and prevents reuse of its stores which are in use. The mailbox is
+     * deactivated before its changes are saved and activated after they are committed, so stores obtained
+     * in between are discarded too.
+     */
+    @EventListener
+    public void onMailboxSyncActivation(ImapMailboxSyncActivationEvent event) {
+        UUID mailBoxId = event.getMailBox().getId();
+        getConfigGeneration(mailBoxId).incrementAndGet();
+        IdleStore idleStore = idleStores.remove(mailBoxId);
+        if (idleStore != null) {
+            close(idleStore);
+        }
+    }
+
+    @PreDestroy
+    public void closeIdleStores() {
+        idleStores.keySet().forEach(mailBoxId -> {
+            IdleStore idleStore = idleStores.remove(mailBoxId);
+            if (idleStore != null) {
+                close(idleStore);
+            }
+        });
+    }
+
+    @Nullable
+    protected IMAPStore takeIdleStore(ImapMailBox box) {
+        IdleStore idleStore = idleStores.remove(box.getId());
+        if (idleStore == null) {
+            return null;
+        }
+        if (isExpired(idleStore) || !idleStore.store.isConnected()
+                || idleStore.generation != getConfigGeneration(box.getId()).get()) {
+            close(idleStore);
+            return null;
+        }
+        log.trace("Reusing connected imap store for {}", box);
+        return idleStore.store;
+    }
+
+    protected AtomicLong getConfigGeneration(UUID mailBoxId) {
+        return configGenerations.computeIfAbsent(mailBoxId, id -> new AtomicLong());
+    }
+
+    protected boolean isExpired(IdleStore idleStore) {
+        long idleTime = System.currentTimeMillis() - idleStore.releasedAt;
+        return idleTime >= imapProperties.getStoreIdleTimeout().toMillis();
+    }
+
+    protected void close(IdleStore idleStore) {
+        try {
+            idleStore.store.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing idle imap store", e);
+        }
     }
 
     public Flags jmixFlags(ImapMailBox mailBox) {
@@ -157,4 +280,15 @@ public class ImapHelper {
 
     protected static final Body EMPTY = new Body("", false);
 
+    protected static class IdleStore {
+        protected final IMAPStore store;
+        protected final long generation;
+        protected final long releasedAt = System.currentTimeMillis();
+
+        protected IdleStore(IMAPStore store, long generation) {
+            this.store = store;
+            this.generation = generation;
+        }
+    }
+
 }
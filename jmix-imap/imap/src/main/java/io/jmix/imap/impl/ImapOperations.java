@@ -196,7 +196,7 @@ public class ImapOperations {
         }
     }
 
-    protected List<IMAPMessage> fetch(IMAPFolder folder, ImapMailBox mailBox, Message[] messages) throws MessagingException {
+    public List<IMAPMessage> fetch(IMAPFolder folder, ImapMailBox mailBox, Message[] messages) throws MessagingException {
         return fetch(folder, headerProfile(mailBox), messages);
     }
 
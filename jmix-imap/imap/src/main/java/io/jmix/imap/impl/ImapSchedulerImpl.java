@@ -17,32 +17,62 @@
 package io.jmix.imap.impl;
 
 import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.imap.ImapProperties;
 import io.jmix.imap.ImapScheduler;
 import io.jmix.imap.data.ImapDataProvider;
 import io.jmix.imap.entity.ImapMailBox;
 import io.jmix.imap.sync.ImapFlaglessSynchronizer;
 import io.jmix.imap.sync.ImapSynchronizer;
 import io.jmix.imap.sync.events.ImapEvents;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.Nonnull;
-import java.util.HashMap;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
+/**
+ * Synchronizes mailboxes in a pool of at most {@link ImapProperties#getSyncThreads()} threads. {@link #syncImap()}
+ * only submits mailboxes to the pool and does not wait for their synchronization.
+ * <p>
+ * A mailbox is submitted at most once at a time: if its previous synchronization is still queued or running, the
+ * mailbox is skipped. Mailboxes are submitted in the order of their last synchronization, so that the least recently
+ * synchronized mailboxes are taken by free threads first. After a failed synchronization the mailbox is skipped for
+ * {@link ImapProperties#getSyncBackoffInitialDelay()}, doubled after each consecutive failure up to
+ * {@link ImapProperties#getSyncBackoffMaxDelay()}.
+ * <p>
+ * Metrics: {@code jmix.imap.sync.queue} - number of mailboxes waiting for a free thread,
+ * {@code jmix.imap.sync.duration} - duration of mailbox synchronization, {@code jmix.imap.sync.lag} - seconds since the
+ * last successful synchronization of a mailbox. The last two are tagged by the mailbox id.
+ */
 @Component("imap_ImapScheduler")
 public class ImapSchedulerImpl implements ImapScheduler {
 
     private final static Logger log = LoggerFactory.getLogger(ImapSchedulerImpl.class);
 
+    public static final String METRIC_NAME = "jmix.imap.sync";
+
     @Autowired
     protected ImapDataProvider imapDataProvider;
 
@@ -55,48 +85,145 @@ public class ImapSchedulerImpl implements ImapScheduler {
     @Autowired
     protected ImapSynchronizer imapSynchronizer;
 
+    @Autowired
+    protected ImapHelper imapHelper;
+
     @Autowired
     protected SystemAuthenticator authenticator;
 
-    protected final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
-        private final AtomicInteger threadNumber = new AtomicInteger(1);
+    @Autowired
+    protected ImapProperties imapProperties;
 
-        @Override
-        public Thread newThread(@Nonnull Runnable r) {
-            Thread thread = new Thread(
-                    r, "ImapMailBoxSync-" + threadNumber.getAndIncrement()
-            );
-            thread.setDaemon(true);
-            return thread;
-        }
-    });
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    protected ThreadPoolExecutor executor;
+
+    protected final Map<UUID, MailBoxState> states = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    protected void init() {
+        int threads = Math.max(imapProperties.getSyncThreads(), 1);
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                    @Override
+                    public Thread newThread(@Nonnull Runnable r) {
+                        Thread thread = new Thread(
+                                r, "ImapMailBoxSync-" + threadNumber.getAndIncrement()
+                        );
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder(METRIC_NAME + ".queue", executor, e -> e.getQueue().size())
+                .description("Number of mailboxes waiting for synchronization")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        executor.shutdownNow();
+    }
 
     @Override
     public void syncImap() {
         List<ImapMailBox> mailBoxes = imapDataProvider.findMailBoxes();
         log.trace("IMAP synchronization: found {} mailboxes", mailBoxes.size());
 
-        Map<ImapMailBox, Future> tasks = new HashMap<>(mailBoxes.size());
-        mailBoxes.forEach(mailBox -> {
-            tasks.put(mailBox, executor.submit(() -> {
-                authenticator.begin();
-                try {
-                    syncMailBox(mailBox);
-                } finally {
-                    authenticator.end();
-                }
-            }));
-        });
+        removeObsoleteStates(mailBoxes.stream().map(ImapMailBox::getId).collect(Collectors.toSet()));
+        imapHelper.closeExpiredStores();
 
-        tasks.keySet().forEach(mailBox -> {
+        long now = System.currentTimeMillis();
+        List<MailBoxState> toSubmit = new ArrayList<>();
+        Map<MailBoxState, ImapMailBox> stateMailBoxes = new LinkedHashMap<>(mailBoxes.size());
+        for (ImapMailBox mailBox : mailBoxes) {
+            MailBoxState state = states.computeIfAbsent(mailBox.getId(), this::createState);
+            if (state.nextAttemptTime > now) {
+                log.trace("Skip synchronization of mailbox {} until {}", mailBox, state.nextAttemptTime);
+                continue;
+            }
+            if (!state.scheduled.compareAndSet(false, true)) {
+                log.trace("Previous synchronization of mailbox {} is still in progress", mailBox);
+                continue;
+            }
+            toSubmit.add(state);
+            stateMailBoxes.put(state, mailBox);
+        }
+        toSubmit.sort(Comparator.comparingLong(state -> state.lastStartTime));
+
+        for (MailBoxState state : toSubmit) {
+            ImapMailBox mailBox = stateMailBoxes.get(state);
             try {
-                tasks.get(mailBox).get();
-            } catch (Exception e) {
-                log.error(String.format("Error on %s[%s] mailbox sync",
-                        mailBox.getName(), mailBox.getId()), e);
+                executor.execute(() -> runSync(mailBox, state));
+            } catch (RuntimeException e) {
+                state.scheduled.set(false);
+                throw e;
             }
-        });
+        }
+    }
 
+    protected void runSync(ImapMailBox mailBox, MailBoxState state) {
+        state.lastStartTime = System.currentTimeMillis();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        authenticator.begin();
+        try {
+            syncMailBox(mailBox);
+            state.lastSuccessTime = System.currentTimeMillis();
+            state.failures = 0;
+            state.nextAttemptTime = 0;
+        } catch (RuntimeException e) {
+            state.failures++;
+            Duration delay = getBackoffDelay(state.failures);
+            state.nextAttemptTime = System.currentTimeMillis() + delay.toMillis();
+            log.error(String.format("Error on %s[%s] mailbox sync, failed %d time(s) in a row, next attempt in %s",
+                    mailBox.getName(), mailBox.getId(), state.failures, delay), e);
+        } finally {
+            authenticator.end();
+            sample.stop(state.durationTimer);
+            state.scheduled.set(false);
+        }
+    }
+
+    protected Duration getBackoffDelay(int failures) {
+        Duration initialDelay = imapProperties.getSyncBackoffInitialDelay();
+        Duration maxDelay = imapProperties.getSyncBackoffMaxDelay();
+        int exponent = Math.min(failures - 1, 30);
+        Duration delay = initialDelay.multipliedBy(1L << exponent);
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+
+    protected MailBoxState createState(UUID mailBoxId) {
+        MailBoxState state = new MailBoxState();
+        String tag = mailBoxId.toString();
+        state.durationTimer = Timer.builder(METRIC_NAME + ".duration")
+                .description("Duration of mailbox synchronization")
+                .tag("mailbox", tag)
+                .register(meterRegistry);
+        state.lagGauge = Gauge.builder(METRIC_NAME + ".lag", state,
+                        s -> (System.currentTimeMillis() - s.lastSuccessTime) / 1000.0)
+                .description("Time since the last successful synchronization of a mailbox")
+                .baseUnit("seconds")
+                .tag("mailbox", tag)
+                .register(meterRegistry);
+        return state;
+    }
+
+    protected void removeObsoleteStates(Set<UUID> mailBoxIds) {
+        states.keySet().removeIf(mailBoxId -> {
+            if (mailBoxIds.contains(mailBoxId)) {
+                return false;
+            }
+            MailBoxState state = states.get(mailBoxId);
+            if (state != null) {
+                meterRegistry.remove(state.durationTimer);
+                meterRegistry.remove(state.lagGauge);
+            }
+            return true;
+        });
     }
 
     protected void syncMailBox(ImapMailBox mailBox) {
@@ -123,4 +250,14 @@ public class ImapSchedulerImpl implements ImapScheduler {
                         }
                 );
     }
+
+    protected static class MailBoxState {
+        protected final AtomicBoolean scheduled = new AtomicBoolean();
+        protected volatile long lastStartTime;
+        protected volatile long lastSuccessTime = System.currentTimeMillis();
+        protected volatile long nextAttemptTime;
+        protected volatile int failures;
+        protected Timer durationTimer;
+        protected Gauge lagGauge;
+    }
 }
@@ -58,4 +58,11 @@ public class ImapFlaglessSynchronizer extends ImapSynchronizer {
             }
         }
     }
+
+    @Override
+    protected void markNewMessages(ImapFolder jmixFolder,
+                                   IMAPFolder imapFolder,
+                                   List<IMAPMessage> imapMessages) {
+        // custom flags are not supported by the mailbox
+    }
 }
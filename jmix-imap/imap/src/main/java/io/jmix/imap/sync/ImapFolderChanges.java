@@ -0,0 +1,227 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.imap.sync;
+
+import com.sun.mail.imap.IMAPFolder;
+import com.sun.mail.imap.IMAPStore;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.UIDFolder;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Changes of an IMAP folder since the previous synchronization.
+ * <p>
+ * New messages are fetched by UID range above the last synchronized UID. If the server supports CONDSTORE
+ * (RFC 7162) and the previous state contains HIGHESTMODSEQ, messages with changed flags are fetched with
+ * CHANGEDSINCE modifier, and expunged messages are found by comparing UIDs of the folder with the known ones
+ * when the number of messages differs.
+ * <p>
+ * Changes can't be computed incrementally if there is no previous state or UIDVALIDITY of the folder has changed,
+ * the folder must be reconciled in full then.
+ */
+public class ImapFolderChanges {
+
+    public static final String CONDSTORE_CAPABILITY = "CONDSTORE";
+
+    protected final SyncState state;
+    protected final boolean incremental;
+    protected final List<Message> newMessages;
+    protected final boolean flagChangesFetched;
+    protected final List<Message> changedMessages;
+    protected final Set<Long> vanishedUids;
+
+    protected ImapFolderChanges(SyncState state,
+                                boolean incremental,
+                                List<Message> newMessages,
+                                boolean flagChangesFetched,
+                                List<Message> changedMessages,
+                                Set<Long> vanishedUids) {
+        this.state = state;
+        this.incremental = incremental;
+        this.newMessages = newMessages;
+        this.flagChangesFetched = flagChangesFetched;
+        this.changedMessages = changedMessages;
+        this.vanishedUids = vanishedUids;
+    }
+
+    /**
+     * @return true if the folder is opened in a store supporting CONDSTORE extension
+     */
+    public static boolean isCondStoreSupported(IMAPFolder folder) throws MessagingException {
+        return ((IMAPStore) folder.getStore()).hasCapability(CONDSTORE_CAPABILITY);
+    }
+
+    /**
+     * Fetches changes of the opened folder.
+     *
+     * @param folder            opened folder
+     * @param previous          state saved by the previous synchronization or null if the folder was never synchronized
+     * @param knownMessageCount supplies the number of known messages with UID not greater than the previous last UID
+     * @param knownUids         supplies UIDs of known messages not greater than the previous last UID, invoked only
+     *                          if the number of messages in the folder differs from the number of known ones
+     * @return changes of the folder
+     */
+    public static ImapFolderChanges fetch(IMAPFolder folder,
+                                          @Nullable SyncState previous,
+                                          LongSupplier knownMessageCount,
+                                          Supplier<Collection<Long>> knownUids) throws MessagingException {
+        long uidValidity = folder.getUIDValidity();
+        Long highestModSeq = null;
+        if (isCondStoreSupported(folder)) {
+            long modSeq = folder.getHighestModSeq();
+            // -1 if the server has not reported HIGHESTMODSEQ, e.g. because of NOMODSEQ mailbox
+            highestModSeq = modSeq > 0 ? modSeq : null;
+        }
+
+        if (previous == null || previous.getUidValidity() != uidValidity) {
+            SyncState state = new SyncState(uidValidity, getLastUid(folder), highestModSeq);
+            return new ImapFolderChanges(state, false,
+                    Collections.emptyList(), false, Collections.emptyList(), Collections.emptySet());
+        }
+
+        long lastUid = previous.getLastUid();
+        List<Message> newMessages = new ArrayList<>();
+        for (Message message : folder.getMessagesByUID(previous.getLastUid() + 1, UIDFolder.MAXUID)) {
+            // UID range with the last UID less than the start still returns the last message
+            if (message != null && folder.getUID(message) > previous.getLastUid()) {
+                newMessages.add(message);
+                lastUid = Math.max(lastUid, folder.getUID(message));
+            }
+        }
+
+        boolean flagChangesFetched = highestModSeq != null && previous.getHighestModSeq() != null;
+        List<Message> changedMessages = Collections.emptyList();
+        Set<Long> vanishedUids = Collections.emptySet();
+        if (flagChangesFetched) {
+            if (highestModSeq > previous.getHighestModSeq() && previous.getLastUid() > 0) {
+                changedMessages = nonNull(folder.getMessagesByUIDChangedSince(
+                        1, previous.getLastUid(), previous.getHighestModSeq()));
+            }
+            long existingCount = folder.getMessageCount() - newMessages.size();
+            if (existingCount != knownMessageCount.getAsLong()) {
+                vanishedUids = findVanishedUids(folder, previous.getLastUid(), knownUids.get());
+            }
+        }
+
+        SyncState state = new SyncState(uidValidity, lastUid, highestModSeq);
+        return new ImapFolderChanges(state, true, newMessages, flagChangesFetched, changedMessages, vanishedUids);
+    }
+
+    protected static long getLastUid(IMAPFolder folder) throws MessagingException {
+        int count = folder.getMessageCount();
+        return count > 0 ? folder.getUID(folder.getMessage(count)) : 0;
+    }
+
+    protected static Set<Long> findVanishedUids(IMAPFolder folder, long lastUid,
+                                                Collection<Long> knownUids) throws MessagingException {
+        Set<Long> vanishedUids = new HashSet<>(knownUids);
+        if (lastUid > 0) {
+            for (Message message : nonNull(folder.getMessagesByUID(1, lastUid))) {
+                vanishedUids.remove(folder.getUID(message));
+            }
+        }
+        return vanishedUids;
+    }
+
+    protected static List<Message> nonNull(Message[] messages) {
+        List<Message> result = new ArrayList<>(messages.length);
+        for (Message message : messages) {
+            if (message != null) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return state of the folder to be saved for the next synchronization
+     */
+    public SyncState getState() {
+        return state;
+    }
+
+    /**
+     * @return false if the changes can't be computed incrementally and the folder must be reconciled in full
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * @return messages with UID greater than the previous last UID, only UIDs of the messages are fetched
+     */
+    public List<Message> getNewMessages() {
+        return newMessages;
+    }
+
+    /**
+     * @return true if flag changes and expunged messages are known, otherwise the previously synchronized
+     * messages must be reconciled in full
+     */
+    public boolean isFlagChangesFetched() {
+        return flagChangesFetched;
+    }
+
+    /**
+     * @return previously synchronized messages which flags have changed, flags of the messages are fetched
+     */
+    public List<Message> getChangedMessages() {
+        return changedMessages;
+    }
+
+    /**
+     * @return UIDs of previously synchronized messages which are expunged from the folder
+     */
+    public Set<Long> getVanishedUids() {
+        return vanishedUids;
+    }
+
+    /**
+     * State of a folder saved between synchronizations.
+     */
+    public static class SyncState {
+
+        protected final long uidValidity;
+        protected final long lastUid;
+        protected final Long highestModSeq;
+
+        public SyncState(long uidValidity, long lastUid, @Nullable Long highestModSeq) {
+            this.uidValidity = uidValidity;
+            this.lastUid = lastUid;
+            this.highestModSeq = highestModSeq;
+        }
+
+        public long getUidValidity() {
+            return uidValidity;
+        }
+
+        public long getLastUid() {
+            return lastUid;
+        }
+
+        @Nullable
+        public Long getHighestModSeq() {
+            return highestModSeq;
+        }
+    }
+}
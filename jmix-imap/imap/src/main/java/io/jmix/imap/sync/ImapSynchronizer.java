@@ -16,9 +16,11 @@
 
 package io.jmix.imap.sync;
 
+import com.google.common.collect.Lists;
 import com.sun.mail.imap.IMAPFolder;
 import com.sun.mail.imap.IMAPMessage;
 import com.sun.mail.imap.IMAPStore;
+import com.sun.mail.imap.ResyncData;
 import io.jmix.core.Metadata;
 import io.jmix.core.TimeSource;
 import io.jmix.core.security.SystemAuthenticator;
@@ -37,6 +39,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -117,13 +120,17 @@ public class ImapSynchronizer {
                         imapMessageSyncDataProvider.removeOldSyncs(jmixFolder, tenMinutesAgo);
 
                         imapFolder = (IMAPFolder) store.getFolder(jmixFolder.getName());
-                        imapFolder.open(Folder.READ_WRITE);
+                        if (imapProperties.isIncrementalSync()) {
+                            synchronizeIncrementally(checkAnswers, missedMessages, jmixFolder, imapFolder);
+                        } else {
+                            imapFolder.open(Folder.READ_WRITE);
 
-                        //existing
-                        handleExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+                            //existing
+                            handleExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
 
-                        //new
-                        handleNewMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+                            //new
+                            handleNewMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+                        }
                     } catch (MessagingException e) {
                         log.warn("synchronization of folder " + jmixFolder.getName() + " of mailbox " + mailBox + " failed", e);
                     } finally {
@@ -139,7 +146,7 @@ public class ImapSynchronizer {
                 handleMissedMessages(mailBox, store, missedMessages);
 
             } finally {
-                store.close();
+                imapHelper.releaseStore(mailBox, store);
             }
         } catch (MessagingException e) {
             throw new ImapException(String.format("synchronization of mailBox#%s failed", imapMailBox.getId()), e);
@@ -150,6 +157,93 @@ public class ImapSynchronizer {
         }
     }
 
+    /**
+     * Synchronizes the folder using changes since the state saved by the previous synchronization,
+     * falling back to the full reconcile of existing and new messages when the changes are unknown.
+     *
+     * @see ImapFolderChanges
+     */
+    protected void synchronizeIncrementally(List<ImapMessage> checkAnswers,
+                                            List<ImapMessage> missedMessages,
+                                            ImapFolder jmixFolder,
+                                            IMAPFolder imapFolder) throws MessagingException {
+        if (ImapFolderChanges.isCondStoreSupported(imapFolder)) {
+            imapFolder.open(Folder.READ_WRITE, ResyncData.CONDSTORE);
+        } else {
+            imapFolder.open(Folder.READ_WRITE);
+        }
+
+        ImapFolderChanges.SyncState previousState = getSyncState(jmixFolder);
+        long previousLastUid = previousState != null ? previousState.getLastUid() : 0;
+        ImapFolderChanges changes = ImapFolderChanges.fetch(imapFolder, previousState,
+                () -> imapDataProvider.countMessages(jmixFolder, previousLastUid),
+                () -> imapDataProvider.findMessageUids(jmixFolder, previousLastUid));
+        log.trace("Synchronize folder '{}' incrementally: {}, flag changes fetched: {}",
+                jmixFolder.getName(), changes.isIncremental(), changes.isFlagChangesFetched());
+
+        //existing
+        if (changes.isFlagChangesFetched()) {
+            handleChangedMessages(checkAnswers, missedMessages, jmixFolder, imapFolder, changes);
+        } else {
+            handleExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+        }
+
+        //new
+        if (changes.isIncremental()) {
+            handleNewMessages(checkAnswers, jmixFolder, imapFolder, changes.getNewMessages());
+        } else {
+            handleNewMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+        }
+
+        imapMessageSyncDataProvider.updateFolderSyncState(jmixFolder, changes.getState());
+    }
+
+    @Nullable
+    protected ImapFolderChanges.SyncState getSyncState(ImapFolder folder) {
+        if (folder.getUidValidity() == null || folder.getLastMessageUid() == null) {
+            return null;
+        }
+        return new ImapFolderChanges.SyncState(
+                folder.getUidValidity(), folder.getLastMessageUid(), folder.getHighestModSeq());
+    }
+
+    protected void handleChangedMessages(List<ImapMessage> checkAnswers,
+                                         List<ImapMessage> missedMessages,
+                                         ImapFolder folder,
+                                         IMAPFolder imapFolder,
+                                         ImapFolderChanges changes) throws MessagingException {
+        log.trace("Handle {} changed and {} vanished messages for folder '{}'",
+                changes.getChangedMessages().size(), changes.getVanishedUids().size(), folder.getName());
+
+        Map<Long, Flags> changedFlags = new HashMap<>();
+        for (Message imapMessage : changes.getChangedMessages()) {
+            changedFlags.put(imapFolder.getUID(imapMessage), imapMessage.getFlags());
+        }
+        Map<ImapMessage, Flags> changedMessages = new LinkedHashMap<>();
+        for (ImapMessage message : imapDataProvider.findMessagesByUids(folder, changedFlags.keySet())) {
+            Flags flags = changedFlags.get(message.getMsgUid());
+            if (!flags.equals(message.getImapFlags())) {
+                changedMessages.put(message, flags);
+            }
+        }
+        for (ImapMessage message : imapMessageSyncDataProvider.createSyncs(changedMessages, ImapSyncStatus.REMAIN)) {
+            if (message.getReferenceId() != null) {
+                checkAnswers.add(message);
+            }
+        }
+
+        Map<ImapMessage, Flags> vanishedMessages = new LinkedHashMap<>();
+        for (ImapMessage message : imapDataProvider.findMessagesByUids(folder, changes.getVanishedUids())) {
+            vanishedMessages.put(message, null);
+        }
+        missedMessages.addAll(imapMessageSyncDataProvider.createSyncs(vanishedMessages, ImapSyncStatus.MISSED));
+
+        Date tenMinutesAgo = DateUtils.addMinutes(timeSource.currentTimestamp(), -10);
+        Date threeMinutesAgo = DateUtils.addMinutes(tenMinutesAgo, 7);
+        missedMessages.addAll(imapMessageSyncDataProvider.findMessagesWithSyncStatus(folder, ImapSyncStatus.MISSED,
+                tenMinutesAgo, threeMinutesAgo));
+    }
+
     protected void handleExistingMessages(List<ImapMessage> checkAnswers,
                                         List<ImapMessage> missedMessages,
                                         ImapFolder folder,
@@ -221,6 +315,50 @@ public class ImapSynchronizer {
         }
     }
 
+    protected void handleNewMessages(List<ImapMessage> checkAnswers,
+                                     ImapFolder jmixFolder,
+                                     IMAPFolder imapFolder,
+                                     List<Message> newMessages) throws MessagingException {
+        log.trace("Handle {} new messages for folder '{}'", newMessages.size(), jmixFolder.getName());
+        if (newMessages.isEmpty()) {
+            return;
+        }
+        List<IMAPMessage> imapMessages = imapOperations.fetch(
+                imapFolder,
+                jmixFolder.getMailBox(),
+                newMessages.toArray(new Message[0])
+        );
+        markNewMessages(jmixFolder, imapFolder, imapMessages);
+        for (ImapMessage jmixMessage : createMessages(imapMessages, jmixFolder)) {
+            if (jmixMessage.getReferenceId() != null) {
+                checkAnswers.add(jmixMessage);
+            }
+        }
+    }
+
+    /**
+     * Sets custom flags of the mailbox to new messages which don't have them yet.
+     */
+    protected void markNewMessages(ImapFolder jmixFolder,
+                                   IMAPFolder imapFolder,
+                                   List<IMAPMessage> imapMessages) throws MessagingException {
+        Flags jmixFlags = imapHelper.jmixFlags(jmixFolder.getMailBox());
+        List<Message> unmarked = new ArrayList<>();
+        for (IMAPMessage imapMessage : imapMessages) {
+            if (!imapMessage.getFlags().contains(jmixFlags)) {
+                if (imapProperties.isClearCustomFlags()) {
+                    log.trace("[{}]clear custom flags for message with uid {}",
+                            jmixFolder, imapFolder.getUID(imapMessage));
+                    unsetCustomFlags(imapMessage);
+                }
+                unmarked.add(imapMessage);
+            }
+        }
+        if (!unmarked.isEmpty()) {
+            imapFolder.setFlags(unmarked.toArray(new Message[0]), jmixFlags, true);
+        }
+    }
+
     protected void handleMissedMessages(ImapMailBox mailBox, IMAPStore store, List<ImapMessage> missedMessages) throws MessagingException {
         List<ImapMessage> foundMessages = new ArrayList<>();
         for (ImapFolder jmixFolder : mailBox.getProcessableFolders()) {
@@ -355,27 +493,67 @@ public class ImapSynchronizer {
                     .size();
             if (sameUIDs == 0) {
                 log.trace("Save new message {}", msg);
-                ImapMessage entity = metadata.create(ImapMessage.class);
-                try {
-                    imapOperations.map(entity, msg, jmixFolder);
-                } catch (MessagingException e) {
-                    throw new ImapException(e);
-                }
-                entityManager.persist(entity);
-
-                ImapMessageSync messageSync = metadata.create(ImapMessageSync.class);
-                messageSync.setMessage(entity);
-                messageSync.setStatus(ImapSyncStatus.ADDED);
-                messageSync.setFolder(jmixFolder);
-                entityManager.persist(messageSync);
-
-                return entity;
+                return persistMessage(msg, jmixFolder);
             }
 
             return null;
         });
     }
 
+    /**
+     * Saves the messages which are not saved yet, each batch of messages is saved in a separate transaction.
+     *
+     * @return saved messages
+     */
+    protected List<ImapMessage> createMessages(List<IMAPMessage> msgs,
+                                               ImapFolder jmixFolder) throws MessagingException {
+        List<ImapMessage> result = new ArrayList<>(msgs.size());
+        for (List<IMAPMessage> batch : Lists.partition(msgs, Math.max(imapProperties.getUpdateBatchSize(), 1))) {
+            Map<Long, IMAPMessage> batchByUid = new LinkedHashMap<>();
+            for (IMAPMessage msg : batch) {
+                batchByUid.put(((IMAPFolder) msg.getFolder()).getUID(msg), msg);
+            }
+            List<ImapMessage> created = transaction.execute(status -> {
+                List<Long> sameUIDs = entityManager.createQuery(
+                        "select m.msgUid from imap_Message m where m.msgUid in :uids and m.folder.id = :mailFolderId",
+                        Long.class)
+                        .setParameter("uids", new ArrayList<>(batchByUid.keySet()))
+                        .setParameter("mailFolderId", jmixFolder.getId())
+                        .getResultList();
+                sameUIDs.forEach(batchByUid::remove);
+
+                List<ImapMessage> entities = new ArrayList<>(batchByUid.size());
+                batchByUid.forEach((uid, msg) -> {
+                    log.debug("[{}]insert message with uid {} to db", jmixFolder, uid);
+                    entities.add(persistMessage(msg, jmixFolder));
+                });
+                return entities;
+            });
+            if (created != null) {
+                result.addAll(created);
+            }
+        }
+        return result;
+    }
+
+    protected ImapMessage persistMessage(IMAPMessage msg, ImapFolder jmixFolder) {
+        ImapMessage entity = metadata.create(ImapMessage.class);
+        try {
+            imapOperations.map(entity, msg, jmixFolder);
+        } catch (MessagingException e) {
+            throw new ImapException(e);
+        }
+        entityManager.persist(entity);
+
+        ImapMessageSync messageSync = metadata.create(ImapMessageSync.class);
+        messageSync.setMessage(entity);
+        messageSync.setStatus(ImapSyncStatus.ADDED);
+        messageSync.setFolder(jmixFolder);
+        entityManager.persist(messageSync);
+
+        return entity;
+    }
+
     protected void unsetCustomFlags(Message msg) throws MessagingException {
         Flags flags = new Flags();
         String[] userFlags = msg.getFlags().getUserFlags();
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package sync
+
+import com.icegreen.greenmail.user.GreenMailUser
+import com.icegreen.greenmail.util.GreenMail
+import com.icegreen.greenmail.util.ServerSetupTest
+import com.sun.mail.imap.IMAPFolder
+import io.jmix.imap.sync.ImapFolderChanges
+import jakarta.mail.Folder
+import jakarta.mail.Message
+import jakarta.mail.Session
+import jakarta.mail.Store
+import jakarta.mail.URLName
+import jakarta.mail.internet.InternetAddress
+import jakarta.mail.internet.MimeMessage
+import spock.lang.Specification
+
+class ImapFolderChangesTest extends Specification {
+
+    GreenMail greenMail
+    GreenMailUser user
+    Store store
+
+    void setup() {
+        greenMail = new GreenMail(ServerSetupTest.IMAP.dynamicPort())
+        greenMail.start()
+        user = greenMail.setUser('user@localhost', 'user', 'password')
+    }
+
+    void cleanup() {
+        store?.close()
+        greenMail.stop()
+    }
+
+    def "folder without previous state is reconciled in full"() {
+
+        deliver('1')
+        deliver('2')
+
+        when:
+
+        def folder = openInbox()
+        def changes = ImapFolderChanges.fetch(folder, null, { 0L }, { [] })
+
+        then:
+
+        !changes.incremental
+        changes.newMessages.isEmpty()
+        changes.state.uidValidity == folder.getUIDValidity()
+        changes.state.lastUid == folder.getUID(folder.getMessage(2))
+    }
+
+    def "new messages are fetched by UID range"() {
+
+        deliver('1')
+        deliver('2')
+        def state = ImapFolderChanges.fetch(openInbox(), null, { 0L }, { [] }).state
+
+        when:
+
+        deliver('3')
+        deliver('4')
+        def folder = openInbox()
+        def changes = ImapFolderChanges.fetch(folder, state, { 2L }, { [] })
+
+        then:
+
+        changes.incremental
+        changes.newMessages.collect { folder.getUID(it) } == [folder.getUID(folder.getMessage(3)),
+                                                              folder.getUID(folder.getMessage(4))]
+        changes.state.uidValidity == state.uidValidity
+        changes.state.lastUid == folder.getUID(folder.getMessage(4))
+
+        when:
+
+        def unchanged = ImapFolderChanges.fetch(openInbox(), changes.state, { 4L }, { [] })
+
+        then:
+
+        unchanged.incremental
+        unchanged.newMessages.isEmpty()
+        unchanged.state.lastUid == changes.state.lastUid
+    }
+
+    def "flag changes are fetched only if the server supports CONDSTORE"() {
+
+        deliver('1')
+        def state = ImapFolderChanges.fetch(openInbox(), null, { 0L }, { [] }).state
+
+        when:
+
+        def folder = openInbox()
+        def changes = ImapFolderChanges.fetch(folder, state, { 1L }, { [] })
+
+        then:
+
+        changes.flagChangesFetched == (ImapFolderChanges.isCondStoreSupported(folder) && state.highestModSeq != null)
+        changes.changedMessages.isEmpty()
+        changes.vanishedUids.isEmpty()
+    }
+
+    def "changed UIDVALIDITY requires full reconcile"() {
+
+        deliver('1')
+
+        when:
+
+        def folder = openInbox()
+        def state = new ImapFolderChanges.SyncState(folder.getUIDValidity() + 1, 0, null)
+        def changes = ImapFolderChanges.fetch(folder, state, { 0L }, { [] })
+
+        then:
+
+        !changes.incremental
+        changes.newMessages.isEmpty()
+        changes.state.uidValidity == folder.getUIDValidity()
+        changes.state.lastUid == folder.getUID(folder.getMessage(1))
+    }
+
+    private void deliver(String subject) {
+        MimeMessage message = new MimeMessage((Session) null)
+        message.from = new InternetAddress('sender@localhost')
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress('user@localhost'))
+        message.subject = subject
+        message.text = subject
+        user.deliver(message)
+    }
+
+    private IMAPFolder openInbox() {
+        store?.close()
+        def imap = greenMail.imap.serverSetup
+        store = Session.getInstance(new Properties())
+                .getStore(new URLName('imap', imap.bindAddress, imap.port, null, user.login, user.password))
+        store.connect()
+        IMAPFolder folder = (IMAPFolder) store.getFolder('INBOX')
+        folder.open(Folder.READ_WRITE)
+        return folder
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package sync
+
+import io.jmix.core.security.SystemAuthenticator
+import io.jmix.imap.ImapProperties
+import io.jmix.imap.data.ImapDataProvider
+import io.jmix.imap.entity.ImapMailBox
+import io.jmix.imap.impl.ImapHelper
+import io.jmix.imap.impl.ImapSchedulerImpl
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+class ImapSchedulerTest extends Specification {
+
+    ImapMailBox mailBox = new ImapMailBox(id: UUID.randomUUID(), name: 'test')
+    TestScheduler scheduler
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void setup() {
+        def properties = new ImapProperties(false, 100, false, false, 5, 20, '0 * * * * ?', true, true,
+                2, Duration.ofMillis(300), Duration.ofSeconds(1), Duration.ofMinutes(10))
+        def mailBoxes = [mailBox]
+
+        scheduler = new TestScheduler()
+        scheduler.imapProperties = properties
+        scheduler.imapDataProvider = new ImapDataProvider() {
+            @Override
+            List<ImapMailBox> findMailBoxes() {
+                return mailBoxes
+            }
+        }
+        scheduler.imapHelper = new ImapHelper(imapProperties: properties)
+        scheduler.authenticator = Stub(SystemAuthenticator)
+        scheduler.meterRegistry = new SimpleMeterRegistry()
+        scheduler.init()
+    }
+
+    void cleanup() {
+        scheduler.shutdown()
+    }
+
+    def "failed mailbox is skipped until backoff delay passes"() {
+        scheduler.failing = true
+
+        when:
+        scheduler.syncImap()
+
+        then:
+        conditions.eventually {
+            assert scheduler.attempts.get() == 1
+            assert !scheduler.states[mailBox.id].scheduled.get()
+        }
+        scheduler.states[mailBox.id].failures == 1
+
+        when:
+        scheduler.syncImap()
+
+        then:
+        scheduler.executor.taskCount == 1
+
+        when:
+        scheduler.failing = false
+        conditions.eventually {
+            assert System.currentTimeMillis() > scheduler.states[mailBox.id].nextAttemptTime
+        }
+        scheduler.syncImap()
+
+        then:
+        conditions.eventually {
+            assert scheduler.attempts.get() == 2
+            assert scheduler.states[mailBox.id].failures == 0
+        }
+    }
+
+    def "backoff delay doubles up to the maximum"() {
+        expect:
+        scheduler.getBackoffDelay(failures) == Duration.ofMillis(delay)
+
+        where:
+        failures | delay
+        1        | 300
+        2        | 600
+        3        | 1000
+        40       | 1000
+    }
+
+    def "mailbox is not submitted again while its synchronization is running"() {
+        scheduler.latch = new CountDownLatch(1)
+
+        when:
+        scheduler.syncImap()
+        conditions.eventually {
+            assert scheduler.attempts.get() == 1
+        }
+        scheduler.syncImap()
+
+        then:
+        scheduler.executor.taskCount == 1
+
+        when:
+        scheduler.latch.countDown()
+
+        then:
+        conditions.eventually {
+            assert !scheduler.states[mailBox.id].scheduled.get()
+        }
+        scheduler.attempts.get() == 1
+    }
+
+    static class TestScheduler extends ImapSchedulerImpl {
+
+        AtomicInteger attempts = new AtomicInteger()
+        volatile boolean failing
+        volatile CountDownLatch latch
+
+        @Override
+        protected void syncMailBox(ImapMailBox mailBox) {
+            attempts.incrementAndGet()
+            latch?.await()
+            if (failing) {
+                throw new RuntimeException('Mail server is not available')
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package sync
+
+import com.icegreen.greenmail.user.GreenMailUser
+import com.icegreen.greenmail.util.GreenMail
+import com.icegreen.greenmail.util.ServerSetupTest
+import com.sun.mail.imap.IMAPStore
+import io.jmix.imap.ImapProperties
+import io.jmix.imap.data.ImapDataProvider
+import io.jmix.imap.entity.ImapMailBox
+import io.jmix.imap.entity.ImapSimpleAuthentication
+import io.jmix.imap.impl.ImapHelper
+import io.jmix.imap.sync.ImapMailboxSyncActivationEvent
+import jakarta.mail.Session
+import jakarta.mail.URLName
+import spock.lang.Specification
+
+import java.time.Duration
+
+class ImapStoreReuseTest extends Specification {
+
+    GreenMail greenMail
+    GreenMailUser user
+    ImapMailBox mailBox
+    String persistedPassword = 'password'
+    TestImapHelper helper
+
+    void setup() {
+        greenMail = new GreenMail(ServerSetupTest.IMAP.dynamicPort())
+        greenMail.start()
+        user = greenMail.setUser('user@localhost', 'user', 'password')
+
+        mailBox = new ImapMailBox(id: UUID.randomUUID(), name: 'test',
+                authentication: new ImapSimpleAuthentication(username: 'user', password: 'password'))
+
+        helper = new TestImapHelper(greenMail: greenMail, user: user)
+        helper.imapProperties = new ImapProperties(false, 100, false, false, 5, 20, '0 * * * * ?', true, true,
+                2, Duration.ofMinutes(1), Duration.ofMinutes(30), Duration.ofMinutes(10))
+        helper.imapDataProvider = new ImapDataProvider() {
+            @Override
+            String getPersistedPassword(ImapMailBox box) {
+                return persistedPassword
+            }
+        }
+    }
+
+    void cleanup() {
+        helper.closeIdleStores()
+        greenMail.stop()
+    }
+
+    def "released store is reused for the same mailbox"() {
+        def store = helper.getStore(mailBox)
+
+        when:
+        helper.releaseStore(mailBox, store)
+        def reused = helper.getStore(mailBox)
+
+        then:
+        reused.is(store)
+        reused.connected
+        helper.builtStores == 1
+    }
+
+    def "idle store is closed when mailbox is deactivated"() {
+        def store = helper.getStore(mailBox)
+        helper.releaseStore(mailBox, store)
+
+        when:
+        helper.onMailboxSyncActivation(deactivation())
+        def next = helper.getStore(mailBox)
+
+        then:
+        !store.connected
+        !next.is(store)
+        helper.builtStores == 2
+    }
+
+    def "store obtained before mailbox change is closed on release"() {
+        def store = helper.getStore(mailBox)
+
+        when:
+        helper.onMailboxSyncActivation(deactivation())
+        helper.releaseStore(mailBox, store)
+        def next = helper.getStore(mailBox)
+
+        then:
+        !store.connected
+        !next.is(store)
+    }
+
+    def "store built with not persisted password is not reused"() {
+        persistedPassword = 'previous'
+        def store = helper.getStore(mailBox)
+
+        when:
+        helper.releaseStore(mailBox, store)
+
+        then:
+        !store.connected
+        helper.idleStores.isEmpty()
+    }
+
+    protected ImapMailboxSyncActivationEvent deactivation() {
+        new ImapMailboxSyncActivationEvent(mailBox, ImapMailboxSyncActivationEvent.Type.DEACTIVATE)
+    }
+
+    static class TestImapHelper extends ImapHelper {
+
+        GreenMail greenMail
+        GreenMailUser user
+        int builtStores
+
+        @Override
+        protected IMAPStore buildStore(ImapMailBox box) {
+            return connect()
+        }
+
+        @Override
+        protected IMAPStore buildStore(ImapMailBox box, String password) {
+            return connect()
+        }
+
+        protected IMAPStore connect() {
+            builtStores++
+            def imap = greenMail.imap.serverSetup
+            def store = (IMAPStore) Session.getInstance(new Properties())
+                    .getStore(new URLName('imap', imap.bindAddress, imap.port, null, user.login, user.password))
+            store.connect()
+            return store
+        }
+    }
+}
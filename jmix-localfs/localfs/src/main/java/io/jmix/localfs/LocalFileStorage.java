@@ -39,6 +39,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -50,6 +52,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
 
 @Internal
 @Component("locfs_FileStorage")
@@ -207,6 +210,51 @@ public class LocalFileStorage implements FileStorage {
 
     @Override
     public InputStream openStream(FileRef reference) {
+        Path path = findFile(reference);
+        try {
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            log.error("Error opening input stream for " + path, e);
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.toString(), e);
+        }
+    }
+
+    @Override
+    public long getFileSize(FileRef reference) {
+        Path path = findFile(reference);
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.toString(), e);
+        }
+    }
+
+    /**
+     * Writes a part of the file using {@link FileChannel#transferTo(long, long, WritableByteChannel)}, so the
+     * file contents is not copied to the heap when the target channel supports direct transfer.
+     */
+    @Override
+    public void transferTo(FileRef reference, long position, long count, WritableByteChannel target) {
+        Path path = findFile(reference);
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            long end = Math.min(position + count, channel.size());
+            long current = position;
+            while (current < end) {
+                long transferred = channel.transferTo(current, end - current, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                current += transferred;
+            }
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.toString(), e);
+        }
+    }
+
+    /**
+     * Returns the first existing replica of the file in the storage roots.
+     */
+    protected Path findFile(FileRef reference) {
         Path relativePath = getRelativePath(reference.getPath());
 
         Path[] roots = getStorageRoots();
@@ -215,27 +263,14 @@ public class LocalFileStorage implements FileStorage {
             throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString());
         }
 
-        InputStream inputStream = null;
         for (Path root : roots) {
             Path path = root.resolve(relativePath);
-
-            if (!path.toFile().exists()) {
-                log.error("File " + path + " not found");
-                continue;
-            }
-
-            try {
-                inputStream = Files.newInputStream(path);
-            } catch (IOException e) {
-                log.error("Error opening input stream for " + path, e);
+            if (Files.isReadable(path)) {
+                return path;
             }
+            log.error("File " + path + " not found");
         }
-
-        if (inputStream != null) {
-            return inputStream;
-        } else {
-            throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString());
-        }
+        throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString());
     }
 
     @Override
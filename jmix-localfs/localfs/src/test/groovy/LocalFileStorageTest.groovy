@@ -26,6 +26,8 @@ import spock.lang.Specification
 import test_support.LocalFileStorageTestConfiguration
 import test_support.TestContextInititalizer
 
+import java.nio.channels.Channels
+
 @ContextConfiguration(
         classes = [CoreConfiguration, LocalFileStorageConfiguration, LocalFileStorageTestConfiguration],
         initializers = [TestContextInititalizer]
@@ -47,6 +49,22 @@ class LocalFileStorageTest extends Specification {
         fileStorage.removeFile(fileRef)
     }
 
+    def "transfer part of the file"() {
+        byte[] a = 'Test output'.getBytes()
+        FileRef fileRef = fileStorage.saveStream("test.txt", new ByteArrayInputStream(a))
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        fileStorage.transferTo(fileRef, 5, 100, Channels.newChannel(outputStream))
+
+        then:
+        fileStorage.getFileSize(fileRef) == a.length
+        outputStream.toString() == 'output'
+
+        cleanup:
+        fileStorage.removeFile(fileRef)
+    }
+
     def "FileRef format"() {
         when: "FileRef as URI string"
         def fileRefString = 'fs://2021/01/25/60680137-5d4a-69a0-999e-526acf141308.png?name=1.txt&testParam=foo'
@@ -61,7 +61,7 @@ public class ReportsConfiguration {
 
     @Bean("report_Scripting")
     public Scripting scripting() {
-        return new JmixReportingScripting();
+        return new JmixReportingScripting(reportsProperties.getGroovyScriptCacheSize());
     }
 
     @Bean("report_Reporting")
@@ -76,6 +76,7 @@ public class ReportsConfiguration {
         jmixReporting.setDataExtractor(dataExtractor);
         jmixReporting.setObjectToStringConverter(converter);
         jmixReporting.setScripting(scripting);
+        jmixReporting.setStreamingBandsEnabled(reportsProperties.isStreamingBandsEnabled());
         return jmixReporting;
     }
 
@@ -144,6 +144,20 @@ public class ReportsProperties {
      */
     boolean formulasPostProcessingEvaluationEnabled;
 
+    /**
+     * Maximum number of compiled Groovy scripts (band datasets, field formats, parameter validators) kept for reuse.
+     * Scripts are cached only if the application script evaluator is the standard {@code GroovyScriptEvaluator},
+     * otherwise the evaluator compiles them on each evaluation. Value == 0 disables caching.
+     */
+    int groovyScriptCacheSize;
+
+    /**
+     * If enabled - rows of flat first-level bands loaded by a single SQL or JPQL dataset are read while CSV and XLSX
+     * documents are written, instead of loading them into memory before formatting. XLSX bands are streamed only if
+     * the band is the last one-row horizontal band on its sheet, otherwise they are loaded as usual.
+     */
+    boolean streamingBandsEnabled;
+
     public ReportsProperties(@DefaultValue("/") String officePath,
                              @DefaultValue({"8100", "8101", "8102", "8103"}) List<Integer> officePorts,
                              @DefaultValue("20") int docFormatterTimeout,
@@ -166,7 +180,9 @@ public class ReportsProperties {
                              @DefaultValue("1000") int historyCleanupMaxItemsPerReport,
                              @DefaultValue("3") int countOfRetry,
                              @DefaultValue("false") boolean useOfficeForDocumentConversion,
-                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled) {
+                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled,
+                             @DefaultValue("1000") int groovyScriptCacheSize,
+                             @DefaultValue("false") boolean streamingBandsEnabled) {
         this.officePath = officePath;
         this.officePorts = officePorts;
         this.docFormatterTimeout = docFormatterTimeout;
@@ -190,6 +206,8 @@ public class ReportsProperties {
         this.countOfRetry = countOfRetry;
         this.useOfficeForDocumentConversion = useOfficeForDocumentConversion;
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
+        this.groovyScriptCacheSize = groovyScriptCacheSize;
+        this.streamingBandsEnabled = streamingBandsEnabled;
     }
 
     /**
@@ -343,4 +361,18 @@ public class ReportsProperties {
     public boolean isFormulasPostProcessingEvaluationEnabled() {
         return formulasPostProcessingEvaluationEnabled;
     }
-}
\ No newline at end of file
+
+    /**
+     * @see #groovyScriptCacheSize
+     */
+    public int getGroovyScriptCacheSize() {
+        return groovyScriptCacheSize;
+    }
+
+    /**
+     * @see #streamingBandsEnabled
+     */
+    public boolean isStreamingBandsEnabled() {
+        return streamingBandsEnabled;
+    }
+}
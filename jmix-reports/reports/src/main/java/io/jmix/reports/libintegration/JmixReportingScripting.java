@@ -16,22 +16,67 @@
 
 package io.jmix.reports.libintegration;
 
+import io.jmix.reports.yarg.util.groovy.DefaultScriptingImpl;
 import io.jmix.reports.yarg.util.groovy.Scripting;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scripting.ScriptEvaluator;
+import org.springframework.scripting.groovy.GroovyScriptEvaluator;
 import org.springframework.scripting.support.StaticScriptSource;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.lang.Nullable;
 import java.util.Map;
 
+/**
+ * Evaluates report scripts by the application {@link ScriptEvaluator}.
+ * <p>
+ * If the evaluator is the standard {@link GroovyScriptEvaluator}, compiled scripts are kept in a cache of
+ * {@link io.jmix.reports.ReportsProperties#getGroovyScriptCacheSize()} size and are compiled with the compiler
+ * configuration of the evaluator. Customized evaluators evaluate every script themselves.
+ */
 public class JmixReportingScripting implements Scripting {
 
     @Autowired
-    private ScriptEvaluator scriptEvaluator;
+    protected ScriptEvaluator scriptEvaluator;
+
+    protected final int cacheSize;
+    protected DefaultScriptingImpl cachingScripting;
+
+    public JmixReportingScripting() {
+        this(0);
+    }
+
+    /**
+     * @param cacheSize maximum number of compiled scripts to keep, 0 disables caching
+     */
+    public JmixReportingScripting(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @PostConstruct
+    protected void init() {
+        // subclasses of the standard evaluator can change the evaluation, so they are not bypassed
+        if (cacheSize > 0 && scriptEvaluator.getClass() == GroovyScriptEvaluator.class) {
+            cachingScripting = new DefaultScriptingImpl(cacheSize);
+            cachingScripting.setCompilerConfiguration(
+                    ((GroovyScriptEvaluator) scriptEvaluator).getCompilerConfiguration());
+        }
+    }
 
     @Override
     @Nullable
     public <T> T evaluateGroovy(String s, Map<String, Object> stringObjectMap) {
+        if (cachingScripting != null) {
+            return cachingScripting.evaluateGroovy(s, stringObjectMap);
+        }
         return (T) scriptEvaluator.evaluate(new StaticScriptSource(s), stringObjectMap);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return scripting that keeps compiled scripts or null if scripts are not cached
+     */
+    @Nullable
+    public DefaultScriptingImpl getCachingScripting() {
+        return cachingScripting;
+    }
+}
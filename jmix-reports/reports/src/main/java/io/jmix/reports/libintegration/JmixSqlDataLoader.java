@@ -17,15 +17,11 @@
 package io.jmix.reports.libintegration;
 
 import io.jmix.reports.yarg.loaders.impl.SqlDataLoader;
-import io.jmix.reports.yarg.util.db.QueryRunner;
-import io.jmix.reports.yarg.util.db.ResultSetHandler;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import io.jmix.data.StoreAwareLocator;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.sql.DataSource;
-import java.sql.SQLException;
-import java.util.List;
 
 public class JmixSqlDataLoader extends SqlDataLoader {
 
@@ -37,8 +33,7 @@ public class JmixSqlDataLoader extends SqlDataLoader {
     }
 
     @Override
-    protected List runQuery(ReportQuery reportQuery, String queryString, Object[] params, ResultSetHandler<List> handler) throws SQLException {
-        QueryRunner runner = new QueryRunner(storeAwareLocator.getDataSource(StoreUtils.getStoreName(reportQuery)));
-        return runner.query(queryString, params, handler);
+    protected DataSource getDataSource(ReportQuery reportQuery) {
+        return storeAwareLocator.getDataSource(StoreUtils.getStoreName(reportQuery));
     }
 }
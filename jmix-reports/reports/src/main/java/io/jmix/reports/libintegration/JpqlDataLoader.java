@@ -17,12 +17,13 @@
 package io.jmix.reports.libintegration;
 
 import io.jmix.reports.yarg.exception.DataLoadingException;
-import io.jmix.reports.yarg.loaders.ReportDataLoader;
+import io.jmix.reports.yarg.loaders.StreamingReportDataLoader;
 import io.jmix.reports.yarg.loaders.impl.AbstractDbDataLoader;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import io.jmix.core.*;
 import io.jmix.data.StoreAwareLocator;
+import io.jmix.eclipselink.impl.JmixEclipseLinkQuery;
 import io.jmix.reports.app.EntityMap;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -37,10 +38,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class JpqlDataLoader extends AbstractDbDataLoader implements ReportDataLoader {
+public class JpqlDataLoader extends AbstractDbDataLoader implements StreamingReportDataLoader {
 
     @Autowired
     protected TransactionTemplate transaction;
@@ -54,6 +56,8 @@ public class JpqlDataLoader extends AbstractDbDataLoader implements ReportDataLo
     @Autowired
     protected StoreAwareLocator storeAwareLocator;
 
+    protected int streamingChunkSize = 1000;
+
     private static final String QUERY_END = "%%END%%";
     private static final String ALIAS_PATTERN = "as\\s+\"?([\\w|\\d|_|\\.]+)\"?\\s*";
     private static final Pattern OUTPUT_PARAMS_PATTERN =
@@ -103,6 +107,63 @@ public class JpqlDataLoader extends AbstractDbDataLoader implements ReportDataLo
         }
     }
 
+    /**
+     * Reads the query results with a forward-only cursor in chunks of {@link #setStreamingChunkSize(int)} rows,
+     * clearing the persistence context after each chunk. The query is executed in a transaction, so the cursor
+     * is opened on the transactional connection and drivers like PostgreSQL fetch rows by portions.
+     */
+    @Override
+    public void loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params,
+                         Consumer<Map<String, Object>> rowConsumer) {
+        String storeName = StoreUtils.getStoreName(reportQuery);
+        String query = reportQuery.getScript();
+        if (StringUtils.isBlank(query)) {
+            return;
+        }
+        try {
+            if (Boolean.TRUE.equals(reportQuery.getProcessTemplate())) {
+                query = processQueryTemplate(query, parentBand, params);
+            }
+
+            List<OutputValue> outputParameters = parseQueryOutputParametersNames(query);
+
+            query = query.replaceAll("(?i)" + ALIAS_PATTERN + ",", ",");//replaces [as alias_name], entries except last
+            query = query.replaceAll("(?i)" + ALIAS_PATTERN, " ");//replaces last [as alias_name] entry
+
+            String queryString = query;
+            storeAwareLocator.getTransactionTemplate(storeName).executeWithoutResult(transactionStatus -> {
+                Query select = insertParameters(trimQuery(queryString), storeName, parentBand, params);
+                if (select instanceof JmixEclipseLinkQuery<?> scrollableQuery) {
+                    EntityManager entityManager = storeAwareLocator.getEntityManager(storeName);
+                    scrollableQuery.scrollResultList(streamingChunkSize, chunk -> {
+                        for (Object row : chunk) {
+                            rowConsumer.accept(wrapResultRow(row, outputParameters));
+                        }
+                        entityManager.clear();
+                        return true;
+                    });
+                } else {
+                    for (Object row : select.getResultList()) {
+                        rowConsumer.accept(wrapResultRow(row, outputParameters));
+                    }
+                }
+            });
+        } catch (Throwable e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for data set [%s]", reportQuery.getName()), e);
+        }
+    }
+
+    protected Map<String, Object> wrapResultRow(Object row, List<OutputValue> outputParameters) {
+        if (row instanceof Entity) {
+            return new EntityMap((Entity) row, beanFactory);
+        }
+        return fillOutputData(Collections.singletonList(row), outputParameters).get(0);
+    }
+
+    public void setStreamingChunkSize(int streamingChunkSize) {
+        this.streamingChunkSize = streamingChunkSize;
+    }
+
     @Nullable
     protected List executeQuery(BandData parentBand, Map<String, Object> params, String storeName, String query) {
         return storeAwareLocator.getTransactionTemplate(storeName).execute(transactionStatus -> {
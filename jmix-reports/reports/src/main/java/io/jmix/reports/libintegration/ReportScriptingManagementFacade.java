@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.reports.libintegration;
+
+import com.google.common.cache.CacheStats;
+import io.jmix.reports.yarg.util.groovy.DefaultScriptingImpl;
+import io.jmix.reports.yarg.util.groovy.Scripting;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@ManagedResource(description = "Shows statistics of compiled report scripts cache", objectName = "jmix.reports:type=ReportScripting")
+@Component("report_ReportScriptingManagementFacade")
+public class ReportScriptingManagementFacade {
+    @Autowired
+    protected Scripting scripting;
+
+    @ManagedAttribute(description = "Number of compiled scripts in the cache")
+    public Long getCachedScriptsCount() {
+        return getCachingScripting() != null ? getCachingScripting().getCachedScriptsCount() : 0L;
+    }
+
+    @ManagedAttribute(description = "Number of script evaluations that used a cached compiled script")
+    public Long getHitCount() {
+        return getStats().hitCount();
+    }
+
+    @ManagedAttribute(description = "Number of script compilations")
+    public Long getCompileCount() {
+        return getStats().missCount();
+    }
+
+    @ManagedAttribute(description = "Number of compiled scripts evicted from the cache")
+    public Long getEvictionCount() {
+        return getStats().evictionCount();
+    }
+
+    @ManagedAttribute(description = "Ratio of script evaluations that used a cached compiled script")
+    public Double getHitRate() {
+        return getStats().hitRate();
+    }
+
+    @ManagedAttribute(description = "Average script compilation time in milliseconds")
+    public Double getAverageCompileTimeMs() {
+        return getStats().averageLoadPenalty() / 1_000_000;
+    }
+
+    @ManagedOperation(description = "Removes all compiled scripts from the cache")
+    public void clearCache() {
+        if (getCachingScripting() != null) {
+            getCachingScripting().clearCache();
+        }
+    }
+
+    protected CacheStats getStats() {
+        return getCachingScripting() != null ? getCachingScripting().getStats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    @Nullable
+    protected DefaultScriptingImpl getCachingScripting() {
+        if (scripting instanceof JmixReportingScripting) {
+            return ((JmixReportingScripting) scripting).getCachingScripting();
+        }
+        return scripting instanceof DefaultScriptingImpl ? (DefaultScriptingImpl) scripting : null;
+    }
+}
@@ -29,4 +29,13 @@ public interface ReportFormatter {
      * Creates document and serializes it to predefined stream (or something like this)
      */
     void renderDocument();
+
+    /**
+     * Returns true if the formatter reads rows of {@link io.jmix.reports.yarg.structure.StreamingBand}s of the root
+     * band by itself while the document is written. Otherwise, the rows are loaded into the band tree before
+     * the document is rendered.
+     */
+    default boolean isStreamingBandsSupported() {
+        return false;
+    }
 }
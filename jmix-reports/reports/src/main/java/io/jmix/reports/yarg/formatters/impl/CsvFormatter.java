@@ -22,6 +22,7 @@ import io.jmix.reports.yarg.exception.UnsupportedFormatException;
 import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportOutputType;
+import io.jmix.reports.yarg.structure.StreamingBand;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -43,6 +44,11 @@ public class CsvFormatter extends AbstractFormatter {
         readTemplateData();
     }
 
+    @Override
+    public boolean isStreamingBandsSupported() {
+        return true;
+    }
+
     @Override
     public void renderDocument() {
         if (ReportOutputType.csv.equals(outputType)) {
@@ -54,20 +60,17 @@ public class CsvFormatter extends AbstractFormatter {
 
     protected void writeCsvDocument(BandData rootBand, OutputStream outputStream) {
         try {
-            List<BandData> actualData = getActualData(rootBand);
-            CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), separator,
+            CSVWriter writer = new CSVWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)), separator,
                     CSVWriter.DEFAULT_QUOTE_CHARACTER, CSVWriter.DEFAULT_ESCAPE_CHARACTER, CSVWriter.DEFAULT_LINE_END);
 
             writer.writeNext(header);
 
-            for (BandData row : actualData) {
-                String[] entries = new String[parametersToInsert.size()];
-                for (int i = 0; i < parametersToInsert.size(); i++) {
-                    String parameterName = parametersToInsert.get(i);
-                    String fullParameterName = row.getName() + "." + parameterName;
-                    entries[i] = formatValue(row.getData().get(parameterName), parameterName, fullParameterName);
+            if (rootBand.getStreamingBands().isEmpty()) {
+                for (BandData row : getActualData(rootBand)) {
+                    writeRow(writer, row);
                 }
-                writer.writeNext(entries);
+            } else {
+                writeStreamingData(writer, rootBand);
             }
 
             writer.close();
@@ -76,6 +79,41 @@ public class CsvFormatter extends AbstractFormatter {
         }
     }
 
+    /**
+     * Writes rows of first-level bands in the order of band definitions, rows of streaming bands are written
+     * as they are read from the data source.
+     */
+    protected void writeStreamingData(CSVWriter writer, BandData rootBand) {
+        Map<String, StreamingBand> streamingBands = rootBand.getStreamingBands();
+        for (Map.Entry<String, List<BandData>> entry : rootBand.getChildrenBands().entrySet()) {
+            StreamingBand streamingBand = streamingBands.get(entry.getKey());
+            if (streamingBand != null) {
+                streamingBand.forEachRow(row -> {
+                    checkThreadInterrupted();
+                    if (row.getData() != null && !row.getData().isEmpty()) {
+                        writeRow(writer, row);
+                    }
+                });
+            } else {
+                for (BandData row : entry.getValue()) {
+                    if (row.getData() != null && !row.getData().isEmpty()) {
+                        writeRow(writer, row);
+                    }
+                }
+            }
+        }
+    }
+
+    protected void writeRow(CSVWriter writer, BandData row) {
+        String[] entries = new String[parametersToInsert.size()];
+        for (int i = 0; i < parametersToInsert.size(); i++) {
+            String parameterName = parametersToInsert.get(i);
+            String fullParameterName = row.getName() + "." + parameterName;
+            entries[i] = formatValue(row.getData().get(parameterName), parameterName, fullParameterName);
+        }
+        writer.writeNext(entries);
+    }
+
     protected List<BandData> getActualData(BandData rootBand) {
         List<BandData> resultData = new ArrayList<>();
         Map<String, List<BandData>> childrenBands = rootBand.getChildrenBands();
@@ -27,6 +27,7 @@ import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.BandOrientation;
 import io.jmix.reports.yarg.structure.BandVisitor;
 import io.jmix.reports.yarg.structure.ReportOutputType;
+import io.jmix.reports.yarg.structure.StreamingBand;
 import io.jmix.reports.yarg.util.docx4j.XmlCopyUtils;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
@@ -34,6 +35,8 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.docx4j.XmlUtils;
@@ -68,6 +71,8 @@ public class XlsxFormatter extends AbstractFormatter {
     private static final String TRUE_AS_STRING = "1";
     private static final String FALSE_AS_STRING = "0";
 
+    protected static final int STREAMING_ROW_ACCESS_WINDOW = 100;
+
     protected DocumentConverter documentConverter;
     protected Document template;
     protected Document result;
@@ -88,6 +93,8 @@ public class XlsxFormatter extends AbstractFormatter {
 
     protected boolean formulasPostProcessingEvaluationEnabled = false;
 
+    protected Map<String, Range> streamingBandRanges = Collections.emptyMap();
+
     protected Unmarshaller unmarshaller;
     protected Marshaller marshaller;
 
@@ -104,17 +111,30 @@ public class XlsxFormatter extends AbstractFormatter {
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
     }
 
+    @Override
+    public boolean isStreamingBandsSupported() {
+        return true;
+    }
+
     @Override
     public void renderDocument() {
         init();
 
         validateTemplateContainsNamedRange();
 
+        streamingBandRanges = findStreamingBandRanges();
+        if (streamingBandRanges == null) {
+            streamingBandRanges = Collections.emptyMap();
+            rootBand.loadStreamingBands();
+        }
+
         hintProcessor.init(template, result);
         findVerticalDependencies();
 
         result.clearWorkbook();
         result.clearBandDefinedNames(rootBand);
+        result.getWorkbook().getDefinedNames().getDefinedName()
+                .removeIf(definedName -> streamingBandRanges.containsKey(definedName.getName()));
 
         for (BandData childBand : rootBand.getChildrenList()) {
             checkThreadInterrupted();
@@ -168,7 +188,11 @@ public class XlsxFormatter extends AbstractFormatter {
                 }
 
                 if (ReportOutputType.xlsx.equals(outputType)) {
-                    outputStream.write(intermediateBos.toByteArray());
+                    if (streamingBandRanges.isEmpty()) {
+                        outputStream.write(intermediateBos.toByteArray());
+                    } else {
+                        writeStreamingBands(intermediateBos.toByteArray());
+                    }
                     outputStream.flush();
                 } else if (ReportOutputType.pdf.equals(outputType)) {
                     if (documentConverter != null) {
@@ -201,6 +225,169 @@ public class XlsxFormatter extends AbstractFormatter {
         }
     }
 
+    /**
+     * Returns template ranges of streaming bands which rows can be appended to the rendered document with
+     * {@link SXSSFWorkbook}: a horizontal one-row band which is the last band on its sheet, the sheet has no
+     * formulas and charts, the band has no inlined content and the workbook has no pivot tables. Returns null if some streaming band does not
+     * satisfy these conditions, in this case streaming bands are loaded and rendered as usual.
+     */
+    protected Map<String, Range> findStreamingBandRanges() {
+        Map<String, StreamingBand> streamingBands = rootBand.getStreamingBands();
+        if (streamingBands.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (!ReportOutputType.xlsx.equals(outputType) || !template.getPivotCacheDefinitions().isEmpty()) {
+            return null;
+        }
+
+        Map<String, Range> ranges = new LinkedHashMap<>();
+        for (StreamingBand band : streamingBands.values()) {
+            CTDefinedName definedName = template.getDefinedName(band.getName());
+            if (definedName == null || band.getOrientation() != BandOrientation.HORIZONTAL) {
+                return null;
+            }
+            Range range = Range.fromFormula(definedName.getValue());
+            if (range.getFirstRow() != range.getLastRow()
+                    || ranges.values().stream().anyMatch(other -> other.getSheet().equals(range.getSheet()))
+                    || hasRangesBelow(range, band.getName())
+                    || hasFormulasOrCharts(range.getSheet())
+                    || hasInlinedContent(range, band.getName())) {
+                return null;
+            }
+            ranges.put(band.getName(), range);
+        }
+        return ranges;
+    }
+
+    protected boolean hasRangesBelow(Range range, String bandName) {
+        for (CTDefinedName definedName : template.getWorkbook().getDefinedNames().getDefinedName()) {
+            if (definedName.getName().equals(bandName) || hintProcessor.isHintDefinedName(definedName.getName())) {
+                continue;
+            }
+            Range other = Range.fromFormula(definedName.getValue());
+            if (other.getSheet().equals(range.getSheet()) && other.getLastRow() >= range.getFirstRow()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected boolean hasFormulasOrCharts(String sheetName) {
+        for (Range chartRange : template.getChartSpaces().keySet()) {
+            if (chartRange.getSheet().equals(sheetName)) {
+                return true;
+            }
+        }
+        for (Row row : template.getSheetByName(sheetName).getSheetData().getRow()) {
+            for (Cell cell : row.getC()) {
+                if (cell.getF() != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends rows of streaming bands to the rendered document and writes it to the output stream. Rows are
+     * flushed to a temporary file by {@link SXSSFWorkbook}, so only a window of rows is kept in memory.
+     */
+    protected void writeStreamingBands(byte[] renderedDocument) throws IOException {
+        try (XSSFWorkbook renderedWorkbook = new XSSFWorkbook(new ByteArrayInputStream(renderedDocument))) {
+            Map<String, Integer> firstRows = new HashMap<>();
+            for (Map.Entry<String, Range> entry : streamingBandRanges.entrySet()) {
+                Range range = entry.getValue();
+                int lastRenderedRow = renderedWorkbook.getSheet(range.getSheet()).getLastRowNum();
+                firstRows.put(entry.getKey(), Math.max(range.getFirstRow() - 1, lastRenderedRow + 1));
+            }
+
+            SXSSFWorkbook workbook = new SXSSFWorkbook(renderedWorkbook, STREAMING_ROW_ACCESS_WINDOW);
+            try {
+                for (Map.Entry<String, Range> entry : streamingBandRanges.entrySet()) {
+                    Range range = entry.getValue();
+                    writeStreamingBand(workbook, workbook.getSheet(range.getSheet()),
+                            rootBand.getStreamingBands().get(entry.getKey()), range, firstRows.get(entry.getKey()));
+                }
+                workbook.write(outputStream);
+            } finally {
+                workbook.dispose();
+            }
+        }
+    }
+
+    protected void writeStreamingBand(SXSSFWorkbook workbook, SXSSFSheet sheet, StreamingBand band,
+                                      Range templateRange, int firstRow) {
+        Map<CellReference, Cell> templateCells = template.getCellsByRange(templateRange);
+        int[] rowIndex = {firstRow};
+        band.forEachRow(bandData -> {
+            checkThreadInterrupted();
+            org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowIndex[0]++);
+            for (Map.Entry<CellReference, Cell> entry : templateCells.entrySet()) {
+                Cell templateCell = entry.getValue();
+                org.apache.poi.ss.usermodel.Cell cell = row.createCell(entry.getKey().getColumn() - 1);
+                if (templateCell.getS() != 0) {
+                    cell.setCellStyle(workbook.getCellStyleAt((int) templateCell.getS()));
+                }
+                setStreamingCellValue(cell, templateCell, bandData);
+            }
+        });
+    }
+
+    /**
+     * Sets the value of a streaming band cell the same way as {@link #updateCell(WorksheetPart, BandData, Cell)}.
+     */
+    protected void setStreamingCellValue(org.apache.poi.ss.usermodel.Cell cell, Cell templateCell, BandData bandData) {
+        String cellValue = template.getCellValue(templateCell);
+        if (cellValue == null) {
+            return;
+        }
+
+        if (UNIVERSAL_ALIAS_PATTERN.matcher(cellValue).matches()) {
+            String parameterName = unwrapParameterName(cellValue);
+            String fullParameterName = bandData.getName() + "." + parameterName;
+            Object value = bandData.getData().get(parameterName);
+
+            if (value == null) {
+                return;
+            }
+
+            if (getFormatString(parameterName, fullParameterName) != null) {
+                cell.setCellValue(formatValue(value, parameterName, fullParameterName));
+            } else if (value instanceof Boolean) {
+                cell.setCellValue((Boolean) value);
+            } else if (value instanceof Number) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else if (value instanceof Date) {
+                cell.setCellValue((Date) value);
+            } else {
+                cell.setCellValue(formatValue(value, parameterName, fullParameterName));
+            }
+        } else if (UNIVERSAL_ALIAS_PATTERN.matcher(cellValue).find()) {
+            cell.setCellValue(insertBandDataToString(bandData, cellValue));
+        } else if (STCellType.N.equals(templateCell.getT())) {
+            cell.setCellValue(Double.parseDouble(cellValue));
+        } else {
+            cell.setCellValue(cellValue);
+        }
+    }
+
+    /**
+     * Returns true if some cell of the band range is rendered by a content inliner, e.g. an image.
+     */
+    protected boolean hasInlinedContent(Range range, String bandName) {
+        for (Cell cell : template.getCellsByRange(range).values()) {
+            String cellValue = template.getCellValue(cell);
+            if (cellValue != null && UNIVERSAL_ALIAS_PATTERN.matcher(cellValue).matches()) {
+                String parameterName = unwrapParameterName(cellValue);
+                String formatString = getFormatString(parameterName, bandName + "." + parameterName);
+                if (getContentInlinerForFormat(formatString) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     protected boolean isFormulasPostProcessingEvaluationRequired() {
         return formulasPostProcessingEvaluationEnabled
                 && (innerFormulas.size() > 0 || outerFormulas.size() > 0);
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.reports.yarg.loaders;
+
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Data loader which is able to pass the rows of a query result to a consumer one by one instead of collecting them
+ * into a list. Used to read rows of {@link io.jmix.reports.yarg.structure.StreamingBand}s while the document is written.
+ */
+public interface StreamingReportDataLoader extends ReportDataLoader {
+
+    /**
+     * Loads rows of data and passes each of them to the consumer. Rows are mutable maps as in
+     * {@link #loadData(ReportQuery, BandData, Map)}, the loader must not keep references to passed rows.
+     */
+    void loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params,
+                  Consumer<Map<String, Object>> rowConsumer);
+}
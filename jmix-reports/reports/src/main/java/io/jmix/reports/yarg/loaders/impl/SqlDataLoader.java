@@ -16,14 +16,18 @@
 
 package io.jmix.reports.yarg.loaders.impl;
 
+import io.jmix.reports.yarg.util.db.DbUtils;
 import io.jmix.reports.yarg.util.db.QueryRunner;
 import io.jmix.reports.yarg.util.db.ResultSetHandler;
 import io.jmix.reports.yarg.exception.DataLoadingException;
+import io.jmix.reports.yarg.loaders.StreamingReportDataLoader;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -31,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,16 +48,33 @@ import java.util.regex.Pattern;
  *
  * ${startDate} is alias of the input parameter, which will be passed to the query
  */
-public class SqlDataLoader extends AbstractDbDataLoader {
+public class SqlDataLoader extends AbstractDbDataLoader implements StreamingReportDataLoader {
 
     private DataSource dataSource;
 
+    protected int streamingFetchSize = 1000;
+
     public SqlDataLoader(DataSource dataSource) {
         this.dataSource = dataSource;
     }
 
     @Override
     public List<Map<String, Object>> loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params) {
+        return doLoadData(reportQuery, parentBand, params, null);
+    }
+
+    @Override
+    public void loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params,
+                         Consumer<Map<String, Object>> rowConsumer) {
+        doLoadData(reportQuery, parentBand, params, rowConsumer);
+    }
+
+    /**
+     * Runs the query and either collects the rows into a list or, if the consumer is not null, passes each row
+     * to the consumer right after reading it from the result set and returns an empty list.
+     */
+    protected List<Map<String, Object>> doLoadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params,
+                                                   Consumer<Map<String, Object>> rowConsumer) {
         try {
             String query = reportQuery.getScript();
             if (StringUtils.isBlank(query)) {
@@ -74,11 +96,10 @@ public class SqlDataLoader extends AbstractDbDataLoader {
                 }
             }
 
-            List resList = runQuery(reportQuery, pack.getQuery(), resultingParams.toArray(), new ResultSetHandler<List>() {
+            ResultSetHandler<List> handler = new ResultSetHandler<List>() {
                 @Override
                 public List handle(ResultSet rs) throws SQLException {
                     List<Object[]> resList = new ArrayList<>();
-
                     while (rs.next()) {
                         ResultSetMetaData metaData = rs.getMetaData();
                         if (outputValues.size() == 0) {
@@ -94,7 +115,11 @@ public class SqlDataLoader extends AbstractDbDataLoader {
                         for (int columnIndex = 0; columnIndex < metaData.getColumnCount(); columnIndex++) {
                             values[columnIndex] = convertOutputValue(rs.getObject(columnIndex + 1));
                         }
-                        resList.add(values);
+                        if (rowConsumer != null) {
+                            rowConsumer.accept(fillOutputData(Collections.singletonList(values), outputValues).get(0));
+                        } else {
+                            resList.add(values);
+                        }
                     }
 
                     return resList;
@@ -106,7 +131,10 @@ public class SqlDataLoader extends AbstractDbDataLoader {
                         outputValue.setSynonym(matcher.group(1));
                     }
                 }
-            });
+            };
+            List resList = rowConsumer != null
+                    ? runStreamingQuery(reportQuery, pack.getQuery(), resultingParams.toArray(), handler)
+                    : runQuery(reportQuery, pack.getQuery(), resultingParams.toArray(), handler);
             return fillOutputData(resList, outputValues);
         } catch (DataLoadingException e) {
             throw e;
@@ -116,11 +144,65 @@ public class SqlDataLoader extends AbstractDbDataLoader {
     }
 
     protected List runQuery(ReportQuery reportQuery, String queryString, Object[] params, ResultSetHandler<List> handler) throws SQLException {
-        QueryRunner runner = new QueryRunner(getDataSource());
+        QueryRunner runner = new QueryRunner(getDataSource(reportQuery));
         return runner.query(queryString, params, handler);
     }
 
+    /**
+     * Runs the query whose rows are passed to a consumer. The fetch size is set on the statement before executing
+     * it, and a connection in autocommit mode is switched to a transaction for the time of the query, because some
+     * drivers, e.g. PostgreSQL, read the whole result at once in autocommit mode. The query only reads data, so
+     * such transaction is rolled back afterwards. A connection which is already in a transaction is used as is.
+     */
+    protected List runStreamingQuery(ReportQuery reportQuery, String queryString, Object[] params,
+                                     ResultSetHandler<List> handler) throws SQLException {
+        QueryRunner runner = new QueryRunner() {
+            @Override
+            protected PreparedStatement prepareStatement(Connection conn, String sql) throws SQLException {
+                PreparedStatement statement = super.prepareStatement(conn, sql);
+                statement.setFetchSize(streamingFetchSize);
+                return statement;
+            }
+        };
+        Connection connection = getDataSource(reportQuery).getConnection();
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                return runner.query(connection, queryString, params, handler);
+            } finally {
+                if (autoCommit) {
+                    try {
+                        connection.rollback();
+                    } finally {
+                        connection.setAutoCommit(true);
+                    }
+                }
+            }
+        } finally {
+            DbUtils.close(connection);
+        }
+    }
+
     public DataSource getDataSource() {
         return dataSource;
     }
+
+    /**
+     * Returns the data source to run the given query against.
+     */
+    protected DataSource getDataSource(ReportQuery reportQuery) {
+        return getDataSource();
+    }
+
+    /**
+     * Sets the JDBC fetch size hint used when rows are passed to a consumer one by one.
+     *
+     * @see #runStreamingQuery(ReportQuery, String, Object[], ResultSetHandler)
+     */
+    public void setStreamingFetchSize(int streamingFetchSize) {
+        this.streamingFetchSize = streamingFetchSize;
+    }
 }
\ No newline at end of file
@@ -30,6 +30,15 @@ public interface DataExtractor {
 
     void extractData(Report report, Map<String, Object> params, BandData rootBand);
 
+    /**
+     * Extracts data allowing to defer loading of flat first-level bands: such bands are added to the root band
+     * as {@link io.jmix.reports.yarg.structure.StreamingBand}s and their rows are read by the formatter.
+     * The default implementation loads all bands.
+     */
+    default void extractData(Report report, Map<String, Object> params, BandData rootBand, boolean streamingAllowed) {
+        extractData(report, params, rootBand);
+    }
+
     default boolean getPutEmptyRowIfNoDataSelected() { return true; }
 
 }
@@ -20,11 +20,14 @@ package io.jmix.reports.yarg.reporting;
 import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionContextFactory;
 import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionControllerFactory;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
+import io.jmix.reports.yarg.reporting.extraction.ExtractionContext;
 import io.jmix.reports.yarg.reporting.extraction.ExtractionContextFactory;
+import io.jmix.reports.yarg.reporting.extraction.ExtractionController;
 import io.jmix.reports.yarg.reporting.extraction.ExtractionControllerFactory;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.Report;
 import io.jmix.reports.yarg.structure.ReportBand;
+import io.jmix.reports.yarg.structure.StreamingBand;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.Collections;
@@ -59,6 +62,11 @@ public class DataExtractorImpl implements DataExtractor {
     }
 
     public void extractData(Report report, Map<String, Object> params, BandData rootBand) {
+        extractData(report, params, rootBand, false);
+    }
+
+    @Override
+    public void extractData(Report report, Map<String, Object> params, BandData rootBand, boolean streamingAllowed) {
         List<Map<String, Object>> rootBandData = controllerFactory.defaultController().extractData(
                 contextFactory.context(report.getRootBand(), null, params)
         );
@@ -69,8 +77,12 @@ public class DataExtractorImpl implements DataExtractor {
         List<ReportBand> firstLevelBands = report.getRootBand().getChildren();
         if (firstLevelBands != null) {
             for (ReportBand definition : firstLevelBands) {
-                List<BandData> bands = createBands(definition, rootBand, params);
-                rootBand.addChildren(bands);
+                if (streamingAllowed && isStreamable(definition, rootBand, params)) {
+                    rootBand.addStreamingBand(createStreamingBand(definition, rootBand, params));
+                } else {
+                    List<BandData> bands = createBands(definition, rootBand, params);
+                    rootBand.addChildren(bands);
+                }
                 rootBand.getFirstLevelBandDefinitionNames().add(definition.getName());
             }
         }
@@ -99,4 +111,21 @@ public class DataExtractorImpl implements DataExtractor {
         return controllerFactory.controllerBy(definition.getBandOrientation())
                 .extract(contextFactory.context(definition, parentBandData, params));
     }
+
+    /**
+     * Returns true if rows of the band can be read while the document is written, see
+     * {@link io.jmix.reports.yarg.reporting.extraction.ExtractionController#isStreamable(ExtractionContext)}.
+     */
+    protected boolean isStreamable(ReportBand definition, BandData rootBand, Map<String, Object> params) {
+        return controllerFactory.controllerBy(definition.getBandOrientation())
+                .isStreamable(contextFactory.context(definition, rootBand, params));
+    }
+
+    protected StreamingBand createStreamingBand(ReportBand definition, BandData rootBand, Map<String, Object> params) {
+        ExtractionController controller = controllerFactory.controllerBy(definition.getBandOrientation());
+        ExtractionContext context = contextFactory.context(definition, rootBand, params);
+        return new StreamingBand(definition.getName(), rootBand, definition.getBandOrientation(),
+                getPutEmptyRowIfNoDataSelected(),
+                rowConsumer -> controller.streamData(context, rowConsumer));
+    }
 }
@@ -49,6 +49,8 @@ public class Reporting implements ReportingAPI {
 
     protected ObjectToStringConverter objectToStringConverter = new ObjectToStringConverterImpl();
 
+    protected boolean streamingBandsEnabled = false;
+
     protected Logger logger = LoggerFactory.getLogger(getClass());
 
     public void setFormatterFactory(ReportFormatterFactory formatterFactory) {
@@ -65,6 +67,14 @@ public class Reporting implements ReportingAPI {
         this.dataExtractor = dataExtractor;
     }
 
+    /**
+     * Enables reading rows of flat first-level bands while CSV and XLSX documents are written, instead of loading
+     * them into memory before formatting.
+     */
+    public void setStreamingBandsEnabled(boolean streamingBandsEnabled) {
+        this.streamingBandsEnabled = streamingBandsEnabled;
+    }
+
     public void setObjectToStringConverter(ObjectToStringConverter objectToStringConverter) {
         this.objectToStringConverter = objectToStringConverter;
     }
@@ -86,7 +96,7 @@ public class Reporting implements ReportingAPI {
             logReport("Started report [%s] with parameters [%s]", report, handledParams);
 
             ReportOutputType finalOutputType = (outputType != null) ? outputType : reportTemplate.getOutputType();
-            BandData rootBand = loadBandData(report, handledParams);
+            BandData rootBand = loadBandData(report, handledParams, isStreamingSupported(runParams, finalOutputType));
             generateReport(report, reportTemplate, finalOutputType, outputStream, handledParams, rootBand);
 
             logReport("Finished report [%s] with parameters [%s]", report, handledParams);
@@ -128,20 +138,53 @@ public class Reporting implements ReportingAPI {
         } else {
             FormatterFactoryInput factoryInput = new FormatterFactoryInput(extension, rootBand, reportTemplate, outputType, outputStream);
             ReportFormatter formatter = formatterFactory.createFormatter(factoryInput);
+            if (!formatter.isStreamingBandsSupported()) {
+                rootBand.loadStreamingBands();
+            }
             formatter.renderDocument();
         }
     }
 
     protected BandData loadBandData(Report report, Map<String, Object> handledParams) {
+        return loadBandData(report, handledParams, false);
+    }
+
+    protected BandData loadBandData(Report report, Map<String, Object> handledParams, boolean streamingAllowed) {
         BandData rootBand = new BandData(BandData.ROOT_BAND_NAME);
         rootBand.setData(new HashMap<>(handledParams));
         rootBand.addReportFieldFormats(report.getReportFieldFormats());
         rootBand.setFirstLevelBandDefinitionNames(new HashSet<>());
 
-        dataExtractor.extractData(report, handledParams, rootBand);
+        dataExtractor.extractData(report, handledParams, rootBand, streamingAllowed);
         return rootBand;
     }
 
+    /**
+     * Returns true if flat bands of the report can be read while the document is written. It is possible for
+     * CSV and XLSX templates producing output of the same type, if the output file name does not depend on band data.
+     */
+    protected boolean isStreamingSupported(RunParams runParams, ReportOutputType outputType) {
+        ReportTemplate reportTemplate = runParams.reportTemplate;
+        if (!streamingBandsEnabled || reportTemplate.isCustom()) {
+            return false;
+        }
+
+        String extension = StringUtils.substringAfterLast(reportTemplate.getDocumentName(), ".");
+        boolean csv = ReportOutputType.csv.equals(outputType) && "csv".equalsIgnoreCase(extension);
+        boolean xlsx = ReportOutputType.xlsx.equals(outputType) && "xlsx".equalsIgnoreCase(extension);
+        if (!csv && !xlsx) {
+            return false;
+        }
+
+        String outputNamePattern = StringUtils.isNotEmpty(runParams.outputNamePattern) ?
+                runParams.outputNamePattern : reportTemplate.getOutputNamePattern();
+        if (StringUtils.isNotBlank(outputNamePattern)) {
+            Matcher matcher = Pattern.compile("\\$\\{([A-z0-9_]+)\\.").matcher(outputNamePattern);
+            return !matcher.find() || BandData.ROOT_BAND_NAME.equals(matcher.group(1));
+        }
+        return true;
+    }
+
     protected Map<String, Object> handleParameters(Report report, Map<String, Object> params) {
         Map<String, Object> handledParams = new HashMap<String, Object>(params);
         for (ReportParameter reportParameter : report.getReportParameters()) {
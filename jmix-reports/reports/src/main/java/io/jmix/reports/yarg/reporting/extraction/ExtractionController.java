@@ -21,6 +21,7 @@ import io.jmix.reports.yarg.structure.BandData;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This interface implementation should contains data extraction logic
@@ -49,4 +50,25 @@ public interface ExtractionController {
         return Collections.emptyList();
     }
 
+    /**
+     * Returns true if rows of the band can be read by {@link #streamData(ExtractionContext, Consumer)} while the
+     * document is written instead of being loaded during the data extraction.
+     *
+     * @param context - should contains band, parent band data and params
+     */
+    default boolean isStreamable(ExtractionContext context) {
+        return false;
+    }
+
+    /**
+     * Loads rows of the band and passes each of them to the consumer without collecting them into a list.
+     * Supported only for bands for which {@link #isStreamable(ExtractionContext)} returns true.
+     *
+     * @param context - should contains band, parent band data and params
+     * @param rowConsumer - consumer of loaded rows
+     */
+    default void streamData(ExtractionContext context, Consumer<Map<String, Object>> rowConsumer) {
+        throw new UnsupportedOperationException("Streaming is not supported for band " + context.getBand().getName());
+    }
+
 }
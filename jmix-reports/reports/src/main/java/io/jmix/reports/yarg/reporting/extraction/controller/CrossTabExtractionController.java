@@ -49,6 +49,11 @@ public class CrossTabExtractionController extends DefaultExtractionController {
         preprocessorFactory.register(DefaultLoaderFactory.SQL_DATA_LOADER, new SqlCrosstabPreprocessor());
     }
 
+    @Override
+    public boolean isStreamable(ExtractionContext context) {
+        return false;
+    }
+
     @Override
     protected List<Map<String, Object>> getQueriesResult(ExtractionContext context) {
         Map<String, Object> crossTabParams = new HashMap<>(context.getParams());
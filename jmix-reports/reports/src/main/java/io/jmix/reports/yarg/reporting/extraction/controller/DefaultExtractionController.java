@@ -20,8 +20,10 @@ import com.google.common.collect.Multimap;
 import io.jmix.reports.yarg.reporting.extraction.*;
 import io.jmix.reports.yarg.exception.DataLoadingException;
 import io.jmix.reports.yarg.exception.ReportingInterruptedException;
+import io.jmix.reports.yarg.exception.UnsupportedLoaderException;
 import io.jmix.reports.yarg.exception.ValidationException;
 import io.jmix.reports.yarg.loaders.ReportDataLoader;
+import io.jmix.reports.yarg.loaders.StreamingReportDataLoader;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportBand;
@@ -30,6 +32,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -103,6 +106,51 @@ public class DefaultExtractionController implements ExtractionController {
         return result;
     }
 
+    /**
+     * Returns true if the band has no children and is loaded by a single query of a {@link StreamingReportDataLoader}.
+     */
+    @Override
+    public boolean isStreamable(ExtractionContext context) {
+        checkNotNull(context);
+
+        ReportBand band = context.getBand();
+        if (CollectionUtils.isNotEmpty(band.getChildren())
+                || band.getReportQueries() == null
+                || band.getReportQueries().size() != 1
+                || isEmptyBand(context.getParentBandData())) {
+            return false;
+        }
+        try {
+            ReportQuery reportQuery = band.getReportQueries().get(0);
+            return loaderFactory.createDataLoader(reportQuery.getLoaderType()) instanceof StreamingReportDataLoader;
+        } catch (UnsupportedLoaderException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void streamData(ExtractionContext context, Consumer<Map<String, Object>> rowConsumer) {
+        checkNotNull(context);
+        checkNotNull(rowConsumer);
+
+        ReportQuery reportQuery = context.getBand().getReportQueries().get(0);
+        try {
+            StreamingReportDataLoader dataLoader =
+                    (StreamingReportDataLoader) loaderFactory.createDataLoader(reportQuery.getLoaderType());
+            preprocessorFactory.processorBy(reportQuery.getLoaderType())
+                    .preprocess(reportQuery, new HashMap<>(context.getParams()), (processedQuery, processedParams) -> {
+                        dataLoader.loadData(processedQuery, context.getParentBandData(), processedParams, rowConsumer);
+                        context.extendParams(processedParams);
+                        return Collections.emptyList();
+                    });
+        } catch (ValidationException | ReportingInterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for band [%s] and query [%s].",
+                    context.getBand().getName(), reportQuery.getName()), e);
+        }
+    }
+
     public void setPreprocessorFactory(PreprocessorFactory preprocessorFactory) {
         checkNotNull(preprocessorFactory);
 
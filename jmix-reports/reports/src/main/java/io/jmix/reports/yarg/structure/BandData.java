@@ -33,6 +33,7 @@ public class BandData implements Serializable {
     protected Set<String> firstLevelBandDefinitionNames = null;
     protected int level;
     protected Map<String, ReportFieldFormat> reportFieldFormats = new HashMap<>();
+    protected transient Map<String, StreamingBand> streamingBands;
 
 
     public BandData(String name) {
@@ -154,6 +155,37 @@ public class BandData implements Serializable {
             addChild(band);
     }
 
+    /**
+     * Adds a child band which rows are read by the formatter while writing the document. Until the rows are read,
+     * the band is present in {@link #getChildrenBands()} with an empty list of instances.
+     *
+     * @see #loadStreamingBands()
+     */
+    public void addStreamingBand(StreamingBand band) {
+        if (streamingBands == null) {
+            streamingBands = new LinkedHashMap<>();
+        }
+        streamingBands.put(band.getName(), band);
+        childrenBands.putIfAbsent(band.getName(), new ArrayList<>());
+    }
+
+    public Map<String, StreamingBand> getStreamingBands() {
+        return streamingBands != null ? streamingBands : Collections.emptyMap();
+    }
+
+    /**
+     * Reads rows of all streaming bands into child band instances, for formatters which need the whole band tree.
+     */
+    public void loadStreamingBands() {
+        if (streamingBands == null) {
+            return;
+        }
+        for (StreamingBand band : streamingBands.values()) {
+            addChildren(band.load());
+        }
+        streamingBands = null;
+    }
+
     public boolean visit(BandVisitor bandVisitor) {
         if (bandVisitor.visit(this)) {
             return true;
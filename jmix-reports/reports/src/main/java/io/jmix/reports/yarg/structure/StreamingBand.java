@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.reports.yarg.structure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Flat first-level band which rows are not loaded during data extraction. The rows are read from the data source
+ * when a formatter consumes them, so a formatter writing each row right away keeps only one row in memory
+ * regardless of the band size.
+ *
+ * @see BandData#addStreamingBand(StreamingBand)
+ */
+public class StreamingBand {
+
+    protected final String name;
+    protected final BandData parentBand;
+    protected final BandOrientation orientation;
+    protected final boolean putEmptyRowIfNoDataSelected;
+    protected final RowSource rowSource;
+
+    public StreamingBand(String name, BandData parentBand, BandOrientation orientation,
+                         boolean putEmptyRowIfNoDataSelected, RowSource rowSource) {
+        this.name = name;
+        this.parentBand = parentBand;
+        this.orientation = orientation;
+        this.putEmptyRowIfNoDataSelected = putEmptyRowIfNoDataSelected;
+        this.rowSource = rowSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BandData getParentBand() {
+        return parentBand;
+    }
+
+    public BandOrientation getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * Reads the rows from the data source and passes each of them to the consumer as a separate band instance.
+     * Each call runs the band query again.
+     */
+    public void forEachRow(Consumer<BandData> consumer) {
+        boolean[] empty = {true};
+        rowSource.read(data -> {
+            empty[0] = false;
+            consumer.accept(createBand(data));
+        });
+        if (empty[0] && putEmptyRowIfNoDataSelected) {
+            consumer.accept(createBand(Collections.emptyMap()));
+        }
+    }
+
+    /**
+     * Reads all rows of the band into memory.
+     */
+    public List<BandData> load() {
+        List<BandData> bands = new ArrayList<>();
+        forEachRow(bands::add);
+        return bands;
+    }
+
+    protected BandData createBand(Map<String, Object> data) {
+        BandData band = new BandData(name, parentBand, orientation);
+        band.setData(data);
+        return band;
+    }
+
+    /**
+     * Source of band rows, usually a query executed by {@link io.jmix.reports.yarg.loaders.StreamingReportDataLoader}.
+     */
+    @FunctionalInterface
+    public interface RowSource {
+
+        void read(Consumer<Map<String, Object>> rowConsumer);
+    }
+}
@@ -16,17 +16,116 @@
 
 package io.jmix.reports.yarg.util.groovy;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyShell;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
+/**
+ * Evaluates groovy scripts keeping compiled script classes in a bounded cache keyed by the SHA-256 hash of
+ * the script text, so long scripts are not kept in memory twice.
+ * Each evaluation creates a new script instance with its own {@link Binding}, so cached classes are shared
+ * between threads safely.
+ * <p>
+ * Each script is compiled by a separate class loader, so classes of evicted scripts can be unloaded.
+ */
 public class DefaultScriptingImpl implements Scripting {
 
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    protected final int cacheSize;
+    protected final Cache<HashCode, Class<?>> scriptClasses;
+
+    protected CompilerConfiguration compilerConfiguration = CompilerConfiguration.DEFAULT;
+
+    public DefaultScriptingImpl() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize maximum number of compiled scripts to keep, 0 disables caching
+     */
+    public DefaultScriptingImpl(int cacheSize) {
+        this.cacheSize = cacheSize;
+        this.scriptClasses = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(cacheSize, 0))
+                .recordStats()
+                .build();
+    }
+
     @Override
     public <T> T evaluateGroovy(String script, Map<String, Object> params) {
         Binding binding = new Binding(params);
-        GroovyShell shell = new GroovyShell(Thread.currentThread().getContextClassLoader(), binding);
-        return (T) shell.evaluate(script);
+        if (cacheSize <= 0) {
+            GroovyShell shell = new GroovyShell(Thread.currentThread().getContextClassLoader(), binding,
+                    compilerConfiguration);
+            return (T) shell.evaluate(script);
+        }
+        return (T) InvokerHelper.createScript(getScriptClass(script), binding).run();
+    }
+
+    protected Class<?> getScriptClass(String script) {
+        try {
+            HashCode key = Hashing.sha256().hashString(script, StandardCharsets.UTF_8);
+            return scriptClasses.get(key, () -> compile(script));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Unable to compile groovy script", e.getCause());
+        }
+    }
+
+    protected Class<?> compile(String script) {
+        GroovyClassLoader classLoader = new GroovyClassLoader(Thread.currentThread().getContextClassLoader(),
+                compilerConfiguration);
+        return classLoader.parseClass(script);
+    }
+
+    /**
+     * Sets the configuration scripts are compiled with, e.g. to apply compilation customizers.
+     */
+    public void setCompilerConfiguration(CompilerConfiguration compilerConfiguration) {
+        this.compilerConfiguration = compilerConfiguration;
+    }
+
+    /**
+     * @return maximum number of compiled scripts kept in the cache
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @return number of compiled scripts currently kept in the cache
+     */
+    public long getCachedScriptsCount() {
+        return scriptClasses.size();
+    }
+
+    /**
+     * Returns statistics of the compiled scripts cache: misses are script compilations, load time is
+     * the total compilation time.
+     */
+    public CacheStats getStats() {
+        return scriptClasses.stats();
+    }
+
+    /**
+     * Removes all compiled scripts from the cache.
+     */
+    public void clearCache() {
+        scriptClasses.invalidateAll();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package scripting
+
+import io.jmix.reports.yarg.util.groovy.DefaultScriptingImpl
+import spock.lang.Specification
+
+class DefaultScriptingImplTest extends Specification {
+
+    def "compiled script is reused with fresh binding"() {
+        def scripting = new DefaultScriptingImpl(10)
+
+        when:
+        def first = scripting.evaluateGroovy('value * 2', [value: 2])
+        def second = scripting.evaluateGroovy('value * 2', [value: 5])
+
+        then:
+        first == 4
+        second == 10
+        scripting.stats.missCount() == 1
+        scripting.stats.hitCount() == 1
+    }
+
+    def "compiled scripts are evicted when cache is full"() {
+        def scripting = new DefaultScriptingImpl(1)
+
+        when:
+        scripting.evaluateGroovy('1', [:])
+        scripting.evaluateGroovy('2', [:])
+
+        then:
+        scripting.cachedScriptsCount == 1
+        scripting.stats.evictionCount() == 1
+    }
+
+    def "scripts are not cached if cache is disabled"() {
+        def scripting = new DefaultScriptingImpl(0)
+
+        when:
+        def result = scripting.evaluateGroovy('value + 1', [value: 1])
+
+        then:
+        result == 2
+        scripting.cachedScriptsCount == 0
+    }
+}
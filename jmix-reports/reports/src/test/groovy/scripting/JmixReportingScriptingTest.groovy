@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package scripting
+
+import io.jmix.reports.libintegration.JmixReportingScripting
+import org.codehaus.groovy.control.customizers.ImportCustomizer
+import org.springframework.scripting.ScriptEvaluator
+import org.springframework.scripting.ScriptSource
+import org.springframework.scripting.groovy.GroovyScriptEvaluator
+import spock.lang.Specification
+
+class JmixReportingScriptingTest extends Specification {
+
+    def "scripts are cached with compiler configuration of standard evaluator"() {
+        def evaluator = new GroovyScriptEvaluator()
+        def imports = new ImportCustomizer()
+        imports.addImports('java.time.LocalDate')
+        evaluator.setCompilationCustomizers(imports)
+
+        def scripting = createScripting(evaluator, 10)
+
+        when:
+        def first = scripting.evaluateGroovy('LocalDate.of(2024, 1, value).dayOfMonth', [value: 2])
+        def second = scripting.evaluateGroovy('LocalDate.of(2024, 1, value).dayOfMonth', [value: 3])
+
+        then:
+        first == 2
+        second == 3
+        scripting.cachingScripting.stats.missCount() == 1
+        scripting.cachingScripting.stats.hitCount() == 1
+    }
+
+    def "customized evaluator evaluates every script"() {
+        def evaluator = Mock(ScriptEvaluator)
+        def scripting = createScripting(evaluator, 10)
+
+        when:
+        def result = scripting.evaluateGroovy('value * 2', [value: 2])
+
+        then:
+        1 * evaluator.evaluate({ ScriptSource source -> source.scriptAsString == 'value * 2' }, [value: 2]) >> 42
+        result == 42
+        scripting.cachingScripting == null
+    }
+
+    def "standard evaluator is used if cache is disabled"() {
+        def scripting = createScripting(new GroovyScriptEvaluator(), 0)
+
+        when:
+        def result = scripting.evaluateGroovy('value + 1', [value: 1])
+
+        then:
+        result == 2
+        scripting.cachingScripting == null
+    }
+
+    private static JmixReportingScripting createScripting(ScriptEvaluator evaluator, int cacheSize) {
+        def scripting = new JmixReportingScripting(cacheSize)
+        scripting.scriptEvaluator = evaluator
+        scripting.init()
+        return scripting
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package streaming
+
+import io.jmix.reports.yarg.structure.BandData
+import io.jmix.reports.yarg.structure.BandOrientation
+import io.jmix.reports.yarg.structure.StreamingBand
+import spock.lang.Specification
+
+class StreamingBandTest extends Specification {
+
+    def "rows are passed to consumer one by one"() {
+        def root = new BandData(BandData.ROOT_BAND_NAME)
+        def band = new StreamingBand('Band', root, BandOrientation.HORIZONTAL, false,
+                { consumer -> [[id: 1], [id: 2]].each { consumer.accept(it) } })
+        def ids = []
+
+        when:
+        band.forEachRow { ids << it.getParameterValue('id') }
+
+        then:
+        ids == [1, 2]
+    }
+
+    def "empty row is emitted when no data selected"() {
+        def root = new BandData(BandData.ROOT_BAND_NAME)
+        def band = new StreamingBand('Band', root, BandOrientation.HORIZONTAL, true, { consumer -> })
+
+        when:
+        def rows = band.load()
+
+        then:
+        rows.size() == 1
+        rows[0].data.isEmpty()
+        rows[0].parentBand == root
+    }
+
+    def "streaming bands keep their position among children when loaded"() {
+        def root = new BandData(BandData.ROOT_BAND_NAME)
+        root.addChild(new BandData('Header', root))
+        root.addStreamingBand(new StreamingBand('Rows', root, BandOrientation.HORIZONTAL, false,
+                { consumer -> [[id: 1], [id: 2]].each { consumer.accept(it) } }))
+        root.addChild(new BandData('Footer', root))
+
+        expect:
+        root.childrenBands.keySet().toList() == ['Header', 'Rows', 'Footer']
+        root.getChildrenByName('Rows').isEmpty()
+
+        when:
+        root.loadStreamingBands()
+
+        then:
+        root.streamingBands.isEmpty()
+        root.childrenBands.keySet().toList() == ['Header', 'Rows', 'Footer']
+        root.getChildrenByName('Rows')*.getParameterValue('id') == [1, 2]
+    }
+}
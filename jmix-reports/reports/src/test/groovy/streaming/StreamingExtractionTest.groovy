@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package streaming
+
+import io.jmix.reports.yarg.exception.DataLoadingException
+import io.jmix.reports.yarg.loaders.QueryLoaderPreprocessor
+import io.jmix.reports.yarg.loaders.StreamingReportDataLoader
+import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory
+import io.jmix.reports.yarg.reporting.DataExtractorImpl
+import io.jmix.reports.yarg.reporting.extraction.controller.DefaultExtractionController
+import io.jmix.reports.yarg.structure.*
+import spock.lang.Specification
+
+import java.util.function.Consumer
+
+class StreamingExtractionTest extends Specification {
+
+    def "streamed band is loaded through the extraction controller"() {
+        def loader = new TestStreamingLoader(rows: [[id: 1], [id: 2]])
+        def extractor = new DataExtractorImpl({ loader } as ReportLoaderFactory)
+        def controller = (DefaultExtractionController) extractor.extractionControllerFactory
+                .controllerBy(BandOrientation.HORIZONTAL)
+        controller.preprocessorFactory.register('test', { ReportQuery query, Map params, consumer ->
+            params.put('processed', true)
+            consumer.apply(query, params)
+        } as QueryLoaderPreprocessor)
+        def root = rootBand()
+
+        when:
+        extractor.extractData(report(band('Rows')), [param: 'value'], root, true)
+
+        then:
+        loader.calls == 0
+        root.streamingBands.keySet() == ['Rows'] as Set
+
+        when:
+        def rows = root.streamingBands['Rows'].load()
+
+        then:
+        rows*.getParameterValue('id') == [1, 2]
+        loader.calls == 1
+        loader.params == [param: 'value', processed: true]
+    }
+
+    def "errors of streamed band loading are wrapped"() {
+        def loader = new TestStreamingLoader(failure: new IllegalStateException('broken'))
+        def extractor = new DataExtractorImpl({ loader } as ReportLoaderFactory)
+        def root = rootBand()
+        extractor.extractData(report(band('Rows')), [:], root, true)
+
+        when:
+        root.streamingBands['Rows'].load()
+
+        then:
+        def e = thrown(DataLoadingException)
+        e.message.contains('[Rows]')
+        e.cause.message == 'broken'
+    }
+
+    def "bands with children are not streamed"() {
+        def loader = new TestStreamingLoader(rows: [[id: 1]])
+        def extractor = new DataExtractorImpl({ loader } as ReportLoaderFactory)
+        def root = rootBand()
+        def parent = band('Rows', [band('Child')])
+
+        when:
+        extractor.extractData(report(parent), [:], root, true)
+
+        then:
+        root.streamingBands.isEmpty()
+        root.getChildrenByName('Rows').size() == 1
+    }
+
+    protected BandData rootBand() {
+        def root = new BandData(BandData.ROOT_BAND_NAME)
+        root.data = [:]
+        root.firstLevelBandDefinitionNames = [] as Set
+        return root
+    }
+
+    protected Report report(ReportBand firstLevelBand) {
+        def rootBand = [
+                getName           : { BandData.ROOT_BAND_NAME },
+                getChildren       : { [firstLevelBand] },
+                getReportQueries  : { [] },
+                getBandOrientation: { BandOrientation.HORIZONTAL }
+        ] as ReportBand
+        return [getRootBand: { rootBand }] as Report
+    }
+
+    protected ReportBand band(String name, List<ReportBand> children = []) {
+        def query = [
+                getName              : { name + 'Query' },
+                getScript            : { 'select' },
+                getLoaderType        : { 'test' },
+                getLinkParameterName : { null },
+                getProcessTemplate   : { false },
+                getAdditionalParams  : { [:] }
+        ] as ReportQuery
+        return [
+                getName           : { name },
+                getChildren       : { children },
+                getReportQueries  : { [query] },
+                getBandOrientation: { BandOrientation.HORIZONTAL }
+        ] as ReportBand
+    }
+
+    static class TestStreamingLoader implements StreamingReportDataLoader {
+        List<Map<String, Object>> rows = []
+        RuntimeException failure
+        int calls
+        Map<String, Object> params
+
+        @Override
+        void loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params,
+                      Consumer<Map<String, Object>> rowConsumer) {
+            calls++
+            this.params = params
+            if (failure != null) {
+                throw failure
+            }
+            rows.each { rowConsumer.accept(new HashMap<>(it)) }
+        }
+
+        @Override
+        List<Map<String, Object>> loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params) {
+            List<Map<String, Object>> result = []
+            loadData(reportQuery, parentBand, params, { result << it } as Consumer)
+            return result
+        }
+    }
+}
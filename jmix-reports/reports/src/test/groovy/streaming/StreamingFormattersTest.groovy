@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package streaming
+
+import io.jmix.reports.yarg.formatters.CustomReport
+import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput
+import io.jmix.reports.yarg.formatters.impl.CsvFormatter
+import io.jmix.reports.yarg.formatters.impl.XlsxFormatter
+import io.jmix.reports.yarg.structure.*
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Specification
+
+class StreamingFormattersTest extends Specification {
+
+    def "csv formatter writes rows of streaming band while reading them"() {
+        def root = rootBand()
+        def reads = 0
+        root.addStreamingBand(new StreamingBand('Rows', root, BandOrientation.HORIZONTAL, false, { consumer ->
+            reads++
+            [[id: '1', name: 'First'], [id: '2', name: 'Second']].each { consumer.accept(it) }
+        }))
+        def output = new ByteArrayOutputStream()
+        def formatter = new CsvFormatter(new FormatterFactoryInput('csv', root,
+                template('test.csv', 'Id;Name\n${id};${name}'.getBytes('UTF-8'), ReportOutputType.csv),
+                ReportOutputType.csv, output))
+
+        when:
+        formatter.renderDocument()
+
+        then:
+        formatter.streamingBandsSupported
+        reads == 1
+        root.getChildrenByName('Rows').isEmpty()
+        output.toString('UTF-8').readLines() == ['"Id";"Name"', '"1";"First"', '"2";"Second"']
+    }
+
+    def "xlsx formatter appends rows of streaming band to rendered document"() {
+        def root = rootBand()
+        def header = new BandData('Header', root)
+        header.data = [title: 'Report']
+        root.addChild(header)
+        def reads = 0
+        root.addStreamingBand(new StreamingBand('Rows', root, BandOrientation.HORIZONTAL, false, { consumer ->
+            reads++
+            (1..150).each { consumer.accept([id: it, name: 'Row ' + it]) }
+        }))
+        def output = new ByteArrayOutputStream()
+        def formatter = new XlsxFormatter(new FormatterFactoryInput('xlsx', root,
+                template('test.xlsx', xlsxTemplate(), ReportOutputType.xlsx), ReportOutputType.xlsx, output))
+
+        when:
+        formatter.renderDocument()
+
+        then:
+        formatter.streamingBandsSupported
+        reads == 1
+        root.getChildrenByName('Rows').isEmpty()
+
+        def workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))
+        def sheet = workbook.getSheet('Sheet1')
+        sheet.getRow(0).getCell(0).stringCellValue == 'Report'
+        sheet.lastRowNum == 150
+        sheet.getRow(1).getCell(0).numericCellValue == 1d
+        sheet.getRow(1).getCell(1).stringCellValue == 'Row 1'
+        sheet.getRow(150).getCell(0).numericCellValue == 150d
+        sheet.getRow(150).getCell(1).stringCellValue == 'Row 150'
+        workbook.getName('Rows') == null
+
+        cleanup:
+        workbook?.close()
+    }
+
+    protected BandData rootBand() {
+        def root = new BandData(BandData.ROOT_BAND_NAME)
+        root.data = [:]
+        root.firstLevelBandDefinitionNames = ['Header', 'Rows'] as Set
+        return root
+    }
+
+    protected byte[] xlsxTemplate() {
+        def workbook = new XSSFWorkbook()
+        try {
+            def sheet = workbook.createSheet('Sheet1')
+            sheet.createRow(0).createCell(0).setCellValue('${title}')
+            def row = sheet.createRow(1)
+            row.createCell(0).setCellValue('${id}')
+            row.createCell(1).setCellValue('${name}')
+
+            def headerName = workbook.createName()
+            headerName.nameName = 'Header'
+            headerName.refersToFormula = 'Sheet1!$A$1:$A$1'
+            def rowsName = workbook.createName()
+            rowsName.nameName = 'Rows'
+            rowsName.refersToFormula = 'Sheet1!$A$2:$B$2'
+            workbook.forceFormulaRecalculation = true
+
+            def bytes = new ByteArrayOutputStream()
+            workbook.write(bytes)
+            return bytes.toByteArray()
+        } finally {
+            workbook.close()
+        }
+    }
+
+    protected ReportTemplate template(String documentName, byte[] content, ReportOutputType outputType) {
+        return [
+                getCode              : { ReportTemplate.DEFAULT_TEMPLATE_CODE },
+                getDocumentName      : { documentName },
+                getDocumentPath      : { documentName },
+                getDocumentContent   : { new ByteArrayInputStream(content) },
+                getOutputType        : { outputType },
+                getOutputNamePattern : { null },
+                isCustom             : { false },
+                getCustomReport      : { (CustomReport) null }
+        ] as ReportTemplate
+    }
+}
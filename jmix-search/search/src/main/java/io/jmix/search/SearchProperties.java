@@ -122,6 +122,40 @@ public class SearchProperties {
      */
     protected final List<String> enqueueIndexAllOnStartupIndexRecreationEntities;
 
+    /**
+     * Name of the {@link io.jmix.search.index.queue.IndexingQueueBackend} that stores indexing queue items:
+     * 'jpa' (default) or 'in-memory'.
+     */
+    protected final String indexingQueueBackend;
+
+    /**
+     * Capacity of the ring buffer of the 'in-memory' indexing queue backend. Items enqueued while the buffer is full
+     * are kept in an unbounded overflow queue.
+     */
+    protected final int inMemoryIndexingQueueCapacity;
+
+    /**
+     * Whether changes of the 'in-memory' indexing queue are written to a log file to restore the queue after restart.
+     */
+    protected final boolean inMemoryIndexingQueueWalEnabled;
+
+    /**
+     * Path to the log file of the 'in-memory' indexing queue. Default is 'search/indexing-queue.wal'
+     * in the application work directory.
+     */
+    protected final String inMemoryIndexingQueueWalFile;
+
+    /**
+     * Amount of worker threads that reload instances and send bulk requests during pipelined reindexing.
+     */
+    protected final int reindexThreadCount;
+
+    /**
+     * Amount of entity instances loaded by a single query and sent in a single bulk request
+     * during pipelined reindexing.
+     */
+    protected final int reindexBulkRequestSize;
+
     public SearchProperties(
             @DefaultValue("100") int searchResultPageSize,
             @DefaultValue("100") int maxSearchPageCount,
@@ -139,6 +173,12 @@ public class SearchProperties {
             @DefaultValue("create-or-recreate") String indexSchemaManagementStrategy,
             @DefaultValue("0/5 * * * * ?") String indexingQueueProcessingCron,
             @DefaultValue("0/5 * * * * ?") String enqueueingSessionProcessingCron,
+            @DefaultValue("jpa") String indexingQueueBackend,
+            @DefaultValue("65536") int inMemoryIndexingQueueCapacity,
+            @DefaultValue("true") boolean inMemoryIndexingQueueWalEnabled,
+            @DefaultValue("") String inMemoryIndexingQueueWalFile,
+            @DefaultValue("4") int reindexThreadCount,
+            @DefaultValue("500") int reindexBulkRequestSize,
             @DefaultValue Elasticsearch elasticsearch) {
         this.searchResultPageSize = searchResultPageSize;
         this.maxSearchPageCount = maxSearchPageCount;
@@ -157,6 +197,12 @@ public class SearchProperties {
         this.restHighLevelClientApiCompatibilityModeEnabled = restHighLevelClientApiCompatibilityModeEnabled;
         this.enqueueIndexAllOnStartupIndexRecreationEntities = prepareStartupEnqueueingEntities(enqueueIndexAllOnStartupIndexRecreationEntities);
         this.searchIndexNamePrefix = searchIndexNamePrefix;
+        this.indexingQueueBackend = indexingQueueBackend;
+        this.inMemoryIndexingQueueCapacity = inMemoryIndexingQueueCapacity;
+        this.inMemoryIndexingQueueWalEnabled = inMemoryIndexingQueueWalEnabled;
+        this.inMemoryIndexingQueueWalFile = inMemoryIndexingQueueWalFile;
+        this.reindexThreadCount = reindexThreadCount;
+        this.reindexBulkRequestSize = reindexBulkRequestSize;
     }
 
     /**
@@ -257,6 +303,48 @@ public class SearchProperties {
         return enqueueIndexAllOnStartupIndexRecreationEntities;
     }
 
+    /**
+     * @see #indexingQueueBackend
+     */
+    public String getIndexingQueueBackend() {
+        return indexingQueueBackend;
+    }
+
+    /**
+     * @see #inMemoryIndexingQueueCapacity
+     */
+    public int getInMemoryIndexingQueueCapacity() {
+        return inMemoryIndexingQueueCapacity;
+    }
+
+    /**
+     * @see #inMemoryIndexingQueueWalEnabled
+     */
+    public boolean isInMemoryIndexingQueueWalEnabled() {
+        return inMemoryIndexingQueueWalEnabled;
+    }
+
+    /**
+     * @see #inMemoryIndexingQueueWalFile
+     */
+    public String getInMemoryIndexingQueueWalFile() {
+        return inMemoryIndexingQueueWalFile;
+    }
+
+    /**
+     * @see #reindexThreadCount
+     */
+    public int getReindexThreadCount() {
+        return reindexThreadCount;
+    }
+
+    /**
+     * @see #reindexBulkRequestSize
+     */
+    public int getReindexBulkRequestSize() {
+        return reindexBulkRequestSize;
+    }
+
     /**
      * @see #defaultSearchStrategy
      */
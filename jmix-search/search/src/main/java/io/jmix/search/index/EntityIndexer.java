@@ -19,6 +19,7 @@ package io.jmix.search.index;
 import io.jmix.core.Id;
 
 import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Provides functionality for direct documents indexing.
@@ -88,4 +89,48 @@ public interface EntityIndexer {
      * @return {@link IndexResult}
      */
     IndexResult deleteCollectionByEntityIds(Collection<Id<?>> entityIds);
+
+    /**
+     * @return true if the indexer supports reindexing of all instances of entities bypassing indexing queue
+     * @see #startReindex(Collection)
+     */
+    default boolean isReindexSupported() {
+        return false;
+    }
+
+    /**
+     * Starts reindexing of all instances of provided entities in background bypassing indexing queue.
+     * Entities are processed one after another.
+     *
+     * @param entityNames names of indexed entities
+     * @return false if reindexing is already in progress
+     * @throws UnsupportedOperationException if reindexing is not supported
+     */
+    default boolean startReindex(Collection<String> entityNames) {
+        throw new UnsupportedOperationException("Reindexing is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Synchronously stores all instances of provided entity to index bypassing indexing queue.
+     *
+     * @param entityName name of indexed entity
+     * @return final progress of reindexing
+     * @throws UnsupportedOperationException if reindexing is not supported
+     */
+    default ReindexProgress reindex(String entityName) {
+        throw new UnsupportedOperationException("Reindexing is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Stops current reindexing.
+     */
+    default void cancelReindex() {
+    }
+
+    /**
+     * @return progress of the latest reindexing of each entity
+     */
+    default Collection<ReindexProgress> getReindexProgress() {
+        return Collections.emptyList();
+    }
 }
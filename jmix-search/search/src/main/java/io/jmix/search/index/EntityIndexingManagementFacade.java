@@ -27,8 +27,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jmx.export.annotation.*;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @ManagedResource(description = "Manages entity indexing for full text search", objectName = "jmix.search:type=EntityIndexing")
 @Component("search_EntityIndexingManagementFacade")
@@ -429,6 +432,64 @@ public class EntityIndexingManagementFacade {
         return String.format("%d items for entity '%s' have been removed from Indexing Queue", deleted, entityName);
     }
 
+    @ManagedAttribute(description = "Progress and throughput of the latest pipelined reindexing of each entity")
+    public String getReindexProgress() {
+        if (!entityIndexer.isReindexSupported()) {
+            return "Pipelined reindexing is not supported by " + entityIndexer.getClass().getName();
+        }
+        List<ReindexProgress> progress = entityIndexer.getReindexProgress().stream()
+                .sorted(Comparator.comparing(ReindexProgress::getStartTime))
+                .collect(Collectors.toList());
+        if (progress.isEmpty()) {
+            return "Pipelined reindexing has not been performed";
+        }
+        return progress.stream()
+                .map(ReindexProgress::toString)
+                .collect(Collectors.joining("\n"));
+    }
+
+    @Authenticated
+    @ManagedOperation(description = "Starts pipelined reindexing of all instances of all indexed entities " +
+            "bypassing Indexing Queue")
+    public String reindexAll() {
+        return startReindex(indexConfigurationManager.getAllIndexConfigurations().stream()
+                .map(IndexConfiguration::getEntityName)
+                .collect(Collectors.toList()));
+    }
+
+    @Authenticated
+    @ManagedOperation(description = "Starts pipelined reindexing of all instances of provided entity " +
+            "bypassing Indexing Queue")
+    @ManagedOperationParameters({
+            @ManagedOperationParameter(name = "entityName", description = "Name of entity configured for indexing, e.g. demo_Order")
+    })
+    public String reindexEntity(String entityName) {
+        InputValidationResult inputValidationResult = validateInputEntity(entityName);
+        if (!inputValidationResult.isValid()) {
+            return inputValidationResult.getMessage();
+        }
+        return startReindex(List.of(entityName));
+    }
+
+    @ManagedOperation(description = "Stops current pipelined reindexing")
+    public String cancelReindex() {
+        if (!entityIndexer.isReindexSupported()) {
+            return "Pipelined reindexing is not supported by " + entityIndexer.getClass().getName();
+        }
+        entityIndexer.cancelReindex();
+        return "Reindexing has been cancelled";
+    }
+
+    protected String startReindex(Collection<String> entityNames) {
+        if (!entityIndexer.isReindexSupported()) {
+            return "Pipelined reindexing is not supported by " + entityIndexer.getClass().getName();
+        }
+        if (!entityIndexer.startReindex(entityNames)) {
+            return "Reindexing is already in progress";
+        }
+        return String.format("Reindexing of %s has been started", String.join(", ", entityNames));
+    }
+
     protected String formatSingleStatusString(String entityName, String indexName, String status) {
         return String.format("Entity=%s, Index=%s, Status=%s", entityName, indexName, status);
     }
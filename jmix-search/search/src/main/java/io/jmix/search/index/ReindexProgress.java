@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.search.index;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of pipelined reindexing of a single entity.
+ *
+ * @see io.jmix.search.index.impl.EntityIndexerImpl#reindex(String)
+ */
+public class ReindexProgress {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    protected final String entityName;
+    protected final Instant startTime = Instant.now();
+
+    protected final AtomicLong loaded = new AtomicLong();
+    protected final AtomicLong indexed = new AtomicLong();
+    protected final AtomicLong failed = new AtomicLong();
+    protected final AtomicLong bulkRequests = new AtomicLong();
+
+    protected volatile Status status = Status.RUNNING;
+    protected volatile Instant endTime;
+    protected volatile String errorMessage;
+
+    public ReindexProgress(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return amount of loaded entity ids
+     */
+    public long getLoaded() {
+        return loaded.get();
+    }
+
+    /**
+     * @return amount of successfully indexed documents
+     */
+    public long getIndexed() {
+        return indexed.get();
+    }
+
+    /**
+     * @return amount of documents rejected by the search server
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * @return amount of executed bulk requests
+     */
+    public long getBulkRequests() {
+        return bulkRequests.get();
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    @Nullable
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    @Nullable
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return average amount of indexed documents per second since start
+     */
+    public double getThroughput() {
+        Instant end = endTime != null ? endTime : Instant.now();
+        long millis = Math.max(Duration.between(startTime, end).toMillis(), 1);
+        return indexed.get() * 1000.0 / millis;
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    public void addLoaded(long amount) {
+        loaded.addAndGet(amount);
+    }
+
+    public void addBulkResult(IndexResult indexResult) {
+        bulkRequests.incrementAndGet();
+        indexed.addAndGet(indexResult.getTotalSize() - indexResult.getFailuresSize());
+        failed.addAndGet(indexResult.getFailuresSize());
+    }
+
+    public void finish(Status status, @Nullable String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.endTime = Instant.now();
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Entity '%s': %s, loaded %d, indexed %d, failed %d, %d bulk requests, %.1f docs/s%s",
+                entityName, status, getLoaded(), getIndexed(), getFailed(), getBulkRequests(), getThroughput(),
+                errorMessage != null ? ", error: " + errorMessage : "");
+    }
+}
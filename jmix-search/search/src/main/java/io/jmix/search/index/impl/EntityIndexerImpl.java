@@ -20,17 +20,25 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.*;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.*;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.security.SystemAuthenticator;
 import io.jmix.search.SearchProperties;
 import io.jmix.search.index.EntityIndexer;
 import io.jmix.search.index.IndexConfiguration;
 import io.jmix.search.index.IndexResult;
+import io.jmix.search.index.ReindexProgress;
 import io.jmix.search.index.mapping.DisplayedNameDescriptor;
 import io.jmix.search.index.mapping.IndexConfigurationManager;
 import io.jmix.search.index.mapping.IndexMappingConfiguration;
 import io.jmix.search.index.mapping.MappingFieldDescriptor;
+import io.jmix.search.index.queue.EntityIdsLoader;
+import io.jmix.search.index.queue.entity.EnqueueingSession;
+import io.jmix.search.index.queue.impl.EnqueueingSessionManager;
+import io.jmix.search.index.queue.impl.EntityIdsLoaderProvider;
+import jakarta.annotation.PreDestroy;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
@@ -47,6 +55,9 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -73,9 +84,23 @@ public class EntityIndexerImpl implements EntityIndexer {
     protected MetadataTools metadataTools;
     @Autowired
     protected SearchProperties searchProperties;
+    @Autowired
+    protected SystemAuthenticator authenticator;
+    @Autowired
+    protected IndexingLocker locker;
+    @Autowired
+    protected EntityIdsLoaderProvider entityIdsLoaderProvider;
+    @Autowired
+    protected EnqueueingSessionManager enqueueingSessionManager;
 
     protected ObjectMapper objectMapper = new ObjectMapper();
 
+    protected final Map<String, ReindexProgress> reindexProgress = new ConcurrentHashMap<>();
+    protected final ExecutorService reindexCoordinator = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("search-reindex-coordinator").setDaemon(true).build());
+    protected final AtomicBoolean reindexScheduled = new AtomicBoolean();
+    protected volatile boolean reindexCancelled;
+
     @Override
     public IndexResult index(Object entityInstance) {
         return indexCollection(Collections.singletonList(entityInstance));
@@ -120,6 +145,210 @@ public class EntityIndexerImpl implements EntityIndexer {
         return deleteByGroupedIndexIds(groupedIndexIds);
     }
 
+    @Override
+    public boolean isReindexSupported() {
+        return true;
+    }
+
+    /**
+     * Starts pipelined reindexing of provided entities in background. Entities are processed one after another.
+     *
+     * @param entityNames names of indexed entities
+     * @return false if reindexing is already in progress
+     * @see #reindex(String)
+     */
+    @Override
+    public boolean startReindex(Collection<String> entityNames) {
+        // only one reindexing task is submitted at a time, so the coordinator is free to report the lock result
+        if (!reindexScheduled.compareAndSet(false, true)) {
+            return false;
+        }
+        List<String> names = new ArrayList<>(entityNames);
+        CompletableFuture<Boolean> started = new CompletableFuture<>();
+        try {
+            reindexCoordinator.execute(() -> {
+                try {
+                    if (!locker.tryLockReindexing()) {
+                        log.info("Unable to start reindexing: reindexing is in progress");
+                        started.complete(false);
+                        return;
+                    }
+                    try {
+                        reindexCancelled = false;
+                        started.complete(true);
+                        for (String entityName : names) {
+                            if (reindexCancelled) {
+                                break;
+                            }
+                            reindexInternal(entityName);
+                        }
+                    } finally {
+                        locker.unlockReindexing();
+                    }
+                } finally {
+                    reindexScheduled.set(false);
+                    started.complete(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reindexScheduled.set(false);
+            throw e;
+        }
+        return started.join();
+    }
+
+    /**
+     * Synchronously stores all instances of provided entity to index bypassing indexing queue.
+     * <p>
+     * Ids are loaded by ranges of {@link SearchProperties#getReindexBulkRequestSize()} in the current thread,
+     * instances of each range are reloaded, converted to documents and sent in a single bulk request by one of
+     * {@link SearchProperties#getReindexThreadCount()} workers. The loading waits if all workers are busy
+     * and the same amount of ranges is already waiting for them.
+     * <p>
+     * Documents of instances deleted before reindexing are not removed, recreate the index to get rid of them.
+     *
+     * @param entityName name of indexed entity
+     * @return final progress of reindexing
+     */
+    @Override
+    public ReindexProgress reindex(String entityName) {
+        if (!locker.tryLockReindexing()) {
+            throw new IllegalStateException("Reindexing is already in progress");
+        }
+        try {
+            reindexCancelled = false;
+            return reindexInternal(entityName);
+        } finally {
+            locker.unlockReindexing();
+        }
+    }
+
+    /**
+     * Stops current pipelined reindexing. Bulk requests that are being executed are completed.
+     */
+    @Override
+    public void cancelReindex() {
+        reindexCancelled = true;
+    }
+
+    /**
+     * @return progress of the latest pipelined reindexing of each entity
+     */
+    @Override
+    public Collection<ReindexProgress> getReindexProgress() {
+        return Collections.unmodifiableCollection(reindexProgress.values());
+    }
+
+    @PreDestroy
+    protected void shutdownReindex() {
+        reindexCancelled = true;
+        reindexCoordinator.shutdownNow();
+    }
+
+    protected ReindexProgress reindexInternal(String entityName) {
+        ReindexProgress progress = new ReindexProgress(entityName);
+        reindexProgress.put(entityName, progress);
+        log.info("Start reindexing of entity '{}'", entityName);
+
+        int threadCount = Math.max(searchProperties.getReindexThreadCount(), 1);
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("search-reindex-" + entityName + "-%d").build());
+        // permits limit ranges which are loaded but not indexed yet
+        Semaphore permits = new Semaphore(threadCount * 2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            authenticator.runWithSystem(() ->
+                    loadIdRanges(entityName, progress, range -> {
+                        try {
+                            permits.acquire();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                        workers.execute(() -> {
+                            try {
+                                if (failure.get() == null && !reindexCancelled) {
+                                    authenticator.runWithSystem(() -> indexIdRange(entityName, range, progress));
+                                }
+                            } catch (Throwable e) {
+                                failure.compareAndSet(null, e);
+                            } finally {
+                                permits.release();
+                            }
+                        });
+                        return failure.get() == null && !reindexCancelled;
+                    }));
+            workers.shutdown();
+            while (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+                log.debug("Reindexing of entity '{}': {}", entityName, progress);
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            log.error("Reindexing of entity '{}' failed", entityName, error);
+            progress.finish(ReindexProgress.Status.FAILED, error.toString());
+        } else if (reindexCancelled || Thread.currentThread().isInterrupted()) {
+            progress.finish(ReindexProgress.Status.CANCELLED, null);
+        } else {
+            progress.finish(ReindexProgress.Status.COMPLETED, null);
+        }
+        log.info("Reindexing finished. {}", progress);
+        return progress;
+    }
+
+    /**
+     * Loads ids of all instances of the entity by ranges and passes them to the consumer until it returns false.
+     */
+    protected void loadIdRanges(String entityName, ReindexProgress progress, Predicate<List<?>> rangeConsumer) {
+        int rangeSize = searchProperties.getReindexBulkRequestSize();
+        if (rangeSize <= 0) {
+            throw new IllegalArgumentException("Size of reindex bulk request must be positive");
+        }
+
+        MetaClass metaClass = metadata.getClass(entityName);
+        EnqueueingSession session = metadata.create(EnqueueingSession.class);
+        session.setEntityName(entityName);
+        session.setOrderingProperty(enqueueingSessionManager.resolveOrderingProperty(metaClass).getName());
+
+        EntityIdsLoader loader = entityIdsLoaderProvider.getLoader(entityName);
+        while (true) {
+            EntityIdsLoader.ResultHolder resultHolder = loader.loadNextIds(session, rangeSize);
+            List<?> ids = resultHolder.getIds();
+            progress.addLoaded(ids.size());
+            // loader returns all ids at once if it can't load them by ranges
+            for (int start = 0; start < ids.size(); start += rangeSize) {
+                List<?> range = new ArrayList<>(ids.subList(start, Math.min(start + rangeSize, ids.size())));
+                if (!rangeConsumer.test(range)) {
+                    return;
+                }
+            }
+
+            Object lastOrderingValue = resultHolder.getLastOrderingValue();
+            if (ids.size() < rangeSize || lastOrderingValue == null) {
+                return;
+            }
+            session.setLastProcessedValue(lastOrderingValue.toString());
+        }
+    }
+
+    protected void indexIdRange(String entityName, List<?> ids, ReindexProgress progress) {
+        MetaClass metaClass = metadata.getClass(entityName);
+        Map<MetaClass, List<Object>> idsGroupedByMetaClass = Collections.singletonMap(metaClass, new ArrayList<>(ids));
+        Map<IndexConfiguration, Collection<Object>> groupedInstances = reloadEntityInstances(idsGroupedByMetaClass);
+        IndexResult indexResult = indexGroupedInstances(groupedInstances);
+        progress.addBulkResult(indexResult);
+        if (indexResult.hasFailures()) {
+            log.warn("{} documents of entity '{}' have not been indexed: {}", indexResult.getFailuresSize(),
+                    entityName, indexResult.getFailedIndexIds());
+        }
+    }
+
     protected IndexResult indexGroupedInstances(Map<IndexConfiguration, Collection<Object>> groupedInstancesForIndexing) {
         if (log.isDebugEnabled()) {
             Integer amountOfInstances = groupedInstancesForIndexing.values().stream()
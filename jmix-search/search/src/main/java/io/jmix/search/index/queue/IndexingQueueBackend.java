@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.search.index.queue;
+
+import io.jmix.search.index.queue.entity.IndexingQueueItem;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of indexing queue items used by {@link IndexingQueueManager}.
+ * <p>
+ * Items returned by {@link #dequeue(int, Collection)} are kept in the storage until they are passed
+ * to {@link #remove(Collection)}, so items that have not been processed successfully are returned again.
+ * <p>
+ * The backend is selected by the {@code jmix.search.indexing-queue-backend} application property
+ * matching {@link #getName()}.
+ */
+public interface IndexingQueueBackend {
+
+    /**
+     * @return unique name of the backend
+     */
+    String getName();
+
+    /**
+     * Stores provided queue items.
+     *
+     * @param queueItems items to store
+     * @return amount of enqueued items
+     */
+    int enqueue(Collection<IndexingQueueItem> queueItems);
+
+    /**
+     * Retrieves the oldest queue items without removing them.
+     *
+     * @param batchSize        maximum amount of items
+     * @param excludedEntities names of entities which items must not be retrieved
+     * @return queue items
+     */
+    List<IndexingQueueItem> dequeue(int batchSize, Collection<String> excludedEntities);
+
+    /**
+     * Removes processed queue items.
+     *
+     * @param queueItems items previously returned by {@link #dequeue(int, Collection)}
+     */
+    void remove(Collection<IndexingQueueItem> queueItems);
+
+    /**
+     * Removes all queue items.
+     *
+     * @return amount of deleted items
+     */
+    int clear();
+
+    /**
+     * Removes all queue items related to provided entity.
+     *
+     * @param entityName entity
+     * @return amount of deleted items
+     */
+    int clear(String entityName);
+}
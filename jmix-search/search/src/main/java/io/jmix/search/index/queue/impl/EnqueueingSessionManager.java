@@ -231,7 +231,13 @@ public class EnqueueingSessionManager {
                 .query("where e.entityName = ?1", entityName).optional();
     }
 
-    protected MetaProperty resolveOrderingProperty(MetaClass entityClass) {
+    /**
+     * Resolves property used to load ids of provided entity by ranges.
+     *
+     * @param entityClass entity
+     * @return ordering property
+     */
+    public MetaProperty resolveOrderingProperty(MetaClass entityClass) {
         if (metadataTools.hasCompositePrimaryKey(entityClass) && metadataTools.hasUuid(entityClass)) {
             String uuidPropertyName = metadataTools.getUuidPropertyName(entityClass.getJavaClass());
             if (uuidPropertyName == null) {
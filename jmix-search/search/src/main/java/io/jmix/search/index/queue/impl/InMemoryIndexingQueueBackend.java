@@ -0,0 +1,475 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.search.index.queue.impl;
+
+import io.jmix.core.CoreProperties;
+import io.jmix.core.Metadata;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.search.SearchProperties;
+import io.jmix.search.index.queue.IndexingQueueBackend;
+import io.jmix.search.index.queue.entity.IndexingQueueItem;
+import io.jmix.search.index.queue.impl.IndexingQueueWriteAheadLog.Record;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link IndexingQueueBackend} that keeps queue items in memory of the current application instance.
+ * <p>
+ * Only the latest operation is kept for each entity instance: enqueueing an instance that is already in the queue
+ * replaces the operation without adding a new item. Keys of enqueued instances are passed to the consumer through
+ * a lock-free {@link RingBuffer}. When the buffer is full, keys wait in an overflow queue and are moved to the buffer
+ * as its slots free up, so items are dequeued in the order of arrival.
+ * <p>
+ * A dequeued item is considered failed and is returned again if {@link #remove(Collection)} has been called
+ * after its dequeueing without it, or if it has not been removed within {@link #IN_FLIGHT_TIMEOUT_MILLIS}.
+ * <p>
+ * Items enqueued within a transaction are added after its commit. If the write-ahead log is enabled, every change
+ * of the queue is written to {@link IndexingQueueWriteAheadLog} and the queue is restored from it on the first use
+ * after restart.
+ */
+@Component("search_InMemoryIndexingQueueBackend")
+public class InMemoryIndexingQueueBackend implements IndexingQueueBackend {
+
+    public static final String NAME = "in-memory";
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryIndexingQueueBackend.class);
+
+    protected static final long COMPACTION_THRESHOLD = 100_000;
+
+    /**
+     * Time after which a dequeued item that has not been removed is returned again, e.g. if its processing has
+     * failed with an exception before the items were removed.
+     */
+    protected static final long IN_FLIGHT_TIMEOUT_MILLIS = 10 * 60 * 1000;
+
+    @Autowired
+    protected SearchProperties searchProperties;
+    @Autowired
+    protected CoreProperties coreProperties;
+    @Autowired
+    protected Metadata metadata;
+
+    protected final AtomicLong sequence = new AtomicLong();
+    protected final AtomicLong removalCount = new AtomicLong();
+    protected final Map<String, Entry> pending = new ConcurrentHashMap<>();
+    protected final Map<UUID, Entry> inFlight = new ConcurrentHashMap<>();
+    protected final Queue<String> overflow = new ConcurrentLinkedQueue<>();
+
+    protected RingBuffer<String> ringBuffer;
+    protected IndexingQueueWriteAheadLog writeAheadLog;
+
+    protected volatile boolean started;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int enqueue(Collection<IndexingQueueItem> queueItems) {
+        ensureStarted();
+        List<IndexingQueueItem> items = new ArrayList<>(queueItems);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueueInternal(items);
+                }
+            });
+        } else {
+            enqueueInternal(items);
+        }
+        return items.size();
+    }
+
+    @Override
+    public List<IndexingQueueItem> dequeue(int batchSize, Collection<String> excludedEntities) {
+        ensureStarted();
+
+        requeueFailed();
+
+        Set<String> excluded = new HashSet<>(excludedEntities);
+        List<IndexingQueueItem> result = new ArrayList<>(Math.min(batchSize, pending.size()));
+        List<Entry> skipped = new ArrayList<>();
+        while (result.size() < batchSize) {
+            String key = poll();
+            if (key == null) {
+                break;
+            }
+            Entry entry = pending.remove(key);
+            if (entry == null) {
+                // already dequeued or removed by clear
+                continue;
+            }
+            if (excluded.contains(entry.getEntityName())) {
+                skipped.add(entry);
+                continue;
+            }
+            entry.markDequeued(removalCount.get());
+            inFlight.put(entry.getItemId(), entry);
+            result.add(createQueueItem(entry));
+        }
+        skipped.forEach(this::offer);
+        return result;
+    }
+
+    @Override
+    public void remove(Collection<IndexingQueueItem> queueItems) {
+        ensureStarted();
+        removalCount.incrementAndGet();
+        List<Record> records = new ArrayList<>(queueItems.size());
+        for (IndexingQueueItem queueItem : queueItems) {
+            Entry entry = inFlight.remove(queueItem.getId());
+            if (entry != null) {
+                records.add(entry.toRecord(IndexingQueueWriteAheadLog.ACKNOWLEDGE));
+            }
+        }
+        // acknowledgements are not synced: a lost one only leads to indexing the instance again
+        appendToLog(records, false);
+        if (pending.isEmpty() && inFlight.isEmpty()) {
+            compactLog();
+        }
+    }
+
+    @Override
+    public int clear() {
+        ensureStarted();
+        int count = pending.size() + inFlight.size();
+        pending.clear();
+        inFlight.clear();
+        compactLog();
+        return count;
+    }
+
+    @Override
+    public int clear(String entityName) {
+        Preconditions.checkNotEmptyString(entityName);
+        ensureStarted();
+        int count = removeEntries(pending.values(), entityName) + removeEntries(inFlight.values(), entityName);
+        compactLog();
+        return count;
+    }
+
+    /**
+     * @return amount of items in the queue including dequeued but not removed ones
+     */
+    public int size() {
+        return pending.size() + inFlight.size();
+    }
+
+    @PreDestroy
+    protected void close() {
+        if (writeAheadLog != null) {
+            try {
+                writeAheadLog.close();
+            } catch (IOException e) {
+                log.warn("Unable to close indexing queue log {}", writeAheadLog.getFile(), e);
+            }
+        }
+    }
+
+    protected void ensureStarted() {
+        if (!started) {
+            synchronized (this) {
+                if (!started) {
+                    start();
+                    started = true;
+                }
+            }
+        }
+    }
+
+    protected void start() {
+        ringBuffer = new RingBuffer<>(searchProperties.getInMemoryIndexingQueueCapacity());
+        if (searchProperties.isInMemoryIndexingQueueWalEnabled()) {
+            Path file = getWriteAheadLogFile();
+            writeAheadLog = new IndexingQueueWriteAheadLog(file);
+            try {
+                restore(writeAheadLog.open());
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to open indexing queue log " + file, e);
+            }
+            compactLog();
+        }
+    }
+
+    protected Path getWriteAheadLogFile() {
+        String file = searchProperties.getInMemoryIndexingQueueWalFile();
+        if (StringUtils.isBlank(file)) {
+            return Paths.get(coreProperties.getWorkDir(), "search", "indexing-queue.wal");
+        }
+        return Paths.get(file);
+    }
+
+    protected void restore(List<Record> records) {
+        Map<String, Entry> restored = new LinkedHashMap<>();
+        long lastSequence = 0;
+        for (Record record : records) {
+            lastSequence = Math.max(lastSequence, record.getSequence());
+            String key = createKey(record.getEntityName(), record.getEntityId());
+            if (record.getType() == IndexingQueueWriteAheadLog.ACKNOWLEDGE) {
+                Entry entry = restored.get(key);
+                if (entry != null && entry.getSequence() <= record.getSequence()) {
+                    restored.remove(key);
+                }
+            } else {
+                IndexingOperation operation = record.getType() == IndexingQueueWriteAheadLog.ENQUEUE_DELETE
+                        ? IndexingOperation.DELETE
+                        : IndexingOperation.INDEX;
+                restored.put(key, new Entry(key, record.getEntityName(), record.getEntityId(), operation,
+                        record.getSequence()));
+            }
+        }
+        sequence.set(lastSequence);
+        restored.values().forEach(this::offer);
+        log.info("{} indexing queue items have been restored from {}", restored.size(), writeAheadLog.getFile());
+    }
+
+    protected void enqueueInternal(Collection<IndexingQueueItem> queueItems) {
+        List<Record> records = new ArrayList<>(queueItems.size());
+        for (IndexingQueueItem queueItem : queueItems) {
+            String key = createKey(queueItem.getEntityName(), queueItem.getEntityId());
+            Entry entry = new Entry(key, queueItem.getEntityName(), queueItem.getEntityId(),
+                    queueItem.getOperation(), sequence.incrementAndGet());
+            // the entry must be in memory before it is logged, see compactLog()
+            offer(entry);
+            records.add(entry.toRecord(entry.getOperation() == IndexingOperation.DELETE
+                    ? IndexingQueueWriteAheadLog.ENQUEUE_DELETE
+                    : IndexingQueueWriteAheadLog.ENQUEUE_INDEX));
+        }
+        appendToLog(records, true);
+    }
+
+    /**
+     * Adds the entry to the queue or replaces the queued entry of the same instance if it is older.
+     */
+    protected void offer(Entry entry) {
+        boolean[] added = new boolean[1];
+        pending.compute(entry.getKey(), (key, current) -> {
+            if (current == null) {
+                added[0] = true;
+                return entry;
+            }
+            return current.getSequence() >= entry.getSequence() ? current : entry;
+        });
+        if (added[0] && (!overflow.isEmpty() || !ringBuffer.offer(entry.getKey()))) {
+            overflow.add(entry.getKey());
+        }
+    }
+
+    /**
+     * Returns in-flight entries that have failed to the queue: entries dequeued before the last
+     * {@link #remove(Collection)} call and not removed by it, and entries that are in flight for too long.
+     */
+    protected void requeueFailed() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        long currentRemovalCount = removalCount.get();
+        long expirationTime = System.currentTimeMillis() - IN_FLIGHT_TIMEOUT_MILLIS;
+
+        List<Entry> failed = new ArrayList<>();
+        for (Entry entry : inFlight.values()) {
+            if (entry.getRemovalCountAtDequeue() < currentRemovalCount || entry.getDequeuedAt() < expirationTime) {
+                if (inFlight.remove(entry.getItemId(), entry)) {
+                    failed.add(entry);
+                }
+            }
+        }
+        failed.sort(Comparator.comparingLong(Entry::getSequence));
+        failed.forEach(this::offer);
+    }
+
+    @Nullable
+    protected String poll() {
+        String key = ringBuffer.poll();
+        if (key == null) {
+            synchronized (overflow) {
+                key = overflow.poll();
+            }
+        } else {
+            transferOverflow();
+        }
+        return key;
+    }
+
+    /**
+     * Moves the oldest overflowed key to the buffer if there is a free slot. Overflowed keys are newer than keys
+     * in the buffer, because new keys are not added to the buffer while the overflow queue is not empty.
+     */
+    protected void transferOverflow() {
+        if (overflow.isEmpty()) {
+            return;
+        }
+        synchronized (overflow) {
+            String key = overflow.peek();
+            if (key != null && ringBuffer.offer(key)) {
+                overflow.poll();
+            }
+        }
+    }
+
+    protected int removeEntries(Collection<Entry> entries, String entityName) {
+        int count = 0;
+        for (Iterator<Entry> iterator = entries.iterator(); iterator.hasNext(); ) {
+            if (entityName.equals(iterator.next().getEntityName())) {
+                iterator.remove();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    protected void appendToLog(List<Record> records, boolean sync) {
+        if (writeAheadLog == null || records.isEmpty()) {
+            return;
+        }
+        try {
+            writeAheadLog.append(records, sync);
+        } catch (IOException e) {
+            log.error("Unable to write to indexing queue log {}", writeAheadLog.getFile(), e);
+            return;
+        }
+        if (writeAheadLog.getRecordCount() > Math.max(COMPACTION_THRESHOLD, 2L * size())) {
+            compactLog();
+        }
+    }
+
+    /**
+     * Rewrites the log with the entries currently in memory. The snapshot is taken under the log lock, so every
+     * entry added to memory after the snapshot is appended to the new file.
+     */
+    protected void compactLog() {
+        if (writeAheadLog == null) {
+            return;
+        }
+        synchronized (writeAheadLog) {
+            List<Entry> entries = new ArrayList<>(pending.values());
+            entries.addAll(inFlight.values());
+            entries.sort(Comparator.comparingLong(Entry::getSequence));
+
+            List<Record> records = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                records.add(entry.toRecord(entry.getOperation() == IndexingOperation.DELETE
+                        ? IndexingQueueWriteAheadLog.ENQUEUE_DELETE
+                        : IndexingQueueWriteAheadLog.ENQUEUE_INDEX));
+            }
+            try {
+                writeAheadLog.rewrite(records);
+            } catch (IOException e) {
+                log.error("Unable to compact indexing queue log {}", writeAheadLog.getFile(), e);
+            }
+        }
+    }
+
+    protected IndexingQueueItem createQueueItem(Entry entry) {
+        IndexingQueueItem queueItem = metadata.create(IndexingQueueItem.class);
+        queueItem.setId(entry.getItemId());
+        queueItem.setEntityName(entry.getEntityName());
+        queueItem.setEntityId(entry.getEntityId());
+        queueItem.setOperation(entry.getOperation());
+        queueItem.setCreatedDate(new Date(entry.getCreatedAt()));
+        return queueItem;
+    }
+
+    protected String createKey(String entityName, String entityId) {
+        return entityName + '|' + entityId;
+    }
+
+    protected static class Entry {
+        protected final String key;
+        protected final String entityName;
+        protected final String entityId;
+        protected final IndexingOperation operation;
+        protected final long sequence;
+        protected final long createdAt = System.currentTimeMillis();
+
+        protected volatile long dequeuedAt;
+        protected volatile long removalCountAtDequeue;
+
+        public Entry(String key, String entityName, String entityId, IndexingOperation operation, long sequence) {
+            this.key = key;
+            this.entityName = entityName;
+            this.entityId = entityId;
+            this.operation = operation;
+            this.sequence = sequence;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getEntityName() {
+            return entityName;
+        }
+
+        public String getEntityId() {
+            return entityId;
+        }
+
+        public IndexingOperation getOperation() {
+            return operation;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public long getDequeuedAt() {
+            return dequeuedAt;
+        }
+
+        public long getRemovalCountAtDequeue() {
+            return removalCountAtDequeue;
+        }
+
+        public void markDequeued(long removalCount) {
+            this.dequeuedAt = System.currentTimeMillis();
+            this.removalCountAtDequeue = removalCount;
+        }
+
+        /**
+         * @return ID of the queue item, unique as the sequence is
+         */
+        public UUID getItemId() {
+            return new UUID(0, sequence);
+        }
+
+        public Record toRecord(byte type) {
+            return new Record(type, sequence, entityName, entityId);
+        }
+    }
+}
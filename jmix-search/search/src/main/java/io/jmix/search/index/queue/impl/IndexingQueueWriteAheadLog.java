@@ -0,0 +1,252 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.search.index.queue.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of {@link InMemoryIndexingQueueBackend} changes used to restore the queue after restart.
+ * <p>
+ * Each record is framed by its length and CRC32 checksum, so a partially written record at the end of the file
+ * left by a crash is detected and cut off on {@link #open()}.
+ */
+public class IndexingQueueWriteAheadLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexingQueueWriteAheadLog.class);
+
+    public static final byte ENQUEUE_INDEX = 1;
+    public static final byte ENQUEUE_DELETE = 2;
+    public static final byte ACKNOWLEDGE = 3;
+
+    protected static final String CORRUPT_SUFFIX = ".corrupt";
+
+    protected final Path file;
+
+    protected FileChannel channel;
+    protected long recordCount;
+
+    public IndexingQueueWriteAheadLog(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Reads all valid records and opens the file for appending.
+     * <p>
+     * If a damaged record is followed by other data, the file is renamed with the {@value #CORRUPT_SUFFIX} suffix
+     * and kept for investigation, and a new file with the records preceding the damaged one is created.
+     *
+     * @return records in the order they were written
+     */
+    public synchronized List<Record> open() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        List<Record> records = new ArrayList<>();
+        long validLength = 0;
+        boolean corrupted = false;
+        long remaining = channel.size();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (remaining >= Integer.BYTES) {
+                int length = in.readInt();
+                if (length <= 0) {
+                    corrupted = true;
+                    break;
+                }
+                long recordLength = Integer.BYTES + (long) length + Long.BYTES;
+                if (remaining < recordLength) {
+                    // incomplete record at the end of the file
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                long checksum = in.readLong();
+                remaining -= recordLength;
+                if (checksum != checksum(payload)) {
+                    // only the record written last can be damaged by a crash
+                    corrupted = remaining > 0;
+                    break;
+                }
+                records.add(readRecord(payload));
+                validLength += recordLength;
+            }
+        }
+
+        if (corrupted) {
+            Path quarantineFile = file.resolveSibling(file.getFileName() + "." + System.currentTimeMillis() + CORRUPT_SUFFIX);
+            log.error("Indexing queue write-ahead log {} contains a damaged record at position {}, " +
+                    "{} preceding records are restored and the file is moved to {}",
+                    file, validLength, records.size(), quarantineFile);
+            channel.close();
+            Files.move(file, quarantineFile);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            ByteBuffer buffer = ByteBuffer.wrap(serialize(records));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } else {
+            channel.truncate(validLength);
+            channel.position(validLength);
+        }
+        recordCount = records.size();
+        return records;
+    }
+
+    /**
+     * Appends records and optionally forces them to the storage device.
+     */
+    public synchronized void append(Collection<Record> records, boolean sync) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(serialize(records));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+        recordCount += records.size();
+    }
+
+    /**
+     * Atomically replaces the file content with provided records.
+     */
+    public synchronized void rewrite(Collection<Record> records) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel tempChannel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(serialize(records));
+            while (buffer.hasRemaining()) {
+                tempChannel.write(buffer);
+            }
+            tempChannel.force(true);
+        }
+        channel.close();
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        recordCount = records.size();
+    }
+
+    /**
+     * @return amount of records in the file
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    protected byte[] serialize(Collection<Record> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Record record : records) {
+            byte[] payload = writeRecord(record);
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.writeLong(checksum(payload));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    protected byte[] writeRecord(Record record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(record.getType());
+        out.writeLong(record.getSequence());
+        out.writeUTF(record.getEntityName());
+        out.writeUTF(record.getEntityId());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    protected Record readRecord(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        long sequence = in.readLong();
+        String entityName = in.readUTF();
+        String entityId = in.readUTF();
+        return new Record(type, sequence, entityName, entityId);
+    }
+
+    protected long checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    public static class Record {
+        protected final byte type;
+        protected final long sequence;
+        protected final String entityName;
+        protected final String entityId;
+
+        public Record(byte type, long sequence, String entityName, String entityId) {
+            this.type = type;
+            this.sequence = sequence;
+            this.entityName = entityName;
+            this.entityId = entityId;
+        }
+
+        public byte getType() {
+            return type;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public String getEntityName() {
+            return entityName;
+        }
+
+        public String getEntityId() {
+            return entityId;
+        }
+    }
+}
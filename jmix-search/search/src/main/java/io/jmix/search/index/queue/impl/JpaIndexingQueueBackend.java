@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.search.index.queue.impl;
+
+import io.jmix.core.LoadContext;
+import io.jmix.core.Metadata;
+import io.jmix.core.SaveContext;
+import io.jmix.core.Stores;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.data.StoreAwareLocator;
+import io.jmix.search.index.queue.IndexingQueueBackend;
+import io.jmix.search.index.queue.entity.IndexingQueueItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Default {@link IndexingQueueBackend} that stores queue items in the {@code SEARCH_INDEXING_QUEUE} table
+ * of the main data store. Items are persisted within the current transaction.
+ */
+@Component("search_JpaIndexingQueueBackend")
+public class JpaIndexingQueueBackend implements IndexingQueueBackend {
+
+    public static final String NAME = "jpa";
+
+    private static final Logger log = LoggerFactory.getLogger(JpaIndexingQueueBackend.class);
+
+    @Autowired
+    protected UnconstrainedDataManager dataManager;
+    @Autowired
+    protected Metadata metadata;
+    @Autowired
+    protected StoreAwareLocator storeAwareLocator;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int enqueue(Collection<IndexingQueueItem> queueItems) {
+        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
+            queueItems.forEach(entityManager::persist);
+        });
+        return queueItems.size();
+    }
+
+    @Override
+    public List<IndexingQueueItem> dequeue(int batchSize, Collection<String> excludedEntities) {
+        LoadContext<IndexingQueueItem> loadContext = createDequeueLoadContext(excludedEntities, batchSize);
+        log.trace("Dequeue items by load context: {}", loadContext);
+        return dataManager.loadList(loadContext);
+    }
+
+    @Override
+    public void remove(Collection<IndexingQueueItem> queueItems) {
+        SaveContext saveContext = new SaveContext();
+        saveContext.removing(queueItems);
+        dataManager.save(saveContext);
+    }
+
+    @Override
+    public int clear() {
+        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Integer result = transactionTemplate.execute(status -> {
+            EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
+            Query query = entityManager.createQuery("delete from search_IndexingQueue q");
+            return query.executeUpdate();
+        });
+        return result == null ? 0 : result;
+    }
+
+    @Override
+    public int clear(String entityName) {
+        Preconditions.checkNotEmptyString(entityName);
+        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Integer result = transactionTemplate.execute(status -> {
+            EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
+            Query query = entityManager.createQuery("delete from search_IndexingQueue q where q.entityName = ?1");
+            query.setParameter(1, entityName);
+            return query.executeUpdate();
+        });
+        return result == null ? 0 : result;
+    }
+
+    protected LoadContext<IndexingQueueItem> createDequeueLoadContext(Collection<String> excludedEntities, int batchSize) {
+        LoadContext.Query query = new LoadContext.Query("");
+        StringBuilder sb = new StringBuilder("select q from search_IndexingQueue q");
+        if (!excludedEntities.isEmpty()) {
+            sb.append(" where q.entityName not in :unavailableEntities");
+            query.setParameter("unavailableEntities", excludedEntities);
+        }
+        sb.append(" order by q.createdDate asc");
+        query.setQueryString(sb.toString());
+        query.setMaxResults(batchSize);
+
+        return new LoadContext<IndexingQueueItem>(metadata.getClass(IndexingQueueItem.class)).setQuery(query);
+    }
+}
@@ -30,6 +30,7 @@ import io.jmix.search.index.impl.IndexingLocker;
 import io.jmix.search.index.mapping.IndexConfigurationManager;
 import io.jmix.search.index.queue.EntityIdsLoader;
 import io.jmix.search.index.queue.EntityIdsLoader.ResultHolder;
+import io.jmix.search.index.queue.IndexingQueueBackend;
 import io.jmix.search.index.queue.IndexingQueueManager;
 import io.jmix.search.index.queue.entity.EnqueueingSession;
 import io.jmix.search.index.queue.entity.IndexingQueueItem;
@@ -41,6 +42,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import java.util.*;
@@ -49,6 +51,10 @@ import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
+/**
+ * Default {@link IndexingQueueManager}. Queue items are stored by the {@link IndexingQueueBackend} selected
+ * with {@link SearchProperties#getIndexingQueueBackend()}, {@link JpaIndexingQueueBackend} by default.
+ */
 @Component("search_JpaIndexingQueueManager")
 public class JpaIndexingQueueManager implements IndexingQueueManager {
 
@@ -80,37 +86,44 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
     protected EnqueueingSessionManager enqueueingSessionManager;
     @Autowired
     protected EntityIdsLoaderProvider entityIdsLoaderProvider;
+    @Autowired
+    protected List<IndexingQueueBackend> backends;
+
+    protected IndexingQueueBackend backend;
+
+    @PostConstruct
+    protected void init() {
+        String backendName = searchProperties.getIndexingQueueBackend();
+        backend = backends.stream()
+                .filter(b -> b.getName().equals(backendName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        String.format("Indexing queue backend '%s' is not found", backendName)));
+        log.info("Using '{}' indexing queue backend", backendName);
+    }
+
+    /**
+     * @return backend that stores queue items
+     */
+    public IndexingQueueBackend getBackend() {
+        return backend;
+    }
 
     @Override
     public int emptyQueue() {
-        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
-        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
-        Integer result = transactionTemplate.execute(status -> {
-            log.debug("Empty Indexing queue");
-            EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
-            Query query = entityManager.createQuery("delete from search_IndexingQueue q");
-            int deleted = query.executeUpdate();
-            log.debug("{} records have been deleted from queue", deleted);
-            return deleted;
-        });
-        return result == null ? 0 : result;
+        log.debug("Empty Indexing queue");
+        int deleted = backend.clear();
+        log.debug("{} records have been deleted from queue", deleted);
+        return deleted;
     }
 
     @Override
     public int emptyQueue(String entityName) {
         Preconditions.checkNotEmptyString(entityName);
-        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
-        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
-        Integer result = transactionTemplate.execute(status -> {
-            log.debug("Empty queue for entity '{}'", entityName);
-            EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
-            Query query = entityManager.createQuery("delete from search_IndexingQueue q where q.entityName = ?1");
-            query.setParameter(1, entityName);
-            int deleted = query.executeUpdate();
-            log.debug("{} records for entity '{}' have been deleted from queue", deleted, entityName);
-            return deleted;
-        });
-        return result == null ? 0 : result;
+        log.debug("Empty queue for entity '{}'", entityName);
+        int deleted = backend.clear(entityName);
+        log.debug("{} records for entity '{}' have been deleted from queue", deleted, entityName);
+        return deleted;
     }
 
     @Override
@@ -447,19 +460,14 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
             List<IndexingQueueItem> queueItems;
             do {
                 List<String> unavailableEntities = indexStateRegistry.getAllUnavailableIndexedEntities();
-                LoadContext<IndexingQueueItem> loadContext = createDequeueLoadContext(unavailableEntities, batchSize);
-                log.trace("Dequeue items by load context: {}", loadContext);
-                queueItems = dataManager.loadList(loadContext);
+                queueItems = backend.dequeue(batchSize, unavailableEntities);
                 log.debug("Dequeued {} items: {}", queueItems.size(), queueItems);
 
                 if (queueItems.isEmpty()) {
                     break;
                 }
                 List<IndexingQueueItem> successfullyProcessedQueueItems = processQueueItems(queueItems);
-
-                SaveContext saveContext = new SaveContext();
-                saveContext.removing(successfullyProcessedQueueItems);
-                dataManager.save(saveContext);
+                backend.remove(successfullyProcessedQueueItems);
 
                 count += successfullyProcessedQueueItems.size();
             } while (processEntireQueue && queueItems.size() == batchSize);
@@ -472,20 +480,6 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         return count;
     }
 
-    protected LoadContext<IndexingQueueItem> createDequeueLoadContext(List<String> unavailableEntities, int batchSize) {
-        LoadContext.Query query = new LoadContext.Query("");
-        StringBuilder sb = new StringBuilder("select q from search_IndexingQueue q");
-        if (!unavailableEntities.isEmpty()) {
-            sb.append(" where q.entityName not in :unavailableEntities");
-            query.setParameter("unavailableEntities", unavailableEntities);
-        }
-        sb.append(" order by q.createdDate asc");
-        query.setQueryString(sb.toString());
-        query.setMaxResults(batchSize);
-
-        return new LoadContext<IndexingQueueItem>(metadata.getClass(IndexingQueueItem.class)).setQuery(query);
-    }
-
     protected List<IndexingQueueItem> processQueueItems(List<IndexingQueueItem> queueItems) {
         QueueItemsAggregator queueItemsAggregator = new QueueItemsAggregator(queueItems);
 
@@ -562,13 +556,7 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
 
     protected int enqueue(Collection<IndexingQueueItem> queueItems) {
         log.trace("Enqueue items: {}", queueItems);
-        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
-        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
-        transactionTemplate.executeWithoutResult(status -> {
-            EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
-            queueItems.forEach(entityManager::persist);
-        });
-        return queueItems.size();
+        return backend.enqueue(queueItems);
     }
 
     protected IndexingQueueItem createQueueItem(MetaClass metaClass, String entityId, IndexingOperation operation) {
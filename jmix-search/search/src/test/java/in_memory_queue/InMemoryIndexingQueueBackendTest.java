@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package in_memory_queue;
+
+import io.jmix.search.index.queue.entity.IndexingQueueItem;
+import io.jmix.search.index.queue.impl.InMemoryIndexingQueueBackend;
+import io.jmix.search.index.queue.impl.IndexingOperation;
+import io.jmix.search.index.queue.impl.RingBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class InMemoryIndexingQueueBackendTest {
+
+    @Test
+    @DisplayName("Overflowed items are dequeued in the order of arrival")
+    public void overflowKeepsOrder() {
+        TestBackend backend = new TestBackend(2);
+        backend.enqueue(createItems("a", "b", "c", "d", "e"));
+
+        assertEquals(List.of("a", "b"), getIds(backend.dequeue(2, Collections.emptyList())));
+
+        backend.enqueue(createItems("f"));
+        assertEquals(List.of("c", "d", "e", "f"), getIds(backend.dequeue(10, Collections.emptyList())));
+        assertEquals(List.of(), backend.dequeue(10, Collections.emptyList()));
+    }
+
+    @Test
+    @DisplayName("Excluded entities are kept in the queue")
+    public void excludedEntities() {
+        TestBackend backend = new TestBackend(4);
+        backend.enqueue(List.of(createItem("test_Other", "x"), createItem("test_Entity", "a")));
+
+        assertEquals(List.of("a"), getIds(backend.dequeue(10, List.of("test_Other"))));
+        assertEquals(List.of("x"), getIds(backend.dequeue(10, Collections.emptyList())));
+    }
+
+    @Test
+    @DisplayName("Items in flight are not returned again until the processed items are removed")
+    public void inFlightItemsAreNotRequeued() {
+        TestBackend backend = new TestBackend(4);
+        backend.enqueue(createItems("a", "b"));
+
+        assertEquals(List.of("a"), getIds(backend.dequeue(1, Collections.emptyList())));
+        assertEquals(List.of("b"), getIds(backend.dequeue(1, Collections.emptyList())));
+        assertEquals(List.of(), backend.dequeue(10, Collections.emptyList()));
+        assertEquals(2, backend.size());
+    }
+
+    @Test
+    @DisplayName("Items not removed after processing are returned again")
+    public void failedItemsAreRequeued() {
+        TestBackend backend = new TestBackend(4);
+        backend.enqueue(createItems("a", "b", "c"));
+
+        List<IndexingQueueItem> dequeued = backend.dequeue(3, Collections.emptyList());
+        backend.remove(List.of(dequeued.get(0), dequeued.get(2)));
+        backend.enqueue(createItems("d"));
+
+        List<IndexingQueueItem> retried = backend.dequeue(10, Collections.emptyList());
+        assertEquals(Set.of("b", "d"), Set.copyOf(getIds(retried)));
+        assertEquals(dequeued.get(1).getId(), retried.stream()
+                .filter(item -> item.getEntityId().equals("b"))
+                .findFirst()
+                .map(IndexingQueueItem::getId)
+                .orElse(null));
+
+        backend.remove(retried);
+        assertEquals(0, backend.size());
+    }
+
+    @Test
+    @DisplayName("Newer operation of a failed item is kept")
+    public void failedItemDoesNotReplaceNewerOperation() {
+        TestBackend backend = new TestBackend(4);
+        backend.enqueue(createItems("a"));
+
+        backend.dequeue(1, Collections.emptyList());
+        backend.enqueue(List.of(createItem("test_Entity", "a", IndexingOperation.DELETE)));
+        backend.remove(Collections.emptyList());
+
+        List<IndexingQueueItem> items = backend.dequeue(10, Collections.emptyList());
+        assertEquals(1, items.size());
+        assertEquals(IndexingOperation.DELETE, items.get(0).getOperation());
+    }
+
+    private static List<IndexingQueueItem> createItems(String... ids) {
+        List<IndexingQueueItem> items = new ArrayList<>();
+        for (String id : ids) {
+            items.add(createItem("test_Entity", id));
+        }
+        return items;
+    }
+
+    private static IndexingQueueItem createItem(String entityName, String entityId) {
+        return createItem(entityName, entityId, IndexingOperation.INDEX);
+    }
+
+    private static IndexingQueueItem createItem(String entityName, String entityId, IndexingOperation operation) {
+        IndexingQueueItem item = new IndexingQueueItem();
+        item.setEntityName(entityName);
+        item.setEntityId(entityId);
+        item.setOperation(operation);
+        return item;
+    }
+
+    private static List<String> getIds(List<IndexingQueueItem> items) {
+        return items.stream().map(IndexingQueueItem::getEntityId).collect(Collectors.toList());
+    }
+
+    /**
+     * Backend without write-ahead log and Spring context.
+     */
+    private static class TestBackend extends InMemoryIndexingQueueBackend {
+
+        private final int capacity;
+
+        TestBackend(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected void start() {
+            ringBuffer = new RingBuffer<>(capacity);
+        }
+
+        @Override
+        protected IndexingQueueItem createQueueItem(Entry entry) {
+            IndexingQueueItem item = new IndexingQueueItem();
+            item.setId(entry.getItemId());
+            item.setEntityName(entry.getEntityName());
+            item.setEntityId(entry.getEntityId());
+            item.setOperation(entry.getOperation());
+            item.setCreatedDate(new Date(entry.getCreatedAt()));
+            return item;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package in_memory_queue;
+
+import io.jmix.search.index.queue.impl.IndexingQueueWriteAheadLog;
+import io.jmix.search.index.queue.impl.IndexingQueueWriteAheadLog.Record;
+import io.jmix.search.index.queue.impl.RingBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryIndexingQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Ring buffer keeps FIFO order and rejects elements when full")
+    public void ringBufferOrder() {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(3);
+        assertEquals(4, ringBuffer.capacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.offer(i));
+        }
+        assertFalse(ringBuffer.offer(4));
+        assertEquals(4, ringBuffer.size());
+
+        assertEquals(0, ringBuffer.poll());
+        assertTrue(ringBuffer.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, ringBuffer.poll());
+        }
+        assertNull(ringBuffer.poll());
+    }
+
+    @Test
+    @DisplayName("Ring buffer does not lose elements offered concurrently")
+    public void ringBufferConcurrentOffer() throws InterruptedException {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(64);
+        int producersCount = 4;
+        int elementsPerProducer = 10_000;
+
+        Thread[] producers = new Thread[producersCount];
+        for (int p = 0; p < producersCount; p++) {
+            producers[p] = new Thread(() -> {
+                for (int i = 1; i <= elementsPerProducer; i++) {
+                    while (!ringBuffer.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            producers[p].start();
+        }
+
+        long sum = 0;
+        int count = 0;
+        while (count < producersCount * elementsPerProducer) {
+            Integer element = ringBuffer.poll();
+            if (element != null) {
+                sum += element;
+                count++;
+            }
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals((long) producersCount * elementsPerProducer * (elementsPerProducer + 1) / 2, sum);
+        assertNull(ringBuffer.poll());
+    }
+
+    @Test
+    @DisplayName("Write-ahead log skips partially written record at the end")
+    public void writeAheadLogRecovery() throws Exception {
+        Path file = tempDir.resolve("search/indexing-queue.wal");
+
+        IndexingQueueWriteAheadLog log = new IndexingQueueWriteAheadLog(file);
+        assertTrue(log.open().isEmpty());
+        log.append(List.of(
+                new Record(IndexingQueueWriteAheadLog.ENQUEUE_INDEX, 1, "test_Entity", "id1"),
+                new Record(IndexingQueueWriteAheadLog.ENQUEUE_DELETE, 2, "test_Entity", "id2")), true);
+        log.close();
+        long validLength = Files.size(file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 30, 1, 0, 0}));
+        }
+
+        log = new IndexingQueueWriteAheadLog(file);
+        List<Record> records = log.open();
+        assertEquals(2, records.size());
+        assertEquals(validLength, Files.size(file));
+        assertEquals("id2", records.get(1).getEntityId());
+        assertEquals(IndexingQueueWriteAheadLog.ENQUEUE_DELETE, records.get(1).getType());
+
+        log.rewrite(List.of(new Record(IndexingQueueWriteAheadLog.ENQUEUE_INDEX, 5, "test_Entity", "id5")));
+        log.append(List.of(new Record(IndexingQueueWriteAheadLog.ACKNOWLEDGE, 5, "test_Entity", "id5")), false);
+        log.close();
+
+        log = new IndexingQueueWriteAheadLog(file);
+        records = log.open();
+        log.close();
+        assertEquals(2, records.size());
+        assertEquals(5, records.get(0).getSequence());
+        assertEquals(IndexingQueueWriteAheadLog.ACKNOWLEDGE, records.get(1).getType());
+    }
+
+    @Test
+    @DisplayName("Write-ahead log with a damaged record in the middle is kept for investigation")
+    public void writeAheadLogCorruption() throws Exception {
+        Path file = tempDir.resolve("search/indexing-queue.wal");
+
+        IndexingQueueWriteAheadLog log = new IndexingQueueWriteAheadLog(file);
+        log.open();
+        log.append(List.of(new Record(IndexingQueueWriteAheadLog.ENQUEUE_INDEX, 1, "test_Entity", "id1")), true);
+        long firstRecordLength = Files.size(file);
+        log.append(List.of(
+                new Record(IndexingQueueWriteAheadLog.ENQUEUE_INDEX, 2, "test_Entity", "id2"),
+                new Record(IndexingQueueWriteAheadLog.ENQUEUE_INDEX, 3, "test_Entity", "id3")), true);
+        log.close();
+        long originalLength = Files.size(file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // damage the payload of the second record
+            channel.write(ByteBuffer.wrap(new byte[]{42}), firstRecordLength + Integer.BYTES + 2);
+        }
+
+        log = new IndexingQueueWriteAheadLog(file);
+        List<Record> records = log.open();
+        log.close();
+        assertEquals(1, records.size());
+        assertEquals("id1", records.get(0).getEntityId());
+        assertEquals(firstRecordLength, Files.size(file));
+
+        List<Path> corruptFiles;
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            corruptFiles = files.filter(f -> f.getFileName().toString().endsWith(".corrupt")).toList();
+        }
+        assertEquals(1, corruptFiles.size());
+        assertEquals(originalLength, Files.size(corruptFiles.get(0)));
+    }
+}
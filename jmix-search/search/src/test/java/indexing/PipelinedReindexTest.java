@@ -0,0 +1,280 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package indexing;
+
+import io.jmix.core.Metadata;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.search.SearchProperties;
+import io.jmix.search.index.EntityIndexer;
+import io.jmix.search.index.IndexResult;
+import io.jmix.search.index.ReindexProgress;
+import io.jmix.search.index.impl.EntityIndexerImpl;
+import io.jmix.search.index.impl.IndexingLocker;
+import io.jmix.search.index.mapping.IndexConfigurationManager;
+import io.jmix.search.index.queue.EntityIdsLoader;
+import io.jmix.search.index.queue.entity.EnqueueingSession;
+import io.jmix.search.index.queue.impl.EnqueueingSessionManager;
+import io.jmix.search.index.queue.impl.EntityIdsLoaderProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class PipelinedReindexTest {
+
+    private TestEntityIndexer indexer;
+
+    @AfterEach
+    public void tearDown() {
+        if (indexer != null) {
+            indexer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("All ids are indexed by ranges and counted in progress")
+    public void pipeline() {
+        indexer = new TestEntityIndexer(25, 10, 2, 10);
+        indexer.failedIds.add(7);
+
+        ReindexProgress progress = indexer.reindex("test_Entity");
+
+        assertEquals(ReindexProgress.Status.COMPLETED, progress.getStatus());
+        assertEquals(25, progress.getLoaded());
+        assertEquals(24, progress.getIndexed());
+        assertEquals(1, progress.getFailed());
+        assertEquals(3, progress.getBulkRequests());
+        assertNotNull(progress.getEndTime());
+        assertEquals(IntStream.rangeClosed(1, 25).boxed().collect(Collectors.toSet()), indexer.indexedIds);
+        assertTrue(indexer.rangeSizes.stream().allMatch(size -> size <= 10));
+    }
+
+    @Test
+    @DisplayName("Reindexing is available through EntityIndexer only if implementation supports it")
+    public void reindexThroughInterface() {
+        indexer = new TestEntityIndexer(5, 10, 1, 10);
+        EntityIndexer entityIndexer = indexer;
+
+        assertTrue(entityIndexer.isReindexSupported());
+        assertEquals(ReindexProgress.Status.COMPLETED, entityIndexer.reindex("test_Entity").getStatus());
+        assertEquals(1, entityIndexer.getReindexProgress().size());
+
+        EntityIndexer otherIndexer = mock(EntityIndexer.class, CALLS_REAL_METHODS);
+        assertFalse(otherIndexer.isReindexSupported());
+        assertTrue(otherIndexer.getReindexProgress().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> otherIndexer.startReindex(List.of("test_Entity")));
+    }
+
+    @Test
+    @DisplayName("Ids loaded at once are split into ranges of bulk request size")
+    public void idsLoadedAtOnce() {
+        indexer = new TestEntityIndexer(25, 10, 1, Integer.MAX_VALUE);
+
+        ReindexProgress progress = indexer.reindex("test_Entity");
+
+        assertEquals(ReindexProgress.Status.COMPLETED, progress.getStatus());
+        assertEquals(25, progress.getLoaded());
+        assertEquals(List.of(10, 10, 5), indexer.rangeSizes);
+    }
+
+    @Test
+    @DisplayName("Failure of a range stops reindexing")
+    public void failure() {
+        indexer = new TestEntityIndexer(100, 10, 1, 10);
+        indexer.beforeIndexing = ids -> {
+            if (ids.contains(11)) {
+                throw new IllegalStateException("Search server is unavailable");
+            }
+        };
+
+        ReindexProgress progress = indexer.reindex("test_Entity");
+
+        assertEquals(ReindexProgress.Status.FAILED, progress.getStatus());
+        assertTrue(progress.getErrorMessage().contains("Search server is unavailable"));
+        assertEquals(10, progress.getIndexed());
+        assertTrue(progress.getLoaded() < 100);
+    }
+
+    @Test
+    @DisplayName("Cancelled reindexing stops loading and skips remaining entities")
+    public void cancellation() throws Exception {
+        indexer = new TestEntityIndexer(100, 10, 1, 10);
+        CountDownLatch indexing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        indexer.beforeIndexing = ids -> {
+            indexing.countDown();
+            await(release);
+        };
+
+        assertTrue(indexer.startReindex(List.of("test_Entity", "test_Other")));
+        assertTrue(indexing.await(5, TimeUnit.SECONDS));
+
+        indexer.cancelReindex();
+        release.countDown();
+
+        ReindexProgress progress = awaitFinished("test_Entity");
+        assertEquals(ReindexProgress.Status.CANCELLED, progress.getStatus());
+        assertTrue(progress.getLoaded() < 100);
+        assertTrue(progress.getIndexed() < 100);
+        assertTrue(indexer.getReindexProgress().stream()
+                .noneMatch(p -> p.getEntityName().equals("test_Other")));
+    }
+
+    @Test
+    @DisplayName("Reindexing can't be started while another one is in progress")
+    public void concurrentStart() throws Exception {
+        indexer = new TestEntityIndexer(10, 10, 1, 10);
+        CountDownLatch indexing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        indexer.beforeIndexing = ids -> {
+            indexing.countDown();
+            await(release);
+        };
+
+        assertTrue(indexer.startReindex(List.of("test_Entity")));
+        assertTrue(indexing.await(5, TimeUnit.SECONDS));
+
+        assertFalse(indexer.startReindex(List.of("test_Entity")));
+        assertThrows(IllegalStateException.class, () -> indexer.reindex("test_Entity"));
+
+        release.countDown();
+        assertEquals(ReindexProgress.Status.COMPLETED, awaitFinished("test_Entity").getStatus());
+
+        indexer.beforeIndexing = ids -> {
+        };
+        long deadline = System.currentTimeMillis() + 5000;
+        boolean started;
+        while (!(started = indexer.startReindex(List.of("test_Entity"))) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(started);
+    }
+
+    private ReindexProgress awaitFinished(String entityName) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<ReindexProgress> progress = indexer.getReindexProgress().stream()
+                    .filter(p -> p.getEntityName().equals(entityName) && p.isFinished())
+                    .findFirst();
+            if (progress.isPresent()) {
+                return progress.get();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Reindexing of " + entityName + " has not finished");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Indexer that loads ids from a fake loader and records ranges instead of sending bulk requests.
+     */
+    private static class TestEntityIndexer extends EntityIndexerImpl {
+
+        final Set<Integer> indexedIds = Collections.synchronizedSet(new HashSet<>());
+        final List<Integer> rangeSizes = Collections.synchronizedList(new ArrayList<>());
+        final Set<Integer> failedIds = new HashSet<>();
+        volatile Consumer<List<?>> beforeIndexing = ids -> {
+        };
+
+        /**
+         * @param idsCount        amount of entity instances
+         * @param bulkRequestSize size of id ranges
+         * @param threadCount     amount of indexing workers
+         * @param loaderBatchSize amount of ids returned by the loader at once regardless of requested size
+         */
+        TestEntityIndexer(int idsCount, int bulkRequestSize, int threadCount, int loaderBatchSize) {
+            searchProperties = mock(SearchProperties.class);
+            when(searchProperties.getReindexBulkRequestSize()).thenReturn(bulkRequestSize);
+            when(searchProperties.getReindexThreadCount()).thenReturn(threadCount);
+
+            authenticator = mock(SystemAuthenticator.class);
+            doAnswer(invocation -> {
+                ((Runnable) invocation.getArgument(0)).run();
+                return null;
+            }).when(authenticator).runWithSystem(any(Runnable.class));
+
+            IndexConfigurationManager indexConfigurationManager = mock(IndexConfigurationManager.class);
+            when(indexConfigurationManager.getAllIndexedEntities()).thenReturn(Collections.emptyList());
+            locker = new IndexingLocker(indexConfigurationManager);
+
+            metadata = mock(Metadata.class);
+            when(metadata.getClass(any(String.class))).thenReturn(mock(MetaClass.class));
+            when(metadata.create(EnqueueingSession.class)).thenAnswer(invocation -> new EnqueueingSession());
+
+            MetaProperty idProperty = mock(MetaProperty.class);
+            when(idProperty.getName()).thenReturn("id");
+            enqueueingSessionManager = mock(EnqueueingSessionManager.class);
+            when(enqueueingSessionManager.resolveOrderingProperty(any())).thenReturn(idProperty);
+
+            EntityIdsLoader loader = mock(EntityIdsLoader.class);
+            when(loader.loadNextIds(any(), anyInt())).thenAnswer(invocation -> {
+                EnqueueingSession session = invocation.getArgument(0);
+                int last = session.getLastProcessedValue() == null
+                        ? 0
+                        : Integer.parseInt(session.getLastProcessedValue());
+                int to = Math.min(idsCount, last + loaderBatchSize);
+                List<Integer> ids = IntStream.rangeClosed(last + 1, to).boxed().collect(Collectors.toList());
+                return new EntityIdsLoader.ResultHolder(ids, ids.isEmpty() ? null : to);
+            });
+            entityIdsLoaderProvider = mock(EntityIdsLoaderProvider.class);
+            when(entityIdsLoaderProvider.getLoader(any())).thenReturn(loader);
+        }
+
+        @Override
+        protected void indexIdRange(String entityName, List<?> ids, ReindexProgress progress) {
+            beforeIndexing.accept(ids);
+            rangeSizes.add(ids.size());
+
+            int failures = 0;
+            for (Object id : ids) {
+                if (failedIds.contains((Integer) id)) {
+                    failures++;
+                } else {
+                    indexedIds.add((Integer) id);
+                }
+            }
+            IndexResult result = mock(IndexResult.class);
+            when(result.getTotalSize()).thenReturn(ids.size());
+            when(result.getFailuresSize()).thenReturn(failures);
+            progress.addBulkResult(result);
+        }
+
+        void shutdown() {
+            shutdownReindex();
+        }
+    }
+}
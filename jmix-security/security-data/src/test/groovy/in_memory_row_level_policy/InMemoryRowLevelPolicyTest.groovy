@@ -18,6 +18,7 @@ package in_memory_row_level_policy
 
 import io.jmix.core.DataManager
 import io.jmix.core.Metadata
+import io.jmix.core.Sort
 import io.jmix.core.security.InMemoryUserRepository
 import io.jmix.core.security.SecurityContextHelper
 import io.jmix.core.security.SystemAuthenticator
@@ -175,4 +176,56 @@ class InMemoryRowLevelPolicyTest extends SecurityDataSpecification {
         testOrders[0].number == 'A-1-B'
     }
 
+    def "in-memory row-level policies must be applied to requested page"() {
+
+        setup: "orders that conform and don't conform to predicate from the role"
+
+        (10..29).each {
+            def orderB = metadata.create(TestOrder)
+            orderB.number = "A-$it-B"
+            def orderC = metadata.create(TestOrder)
+            orderC.number = "A-$it-C"
+            dataManager.unconstrained().save(orderB, orderC)
+        }
+
+        when: "a page in the middle of the list is loaded"
+
+        systemAuthenticator.begin('user2')
+        def page = dataManager.load(TestOrder).all()
+                .sort(Sort.by('number'))
+                .firstResult(5)
+                .maxResults(5)
+                .list()
+        systemAuthenticator.end()
+
+        then: "the page contains only conforming orders"
+
+        page*.number == ['A-14-B', 'A-15-B', 'A-16-B', 'A-17-B', 'A-18-B']
+
+        when: "the first page is loaded after the entity has been filtered"
+
+        systemAuthenticator.begin('user2')
+        def firstPage = dataManager.load(TestOrder).all()
+                .sort(Sort.by('number'))
+                .maxResults(3)
+                .list()
+        systemAuthenticator.end()
+
+        then:
+
+        firstPage*.number == ['A-1-B', 'A-10-B', 'A-11-B']
+
+        when: "the first page is loaded by the user without row-level policies"
+
+        systemAuthenticator.begin('user1')
+        def unfilteredPage = dataManager.load(TestOrder).all()
+                .sort(Sort.by('number'))
+                .maxResults(3)
+                .list()
+        systemAuthenticator.end()
+
+        then:
+
+        unfilteredPage*.number == ['A-1-B', 'A-1-C', 'A-10-B']
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package permission_matrix
+
+import io.jmix.core.Metadata
+import io.jmix.core.security.InMemoryUserRepository
+import io.jmix.core.security.SecurityContextHelper
+import io.jmix.security.constraint.SecureOperations
+import io.jmix.security.impl.constraint.AuthenticationPolicyStore
+import io.jmix.security.impl.role.event.ResourceRoleModifiedEvent
+import io.jmix.security.role.RoleGrantedAuthorityUtils
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.security.authentication.AuthenticationManager
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.core.userdetails.User
+import org.springframework.security.core.userdetails.UserDetails
+import test_support.SecurityDataSpecification
+import test_support.entity.Bar
+import test_support.entity.ExtBar
+import test_support.role.TestExtBarRole
+
+class PermissionMatrixTest extends SecurityDataSpecification {
+
+    @Autowired
+    AuthenticationManager authenticationManager
+
+    @Autowired
+    InMemoryUserRepository userRepository
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    SecureOperations secureOperations
+
+    @Autowired
+    AuthenticationPolicyStore policyStore
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher
+
+    @Autowired
+    RoleGrantedAuthorityUtils roleGrantedAuthorityUtils
+
+    UserDetails user1, user2
+
+    String PASSWORD = '123'
+
+    def setup() {
+        user1 = createUser('user1')
+        user2 = createUser('user2')
+    }
+
+    def cleanup() {
+        userRepository.removeUser(user1)
+        userRepository.removeUser(user2)
+        SecurityContextHelper.setAuthentication(null)
+    }
+
+    def "compiled permissions match policies"() {
+
+        when:
+
+        authenticate('user1')
+        def extBarMetaClass = metadata.getClass(ExtBar)
+
+        then:
+
+        secureOperations.isEntityCreatePermitted(extBarMetaClass, policyStore)
+        secureOperations.isEntityReadPermitted(extBarMetaClass, policyStore)
+        !secureOperations.isEntityUpdatePermitted(extBarMetaClass, policyStore)
+
+        secureOperations.isEntityAttrUpdatePermitted(extBarMetaClass.getPropertyPath('name'), policyStore)
+        secureOperations.isEntityAttrReadPermitted(extBarMetaClass.getPropertyPath('name'), policyStore)
+        secureOperations.isEntityAttrReadPermitted(extBarMetaClass.getPropertyPath('description'), policyStore)
+        !secureOperations.isEntityAttrUpdatePermitted(extBarMetaClass.getPropertyPath('description'), policyStore)
+    }
+
+    def "authentications with the same authorities share matrix"() {
+
+        when:
+
+        authenticate('user1')
+        def matrix1 = policyStore.getPermissionMatrix()
+        secureOperations.isEntityReadPermitted(metadata.getClass(Bar), policyStore)
+
+        authenticate('user2')
+        def matrix2 = policyStore.getPermissionMatrix()
+
+        then:
+
+        matrix1 != null
+        matrix1.is(matrix2)
+    }
+
+    def "matrix is rebuilt when roles are modified"() {
+
+        when:
+
+        authenticate('user1')
+        def matrix1 = policyStore.getPermissionMatrix()
+
+        eventPublisher.publishEvent(new ResourceRoleModifiedEvent(this))
+
+        def matrix2 = policyStore.getPermissionMatrix()
+
+        then:
+
+        !matrix1.is(matrix2)
+        policyStore.getPermissionMatrix().is(matrix2)
+    }
+
+    private UserDetails createUser(String username) {
+        UserDetails user = User.builder()
+                .username(username)
+                .password("{noop}$PASSWORD")
+                .authorities(roleGrantedAuthorityUtils.createResourceRoleGrantedAuthority(TestExtBarRole.CODE))
+                .build()
+        userRepository.addUser(user)
+        return user
+    }
+
+    private void authenticate(String username) {
+        def authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(username, PASSWORD))
+        SecurityContextHelper.setAuthentication(authentication)
+    }
+}
@@ -32,11 +32,19 @@ public class SecurityProperties {
      */
     String defaultRowLevelRolePrefix;
 
+    /**
+     * Maximum number of distinct sets of granted authorities whose permissions are kept compiled in memory.
+     * Zero disables compiling and policies are evaluated on each permission check.
+     */
+    int permissionMatrixCacheSize;
+
     public SecurityProperties(
             @DefaultValue("true") boolean annotatedRolesHotDeployEnabled,
-            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix) {
+            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix,
+            @DefaultValue("1000") int permissionMatrixCacheSize) {
         this.annotatedRolesHotDeployEnabled = annotatedRolesHotDeployEnabled;
         this.defaultRowLevelRolePrefix = defaultRowLevelRolePrefix;
+        this.permissionMatrixCacheSize = permissionMatrixCacheSize;
     }
 
     /**
@@ -52,4 +60,11 @@ public class SecurityProperties {
     public String getDefaultRowLevelRolePrefix() {
         return defaultRowLevelRolePrefix;
     }
+
+    /**
+     * @see #permissionMatrixCacheSize
+     */
+    public int getPermissionMatrixCacheSize() {
+        return permissionMatrixCacheSize;
+    }
 }
@@ -16,15 +16,19 @@
 
 package io.jmix.security.impl.constraint;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jmix.core.ExtendedEntities;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.ClientDetails;
 import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.security.SecurityProperties;
 import io.jmix.security.constraint.PolicyStore;
 import io.jmix.security.model.*;
 import io.jmix.security.role.ResourceRoleRepository;
 import io.jmix.security.role.RoleGrantedAuthorityUtils;
 import io.jmix.security.role.RowLevelRoleRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
@@ -33,8 +37,12 @@ import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Component("sec_AuthenticationPolicyStore")
@@ -54,8 +62,82 @@ public class AuthenticationPolicyStore implements PolicyStore {
     @Autowired
     protected RoleGrantedAuthorityUtils roleGrantedAuthorityUtils;
 
+    @Autowired
+    protected SecurityProperties securityProperties;
+
+    protected final AtomicLong matrixGeneration = new AtomicLong();
+
+    // weak keys are compared by identity, so the same authentication object finds its matrix without
+    // building the authorities key
+    protected Cache<Authentication, PermissionMatrix> matricesByAuthentication;
+    protected Cache<MatrixKey, PermissionMatrix> matricesByAuthorities;
+
+    @PostConstruct
+    protected void init() {
+        matricesByAuthentication = CacheBuilder.newBuilder()
+                .weakKeys()
+                .build();
+        matricesByAuthorities = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(securityProperties.getPermissionMatrixCacheSize(), 0))
+                .build();
+    }
+
+    /**
+     * Returns permissions of the current authentication compiled into a {@link PermissionMatrix}. Authentications
+     * with the same granted authorities and scope share the same matrix.
+     *
+     * @return matrix or null if caching of compiled permissions is disabled
+     * @see SecurityProperties#getPermissionMatrixCacheSize()
+     */
+    @Nullable
+    public PermissionMatrix getPermissionMatrix() {
+        if (securityProperties.getPermissionMatrixCacheSize() <= 0) {
+            return null;
+        }
+
+        Authentication authentication = currentAuthentication.getAuthentication();
+        long generation = matrixGeneration.get();
+
+        PermissionMatrix matrix = matricesByAuthentication.getIfPresent(authentication);
+        if (matrix == null || matrix.getGeneration() != generation) {
+            MatrixKey key = new MatrixKey(getScope(authentication), authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+            try {
+                matrix = matricesByAuthorities.get(key, () -> new PermissionMatrix(generation));
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Unable to create permission matrix", e);
+            }
+            if (matrix.getGeneration() != generation) {
+                // created before the last invalidation
+                matrix = new PermissionMatrix(generation);
+                matricesByAuthorities.put(key, matrix);
+            }
+            matricesByAuthentication.put(authentication, matrix);
+        }
+        return matrix;
+    }
+
+    /**
+     * Drops all compiled permission matrices. Must be called when resource or row-level roles are modified.
+     */
+    public void invalidatePermissionMatrices() {
+        matrixGeneration.incrementAndGet();
+        matricesByAuthentication.invalidateAll();
+        matricesByAuthorities.invalidateAll();
+    }
+
     @Override
     public Stream<RowLevelPolicy> getRowLevelPolicies(MetaClass metaClass) {
+        PermissionMatrix matrix = getPermissionMatrix();
+        if (matrix != null) {
+            return matrix.getRowLevelPolicies(metaClass, mc -> collectRowLevelPolicies(mc).toList()).stream();
+        }
+        return collectRowLevelPolicies(metaClass);
+    }
+
+    protected Stream<RowLevelPolicy> collectRowLevelPolicies(MetaClass metaClass) {
         MetaClass originalMetaClass = extendedEntities.getOriginalMetaClass(metaClass);
         Set<String> suitableMetaClassNames = new HashSet<>();
         suitableMetaClassNames.add(metaClass.getName());
@@ -201,4 +283,27 @@ public class AuthenticationPolicyStore implements PolicyStore {
         return resources.stream()
                 .flatMap(r -> resourceRole.getAllResourcePoliciesIndex().getPoliciesByTypeAndResource(policyType, r).stream());
     }
+
+    protected static class MatrixKey {
+        protected final String scope;
+        protected final Set<String> authorities;
+
+        public MatrixKey(@Nullable String scope, Set<String> authorities) {
+            this.scope = scope;
+            this.authorities = authorities;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MatrixKey that = (MatrixKey) o;
+            return Objects.equals(scope, that.scope) && authorities.equals(that.authorities);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, authorities);
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.constraint;
+
+import io.jmix.core.annotation.Internal;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.security.model.EntityAttributePolicyAction;
+import io.jmix.security.model.EntityPolicyAction;
+import io.jmix.security.model.RowLevelPolicy;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * INTERNAL.
+ * Permissions of a set of granted authorities compiled into per-entity rows.
+ * <p>
+ * Rows are compiled on first access to an entity and never change afterwards. The matrix itself is dropped
+ * by {@link AuthenticationPolicyStore#invalidatePermissionMatrices()} when roles are modified.
+ */
+@Internal
+public class PermissionMatrix {
+
+    protected final long generation;
+
+    protected final Map<MetaClass, EntityPermissions> entityPermissions = new ConcurrentHashMap<>();
+    protected final Map<MetaClass, List<RowLevelPolicy>> rowLevelPolicies = new ConcurrentHashMap<>();
+
+    public PermissionMatrix(long generation) {
+        this.generation = generation;
+    }
+
+    /**
+     * @return value of {@link AuthenticationPolicyStore} generation counter at the moment the matrix was created
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns compiled permissions of the entity, compiling them with the passed function on first access.
+     */
+    public EntityPermissions getEntityPermissions(MetaClass metaClass,
+                                                  Function<MetaClass, EntityPermissions> compiler) {
+        EntityPermissions permissions = entityPermissions.get(metaClass);
+        if (permissions == null) {
+            permissions = entityPermissions.computeIfAbsent(metaClass, compiler);
+        }
+        return permissions;
+    }
+
+    /**
+     * Returns row-level policies of the entity, collecting them with the passed function on first access.
+     */
+    public List<RowLevelPolicy> getRowLevelPolicies(MetaClass metaClass,
+                                                    Function<MetaClass, List<RowLevelPolicy>> collector) {
+        List<RowLevelPolicy> policies = rowLevelPolicies.get(metaClass);
+        if (policies == null) {
+            policies = rowLevelPolicies.computeIfAbsent(metaClass, mc -> List.copyOf(collector.apply(mc)));
+        }
+        return policies;
+    }
+
+    /**
+     * Immutable row of the matrix: allowed entity operations and allowed actions for each attribute of the entity.
+     */
+    public static class EntityPermissions {
+
+        protected static final int ATTRIBUTE_ACTIONS_COUNT = EntityAttributePolicyAction.values().length;
+
+        protected final int operations;
+        protected final Map<String, Integer> attributeIndexes;
+        protected final BitSet attributeActions;
+
+        protected EntityPermissions(int operations, Map<String, Integer> attributeIndexes, BitSet attributeActions) {
+            this.operations = operations;
+            this.attributeIndexes = attributeIndexes;
+            this.attributeActions = attributeActions;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public boolean isOperationPermitted(EntityPolicyAction action) {
+            return (operations & (1 << action.ordinal())) != 0;
+        }
+
+        /**
+         * @return true if the attribute is a property of the compiled entity and its actions are known
+         */
+        public boolean containsAttribute(String attribute) {
+            return attributeIndexes.containsKey(attribute);
+        }
+
+        /**
+         * @return true if at least one of the actions is allowed for the attribute
+         */
+        public boolean isAttributePermitted(String attribute, EntityAttributePolicyAction[] actions) {
+            Integer index = attributeIndexes.get(attribute);
+            if (index == null) {
+                return false;
+            }
+            for (EntityAttributePolicyAction action : actions) {
+                if (attributeActions.get(index * ATTRIBUTE_ACTIONS_COUNT + action.ordinal())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public static class Builder {
+
+        protected int operations;
+        protected final Map<String, Integer> attributeIndexes = new HashMap<>();
+        protected final BitSet attributeActions = new BitSet();
+
+        public Builder permitOperation(EntityPolicyAction action) {
+            operations |= 1 << action.ordinal();
+            return this;
+        }
+
+        public Builder addAttribute(String attribute) {
+            attributeIndexes.putIfAbsent(attribute, attributeIndexes.size());
+            return this;
+        }
+
+        public Builder permitAttribute(String attribute, EntityAttributePolicyAction action) {
+            addAttribute(attribute);
+            int index = attributeIndexes.get(attribute);
+            attributeActions.set(index * EntityPermissions.ATTRIBUTE_ACTIONS_COUNT + action.ordinal());
+            return this;
+        }
+
+        public EntityPermissions build() {
+            return new EntityPermissions(operations, Map.copyOf(attributeIndexes), (BitSet) attributeActions.clone());
+        }
+    }
+}
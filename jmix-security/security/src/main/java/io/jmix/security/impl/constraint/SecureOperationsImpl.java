@@ -25,9 +25,13 @@ import io.jmix.security.model.EntityAttributePolicyAction;
 import io.jmix.security.model.EntityPolicyAction;
 import io.jmix.security.model.ResourcePolicy;
 import io.jmix.security.model.ResourcePolicyEffect;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Component("sec_SecureOperations")
 public class SecureOperationsImpl implements SecureOperations {
@@ -53,7 +57,15 @@ public class SecureOperationsImpl implements SecureOperations {
 
     protected boolean isEntityOperationPermitted(MetaClass metaClass, EntityPolicyAction entityPolicyAction,
                                                  PolicyStore policyStore) {
+        PermissionMatrix.EntityPermissions permissions = getCompiledPermissions(metaClass, policyStore);
+        if (permissions != null) {
+            return permissions.isOperationPermitted(entityPolicyAction);
+        }
+        return evaluateEntityOperationPermitted(metaClass, entityPolicyAction, policyStore);
+    }
 
+    protected boolean evaluateEntityOperationPermitted(MetaClass metaClass, EntityPolicyAction entityPolicyAction,
+                                                       PolicyStore policyStore) {
         boolean result = policyStore.getEntityResourcePolicies(metaClass)
                 .anyMatch(policy -> isEntityOperationPermitted(policy, entityPolicyAction));
 
@@ -99,7 +111,16 @@ public class SecureOperationsImpl implements SecureOperations {
     protected boolean isEntityAttrPermitted(MetaClass metaClass, String name,
                                             EntityAttributePolicyAction[] policyActions,
                                             PolicyStore policyStore) {
+        PermissionMatrix.EntityPermissions permissions = getCompiledPermissions(metaClass, policyStore);
+        if (permissions != null && permissions.containsAttribute(name)) {
+            return permissions.isAttributePermitted(name, policyActions);
+        }
+        return evaluateEntityAttrPermitted(metaClass, name, policyActions, policyStore);
+    }
 
+    protected boolean evaluateEntityAttrPermitted(MetaClass metaClass, String name,
+                                                  EntityAttributePolicyAction[] policyActions,
+                                                  PolicyStore policyStore) {
         boolean result = policyStore.getEntityAttributesResourcePolicies(metaClass, name)
                 .anyMatch(policy -> isEntityAttrPermitted(policy, policyActions));
 
@@ -126,6 +147,71 @@ public class SecureOperationsImpl implements SecureOperations {
         return false;
     }
 
+    /**
+     * Returns permissions of the entity compiled for the current authentication if the policy store supports it.
+     */
+    @Nullable
+    protected PermissionMatrix.EntityPermissions getCompiledPermissions(MetaClass metaClass, PolicyStore policyStore) {
+        if (policyStore instanceof AuthenticationPolicyStore authenticationPolicyStore) {
+            PermissionMatrix matrix = authenticationPolicyStore.getPermissionMatrix();
+            if (matrix != null) {
+                return matrix.getEntityPermissions(metaClass, mc -> compileEntityPermissions(mc, policyStore));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates all entity operations and actions on all attributes of the entity. Policies are requested from
+     * the store once per attribute, the results are the same as of {@link #evaluateEntityOperationPermitted}
+     * and {@link #evaluateEntityAttrPermitted}.
+     */
+    protected PermissionMatrix.EntityPermissions compileEntityPermissions(MetaClass metaClass, PolicyStore policyStore) {
+        PermissionMatrix.Builder builder = PermissionMatrix.EntityPermissions.builder();
+
+        List<ResourcePolicy> entityPolicies = policyStore.getEntityResourcePolicies(metaClass)
+                .collect(Collectors.toList());
+        List<ResourcePolicy> entityWildcardPolicies = policyStore.getEntityResourcePoliciesByWildcard("*")
+                .collect(Collectors.toList());
+        for (EntityPolicyAction action : EntityPolicyAction.values()) {
+            if (entityPolicies.stream().anyMatch(policy -> isEntityOperationPermitted(policy, action))
+                    || entityWildcardPolicies.stream().anyMatch(policy -> isEntityOperationPermitted(policy, action))) {
+                builder.permitOperation(action);
+            }
+        }
+
+        List<ResourcePolicy> attributeWildcardPolicies = policyStore.getEntityAttributesResourcePolicies(metaClass, "*")
+                .collect(Collectors.toList());
+        List<ResourcePolicy> globalWildcardPolicies = policyStore.getEntityAttributesResourcePoliciesByWildcard("*", "*")
+                .collect(Collectors.toList());
+        EntityAttributePolicyAction[] attributeActions = EntityAttributePolicyAction.values();
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            String name = metaProperty.getName();
+            builder.addAttribute(name);
+            List<ResourcePolicy> attributePolicies = policyStore.getEntityAttributesResourcePolicies(metaClass, name)
+                    .collect(Collectors.toList());
+            for (EntityAttributePolicyAction action : attributeActions) {
+                EntityAttributePolicyAction[] actions = {action};
+                if (anyAttrPermitted(attributePolicies, actions)
+                        || anyAttrPermitted(attributeWildcardPolicies, actions)
+                        || anyAttrPermitted(globalWildcardPolicies, actions)) {
+                    builder.permitAttribute(name, action);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    protected boolean anyAttrPermitted(Collection<ResourcePolicy> policies, EntityAttributePolicyAction[] actions) {
+        for (ResourcePolicy policy : policies) {
+            if (isEntityAttrPermitted(policy, actions)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean isSpecificPermitted(String resourceName, PolicyStore policyStore) {
         boolean result = policyStore.getSpecificResourcePolicies(resourceName)
@@ -16,24 +16,30 @@
 
 package io.jmix.security.impl.role;
 
+import io.jmix.security.impl.constraint.AuthenticationPolicyStore;
 import io.jmix.security.impl.role.event.RowLevelRoleModifiedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
- * Listener invalidates row-level roles repository cache when database row-level role entity is modified.
+ * Listener invalidates row-level roles repository cache and compiled permissions when
+ * database row-level role entity is modified.
  */
 @Component("sec_RowLevelRoleModifiedEventListener")
 public class RowLevelRoleModifiedEventListener {
 
     private final RowLevelRoleRepositoryImpl rowLevelRoleRepository;
+    private final AuthenticationPolicyStore authenticationPolicyStore;
 
-    public RowLevelRoleModifiedEventListener(RowLevelRoleRepositoryImpl rowLevelRoleRepository) {
+    public RowLevelRoleModifiedEventListener(RowLevelRoleRepositoryImpl rowLevelRoleRepository,
+                                             AuthenticationPolicyStore authenticationPolicyStore) {
         this.rowLevelRoleRepository = rowLevelRoleRepository;
+        this.authenticationPolicyStore = authenticationPolicyStore;
     }
 
     @EventListener
     public void onRowLevelRoleModifiedEvent(RowLevelRoleModifiedEvent event) {
         rowLevelRoleRepository.invalidateCache();
+        authenticationPolicyStore.invalidatePermissionMatrices();
     }
 }